@@ -0,0 +1,134 @@
+package com.demo.benchmark;
+
+import com.demo.utils.CSVOptions;
+import com.demo.utils.CSVUtil;
+import com.demo.utils.ColumnPlan;
+import com.demo.utils.ExcelExportUtil;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @className: BenchmarkData
+ * @package: com.demo.benchmark
+ * @describe: 生成基准测试用的数据和文件。数据用固定的随机种子生成，每次运行内容相同，结果可以跨版本比较
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 3:10
+ */
+public final class BenchmarkData {
+
+    public static final String NARROW = "narrow";
+
+    public static final String WIDE = "wide";
+
+    //2026-01-01 00:00:00，日期在此之后一年内分布
+    private static final long BASE_TIME = 1767225600000L;
+
+    private static final long YEAR_MILLIS = 365L * 24 * 60 * 60 * 1000;
+
+    private BenchmarkData() {
+    }
+
+    public static Class<?> type(String shape) {
+        return WIDE.equals(shape) ? WideRow.class : NarrowRow.class;
+    }
+
+    public static String[] headers(String shape) {
+        return ColumnPlan.of(type(shape)).getHeaders();
+    }
+
+    /**
+     * @methodName: rows
+     * @param: shape 窄表或宽表
+     *          count 行数
+     * @describe: 生成指定行数的数据
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 3:15
+     */
+    public static List<Object> rows(String shape, int count) {
+        Random random = new Random(42);
+        List<Object> rows = new ArrayList<Object>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(WIDE.equals(shape) ? wide(random, i) : narrow(random, i));
+        }
+        return rows;
+    }
+
+    /**
+     * 以流式方式生成.xlsx，标题行和列首行之后是数据行(导入时从第2行开始)
+     */
+    public static File writeXlsx(File dir, String shape, List<Object> rows) throws IOException {
+        File file = new File(dir, shape + "-" + rows.size() + ".xlsx");
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), 64 * 1024)) {
+            ExcelExportUtil.doExportExcelStreaming(shape, shape, headers(shape), rows.iterator(), out,
+                    "yyyy-MM-dd HH:mm:ss", ExcelExportUtil.DEFAULT_WINDOW_SIZE);
+        }
+        return file;
+    }
+
+    public static File writeCsv(File dir, String shape, List<Object> rows) throws IOException {
+        String[] headers = headers(shape);
+        return new CSVUtil<Object>().createCSVFile(headers, headers, rows.iterator(), dir.getPath(),
+                shape + "-" + rows.size(), CSVOptions.gbk());
+    }
+
+    /**
+     * 删除目录及其中的文件
+     */
+    public static void delete(File dir) {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    private static NarrowRow narrow(Random random, int i) {
+        NarrowRow row = new NarrowRow();
+        row.setId(i);
+        row.setName("客户" + random.nextInt(100000));
+        row.setAmount(Math.round(random.nextDouble() * 1000000) / 100.0);
+        row.setCreated(new Date(BASE_TIME + (long) (random.nextDouble() * YEAR_MILLIS)));
+        return row;
+    }
+
+    private static WideRow wide(Random random, int i) {
+        WideRow row = new WideRow();
+        row.setText0("订单" + i);
+        row.setText1("客户" + random.nextInt(100000));
+        row.setText2("城市" + random.nextInt(300));
+        row.setText3("渠道" + random.nextInt(20));
+        row.setText4("SKU-" + random.nextInt(1000000));
+        row.setText5(random.nextBoolean() ? "已支付" : "待支付");
+        row.setText6("备注" + random.nextInt(1000));
+        row.setText7(Long.toHexString(random.nextLong()));
+        row.setNumber0(Math.round(random.nextDouble() * 1000000) / 100.0);
+        row.setNumber1(Math.round(random.nextDouble() * 100000) / 100.0);
+        row.setNumber2(random.nextDouble());
+        row.setNumber3(random.nextInt(1000) / 10.0);
+        row.setNumber4(random.nextGaussian() * 100);
+        row.setNumber5(Math.round(random.nextDouble() * 10000) / 100.0);
+        row.setNumber6(random.nextInt(100));
+        row.setNumber7(random.nextDouble() * 1e6);
+        row.setCount0(i);
+        row.setCount1(random.nextInt(1000));
+        row.setCount2(random.nextLong() & 0xFFFFFFFFL);
+        row.setCount3(random.nextInt(10));
+        row.setTime0(new Date(BASE_TIME + (long) (random.nextDouble() * YEAR_MILLIS)));
+        row.setTime1(new Date(BASE_TIME + (long) (random.nextDouble() * YEAR_MILLIS)));
+        row.setTime2(new Date(BASE_TIME + (long) (random.nextDouble() * YEAR_MILLIS)));
+        row.setTime3(new Date(BASE_TIME + (long) (random.nextDouble() * YEAR_MILLIS)));
+        return row;
+    }
+}
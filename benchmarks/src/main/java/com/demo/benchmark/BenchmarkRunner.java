@@ -0,0 +1,43 @@
+package com.demo.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * @className: BenchmarkRunner
+ * @package: com.demo.benchmark
+ * @describe: benchmarks.jar的入口，参数与JMH命令行相同。没有指定-prof时默认启用GC(分配速率)和堆内存峰值统计，
+ *            没有指定-rf/-rff时结果以JSON写入target/jmh-result.json，便于跨版本比较
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 3:45
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+            return;
+        }
+        if (commandLine.shouldList()) {
+            new Runner(commandLine).list();
+            return;
+        }
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(commandLine)
+                .resultFormat(commandLine.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(commandLine.getResult().orElse("target/jmh-result.json"));
+        if (commandLine.getProfilers().isEmpty()) {
+            builder.addProfiler(GCProfiler.class).addProfiler(PeakHeapProfiler.class);
+        }
+        new Runner(builder.build()).run();
+    }
+}
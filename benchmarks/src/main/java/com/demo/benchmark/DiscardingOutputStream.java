@@ -0,0 +1,30 @@
+package com.demo.benchmark;
+
+import java.io.OutputStream;
+
+/**
+ * @className: DiscardingOutputStream
+ * @package: com.demo.benchmark
+ * @describe: 只统计字节数的输出流，导出类基准测试不把磁盘IO算进去
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 3:20
+ */
+public final class DiscardingOutputStream extends OutputStream {
+
+    private long count;
+
+    @Override
+    public void write(int b) {
+        count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        count += len;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,103 @@
+package com.demo.benchmark;
+
+import com.demo.utils.CSVOptions;
+import com.demo.utils.CSVUtil;
+import com.demo.utils.ExcelExportUtil;
+import com.demo.utils.ParallelCSVExporter;
+import com.demo.utils.ZipUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @className: ExportBenchmark
+ * @package: com.demo.benchmark
+ * @describe: .xlsx流式导出、createCSVFile(逐行和并行分块)和zipFiles的吞吐量。数据在试验开始前生成并常驻内存，
+ *            Excel和zip写入只计数的输出流，createCSVFile按其接口写入临时目录
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 3:30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ExportBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    @Param({BenchmarkData.NARROW, BenchmarkData.WIDE})
+    public String shape;
+
+    private File dir;
+
+    private List<Object> data;
+
+    private String[] headers;
+
+    private List<File> zipSources;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("export-benchmark").toFile();
+        data = BenchmarkData.rows(shape, rows);
+        headers = BenchmarkData.headers(shape);
+        zipSources = Arrays.asList(BenchmarkData.writeCsv(dir, shape, data), BenchmarkData.writeXlsx(dir, shape, data));
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+        BenchmarkData.delete(dir);
+    }
+
+    @Benchmark
+    public long doExportExcelStreaming() throws IOException {
+        DiscardingOutputStream out = new DiscardingOutputStream();
+        ExcelExportUtil.doExportExcelStreaming(shape, shape, headers, data.iterator(), out,
+                "yyyy-MM-dd HH:mm:ss", ExcelExportUtil.DEFAULT_WINDOW_SIZE);
+        return out.getCount();
+    }
+
+    @Benchmark
+    public File createCSVFile() throws IOException {
+        return new CSVUtil<Object>().createCSVFile(headers, headers, data.iterator(), dir.getPath(), "export", CSVOptions.gbk());
+    }
+
+    @Benchmark
+    public File createCSVFileParallel() throws IOException {
+        return new ParallelCSVExporter(executor, ParallelCSVExporter.DEFAULT_CHUNK_SIZE,
+                Runtime.getRuntime().availableProcessors() * 2 + 2).createCSVFile(headers, headers, data, dir.getPath(), "export-parallel", CSVOptions.gbk());
+    }
+
+    @Benchmark
+    public long zipFiles() throws IOException {
+        DiscardingOutputStream out = new DiscardingOutputStream();
+        ZipUtil.zipFiles(zipSources, out, executor);
+        return out.getCount();
+    }
+}
@@ -0,0 +1,82 @@
+package com.demo.benchmark;
+
+import com.demo.utils.ColumnarSchema;
+import com.demo.utils.ColumnarTable;
+import com.demo.utils.ExcelImportUtil;
+import com.demo.utils.ImportOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @className: ImportBenchmark
+ * @package: com.demo.benchmark
+ * @describe: doImportExcel的吞吐量。文件在试验开始前生成一次，转换出的对象交给Blackhole，不在内存中累积；
+ *            readColumnar读取同一文件的三列到列式表并求和，与PeakHeapProfiler一起运行可以比较两者的内存占用
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 3:25
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ImportBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    @Param({BenchmarkData.NARROW, BenchmarkData.WIDE})
+    public String shape;
+
+    private File dir;
+
+    private File xlsx;
+
+    private Class<?> type;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("import-benchmark").toFile();
+        xlsx = BenchmarkData.writeXlsx(dir, shape, BenchmarkData.rows(shape, rows));
+        type = BenchmarkData.type(shape);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkData.delete(dir);
+    }
+
+    @Benchmark
+    public void doImportExcel(Blackhole blackhole) throws IOException {
+        //第0行是标题，第1行是列首
+        ExcelImportUtil.doImportExcel(xlsx.getPath(), 2, 0, type, blackhole::consume);
+    }
+
+    @Benchmark
+    public double readColumnar() throws IOException {
+        //窄表：编号、客户名称、金额；宽表：城市、第一个金额列
+        ColumnarSchema schema = BenchmarkData.WIDE.equals(shape)
+                ? new ColumnarSchema().addString(2, "city").addDouble(8, "amount")
+                : new ColumnarSchema().addLong(0, "id").addString(1, "name").addDouble(2, "amount");
+        ColumnarTable table = ColumnarTable.read(xlsx, new ImportOptions().setStartRow(2), schema);
+        return table.doubleColumn("amount").sum();
+    }
+}
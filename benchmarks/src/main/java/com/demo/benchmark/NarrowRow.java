@@ -0,0 +1,54 @@
+package com.demo.benchmark;
+
+import java.util.Date;
+
+/**
+ * @className: NarrowRow
+ * @package: com.demo.benchmark
+ * @describe: 窄表的行：4列
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 3:05
+ */
+public class NarrowRow {
+
+    private long id;
+
+    private String name;
+
+    private double amount;
+
+    private Date created;
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public void setAmount(double amount) {
+        this.amount = amount;
+    }
+
+    public Date getCreated() {
+        return created;
+    }
+
+    public void setCreated(Date created) {
+        this.created = created;
+    }
+}
@@ -0,0 +1,254 @@
+package com.demo.benchmark;
+
+import java.util.Date;
+
+/**
+ * @className: WideRow
+ * @package: com.demo.benchmark
+ * @describe: 宽表的行：24列(8个字符串、8个小数、4个整数、4个日期)
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 3:05
+ */
+public class WideRow {
+
+    private String text0;
+
+    private String text1;
+
+    private String text2;
+
+    private String text3;
+
+    private String text4;
+
+    private String text5;
+
+    private String text6;
+
+    private String text7;
+
+    private double number0;
+
+    private double number1;
+
+    private double number2;
+
+    private double number3;
+
+    private double number4;
+
+    private double number5;
+
+    private double number6;
+
+    private double number7;
+
+    private long count0;
+
+    private long count1;
+
+    private long count2;
+
+    private long count3;
+
+    private Date time0;
+
+    private Date time1;
+
+    private Date time2;
+
+    private Date time3;
+
+    public String getText0() {
+        return text0;
+    }
+
+    public void setText0(String text0) {
+        this.text0 = text0;
+    }
+
+    public String getText1() {
+        return text1;
+    }
+
+    public void setText1(String text1) {
+        this.text1 = text1;
+    }
+
+    public String getText2() {
+        return text2;
+    }
+
+    public void setText2(String text2) {
+        this.text2 = text2;
+    }
+
+    public String getText3() {
+        return text3;
+    }
+
+    public void setText3(String text3) {
+        this.text3 = text3;
+    }
+
+    public String getText4() {
+        return text4;
+    }
+
+    public void setText4(String text4) {
+        this.text4 = text4;
+    }
+
+    public String getText5() {
+        return text5;
+    }
+
+    public void setText5(String text5) {
+        this.text5 = text5;
+    }
+
+    public String getText6() {
+        return text6;
+    }
+
+    public void setText6(String text6) {
+        this.text6 = text6;
+    }
+
+    public String getText7() {
+        return text7;
+    }
+
+    public void setText7(String text7) {
+        this.text7 = text7;
+    }
+
+    public double getNumber0() {
+        return number0;
+    }
+
+    public void setNumber0(double number0) {
+        this.number0 = number0;
+    }
+
+    public double getNumber1() {
+        return number1;
+    }
+
+    public void setNumber1(double number1) {
+        this.number1 = number1;
+    }
+
+    public double getNumber2() {
+        return number2;
+    }
+
+    public void setNumber2(double number2) {
+        this.number2 = number2;
+    }
+
+    public double getNumber3() {
+        return number3;
+    }
+
+    public void setNumber3(double number3) {
+        this.number3 = number3;
+    }
+
+    public double getNumber4() {
+        return number4;
+    }
+
+    public void setNumber4(double number4) {
+        this.number4 = number4;
+    }
+
+    public double getNumber5() {
+        return number5;
+    }
+
+    public void setNumber5(double number5) {
+        this.number5 = number5;
+    }
+
+    public double getNumber6() {
+        return number6;
+    }
+
+    public void setNumber6(double number6) {
+        this.number6 = number6;
+    }
+
+    public double getNumber7() {
+        return number7;
+    }
+
+    public void setNumber7(double number7) {
+        this.number7 = number7;
+    }
+
+    public long getCount0() {
+        return count0;
+    }
+
+    public void setCount0(long count0) {
+        this.count0 = count0;
+    }
+
+    public long getCount1() {
+        return count1;
+    }
+
+    public void setCount1(long count1) {
+        this.count1 = count1;
+    }
+
+    public long getCount2() {
+        return count2;
+    }
+
+    public void setCount2(long count2) {
+        this.count2 = count2;
+    }
+
+    public long getCount3() {
+        return count3;
+    }
+
+    public void setCount3(long count3) {
+        this.count3 = count3;
+    }
+
+    public Date getTime0() {
+        return time0;
+    }
+
+    public void setTime0(Date time0) {
+        this.time0 = time0;
+    }
+
+    public Date getTime1() {
+        return time1;
+    }
+
+    public void setTime1(Date time1) {
+        this.time1 = time1;
+    }
+
+    public Date getTime2() {
+        return time2;
+    }
+
+    public void setTime2(Date time2) {
+        this.time2 = time2;
+    }
+
+    public Date getTime3() {
+        return time3;
+    }
+
+    public void setTime3(Date time3) {
+        this.time3 = time3;
+    }
+}
@@ -0,0 +1,59 @@
+package com.demo.benchmark;
+
+import com.demo.utils.ExcelExportUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @className: XlsExportBenchmark
+ * @package: com.demo.benchmark
+ * @describe: doExportExcel(.xls，整个工作簿在内存中)的吞吐量。.xls单表最多65536行且不能流式写出，
+ *            不测100万行，大数据量看ExportBenchmark.doExportExcelStreaming
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 3:35
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class XlsExportBenchmark {
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    @Param({BenchmarkData.NARROW, BenchmarkData.WIDE})
+    public String shape;
+
+    private List<Object> data;
+
+    private String[] headers;
+
+    @Setup
+    public void setUp() {
+        data = BenchmarkData.rows(shape, rows);
+        headers = BenchmarkData.headers(shape);
+    }
+
+    @Benchmark
+    public long doExportExcel() throws IOException {
+        DiscardingOutputStream out = new DiscardingOutputStream();
+        ExcelExportUtil.doExportExcel(shape, shape, headers, data, out, "yyyy-MM-dd HH:mm:ss");
+        return out.getCount();
+    }
+}
@@ -0,0 +1,277 @@
+package com.demo.utils;
+
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * @className: BatchInsertSink
+ * @package: com.demo.utils
+ * @describe: 导入数据的批量入库。解析线程通过accept把对象放入有界队列，
+ *            写入线程用ExecutorType.BATCH的SqlSession逐条insert，每batchSize条flushStatements一次(一次JDBC批量执行)，
+ *            每commitInterval条提交一次事务；队列满时accept阻塞，解析速度不会超过入库速度，文件不需要整个读入内存。
+ *            解析失败时调用abort回滚未提交的数据，不要调用close把已读到的一半数据提交。
+ *            用法：BatchInsertSink&lt;Object&gt; sink = new BatchInsertSink&lt;&gt;(factory, "xxxMapper.insert").start();
+ *                  try {
+ *                      ExcelImportUtil.doImportExcel(url, 1, 0, Xxx.class, sink);
+ *                  } catch (IOException | RuntimeException e) {
+ *                      sink.abort();
+ *                      throw e;
+ *                  }
+ *                  sink.close();
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 6:10
+ */
+public class BatchInsertSink<T> implements Consumer<T>, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchInsertSink.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    public static final int DEFAULT_COMMIT_INTERVAL = 5000;
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 2000;
+
+    //队列结束标记
+    private static final Object END = new Object();
+
+    //放弃写入的标记，写入线程回滚未提交的数据后退出
+    private static final Object ABORT = new Object();
+
+    private final SqlSessionFactory sqlSessionFactory;
+
+    //insert语句的id(Mapper接口全名.方法名)
+    private final String statement;
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    private int commitInterval = DEFAULT_COMMIT_INTERVAL;
+
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    private BlockingQueue<Object> queue;
+
+    private Thread writer;
+
+    private volatile Throwable failure;
+
+    private volatile long rowCount;
+
+    private volatile int commitCount;
+
+    private boolean closed;
+
+    public BatchInsertSink(SqlSessionFactory sqlSessionFactory, String statement) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.statement = statement;
+    }
+
+    /**
+     * 每多少条执行一次JDBC批量
+     */
+    public BatchInsertSink<T> setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize必须大于0");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * 每多少条提交一次事务，提交只发生在批次边界，小于batchSize时相当于每批提交一次
+     */
+    public BatchInsertSink<T> setCommitInterval(int commitInterval) {
+        if (commitInterval <= 0) {
+            throw new IllegalArgumentException("commitInterval必须大于0");
+        }
+        this.commitInterval = commitInterval;
+        return this;
+    }
+
+    /**
+     * 解析线程与写入线程之间的队列容量，队列满时accept阻塞
+     */
+    public BatchInsertSink<T> setQueueCapacity(int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity必须大于0");
+        }
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    /**
+     * @methodName: start
+     * @describe: 启动写入线程
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 6:15
+     */
+    public synchronized BatchInsertSink<T> start() {
+        if (writer != null) {
+            throw new IllegalStateException("已经启动");
+        }
+        queue = new ArrayBlockingQueue<Object>(queueCapacity);
+        writer = new Thread(this::write, "batch-insert-" + statement);
+        writer.setDaemon(true);
+        writer.start();
+        return this;
+    }
+
+    /**
+     * @methodName: accept
+     * @param: [item 要插入的对象]
+     * @describe: 放入队列，队列满时阻塞；写入线程已失败时抛出PersistenceException
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 6:20
+     */
+    @Override
+    public void accept(T item) {
+        if (writer == null || closed) {
+            throw new IllegalStateException("未启动或已关闭");
+        }
+        put(item);
+    }
+
+    /**
+     * @methodName: close
+     * @describe: 等待队列中剩余数据写完并提交；写入失败时抛出PersistenceException(已提交的批次不会回滚)
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 6:25
+     */
+    @Override
+    public void close() {
+        if (writer == null || closed) {
+            return;
+        }
+        closed = true;
+        if (failure == null) {
+            put(END);
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            writer.interrupt();
+            Thread.currentThread().interrupt();
+            throw new PersistenceException("等待写入线程结束时被中断", e);
+        }
+        checkFailure();
+        logger.info("批量入库完成，语句：{}，行数：{}，提交次数：{}", statement, rowCount, commitCount);
+    }
+
+    /**
+     * @methodName: abort
+     * @describe: 解析失败时调用：丢弃队列中还没有写入的数据，回滚未提交的事务，等待写入线程结束。
+     *            按commitInterval已经提交的批次不会回滚，需要整个文件一个事务时把commitInterval设为Integer.MAX_VALUE；
+     *            写入线程此前已失败时抛出PersistenceException
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 9:10
+     */
+    public void abort() {
+        if (writer == null || closed) {
+            return;
+        }
+        closed = true;
+        if (failure == null) {
+            //解析线程就是唯一的生产者，清空后一定放得下
+            queue.clear();
+            queue.offer(ABORT);
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            writer.interrupt();
+            Thread.currentThread().interrupt();
+            throw new PersistenceException("等待写入线程结束时被中断", e);
+        }
+        checkFailure();
+        logger.warn("批量入库已放弃，语句：{}，已提交行数：{}", statement, rowCount);
+    }
+
+    /**
+     * 已提交的行数
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public int getCommitCount() {
+        return commitCount;
+    }
+
+    private void put(Object item) {
+        try {
+            //写入线程失败后不再消费队列，不能无限期阻塞
+            while (!queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                checkFailure();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PersistenceException("放入写入队列时被中断", e);
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() {
+        Throwable cause = failure;
+        if (cause != null) {
+            throw new PersistenceException("批量写入数据库失败：" + cause.getMessage(), cause);
+        }
+    }
+
+    private void write() {
+        SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false);
+        try {
+            int pending = 0;
+            int uncommitted = 0;
+            long count = 0;
+            for (Object item = queue.take(); item != END; item = queue.take()) {
+                if (item == ABORT) {
+                    session.rollback(true);
+                    return;
+                }
+                session.insert(statement, item);
+                count++;
+                if (++pending == batchSize) {
+                    session.flushStatements();
+                    pending = 0;
+                }
+                if (++uncommitted >= commitInterval && pending == 0) {
+                    //commit会先flushStatements，只在批次边界提交，避免拆散批次
+                    session.commit();
+                    commitCount++;
+                    uncommitted = 0;
+                    rowCount = count;
+                }
+            }
+            if (uncommitted > 0) {
+                session.commit();
+                commitCount++;
+            }
+            rowCount = count;
+        } catch (Throwable e) {
+            logger.error("批量写入数据库失败，语句：{}，错误信息：{}", statement, e.getMessage());
+            failure = e;
+            queue.clear();
+            try {
+                session.rollback(true);
+            } catch (RuntimeException rollbackError) {
+                logger.error("回滚失败：{}", rollbackError.getMessage());
+            }
+        } finally {
+            session.close();
+        }
+    }
+}
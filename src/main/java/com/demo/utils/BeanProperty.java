@@ -0,0 +1,150 @@
+package com.demo.utils;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * @className: BeanProperty
+ * @package: com.demo.utils
+ * @describe: 对象属性的元数据，持有预先生成的get/set访问器，
+ *            由{@link BeanSchema}在首次使用某个类时一次性解析，之后只读共享
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 上午 11:00
+ */
+public final class BeanProperty {
+
+    private final String name;
+
+    private final Class<?> type;
+
+    private final int index;
+
+    //属性没有对应的get方法时为null
+    private final Function<Object, Object> getter;
+
+    //属性没有对应的set方法时为null
+    private final BiConsumer<Object, Object> setter;
+
+    //基本类型属性的set方法，赋值时不装箱；非对应类型或无法生成时为null
+    private final Object primitiveSetter;
+
+    //属性或get方法上的列声明，没有时为null
+    private final ExcelColumn column;
+
+    BeanProperty(String name, Class<?> type, int index, Function<Object, Object> getter,
+                 BiConsumer<Object, Object> setter, Object primitiveSetter, ExcelColumn column) {
+        this.name = name;
+        this.type = type;
+        this.index = index;
+        this.getter = getter;
+        this.setter = setter;
+        this.primitiveSetter = primitiveSetter;
+        this.column = column;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * 属性在类中的声明顺序(从0开始)，只有get方法的计算属性为-1
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * 属性或get方法上的{@link ExcelColumn}，没有标注时返回null
+     */
+    public ExcelColumn getColumn() {
+        return column;
+    }
+
+    public boolean isReadable() {
+        return getter != null;
+    }
+
+    public boolean isWritable() {
+        return setter != null;
+    }
+
+    /**
+     * @methodName: get
+     * @param: [bean 对象]
+     * @describe: 读取属性值，没有get方法时返回null
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 上午 11:05
+     */
+    public Object get(Object bean) {
+        return getter == null ? null : getter.apply(bean);
+    }
+
+    /**
+     * @methodName: set
+     * @param: [bean 对象, value 值]
+     * @describe: 为属性赋值，没有set方法或基本类型属性遇到null值时忽略
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 上午 11:05
+     */
+    public void set(Object bean, Object value) {
+        if (setter == null || (value == null && type.isPrimitive())) {
+            return;
+        }
+        setter.accept(bean, value);
+    }
+
+    /**
+     * @methodName: setConverted
+     * @param: bean      对象
+     *          converter 单元格转换器
+     *          row       当前行
+     *          column    列号
+     * @describe: 用转换器读取单元格并赋值，int/long/double/boolean属性遇到对应的基本类型转换器时全程不装箱
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 4:40
+     */
+    @SuppressWarnings("unchecked")
+    public void setConverted(Object bean, CellConverter<?> converter, SheetRow row, int column) {
+        if (primitiveSetter != null) {
+            if (type == int.class && converter instanceof CellConverter.OfInt) {
+                ((ObjIntConsumer<Object>) primitiveSetter).accept(bean, ((CellConverter.OfInt) converter).convertInt(row, column));
+                return;
+            } else if (type == long.class && converter instanceof CellConverter.OfLong) {
+                ((ObjLongConsumer<Object>) primitiveSetter).accept(bean, ((CellConverter.OfLong) converter).convertLong(row, column));
+                return;
+            } else if (type == double.class && converter instanceof CellConverter.OfDouble) {
+                ((ObjDoubleConsumer<Object>) primitiveSetter).accept(bean, ((CellConverter.OfDouble) converter).convertDouble(row, column));
+                return;
+            } else if (type == boolean.class && converter instanceof CellConverter.OfBoolean) {
+                ((BooleanSetter) primitiveSetter).accept(bean, ((CellConverter.OfBoolean) converter).convertBoolean(row, column));
+                return;
+            }
+        }
+        set(bean, converter.convert(row, column));
+    }
+
+    /**
+     * boolean属性的set方法，JDK中没有对应的函数式接口
+     */
+    @FunctionalInterface
+    public interface BooleanSetter {
+
+        void accept(Object bean, boolean value);
+    }
+
+    @Override
+    public String toString() {
+        return type.getSimpleName() + " " + name;
+    }
+}
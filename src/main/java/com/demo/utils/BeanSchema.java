@@ -0,0 +1,339 @@
+package com.demo.utils;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * @className: BeanSchema
+ * @package: com.demo.utils
+ * @describe: 类的属性元数据缓存。每个类只在第一次使用时通过反射解析一次属性顺序、
+ *            get/set方法，并用LambdaMetafactory生成直接调用的访问器，
+ *            导入导出的热点路径上不再有getMethod/getDeclaredFields之类的反射查找
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 上午 11:10
+ */
+public final class BeanSchema {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final ClassValue<BeanSchema> SCHEMAS = new ClassValue<BeanSchema>() {
+        @Override
+        protected BeanSchema computeValue(Class<?> type) {
+            return new BeanSchema(type);
+        }
+    };
+
+    private final Class<?> type;
+
+    private final List<BeanProperty> properties;
+
+    private final Map<String, BeanProperty> propertyMap;
+
+    //无参构造器，类没有可用的无参构造器时为null
+    private final Supplier<Object> constructor;
+
+    private BeanSchema(Class<?> type) {
+        this.type = type;
+        List<BeanProperty> list = new ArrayList<BeanProperty>();
+        Map<String, BeanProperty> map = new HashMap<String, BeanProperty>();
+        for (Field field : type.getDeclaredFields()) {
+            //静态属性和编译器生成的属性不属于数据列
+            if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                continue;
+            }
+            BeanProperty property = createProperty(type, field, list.size());
+            list.add(property);
+            map.put(property.getName(), property);
+        }
+        //没有对应属性的公开get方法(计算属性)只能按名称访问，不参与列顺序
+        for (Method method : type.getMethods()) {
+            String name = method.getName();
+            if (name.length() > 3 && name.startsWith("get") && method.getParameterTypes().length == 0
+                    && !Modifier.isStatic(method.getModifiers()) && method.getDeclaringClass() != Object.class) {
+                String attribute = Character.toLowerCase(name.charAt(3)) + name.substring(4);
+                if (!map.containsKey(attribute)) {
+                    map.put(attribute, new BeanProperty(attribute, method.getReturnType(), -1,
+                            createGetter(method), null, null, method.getAnnotation(ExcelColumn.class)));
+                }
+            }
+        }
+        this.properties = Collections.unmodifiableList(list);
+        this.propertyMap = map;
+        this.constructor = createConstructor(type);
+    }
+
+    /**
+     * @methodName: of
+     * @param: [type 类]
+     * @describe: 获取类的属性元数据，同一个类只解析一次
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 上午 11:15
+     */
+    public static BeanSchema of(Class<?> type) {
+        return SCHEMAS.get(type);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * 按声明顺序排列的属性
+     */
+    public List<BeanProperty> getProperties() {
+        return properties;
+    }
+
+    /**
+     * 根据属性名获取属性(包括只有get方法的计算属性)，不存在时返回null
+     */
+    public BeanProperty getProperty(String name) {
+        return propertyMap.get(name);
+    }
+
+    /**
+     * @methodName: newInstance
+     * @param: []
+     * @describe: 通过无参构造器创建对象
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 上午 11:15
+     */
+    public Object newInstance() {
+        if (constructor == null) {
+            throw new IllegalStateException(type.getName() + " 没有可访问的无参构造器");
+        }
+        return constructor.get();
+    }
+
+    /**
+     * @methodName: accessorName
+     * @param: [prefix 前缀(get/set/is), attribute 属性名]
+     * @describe: 根据属性名生成对应的get/set/is方法名，"_"开头的属性名原样拼接
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 上午 11:20
+     */
+    public static String accessorName(String prefix, String attribute) {
+        StringBuilder builder = new StringBuilder(prefix.length() + attribute.length());
+        builder.append(prefix);
+        if (attribute.charAt(0) != '_') {
+            builder.append(Character.toUpperCase(attribute.charAt(0))).append(attribute, 1, attribute.length());
+        } else {
+            builder.append(attribute);
+        }
+        return builder.toString();
+    }
+
+    private static BeanProperty createProperty(Class<?> type, Field field, int index) {
+        String name = field.getName();
+        Class<?> fieldType = field.getType();
+        Method getter = null;
+        if (fieldType == boolean.class || fieldType == Boolean.class) {
+            getter = findMethod(type, accessorName("is", name));
+        }
+        if (getter == null) {
+            getter = findMethod(type, accessorName("get", name));
+        }
+        Method setter = findMethod(type, accessorName("set", name), fieldType);
+        //属性上的标注优先，其次是get方法上的
+        ExcelColumn column = field.getAnnotation(ExcelColumn.class);
+        if (column == null && getter != null) {
+            column = getter.getAnnotation(ExcelColumn.class);
+        }
+        return new BeanProperty(name, fieldType, index,
+                getter == null ? null : createGetter(getter),
+                setter == null ? null : createSetter(setter),
+                setter == null ? null : createPrimitiveSetter(setter), column);
+    }
+
+    private static Method findMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> createGetter(Method method) {
+        MethodHandle handle = unreflect(method);
+        if (canSpinLambda(method)) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply",
+                        MethodType.methodType(Function.class),
+                        MethodType.methodType(Object.class, Object.class),
+                        handle,
+                        MethodType.methodType(wrap(method.getReturnType()), method.getDeclaringClass()));
+                return (Function<Object, Object>) site.getTarget().invoke();
+            } catch (Throwable e) {
+                //生成失败时退回到MethodHandle调用
+            }
+        }
+        final MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+        return bean -> {
+            try {
+                return generic.invokeExact(bean);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> createSetter(Method method) {
+        MethodHandle handle = unreflect(method);
+        Class<?> parameterType = method.getParameterTypes()[0];
+        if (canSpinLambda(method)) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP, "accept",
+                        MethodType.methodType(BiConsumer.class),
+                        MethodType.methodType(void.class, Object.class, Object.class),
+                        handle,
+                        MethodType.methodType(void.class, method.getDeclaringClass(), wrap(parameterType)));
+                return (BiConsumer<Object, Object>) site.getTarget().invoke();
+            } catch (Throwable e) {
+                //生成失败时退回到MethodHandle调用
+            }
+        }
+        final MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (bean, value) -> {
+            try {
+                generic.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        };
+    }
+
+    /**
+     * 为int/long/double/boolean属性生成不装箱的set方法，无法生成时返回null(退回到装箱的setter)
+     */
+    private static Object createPrimitiveSetter(Method method) {
+        Class<?> parameterType = method.getParameterTypes()[0];
+        Class<?> functionType;
+        if (parameterType == int.class) {
+            functionType = ObjIntConsumer.class;
+        } else if (parameterType == long.class) {
+            functionType = ObjLongConsumer.class;
+        } else if (parameterType == double.class) {
+            functionType = ObjDoubleConsumer.class;
+        } else if (parameterType == boolean.class) {
+            functionType = BeanProperty.BooleanSetter.class;
+        } else {
+            return null;
+        }
+        if (!canSpinLambda(method)) {
+            return null;
+        }
+        try {
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, "accept",
+                    MethodType.methodType(functionType),
+                    MethodType.methodType(void.class, Object.class, parameterType),
+                    unreflect(method),
+                    MethodType.methodType(void.class, method.getDeclaringClass(), parameterType));
+            return site.getTarget().invoke();
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<Object> createConstructor(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        final Constructor<?> constructor;
+        final MethodHandle handle;
+        try {
+            constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            handle = LOOKUP.unreflectConstructor(constructor);
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+        if (isVisible(type) && Modifier.isPublic(constructor.getModifiers())) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP, "get",
+                        MethodType.methodType(Supplier.class),
+                        MethodType.methodType(Object.class),
+                        handle,
+                        MethodType.methodType(type));
+                return (Supplier<Object>) site.getTarget().invoke();
+            } catch (Throwable e) {
+                //生成失败时退回到MethodHandle调用
+            }
+        }
+        final MethodHandle generic = handle.asType(MethodType.methodType(Object.class));
+        return () -> {
+            try {
+                return generic.invokeExact();
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        };
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        try {
+            method.setAccessible(true);
+            return LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("无法访问方法 " + method, e);
+        }
+    }
+
+    /**
+     * 生成的lambda类定义在本类的类加载器中，只有公开的、本类加载器可见的类和方法才能直接调用
+     */
+    private static boolean canSpinLambda(Method method) {
+        return Modifier.isPublic(method.getModifiers()) && isVisible(method.getDeclaringClass());
+    }
+
+    private static boolean isVisible(Class<?> type) {
+        if (!Modifier.isPublic(type.getModifiers())) {
+            return false;
+        }
+        try {
+            return Class.forName(type.getName(), false, BeanSchema.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    private static RuntimeException propagate(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new IllegalStateException(e);
+    }
+}
@@ -0,0 +1,145 @@
+package com.demo.utils;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @className: CSVOptions
+ * @package: com.demo.utils
+ * @describe: CSV的读写参数
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 7:50
+ */
+public class CSVOptions {
+
+    public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * 防止Excel打开时把数字文本转换为数值(丢失前导0、超过11位显示为科学计数法)的处理方式
+     */
+    public enum KeepAsText {
+        //不处理
+        NONE,
+        //每个字段后追加制表符(旧版CSVUtil的做法)，Excel会将其视为文本，但制表符会留在数据中
+        TAB,
+        //只有纯数字且以0开头或超过11位的字段写成 ="0123" 的公式形式，数据本身不变
+        FORMULA
+    }
+
+    private Charset charset = Charset.forName("GBK");
+
+    //是否在文件开头写入字节顺序标记(UTF-8时Excel据此识别编码)
+    private boolean bom = false;
+
+    private char delimiter = ',';
+
+    //RFC 4180规定使用CRLF
+    private String lineSeparator = "\r\n";
+
+    private KeepAsText keepAsText = KeepAsText.NONE;
+
+    //Date/LocalDateTime等时间类型的输出格式
+    private String datePattern = "yyyy-MM-dd HH:mm:ss";
+
+    //输出缓冲区的字节数
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    /**
+     * GBK编码，兼容中文版Excel直接双击打开
+     */
+    public static CSVOptions gbk() {
+        return new CSVOptions();
+    }
+
+    /**
+     * 带BOM的UTF-8编码，Excel可以识别，且能表示GBK以外的字符
+     */
+    public static CSVOptions utf8WithBom() {
+        return new CSVOptions().setCharset(StandardCharsets.UTF_8).setBom(true);
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    public CSVOptions setCharset(Charset charset) {
+        this.charset = charset;
+        return this;
+    }
+
+    public boolean isBom() {
+        return bom;
+    }
+
+    public CSVOptions setBom(boolean bom) {
+        this.bom = bom;
+        return this;
+    }
+
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    public CSVOptions setDelimiter(char delimiter) {
+        if (delimiter == '"' || delimiter == '\r' || delimiter == '\n') {
+            throw new IllegalArgumentException("不能使用引号或换行符作为分隔符");
+        }
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    public String getLineSeparator() {
+        return lineSeparator;
+    }
+
+    public CSVOptions setLineSeparator(String lineSeparator) {
+        this.lineSeparator = lineSeparator;
+        return this;
+    }
+
+    public KeepAsText getKeepAsText() {
+        return keepAsText;
+    }
+
+    public CSVOptions setKeepAsText(KeepAsText keepAsText) {
+        this.keepAsText = keepAsText;
+        return this;
+    }
+
+    public String getDatePattern() {
+        return datePattern;
+    }
+
+    public CSVOptions setDatePattern(String datePattern) {
+        this.datePattern = datePattern;
+        return this;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public CSVOptions setBufferSize(int bufferSize) {
+        if (bufferSize < 1024) {
+            throw new IllegalArgumentException("bufferSize不能小于1024");
+        }
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    /**
+     * 复制一份参数，修改副本不影响原来的参数
+     */
+    CSVOptions copy() {
+        CSVOptions copy = new CSVOptions();
+        copy.charset = charset;
+        copy.bom = bom;
+        copy.delimiter = delimiter;
+        copy.lineSeparator = lineSeparator;
+        copy.keepAsText = keepAsText;
+        copy.datePattern = datePattern;
+        copy.bufferSize = bufferSize;
+        return copy;
+    }
+}
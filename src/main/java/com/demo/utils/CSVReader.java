@@ -0,0 +1,337 @@
+package com.demo.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * @className: CSVReader
+ * @package: com.demo.utils
+ * @describe: CSV读取器。文件通过内存映射读取，直接在字节上切分字段(支持RFC 4180的引号和转义引号)，
+ *            字段只记录起止位置，需要时才解码为字符串。
+ *            分隔符、引号和换行都是ASCII字节，在UTF-8和GBK/GB18030的多字节字符中不会出现(GBK的第二个字节不小于0x40)，
+ *            因此可以先按字节切分再解码；分隔符不小于0x40时按GBK的双字节跳过第二个字节。
+ *            CSVOptions中的文本保持方式用于还原CSVWriter写入时附加的制表符或公式。
+ *            非线程安全；open映射的内存在close时释放
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 9:20
+ */
+public class CSVReader implements Closeable {
+
+    private final ByteBuffer buffer;
+
+    private final int limit;
+
+    private final byte delimiter;
+
+    //GBK等双字节编码且分隔符可能与第二个字节冲突时，遇到首字节需要跳过下一个字节
+    private final boolean skipTrailByte;
+
+    private final CSVOptions.KeepAsText keepAsText;
+
+    private final CSVRecord record;
+
+    //缓冲区是open映射的，close时释放
+    private final boolean mapped;
+
+    private int position;
+
+    private long recordNum;
+
+    private boolean closed;
+
+    /**
+     * @param buffer  CSV内容，从position读到limit，可以是内存映射或池化的缓冲区
+     * @param options 编码和分隔符
+     */
+    public CSVReader(ByteBuffer buffer, CSVOptions options) {
+        this(buffer, options, false);
+    }
+
+    private CSVReader(ByteBuffer buffer, CSVOptions options, boolean mapped) {
+        Charset charset = options.getCharset();
+        byte[] ascii = ",\"\r\n".getBytes(charset);
+        if (!Arrays.equals(ascii, new byte[]{',', '"', '\r', '\n'}) || options.getDelimiter() > 0x7F) {
+            throw new IllegalArgumentException("不支持的编码或分隔符：" + charset.name() + " '" + options.getDelimiter() + "'");
+        }
+        this.buffer = buffer;
+        this.position = buffer.position();
+        this.limit = buffer.limit();
+        this.delimiter = (byte) options.getDelimiter();
+        this.skipTrailByte = delimiter >= 0x40 && !StandardCharsets.UTF_8.equals(charset)
+                && charset.newEncoder().maxBytesPerChar() > 1;
+        this.keepAsText = options.getKeepAsText();
+        this.record = new CSVRecord(buffer, charset);
+        this.mapped = mapped;
+        skipBom(charset);
+    }
+
+    /**
+     * @methodName: open
+     * @param: file    CSV文件
+     *          options 编码和分隔符
+     * @describe: 以只读方式映射文件，单个文件不能超过2GB；用完后调用close释放映射
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 9:25
+     */
+    public static CSVReader open(File file, CSVOptions options) throws IOException {
+        if (!file.exists()) {
+            throw new IOException("文件名为 " + file.getName() + "的CSV文件不存在!");
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(file.getName() + " 超过2GB，不能映射读取");
+            }
+            //映射在通道关闭后仍然有效
+            return new CSVReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), options, true);
+        }
+    }
+
+    /**
+     * @methodName: next
+     * @describe: 解析下一条记录，没有更多记录时返回false
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 9:30
+     */
+    public boolean next() {
+        if (position >= limit) {
+            return false;
+        }
+        record.reset(recordNum++);
+        int pos = position;
+        while (true) {
+            if (pos < limit && buffer.get(pos) == '"') {
+                pos = readQuoted(pos + 1);
+            } else {
+                int start = pos;
+                pos = scanUnquoted(pos);
+                addField(start, pos, false);
+            }
+            if (pos >= limit) {
+                break;
+            }
+            byte b = buffer.get(pos++);
+            if (b == delimiter) {
+                continue;
+            }
+            if (b == '\r' && pos < limit && buffer.get(pos) == '\n') {
+                pos++;
+            }
+            break;
+        }
+        position = pos;
+        return true;
+    }
+
+    /**
+     * 当前记录，调用next之后有效
+     */
+    public CSVRecord record() {
+        return record;
+    }
+
+    /**
+     * @methodName: read
+     * @param: options  起始行、结束行(含义同Excel导入，表头也算一行)、列投影、行过滤条件和字符串字典，sheetIndex被忽略
+     *          callback 逐行回调，空行不回调
+     * @describe: 逐行读取，每条记录的字段作为字符串单元格填入SheetRow，可以直接交给RowMapper转换为对象
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 9:35
+     */
+    public void read(ImportOptions options, RowCallback callback) {
+        ColumnProjection projection = ColumnProjection.of(options);
+        RowCallback filter = new RowRangeFilter(callback, options, projection, false);
+        StringDictionary dictionary = options.getStringDictionary();
+        SheetRow row = new SheetRow();
+        while (next()) {
+            if (record.isBlankLine()) {
+                continue;
+            }
+            record.toSheetRow(row, projection, dictionary);
+            if (!filter.onRow(row)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @methodName: rows
+     * @param: [options 起始行、结束行]
+     * @describe: 以Stream的形式返回各行(独立的SheetRow副本)，读完或close之前不要关闭读取器。
+     *            行数未知，CSV也不能按字节位置切分(引号中可以有换行)，解析始终是顺序的；
+     *            并行流只能按逐渐增大的批次(1024、2048……行)把解析好的行交给其他线程，行数较少或转换很轻时没有收益
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 9:40
+     */
+    public Stream<SheetRow> rows(ImportOptions options) {
+        Spliterator<SheetRow> spliterator = Spliterators.spliteratorUnknownSize(new RowIterator(options),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * 让读取器不再可用；open映射的内存立即释放，不等GC回收缓冲区，之后当前记录为空
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        position = limit;
+        //释放映射后再访问缓冲区会使JVM崩溃，记录清空后不再读取缓冲区
+        record.reset(recordNum);
+        if (mapped) {
+            unmap(buffer);
+        }
+    }
+
+    /**
+     * 通过DirectByteBuffer的cleaner释放映射(Java 8)；不支持时仍由GC回收
+     */
+    private static void unmap(ByteBuffer buffer) {
+        try {
+            Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            Object cleaner = cleanerMethod.invoke(buffer);
+            if (cleaner != null) {
+                cleaner.getClass().getMethod("clean").invoke(cleaner);
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            //Java 9以上的模块限制等，保持由GC释放
+        }
+    }
+
+    private void skipBom(Charset charset) {
+        if (StandardCharsets.UTF_8.equals(charset) && limit - position >= 3
+                && buffer.get(position) == (byte) 0xEF
+                && buffer.get(position + 1) == (byte) 0xBB
+                && buffer.get(position + 2) == (byte) 0xBF) {
+            position += 3;
+        }
+    }
+
+    /**
+     * 读取引号中的字段，pos为左引号之后的位置，返回右引号之后的位置；
+     * 右引号与分隔符之间的多余字符被忽略，缺少右引号时读到末尾
+     */
+    private int readQuoted(int pos) {
+        int start = pos;
+        boolean escaped = false;
+        int end = limit;
+        while (pos < limit) {
+            if (buffer.get(pos) == '"') {
+                if (pos + 1 < limit && buffer.get(pos + 1) == '"') {
+                    escaped = true;
+                    pos += 2;
+                    continue;
+                }
+                end = pos++;
+                break;
+            }
+            pos++;
+        }
+        addField(start, end, escaped);
+        return scanUnquoted(pos);
+    }
+
+    /**
+     * 按写入时的文本保持方式还原字段：去掉末尾的制表符，或把 ="0123" 还原为 0123
+     */
+    private void addField(int start, int end, boolean escaped) {
+        if (keepAsText == CSVOptions.KeepAsText.TAB && end > start && buffer.get(end - 1) == '\t') {
+            end--;
+        } else if (keepAsText == CSVOptions.KeepAsText.FORMULA && escaped && end - start >= 5
+                && buffer.get(start) == '=' && buffer.get(start + 1) == '"' && buffer.get(start + 2) == '"'
+                && buffer.get(end - 1) == '"' && buffer.get(end - 2) == '"') {
+            start += 3;
+            end -= 2;
+            escaped = false;
+        }
+        record.addField(start, end, escaped);
+    }
+
+    /**
+     * 扫描到分隔符、换行或末尾，返回其位置
+     */
+    private int scanUnquoted(int pos) {
+        while (pos < limit) {
+            byte b = buffer.get(pos);
+            if (b == delimiter || b == '\n' || b == '\r') {
+                return pos;
+            }
+            pos += skipTrailByte && b < 0 ? 2 : 1;
+        }
+        return limit;
+    }
+
+    /**
+     * 把回调式的读取和行范围过滤转换为迭代器，过滤器输出的行先放入一个小队列
+     */
+    private final class RowIterator implements Iterator<SheetRow> {
+
+        private final ArrayDeque<SheetRow> ready = new ArrayDeque<SheetRow>();
+
+        private final ColumnProjection projection;
+
+        private final RowCallback filter;
+
+        private final StringDictionary dictionary;
+
+        private final SheetRow row = new SheetRow();
+
+        private boolean done;
+
+        private RowIterator(ImportOptions options) {
+            this.projection = ColumnProjection.of(options);
+            this.dictionary = options.getStringDictionary();
+            this.filter = new RowRangeFilter(r -> {
+                ready.add(r.copy());
+                return true;
+            }, options, projection, false);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (ready.isEmpty() && !done) {
+                if (!CSVReader.this.next()) {
+                    done = true;
+                } else if (!record.isBlankLine()) {
+                    record.toSheetRow(row, projection, dictionary);
+                    if (!filter.onRow(row)) {
+                        done = true;
+                    }
+                }
+            }
+            return !ready.isEmpty();
+        }
+
+        @Override
+        public SheetRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return ready.poll();
+        }
+    }
+}
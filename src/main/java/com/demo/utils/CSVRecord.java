@@ -0,0 +1,258 @@
+package com.demo.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+
+/**
+ * @className: CSVRecord
+ * @package: com.demo.utils
+ * @describe: CSV读取器解析出的一条记录。只保存各字段在缓冲区中的起止位置，不复制字节，
+ *            调用getString时才解码为字符串；读取器复用同一个对象，读到下一条记录后内容即被覆盖
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 9:00
+ */
+public final class CSVRecord {
+
+    private final ByteBuffer buffer;
+
+    //批量复制字节用的视图，不影响读取器的位置
+    private final ByteBuffer view;
+
+    private final Charset charset;
+
+    private long recordNum;
+
+    private int size;
+
+    private int[] starts = new int[16];
+
+    private int[] ends = new int[16];
+
+    //带引号且含有转义引号("")的字段，解码时需要去掉一个引号
+    private boolean[] escaped = new boolean[16];
+
+    //解码时复用的字节缓冲区
+    private byte[] scratch = new byte[64];
+
+    //使用字符串字典时的解码器和复用的字符缓冲区，首次使用时创建
+    private CharsetDecoder decoder;
+
+    private CharBuffer chars;
+
+    CSVRecord(ByteBuffer buffer, Charset charset) {
+        this.buffer = buffer;
+        this.view = buffer.duplicate();
+        this.charset = charset;
+    }
+
+    void reset(long recordNum) {
+        this.recordNum = recordNum;
+        this.size = 0;
+    }
+
+    void addField(int start, int end, boolean quoteEscaped) {
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+            escaped = Arrays.copyOf(escaped, size * 2);
+        }
+        starts[size] = start;
+        ends[size] = end;
+        escaped[size] = quoteEscaped;
+        size++;
+    }
+
+    /**
+     * 记录序号(从0开始，含表头)
+     */
+    public long getRecordNum() {
+        return recordNum;
+    }
+
+    /**
+     * 字段个数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 字段是否为空，超出字段个数的列也视为空
+     */
+    public boolean isEmpty(int index) {
+        return index >= size || starts[index] == ends[index];
+    }
+
+    /**
+     * 整行只有一个空字段，即空行
+     */
+    public boolean isBlankLine() {
+        return size == 1 && starts[0] == ends[0];
+    }
+
+    /**
+     * @methodName: getString
+     * @param: [index 字段序号]
+     * @describe: 解码字段的值，超出字段个数时返回null
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 9:05
+     */
+    public String getString(int index) {
+        if (index >= size) {
+            return null;
+        }
+        int length = copyBytes(index);
+        return new String(scratch, 0, length, charset);
+    }
+
+    /**
+     * @methodName: getLong
+     * @param: [index 字段序号]
+     * @describe: 直接从字节解析整数，不创建字符串；不是整数时抛出NumberFormatException
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 9:10
+     */
+    public long getLong(int index) {
+        if (isEmpty(index)) {
+            throw new NumberFormatException("第" + (index + 1) + "个字段为空");
+        }
+        int pos = starts[index];
+        int end = ends[index];
+        boolean negative = false;
+        byte first = buffer.get(pos);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            pos++;
+        }
+        if (pos == end || end - pos > 18) {
+            //超过18位可能溢出，交给Long.parseLong判断
+            return Long.parseLong(getString(index).trim());
+        }
+        long value = 0;
+        for (; pos < end; pos++) {
+            int digit = buffer.get(pos) - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.parseLong(getString(index).trim());
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    public int getInt(int index) {
+        long value = getLong(index);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException(value + " 超出int的范围");
+        }
+        return (int) value;
+    }
+
+    public double getDouble(int index) {
+        return Double.parseDouble(getString(index).trim());
+    }
+
+    /**
+     * @methodName: toSheetRow
+     * @param: [row 要填充的行]
+     * @describe: 把非空字段作为字符串单元格填入SheetRow，以便复用Excel导入的RowMapper和转换器
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 9:15
+     */
+    public void toSheetRow(SheetRow row) {
+        toSheetRow(row, ColumnProjection.ALL, null);
+    }
+
+    /**
+     * 只解码列投影中的字段，有字符串字典时重复的值共用字典中的对象
+     */
+    void toSheetRow(SheetRow row, ColumnProjection projection, StringDictionary dictionary) {
+        int rowNum = (int) recordNum;
+        row.reset(rowNum);
+        for (int i = 0; i < size; i++) {
+            if (starts[i] != ends[i] && !projection.skips(rowNum, i)) {
+                row.setString(i, dictionary == null ? getString(i) : getString(i, dictionary));
+            }
+        }
+    }
+
+    /**
+     * @methodName: getString
+     * @param: index      字段序号(不超过字段个数)
+     *          dictionary 字符串字典
+     * @describe: 把字段解码到复用的字符缓冲区后在字典中查找，命中时不创建新的字符串；
+     *            非法字节按替换字符处理，结果与getString(index)相同
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 8:50
+     */
+    String getString(int index, StringDictionary dictionary) {
+        int length = copyBytes(index);
+        if (decoder == null) {
+            decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+        int capacity = (int) (length * (double) decoder.maxCharsPerByte()) + 1;
+        if (chars == null || chars.capacity() < capacity) {
+            chars = CharBuffer.allocate(Math.max(capacity, 64));
+        }
+        chars.clear();
+        decoder.reset();
+        if (!decoder.decode(ByteBuffer.wrap(scratch, 0, length), chars, true).isUnderflow()
+                || !decoder.flush(chars).isUnderflow()) {
+            return dictionary.intern(new String(scratch, 0, length, charset));
+        }
+        chars.flip();
+        return dictionary.intern(chars);
+    }
+
+    /**
+     * 复制出所有字段的字符串，用于在回调之外保留数据
+     */
+    public String[] toArray() {
+        String[] values = new String[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = getString(i);
+        }
+        return values;
+    }
+
+    /**
+     * 把字段的字节复制到scratch中，转义的引号只保留一个，返回字节数
+     */
+    private int copyBytes(int index) {
+        int start = starts[index];
+        int length = ends[index] - start;
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        if (!escaped[index]) {
+            view.position(start);
+            view.get(scratch, 0, length);
+            return length;
+        }
+        int n = 0;
+        for (int i = 0; i < length; i++) {
+            byte b = buffer.get(start + i);
+            scratch[n++] = b;
+            if (b == '"') {
+                //跳过转义用的第二个引号
+                i++;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public String toString() {
+        return recordNum + ": " + Arrays.toString(toArray());
+    }
+}
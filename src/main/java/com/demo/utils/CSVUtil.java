@@ -1,9 +1,16 @@
 package com.demo.utils;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.*;
-import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @className: CSVUtil
@@ -15,6 +22,10 @@ import java.util.List;
  */
 public class CSVUtil<T> {
 
+    private static final Logger logger = LoggerFactory.getLogger(CSVUtil.class);
+
+    private static final String CONTENT_TYPE = "application/csv;charset=GBK";
+
     /**
      * 生成为CVS文件
      *
@@ -24,79 +35,252 @@ public class CSVUtil<T> {
      * @param outPutPath 文件路径
      * @param fileName   文件名称
      * @return
+     * @throws UncheckedIOException 写入失败时抛出，写了一半的文件已删除
      */
-    @SuppressWarnings("rawtypes")
     public File createCSVFile(String[] titles, String[] fileds, List<T> exportData, String outPutPath, String fileName) {
-        File csvFile = null;
-        BufferedWriter csvFileOutputStream = null;
+        return createCSVFile(titles, fileds, exportData == null ? Collections.<T>emptyIterator() : exportData.iterator(), outPutPath, fileName);
+    }
+
+    /**
+     * 生成为CVS文件，数据逐行取出后即写入，不需要事先全部加载到内存
+     *
+     * @param titles     csv文件的列表头(表头信息)
+     * @param fileds     导出队形的属性数组
+     * @param exportData 源数据迭代器，可以是MyBatis Cursor、Stream等惰性数据源
+     * @param outPutPath 文件路径
+     * @param fileName   文件名称
+     * @return
+     * @throws UncheckedIOException 写入失败时抛出，写了一半的文件已删除
+     */
+    public File createCSVFile(String[] titles, String[] fileds, Iterator<? extends T> exportData, String outPutPath, String fileName) {
+        //沿用旧版的GBK编码和制表符文本保持方式
+        CSVOptions options = CSVOptions.gbk().setKeepAsText(CSVOptions.KeepAsText.TAB);
         try {
-            File file = new File(outPutPath);
-            if (!file.exists()) {
-                file.mkdir();
-            }
+            return createCSVFile(titles, fileds, exportData, outPutPath, fileName, options);
+        } catch (IOException e) {
+            logger.error("生成CSV文件 {} 失败", fileName, e);
+            throw new UncheckedIOException(e);
+        }
+    }
 
-            csvFile = new File(file+ "/" + fileName +".csv");
-            System.out.println("csvFile：" + csvFile);
-            // UTF-8使正确读取分隔符","
-            csvFileOutputStream = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(csvFile), "GBK"), 1024);
-            // 写入文件头部
-            for (String title : titles) {
-                csvFileOutputStream.write(title);
-                csvFileOutputStream.write(",");
+    /**
+     * 生成为CVS文件，可指定编码、BOM和文本保持方式
+     *
+     * @param titles     csv文件的列表头(表头信息)
+     * @param fileds     导出对象的属性数组
+     * @param exportData 源数据迭代器
+     * @param outPutPath 文件路径
+     * @param fileName   文件名称
+     * @param options    编码、分隔符、文本保持方式等参数
+     * @return
+     * @throws IOException 写入失败时抛出，写了一半的文件已删除
+     */
+    public File createCSVFile(String[] titles, String[] fileds, Iterator<? extends T> exportData, String outPutPath, String fileName, CSVOptions options) throws IOException {
+        File file = new File(outPutPath);
+        if (!file.exists()) {
+            file.mkdir();
+        }
+        File csvFile = new File(file, fileName + ".csv");
+        try (CSVWriter writer = CSVWriter.open(csvFile, options)) {
+            writeCSV(writer, titles, fileds, exportData);
+        } catch (IOException | RuntimeException e) {
+            //不留下不完整的文件
+            if (csvFile.exists() && !csvFile.delete()) {
+                logger.warn("删除导出失败的文件 {} 失败", csvFile.getPath());
             }
+            throw e;
+        }
+        return csvFile;
+    }
+
+    /**
+     * 按类的列映射计划(@ExcelColumn的列号和列名)写入表头和数据，不需要另外传入属性数组，返回写入的数据行数
+     *
+     * @param writer     CSV写入器
+     * @param clazz      导出对象的类型，数据必须是该类型(或子类)的对象
+     * @param exportData 源数据迭代器
+     * @return
+     */
+    public long writeCSV(CSVWriter writer, Class<? extends T> clazz, Iterator<? extends T> exportData) throws IOException {
+        ColumnPlan plan = ColumnPlan.of(clazz);
+        BeanProperty[] properties = columnProperties(plan);
+        long start = System.nanoTime();
+        long bytes = writer.getByteCount();
+        writer.writeHeader(plan.getHeaders());
+        long rows = writeRows(writer, properties, exportData);
+        //写入通道后字节数才准确
+        writer.flush();
+        ExcelMetrics.recordExport(ExcelMetrics.CSV, rows, writer.getByteCount() - bytes, System.nanoTime() - start);
+        return rows;
+    }
+
+    /**
+     * 将表头和数据写入CSV写入器，写完后不关闭写入器，返回写入的数据行数
+     *
+     * @param writer     CSV写入器
+     * @param titles     csv文件的列表头，为null时不写表头
+     * @param fileds     导出对象的属性数组
+     * @param exportData 源数据迭代器
+     * @return
+     */
+    public long writeCSV(CSVWriter writer, String[] titles, String[] fileds, Iterator<? extends T> exportData) throws IOException {
+        long start = System.nanoTime();
+        long bytes = writer.getByteCount();
+        if (titles != null) {
+            writer.writeHeader(titles);
+        }
+        long rows = writeRows(writer, fileds, exportData);
+        //写入通道后字节数才准确
+        writer.flush();
+        ExcelMetrics.recordExport(ExcelMetrics.CSV, rows, writer.getByteCount() - bytes, System.nanoTime() - start);
+        return rows;
+    }
 
-            csvFileOutputStream.write("\r\n");
-            // 写入文件内容,
-            for (int j = 0; exportData != null && !exportData.isEmpty() && j < exportData.size(); j++) {
-                T t = (T) exportData.get(j);
-                Class clazz = t.getClass();
-                String[] contents = new String[fileds.length];
-                for (int i = 0; fileds != null && i < fileds.length; i++) {
-                    String filedName = toUpperCaseFirstOne(fileds[i]);
-                    Method method = clazz.getMethod(filedName);
-                    method.setAccessible(true);
-                    Object obj = method.invoke(t);
-                    String str = String.valueOf(obj);
-                    if (str == null || str.equals("null"))
-                        str = "";
-                    contents[i] = str;
-
-                }
-
-                for (int n = 0; n < contents.length; n++) {
-                    // 将生成的单元格添加到工作表中
-                    csvFileOutputStream.write(contents[n] + "\t");//此处加上"\t"是为了避免出现科学计数法
-                    csvFileOutputStream.write(",");
-
-                }
-                csvFileOutputStream.write("\r\n");
+    /**
+     * 按属性名逐行写入数据(不写表头、不记录指标)，属性访问器只在数据类型变化时解析一次，返回写入的行数
+     */
+    static long writeRows(CSVWriter writer, String[] fileds, Iterator<?> exportData) throws IOException {
+        long rows = 0;
+        Class<?> clazz = null;
+        BeanProperty[] properties = null;
+        while (exportData.hasNext()) {
+            Object t = exportData.next();
+            if (t.getClass() != clazz) {
+                clazz = t.getClass();
+                properties = resolveProperties(clazz, fileds);
             }
-            csvFileOutputStream.flush();
-        } catch (Exception e) {
-            e.printStackTrace();
-        } finally {
-            try {
-                if(csvFileOutputStream != null){
-                    csvFileOutputStream.close();
-                }
-            } catch (IOException e) {
-                e.printStackTrace();
+            for (BeanProperty property : properties) {
+                writer.writeField(property.get(t));
             }
+            writer.endRow();
+            rows++;
         }
-        return csvFile;
+        return rows;
     }
 
     /**
-     * 将第一个字母转换为大写字母并和get拼合成方法
+     * 按列的属性访问器逐行写入数据(不写表头、不记录指标)，没有映射的列写空字段，返回写入的行数
+     */
+    static long writeRows(CSVWriter writer, BeanProperty[] properties, Iterator<?> exportData) throws IOException {
+        long rows = 0;
+        while (exportData.hasNext()) {
+            Object t = exportData.next();
+            for (BeanProperty property : properties) {
+                writer.writeField(property == null ? null : property.get(t));
+            }
+            writer.endRow();
+            rows++;
+        }
+        return rows;
+    }
+
+    /**
+     * 按列号排列的属性访问器，没有映射的列为null
+     */
+    static BeanProperty[] columnProperties(ColumnPlan plan) {
+        BeanProperty[] properties = new BeanProperty[plan.getWidth()];
+        for (ColumnPlan.Column column : plan.getColumns()) {
+            properties[column.getIndex()] = column.getProperty();
+        }
+        return properties;
+    }
+
+    /**
+     * @methodName: doImportCSV
+     * @param: originUrl CSV文件的位置
+     *          startRow  起始行(表头也算一行)
+     *          endRow    结束行(含义同ExcelImportUtil.doImportExcel)
+     *          clazz     对象的类型，列按@ExcelColumn的列号或属性的声明顺序对应
+     *          options   编码和分隔符
+     * @describe: CSV文件的导入，转换规则与Excel导入相同
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 9:50
+     */
+    public static List<Object> doImportCSV(String originUrl, int startRow, int endRow, Class<?> clazz, CSVOptions options) throws IOException {
+        List<Object> objectList = new ArrayList<Object>();
+        doImportCSV(originUrl, startRow, endRow, clazz, options, objectList::add);
+        return objectList;
+    }
+
+    /**
+     * @methodName: doImportCSV
+     * @param: originUrl CSV文件的位置
+     *          startRow  起始行
+     *          endRow    结束行
+     *          clazz     对象的类型
+     *          options   编码和分隔符
+     *          consumer  每解析出一个对象就回调一次
+     * @describe: 流式导入CSV文件，边解析边转换为对象
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 9:50
+     */
+    public static void doImportCSV(String originUrl, int startRow, int endRow, Class<?> clazz, CSVOptions options, Consumer<Object> consumer) throws IOException {
+        doImportCSV(originUrl, new ImportOptions().setStartRow(startRow).setEndRow(endRow), clazz, options, consumer);
+    }
+
+    /**
+     * @methodName: doImportCSV
+     * @param: originUrl     CSV文件的位置
+     *          importOptions 起始行、结束行；设置了表头行时按表头的列名匹配@ExcelColumn的header(或属性名)
+     *          clazz         对象的类型
+     *          options       编码和分隔符
+     *          consumer      每解析出一个对象就回调一次
+     * @describe: 流式导入CSV文件，列映射规则与Excel导入相同
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 2:40
+     */
+    public static void doImportCSV(String originUrl, ImportOptions importOptions, Class<?> clazz, CSVOptions options, Consumer<Object> consumer) throws IOException {
+        read(new File(originUrl), importOptions, options, new MappingCallback(new RowMapper(clazz), consumer));
+    }
+
+    /**
+     * @methodName: doImportCSVValidated
+     * @param: originUrl     CSV文件的位置
+     *          importOptions 起始行、结束行、表头行，以及错误报告的保留条数和停止导入的错误数
+     *          clazz         对象的类型
+     *          options       编码和分隔符
+     *          consumer      只接收没有错误的行转换出的对象
+     * @describe: 校验导入CSV文件，规则同ExcelImportUtil.doImportExcelValidated
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 6:30
+     */
+    public static ImportErrorReport doImportCSVValidated(String originUrl, ImportOptions importOptions, Class<?> clazz, CSVOptions options, Consumer<Object> consumer) throws IOException {
+        ImportErrorReport report = new ImportErrorReport(importOptions.getErrorLimit());
+        read(new File(originUrl), importOptions, options,
+                new MappingCallback(new RowMapper(clazz), consumer, report, importOptions.getAbortThreshold()));
+        return report;
+    }
+
+    private static void read(File file, ImportOptions importOptions, CSVOptions options, MappingCallback callback) throws IOException {
+        long start = System.nanoTime();
+        try (CSVReader reader = CSVReader.open(file, options)) {
+            reader.read(importOptions, callback);
+        }
+        ExcelMetrics.recordImport(ExcelMetrics.CSV, callback.getRowCount(), file.length(),
+                System.nanoTime() - start - callback.getCallbackNanos(), callback.getMapNanos());
+    }
+
+    /**
+     * 根据属性名数组获取对应的属性访问器
      *
-     * @param origin
+     * @param clazz  导出对象的类型
+     * @param fileds 导出对象的属性数组
      * @return
      */
-    private static String toUpperCaseFirstOne(String origin) {
-        StringBuffer sb = new StringBuffer(origin);
-        sb.setCharAt(0, Character.toUpperCase(sb.charAt(0)));
-        sb.insert(0, "get");
-        return sb.toString();
+    private static BeanProperty[] resolveProperties(Class<?> clazz, String[] fileds) {
+        BeanSchema schema = BeanSchema.of(clazz);
+        BeanProperty[] properties = new BeanProperty[fileds.length];
+        for (int i = 0; i < fileds.length; i++) {
+            properties[i] = schema.getProperty(fileds[i]);
+            if (properties[i] == null || !properties[i].isReadable()) {
+                throw new IllegalArgumentException("找不到方法：" + clazz.getName() + "." + BeanSchema.accessorName("get", fileds[i]));
+            }
+        }
+        return properties;
     }
 
     /**
@@ -108,30 +292,26 @@ public class CSVUtil<T> {
      * @time: 下午 3:15
      */
     public static void exportFile(HttpServletResponse response, String csvFilePath, String fileName) throws IOException {
-        response.setContentType("application/csv;charset=GBK");
-        response.setHeader("Content-Disposition", "attachment;  filename="
-                + new String(fileName.getBytes("GBK"), "ISO8859-1"));
-
-        InputStream in = null;
-        try {
-            in = new FileInputStream(csvFilePath);
-            int len = 0;
-            byte[] buffer = new byte[1024];
-            response.setCharacterEncoding("GBK");
-            OutputStream out = response.getOutputStream();
-            while ((len = in.read(buffer)) > 0) {
-                out.write(buffer, 0, len);
-            }
-        } catch (FileNotFoundException e) {
-            System.out.println(e);
-        } finally {
-            if (in != null) {
-                try {
-                    in.close();
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
-                }
-            }
+        File file = new File(csvFilePath);
+        if (!file.isFile()) {
+            logger.info("{} 文件不存在!", csvFilePath);
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
+        response.setCharacterEncoding("GBK");
+        DownloadUtil.sendFile(response, file, CONTENT_TYPE, fileName);
+    }
+
+    /**
+     * @methodName: exportFile
+     * @param: [request, response, csvFilePath, fileName]
+     * @describe: 下载文件，支持断点续传(Range)和条件请求(ETag/Last-Modified)，文件未变化时返回304
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 11:40
+     */
+    public static void exportFile(HttpServletRequest request, HttpServletResponse response, String csvFilePath, String fileName) throws IOException {
+        response.setCharacterEncoding("GBK");
+        DownloadUtil.sendFile(request, response, new File(csvFilePath), CONTENT_TYPE, fileName);
     }
 }
@@ -0,0 +1,381 @@
+package com.demo.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+
+/**
+ * @className: CSVWriter
+ * @package: com.demo.utils
+ * @describe: 符合RFC 4180的CSV写入器。字段含分隔符、引号或换行时用引号包裹，引号写两次；
+ *            字符先写入CharBuffer，再由CharsetEncoder直接编码到大块的ByteBuffer，写满后一次写入通道，
+ *            转义和数字/日期的格式化都不产生中间字符串。
+ *            输出目标是WritableByteChannel，文件、Servlet输出流或内存缓冲都可以复用同一套写入逻辑。
+ *            非线程安全
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 8:00
+ */
+public class CSVWriter implements Closeable, Flushable {
+
+    private static final int CHAR_BUFFER_SIZE = 8192;
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    private final WritableByteChannel channel;
+
+    private final CharsetEncoder encoder;
+
+    private final CharBuffer chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+
+    private final ByteBuffer bytes;
+
+    private final char delimiter;
+
+    private final String lineSeparator;
+
+    private final CSVOptions.KeepAsText keepAsText;
+
+    private final DateTimeFormatter dateTimeFormatter;
+
+    //数字、日期格式化时复用的缓冲区
+    private final StringBuilder scratch = new StringBuilder(32);
+
+    private boolean firstField = true;
+
+    private long rowCount;
+
+    private long byteCount;
+
+    private boolean finished;
+
+    /**
+     * 使用堆缓冲区：输出流、内存缓冲等通道本身就要把字节复制到堆数组，直接内存没有收益，且要等GC才释放
+     *
+     * @param channel 输出通道，close时一并关闭
+     * @param options 编码、分隔符、文本保持方式等参数
+     */
+    public CSVWriter(WritableByteChannel channel, CSVOptions options) {
+        this(channel, options, false);
+    }
+
+    /**
+     * direct为true时使用直接缓冲区，FileChannel写出时不需要再复制一次
+     */
+    private CSVWriter(WritableByteChannel channel, CSVOptions options, boolean direct) {
+        this.channel = channel;
+        this.encoder = options.getCharset().newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.bytes = direct ? ByteBuffer.allocateDirect(options.getBufferSize()) : ByteBuffer.allocate(options.getBufferSize());
+        this.delimiter = options.getDelimiter();
+        this.lineSeparator = options.getLineSeparator();
+        this.keepAsText = options.getKeepAsText();
+        this.dateTimeFormatter = CellConverters.formatter(options.getDatePattern());
+        if (options.isBom()) {
+            chars.put('\uFEFF');
+        }
+    }
+
+    /**
+     * 写入文件(已存在则覆盖)
+     */
+    public static CSVWriter open(File file, CSVOptions options) throws IOException {
+        return new CSVWriter(FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), options, true);
+    }
+
+    /**
+     * 写入输出流，close时输出流也会被关闭，只需要刷出时使用finish
+     */
+    public static CSVWriter open(OutputStream out, CSVOptions options) {
+        return new CSVWriter(Channels.newChannel(out), options);
+    }
+
+    /**
+     * @methodName: writeHeader
+     * @param: [titles 列表头]
+     * @describe: 写入表头行，表头不做文本保持处理
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 8:05
+     */
+    public void writeHeader(String... titles) throws IOException {
+        for (String title : titles) {
+            startField();
+            putEscaped(title == null ? "" : title, false);
+        }
+        endRow();
+    }
+
+    /**
+     * 写入一行
+     */
+    public void writeRow(Object... values) throws IOException {
+        for (Object value : values) {
+            writeField(value);
+        }
+        endRow();
+    }
+
+    /**
+     * @methodName: writeField
+     * @param: [value 字段的值，null写为空字段]
+     * @describe: 按类型写入一个字段：数字直接格式化，BigDecimal不使用科学计数法，
+     *            Date/LocalDateTime按datePattern格式化，LocalDate为yyyy-MM-dd，其余调用toString
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 8:10
+     */
+    public void writeField(Object value) throws IOException {
+        if (value == null) {
+            writeField((CharSequence) null);
+        } else if (value instanceof CharSequence) {
+            writeField((CharSequence) value);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            writeField(((Number) value).longValue());
+        } else if (value instanceof Double) {
+            writeField(((Double) value).doubleValue());
+        } else if (value instanceof Float) {
+            //按float格式化，0.1f写为0.1，与String.valueOf相同
+            scratch.setLength(0);
+            scratch.append(((Float) value).floatValue());
+            writeField(scratch);
+        } else if (value instanceof BigDecimal) {
+            writeField(((BigDecimal) value).toPlainString());
+        } else if (value instanceof Date) {
+            LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(((Date) value).getTime()), ZoneId.systemDefault());
+            writeTemporal(dateTime, dateTimeFormatter);
+        } else if (value instanceof LocalDateTime) {
+            writeTemporal((LocalDateTime) value, dateTimeFormatter);
+        } else if (value instanceof LocalDate) {
+            writeTemporal((LocalDate) value, DATE_FORMATTER);
+        } else {
+            writeField(value.toString());
+        }
+    }
+
+    public void writeField(CharSequence value) throws IOException {
+        startField();
+        if (value == null || value.length() == 0) {
+            return;
+        }
+        if (keepAsText == CSVOptions.KeepAsText.FORMULA && isNumericText(value)) {
+            //="0123"，整体再按RFC 4180加引号
+            putChars("\"=\"\"");
+            putChars(value);
+            putChars("\"\"\"");
+            return;
+        }
+        putEscaped(value, keepAsText == CSVOptions.KeepAsText.TAB);
+    }
+
+    public void writeField(long value) throws IOException {
+        scratch.setLength(0);
+        scratch.append(value);
+        writeField(scratch);
+    }
+
+    public void writeField(double value) throws IOException {
+        scratch.setLength(0);
+        scratch.append(value);
+        writeField(scratch);
+    }
+
+    /**
+     * 结束当前行
+     */
+    public void endRow() throws IOException {
+        putChars(lineSeparator);
+        firstField = true;
+        rowCount++;
+    }
+
+    /**
+     * 已写入的行数(含表头)
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 已写入通道的字节数，调用flush或finish后准确
+     */
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    /**
+     * 把缓冲区中已编码的内容写入通道
+     */
+    @Override
+    public void flush() throws IOException {
+        encode(false);
+        drain();
+    }
+
+    /**
+     * @methodName: finish
+     * @describe: 结束编码并把剩余内容写入通道，不关闭通道
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 8:15
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        encode(true);
+        while (encoder.flush(bytes).isOverflow()) {
+            drain();
+        }
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeTemporal(TemporalAccessor temporal, DateTimeFormatter formatter) throws IOException {
+        scratch.setLength(0);
+        formatter.formatTo(temporal, scratch);
+        writeField(scratch);
+    }
+
+    private void startField() throws IOException {
+        if (firstField) {
+            firstField = false;
+        } else {
+            put(delimiter);
+        }
+    }
+
+    /**
+     * 需要时加引号，并把字段中的引号写两次
+     */
+    private void putEscaped(CharSequence value, boolean tab) throws IOException {
+        if (!needsQuote(value)) {
+            putChars(value);
+            if (tab) {
+                put('\t');
+            }
+            return;
+        }
+        put('"');
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                put('"');
+            }
+            put(c);
+        }
+        if (tab) {
+            put('\t');
+        }
+        put('"');
+    }
+
+    private boolean needsQuote(CharSequence value) {
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            if (c == delimiter || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 纯数字，且以0开头或超过11位(Excel会去掉前导0或显示为科学计数法)
+     */
+    private static boolean isNumericText(CharSequence value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return length > 11 || (length > 1 && value.charAt(0) == '0');
+    }
+
+    private void put(char c) throws IOException {
+        if (!chars.hasRemaining()) {
+            encode(false);
+        }
+        chars.put(c);
+    }
+
+    private void putChars(CharSequence value) throws IOException {
+        int length = value.length();
+        if (!(value instanceof String)) {
+            for (int i = 0; i < length; i++) {
+                put(value.charAt(i));
+            }
+            return;
+        }
+        String s = (String) value;
+        int offset = 0;
+        while (offset < length) {
+            if (!chars.hasRemaining()) {
+                encode(false);
+            }
+            int n = Math.min(chars.remaining(), length - offset);
+            chars.put(s, offset, offset + n);
+            offset += n;
+        }
+    }
+
+    /**
+     * 把CharBuffer中的字符编码到ByteBuffer，ByteBuffer写满时写入通道
+     */
+    private void encode(boolean endOfInput) throws IOException {
+        chars.flip();
+        while (true) {
+            CoderResult result = encoder.encode(chars, bytes, endOfInput);
+            if (result.isOverflow()) {
+                drain();
+            } else {
+                if (result.isError()) {
+                    result.throwException();
+                }
+                break;
+            }
+        }
+        //未编码的半个代理对留在缓冲区中，等待后续字符
+        chars.compact();
+    }
+
+    private void drain() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            byteCount += channel.write(bytes);
+        }
+        bytes.clear();
+    }
+}
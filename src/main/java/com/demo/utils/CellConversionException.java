@@ -0,0 +1,22 @@
+package com.demo.utils;
+
+/**
+ * @className: CellConversionException
+ * @package: com.demo.utils
+ * @describe: 单元格转换失败，只携带原因，不记录堆栈。脏数据文件中每个错误单元格都会抛出一次，
+ *            生成堆栈是其中的主要开销，而调用方只关心行列和原因。自定义转换器也可以抛出该异常
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 6:00
+ */
+public class CellConversionException extends IllegalArgumentException {
+
+    public CellConversionException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
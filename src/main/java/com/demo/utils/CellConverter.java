@@ -0,0 +1,77 @@
+package com.demo.utils;
+
+/**
+ * @className: CellConverter
+ * @package: com.demo.utils
+ * @describe: 单元格到Java类型的转换器，直接读取单元格的原始值(数值/布尔/字符串)，
+ *            不经过字符串中转。转换失败时抛出IllegalArgumentException，建议使用不记录堆栈的CellConversionException
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 4:00
+ */
+@FunctionalInterface
+public interface CellConverter<T> {
+
+    /**
+     * @methodName: convert
+     * @param: row    当前行
+     *          column 列号
+     * @describe: 将单元格的值转换为目标类型，调用方保证单元格不为空
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 4:00
+     */
+    T convert(SheetRow row, int column);
+
+    /**
+     * 转换为int的转换器，为基本类型属性赋值时不装箱
+     */
+    interface OfInt extends CellConverter<Integer> {
+
+        int convertInt(SheetRow row, int column);
+
+        @Override
+        default Integer convert(SheetRow row, int column) {
+            return convertInt(row, column);
+        }
+    }
+
+    /**
+     * 转换为long的转换器，为基本类型属性赋值时不装箱
+     */
+    interface OfLong extends CellConverter<Long> {
+
+        long convertLong(SheetRow row, int column);
+
+        @Override
+        default Long convert(SheetRow row, int column) {
+            return convertLong(row, column);
+        }
+    }
+
+    /**
+     * 转换为double的转换器，为基本类型属性赋值时不装箱
+     */
+    interface OfDouble extends CellConverter<Double> {
+
+        double convertDouble(SheetRow row, int column);
+
+        @Override
+        default Double convert(SheetRow row, int column) {
+            return convertDouble(row, column);
+        }
+    }
+
+    /**
+     * 转换为boolean的转换器，为基本类型属性赋值时不装箱
+     */
+    interface OfBoolean extends CellConverter<Boolean> {
+
+        boolean convertBoolean(SheetRow row, int column);
+
+        @Override
+        default Boolean convert(SheetRow row, int column) {
+            return convertBoolean(row, column);
+        }
+    }
+}
@@ -0,0 +1,504 @@
+package com.demo.utils;
+
+import org.apache.poi.ss.usermodel.Cell;
+
+import java.math.BigDecimal;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @className: CellConverters
+ * @package: com.demo.utils
+ * @describe: 单元格转换器注册表，按(单元格类型, 目标Java类型)查找转换器。
+ *            内置基本类型及其包装类、String、BigDecimal、Date和java.time日期类型的转换，
+ *            数值/布尔/日期单元格直接读取原始值，不再先转成字符串再解析；
+ *            其它类型可以通过register扩展。注册表是线程安全的
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 4:10
+ */
+public final class CellConverters {
+
+    private static final int CELL_TYPE_COUNT = 6;
+
+    private static final long DAY_MILLISECONDS = 24L * 60 * 60 * 1000;
+
+    //Excel的1900日期系统中，序号1为1900-01-01；由于Excel把1900年当作闰年，60之后的序号要以1899-12-30为基准
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 31);
+
+    private static final LocalDate EXCEL_EPOCH_AFTER_LEAP_BUG = LocalDate.of(1899, 12, 30);
+
+    private static final BigDecimal MIN_LONG = BigDecimal.valueOf(Long.MIN_VALUE);
+
+    private static final BigDecimal MAX_LONG = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private static final ConcurrentMap<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<String, DateTimeFormatter>();
+
+    //SimpleDateFormat不是线程安全的，每个线程按格式缓存一份
+    private static final ThreadLocal<Map<String, SimpleDateFormat>> DATE_FORMATS = new ThreadLocal<Map<String, SimpleDateFormat>>() {
+        @Override
+        protected Map<String, SimpleDateFormat> initialValue() {
+            return new HashMap<String, SimpleDateFormat>();
+        }
+    };
+
+    private static final Map<Class<?>, Class<?>> WRAPPERS = new HashMap<Class<?>, Class<?>>();
+
+    static {
+        WRAPPERS.put(int.class, Integer.class);
+        WRAPPERS.put(long.class, Long.class);
+        WRAPPERS.put(double.class, Double.class);
+        WRAPPERS.put(float.class, Float.class);
+        WRAPPERS.put(short.class, Short.class);
+        WRAPPERS.put(byte.class, Byte.class);
+        WRAPPERS.put(boolean.class, Boolean.class);
+        WRAPPERS.put(char.class, Character.class);
+    }
+
+    //必须在WRAPPERS初始化之后创建
+    private static final CellConverters DEFAULT = new CellConverters();
+
+    private final ConcurrentMap<Class<?>, Slot> slots = new ConcurrentHashMap<Class<?>, Slot>();
+
+    //字符串转日期时依次尝试的格式
+    private volatile String[] datePatterns = {"yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd", "yyyy/MM/dd HH:mm:ss", "yyyy/MM/dd", "yyyyMMdd"};
+
+    public CellConverters() {
+        registerDefaults();
+    }
+
+    /**
+     * 全局共享的注册表，在这里注册的转换器对所有导入生效
+     */
+    public static CellConverters getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * @methodName: register
+     * @param: cellType  单元格类型(Cell.CELL_TYPE_*)
+     *          type      目标类型，基本类型与其包装类共用同一个转换器
+     *          converter 转换器
+     * @describe: 注册(或覆盖)一个转换器
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 4:15
+     */
+    public <T> CellConverters register(int cellType, Class<T> type, CellConverter<? extends T> converter) {
+        slot(type).put(cellType, converter);
+        return this;
+    }
+
+    /**
+     * @methodName: register
+     * @param: type      目标类型
+     *          converter 转换器
+     * @describe: 为数值、字符串、布尔三种单元格注册同一个转换器
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 4:15
+     */
+    public <T> CellConverters register(Class<T> type, CellConverter<? extends T> converter) {
+        Slot slot = slot(type);
+        slot.put(Cell.CELL_TYPE_NUMERIC, converter);
+        slot.put(Cell.CELL_TYPE_STRING, converter);
+        slot.put(Cell.CELL_TYPE_BOOLEAN, converter);
+        return this;
+    }
+
+    /**
+     * @methodName: setDatePatterns
+     * @param: [patterns 日期格式]
+     * @describe: 设置字符串单元格转换为日期时依次尝试的格式
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 4:15
+     */
+    public CellConverters setDatePatterns(String... patterns) {
+        this.datePatterns = patterns.clone();
+        return this;
+    }
+
+    /**
+     * @methodName: find
+     * @param: cellType 单元格类型
+     *          type     目标类型
+     * @describe: 查找转换器，找不到时返回一个抛出"不支持的类型"异常的转换器
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 4:20
+     */
+    public CellConverter<?> find(int cellType, Class<?> type) {
+        return slot(type).get(cellType);
+    }
+
+    /**
+     * 获取目标类型对应的转换器槽位，调用方可以缓存槽位，后续注册的转换器会反映到已缓存的槽位上
+     */
+    Slot slot(Class<?> type) {
+        Class<?> key = wrap(type);
+        Slot slot = slots.get(key);
+        if (slot == null) {
+            Slot created = new Slot(key);
+            slot = slots.putIfAbsent(key, created);
+            if (slot == null) {
+                slot = created;
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * @methodName: formatter
+     * @param: [pattern 日期格式]
+     * @describe: 获取缓存的DateTimeFormatter(线程安全，可在多线程间共享)
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 4:20
+     */
+    public static DateTimeFormatter formatter(String pattern) {
+        DateTimeFormatter formatter = FORMATTERS.get(pattern);
+        if (formatter == null) {
+            formatter = DateTimeFormatter.ofPattern(pattern);
+            FORMATTERS.putIfAbsent(pattern, formatter);
+        }
+        return formatter;
+    }
+
+    /**
+     * @methodName: dateFormat
+     * @param: [pattern 日期格式]
+     * @describe: 获取当前线程缓存的SimpleDateFormat，只能在当前线程内使用，不能保存或传给其它线程
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 1:05
+     */
+    public static SimpleDateFormat dateFormat(String pattern) {
+        Map<String, SimpleDateFormat> formats = DATE_FORMATS.get();
+        SimpleDateFormat format = formats.get(pattern);
+        if (format == null) {
+            format = new SimpleDateFormat(pattern);
+            formats.put(pattern, format);
+        }
+        return format;
+    }
+
+    /**
+     * @methodName: toLocalDateTime
+     * @param: [serial Excel中日期的序号]
+     * @describe: 将Excel的日期序号(1900日期系统)转换为LocalDateTime，不经过Calendar和时区
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 4:25
+     */
+    public static LocalDateTime toLocalDateTime(double serial) {
+        long days = (long) Math.floor(serial);
+        long millis = Math.round((serial - days) * DAY_MILLISECONDS);
+        LocalDate base = days < 61 ? EXCEL_EPOCH : EXCEL_EPOCH_AFTER_LEAP_BUG;
+        return base.plusDays(days).atStartOfDay().plus(millis, ChronoUnit.MILLIS);
+    }
+
+    private void registerDefaults() {
+        CellConverter.OfInt intFromNumber = (row, column) -> toInt(checkIntegral(row.getNumber(column)));
+        CellConverter.OfInt intFromString = (row, column) -> toInt(parseLong(row.getString(column)));
+        CellConverter.OfLong longFromNumber = (row, column) -> checkIntegral(row.getNumber(column));
+        CellConverter.OfLong longFromString = (row, column) -> parseLong(row.getString(column));
+        CellConverter.OfDouble doubleFromNumber = SheetRow::getNumber;
+        CellConverter.OfDouble doubleFromString = (row, column) -> parseDouble(row.getString(column));
+        CellConverter.OfBoolean booleanFromBoolean = SheetRow::getBoolean;
+        CellConverter.OfBoolean booleanFromNumber = (row, column) -> row.getNumber(column) != 0;
+        CellConverter.OfBoolean booleanFromString = (row, column) -> parseBoolean(row.getString(column));
+
+        registerNumeric(Integer.class, intFromNumber, intFromString);
+        registerNumeric(Long.class, longFromNumber, longFromString);
+        registerNumeric(Double.class, doubleFromNumber, doubleFromString);
+        registerNumeric(Float.class,
+                (row, column) -> (float) row.getNumber(column),
+                (row, column) -> (float) parseDouble(row.getString(column)));
+        registerNumeric(Short.class,
+                (row, column) -> (short) toRange(checkIntegral(row.getNumber(column)), Short.MIN_VALUE, Short.MAX_VALUE),
+                (row, column) -> (short) toRange(parseLong(row.getString(column)), Short.MIN_VALUE, Short.MAX_VALUE));
+        registerNumeric(Byte.class,
+                (row, column) -> (byte) toRange(checkIntegral(row.getNumber(column)), Byte.MIN_VALUE, Byte.MAX_VALUE),
+                (row, column) -> (byte) toRange(parseLong(row.getString(column)), Byte.MIN_VALUE, Byte.MAX_VALUE));
+        registerNumeric(BigDecimal.class,
+                (row, column) -> BigDecimal.valueOf(row.getNumber(column)),
+                (row, column) -> parseDecimal(row.getString(column)));
+
+        register(Cell.CELL_TYPE_BOOLEAN, Boolean.class, booleanFromBoolean);
+        register(Cell.CELL_TYPE_NUMERIC, Boolean.class, booleanFromNumber);
+        register(Cell.CELL_TYPE_STRING, Boolean.class, booleanFromString);
+
+        register(Cell.CELL_TYPE_STRING, String.class, SheetRow::getString);
+        register(Cell.CELL_TYPE_NUMERIC, String.class, CellConverters::numberToString);
+        register(Cell.CELL_TYPE_BOOLEAN, String.class, (row, column) -> String.valueOf(row.getBoolean(column)));
+
+        register(Cell.CELL_TYPE_NUMERIC, LocalDateTime.class, (row, column) -> toLocalDateTime(row.getNumber(column)));
+        register(Cell.CELL_TYPE_STRING, LocalDateTime.class, (row, column) -> parseDateTime(row.getString(column)));
+        register(Cell.CELL_TYPE_NUMERIC, LocalDate.class, (row, column) -> toLocalDateTime(row.getNumber(column)).toLocalDate());
+        register(Cell.CELL_TYPE_STRING, LocalDate.class, (row, column) -> parseDateTime(row.getString(column)).toLocalDate());
+        register(Cell.CELL_TYPE_NUMERIC, LocalTime.class, (row, column) -> toLocalDateTime(row.getNumber(column)).toLocalTime());
+        register(Cell.CELL_TYPE_NUMERIC, Date.class, (row, column) -> toDate(toLocalDateTime(row.getNumber(column))));
+        register(Cell.CELL_TYPE_STRING, Date.class, (row, column) -> toDate(parseDateTime(row.getString(column))));
+    }
+
+    private <T> void registerNumeric(Class<T> type, CellConverter<? extends T> fromNumber, CellConverter<? extends T> fromString) {
+        register(Cell.CELL_TYPE_NUMERIC, type, fromNumber);
+        register(Cell.CELL_TYPE_STRING, type, fromString);
+        register(Cell.CELL_TYPE_BOOLEAN, type, fromNumber);
+    }
+
+    private static String numberToString(SheetRow row, int column) {
+        double value = row.getNumber(column);
+        if (row.isDate(column)) {
+            LocalDateTime dateTime = toLocalDateTime(value);
+            return dateTime.toLocalTime().equals(LocalTime.MIDNIGHT)
+                    ? formatter("yyyy-MM-dd").format(dateTime)
+                    : formatter("yyyy-MM-dd HH:mm:ss").format(dateTime);
+        }
+        //整数不带".0"，避免编号、手机号之类的数值列变成"138xxxx.0"
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private LocalDateTime parseDateTime(String text) {
+        String value = text.trim();
+        String[] patterns = datePatterns;
+        //先按长度筛选格式；第一个候选格式直接解析，之后的格式先用parseUnresolved预检，
+        //不匹配时不创建DateTimeParseException，错误的单元格最多抛出一次异常
+        boolean direct = true;
+        for (int pass = 0; pass < 2; pass++) {
+            for (String pattern : patterns) {
+                if ((pass == 0) != (pattern.length() == value.length())) {
+                    continue;
+                }
+                DateTimeFormatter formatter = formatter(pattern);
+                if (!direct) {
+                    ParsePosition position = new ParsePosition(0);
+                    if (formatter.parseUnresolved(value, position) == null || position.getIndex() != value.length()) {
+                        continue;
+                    }
+                }
+                direct = false;
+                try {
+                    TemporalAccessor parsed = formatter.parse(value);
+                    LocalDate date = LocalDate.from(parsed);
+                    return parsed.isSupported(ChronoField.HOUR_OF_DAY)
+                            ? date.atTime(LocalTime.from(parsed))
+                            : date.atStartOfDay();
+                } catch (DateTimeParseException e) {
+                    //尝试下一个格式
+                }
+            }
+        }
+        throw new CellConversionException("日期解析错误: " + text + "，支持的格式: " + Arrays.toString(patterns));
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static long checkIntegral(double value) {
+        if (value != Math.rint(value) || Double.isInfinite(value)) {
+            throw new CellConversionException(value + " 不是整数");
+        }
+        return (long) value;
+    }
+
+    private static int toInt(long value) {
+        return (int) toRange(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    private static long toRange(long value, long min, long max) {
+        if (value < min || value > max) {
+            throw new CellConversionException(value + " 超出范围[" + min + ", " + max + "]");
+        }
+        return value;
+    }
+
+    //以下解析先检查格式再调用JDK的解析方法，错误的值直接抛出不带堆栈的异常，不经过NumberFormatException
+    private static long parseLong(String text) {
+        String value = text.trim();
+        if (!isDecimal(value)) {
+            throw new CellConversionException(text + " 不是整数");
+        }
+        //不超过18个字符的纯整数不会溢出
+        if (value.length() <= 18 && value.indexOf('.') < 0 && value.indexOf('e') < 0 && value.indexOf('E') < 0) {
+            return Long.parseLong(value);
+        }
+        //兼容"12.0"、"1.2E3"这类以小数形式保存的整数
+        BigDecimal decimal = toBigDecimal(text, value);
+        if ((decimal.signum() == 0 || decimal.stripTrailingZeros().scale() <= 0)
+                && decimal.compareTo(MIN_LONG) >= 0 && decimal.compareTo(MAX_LONG) <= 0) {
+            return decimal.longValue();
+        }
+        throw new CellConversionException(text + " 不是整数");
+    }
+
+    private static double parseDouble(String text) {
+        String value = text.trim();
+        if (isDecimal(value) || "NaN".equals(value) || "Infinity".equals(value) || "-Infinity".equals(value)) {
+            return Double.parseDouble(value);
+        }
+        throw new CellConversionException(text + " 不是数字");
+    }
+
+    private static BigDecimal parseDecimal(String text) {
+        String value = text.trim();
+        if (!isDecimal(value)) {
+            throw new CellConversionException(text + " 不是数字");
+        }
+        return toBigDecimal(text, value);
+    }
+
+    private static BigDecimal toBigDecimal(String text, String value) {
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            //格式正确但指数超出范围
+            throw new CellConversionException(text + " 不是数字");
+        }
+    }
+
+    /**
+     * 是否为十进制数：可选的正负号、至少一位数字(最多一个小数点)、可选的指数
+     */
+    static boolean isDecimal(String value) {
+        int length = value.length();
+        int i = 0;
+        if (i < length && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+            i++;
+        }
+        int digits = 0;
+        boolean dot = false;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+                i++;
+            }
+            int exponent = 0;
+            for (; i < length && value.charAt(i) >= '0' && value.charAt(i) <= '9'; i++) {
+                exponent++;
+            }
+            if (exponent == 0) {
+                return false;
+            }
+        }
+        return i == length;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object parseEnum(Class<?> type, String text) {
+        String value = text.trim();
+        for (Object constant : type.getEnumConstants()) {
+            if (((Enum) constant).name().equals(value)) {
+                return constant;
+            }
+        }
+        throw new CellConversionException(text + " 不是 " + type.getSimpleName() + " 的取值");
+    }
+
+    private static boolean parseBoolean(String text) {
+        String value = text.trim();
+        if ("true".equalsIgnoreCase(value) || "1".equals(value) || "是".equals(value) || "Y".equalsIgnoreCase(value)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(value) || "0".equals(value) || "否".equals(value) || "N".equalsIgnoreCase(value)) {
+            return false;
+        }
+        throw new CellConversionException(text + " 不是布尔值");
+    }
+
+    static Class<?> wrap(Class<?> type) {
+        Class<?> wrapper = WRAPPERS.get(type);
+        return wrapper == null ? type : wrapper;
+    }
+
+    /**
+     * @className: Slot
+     * @describe: 某个目标类型在各单元格类型下的转换器，按单元格类型下标存放，写时复制
+     */
+    static final class Slot {
+
+        private final Class<?> type;
+
+        private volatile CellConverter<?>[] converters = new CellConverter<?>[CELL_TYPE_COUNT];
+
+        Slot(Class<?> type) {
+            this.type = type;
+        }
+
+        synchronized void put(int cellType, CellConverter<?> converter) {
+            CellConverter<?>[] copy = converters.clone();
+            copy[cellType] = converter;
+            converters = copy;
+        }
+
+        CellConverter<?> get(int cellType) {
+            CellConverter<?> converter = converters[cellType];
+            return converter != null ? converter : fallback(cellType);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private CellConverter<?> fallback(int cellType) {
+            if (cellType == Cell.CELL_TYPE_STRING) {
+                if (type.isEnum()) {
+                    return (row, column) -> parseEnum(type, row.getString(column));
+                }
+                if (type.isAssignableFrom(String.class)) {
+                    return SheetRow::getString;
+                }
+            }
+            return (row, column) -> {
+                throw new CellConversionException("不支持将" + cellTypeName(cellType) + "单元格转换为 " + type.getSimpleName());
+            };
+        }
+    }
+
+    static String cellTypeName(int cellType) {
+        switch (cellType) {
+            case Cell.CELL_TYPE_NUMERIC:
+                return "数值";
+            case Cell.CELL_TYPE_STRING:
+                return "字符串";
+            case Cell.CELL_TYPE_BOOLEAN:
+                return "布尔";
+            case Cell.CELL_TYPE_ERROR:
+                return "错误";
+            case Cell.CELL_TYPE_FORMULA:
+                return "公式";
+            default:
+                return "空";
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.demo.utils;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormat;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @className: CellStylePool
+ * @package: com.demo.utils
+ * @describe: 一个工作簿内的样式和数据格式池。相同(基础样式, 数据格式)只创建一个CellStyle，
+ *            数据格式字符串只注册一次，避免按单元格创建样式超出.xls 4000个样式的上限。
+ *            样式属于工作簿，池不能跨工作簿使用；非线程安全
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 1:10
+ */
+public final class CellStylePool {
+
+    private final Workbook workbook;
+
+    private final DataFormat dataFormat;
+
+    private final Map<String, Short> formats = new HashMap<String, Short>();
+
+    //(基础样式的序号, 数据格式的序号) -> 样式
+    private final Map<Integer, CellStyle> styles = new HashMap<Integer, CellStyle>();
+
+    public CellStylePool(Workbook workbook) {
+        this.workbook = workbook;
+        this.dataFormat = workbook.createDataFormat();
+    }
+
+    /**
+     * 获取数据格式的序号，内置格式直接返回内置序号
+     */
+    public short getFormat(String format) {
+        Short index = formats.get(format);
+        if (index == null) {
+            index = dataFormat.getFormat(format);
+            formats.put(format, index);
+        }
+        return index;
+    }
+
+    /**
+     * @methodName: getStyle
+     * @param: base   基础样式(边框、填充、字体等)，必须属于同一个工作簿
+     *          format 数据格式
+     * @describe: 获取在基础样式上加了数据格式的样式，相同的组合只创建一次
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 1:15
+     */
+    public CellStyle getStyle(CellStyle base, String format) {
+        short formatIndex = getFormat(format);
+        if (base.getDataFormat() == formatIndex) {
+            return base;
+        }
+        //样式序号在.xls中最多4000，数据格式序号不超过short范围，两者拼成一个int作为键
+        Integer key = (base.getIndex() & 0xFFFF) << 16 | (formatIndex & 0xFFFF);
+        CellStyle style = styles.get(key);
+        if (style == null) {
+            style = workbook.createCellStyle();
+            style.cloneStyleFrom(base);
+            style.setDataFormat(formatIndex);
+            styles.put(key, style);
+        }
+        return style;
+    }
+
+    /**
+     * 池中创建的样式数量
+     */
+    public int size() {
+        return styles.size();
+    }
+}
@@ -0,0 +1,230 @@
+package com.demo.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @className: ColumnPlan
+ * @package: com.demo.utils
+ * @describe: 类的列映射计划：由{@link ExcelColumn}标注一次性解析出每个属性对应的列号、列名、数据格式和转换器，
+ *            之后只读共享，导入、导出和CSV共用。没有标注列号的属性按声明顺序依次占用空闲的列号，
+ *            因此完全没有标注的类与以前一样按属性的声明顺序对应列；需要确定的列顺序时应标注index或按表头匹配
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 2:00
+ */
+public final class ColumnPlan {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColumnPlan.class);
+
+    private static final ClassValue<ColumnPlan> PLANS = new ClassValue<ColumnPlan>() {
+        @Override
+        protected ColumnPlan computeValue(Class<?> type) {
+            return new ColumnPlan(type);
+        }
+    };
+
+    private final Class<?> type;
+
+    //按列号排列
+    private final List<Column> columns;
+
+    private final int width;
+
+    private ColumnPlan(Class<?> type) {
+        this.type = type;
+        List<BeanProperty> properties = BeanSchema.of(type).getProperties();
+        Column[] slots = new Column[properties.size()];
+        Map<Integer, BeanProperty> explicit = new HashMap<Integer, BeanProperty>();
+        //先放置标注了列号的属性
+        for (BeanProperty property : properties) {
+            ExcelColumn annotation = property.getColumn();
+            if (annotation != null && annotation.index() >= 0) {
+                BeanProperty previous = explicit.put(annotation.index(), property);
+                if (previous != null) {
+                    throw new IllegalArgumentException(type.getName() + " 的属性 " + previous.getName() + " 和 "
+                            + property.getName() + " 的列号都是 " + annotation.index());
+                }
+                if (annotation.index() >= slots.length) {
+                    slots = Arrays.copyOf(slots, annotation.index() + 1);
+                }
+                slots[annotation.index()] = new Column(annotation.index(), property);
+            }
+        }
+        //其余属性按声明顺序填入空闲的列号
+        int next = 0;
+        for (BeanProperty property : properties) {
+            ExcelColumn annotation = property.getColumn();
+            if (annotation == null || annotation.index() < 0) {
+                while (slots[next] != null) {
+                    next++;
+                }
+                slots[next] = new Column(next, property);
+            }
+        }
+        List<Column> list = new ArrayList<Column>(slots.length);
+        for (Column column : slots) {
+            if (column != null) {
+                list.add(column);
+            }
+        }
+        this.columns = Collections.unmodifiableList(list);
+        this.width = list.isEmpty() ? 0 : list.get(list.size() - 1).index + 1;
+    }
+
+    private ColumnPlan(Class<?> type, List<Column> columns) {
+        this.type = type;
+        this.columns = Collections.unmodifiableList(columns);
+        this.width = columns.isEmpty() ? 0 : columns.get(columns.size() - 1).index + 1;
+    }
+
+    /**
+     * @methodName: of
+     * @param: [type 类]
+     * @describe: 获取类的列映射计划，同一个类只解析一次
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 2:05
+     */
+    public static ColumnPlan of(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * 按列号排列的列
+     */
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * 最大列号 + 1
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * 按列号排列的列名，空缺的列号为空字符串
+     */
+    public String[] getHeaders() {
+        String[] headers = new String[width];
+        Arrays.fill(headers, "");
+        for (Column column : columns) {
+            headers[column.index] = column.header;
+        }
+        return headers;
+    }
+
+    /**
+     * @methodName: bind
+     * @param: [header 表头行]
+     * @describe: 按表头行的列名重新确定各属性的列号，返回新的计划(原计划不变)。
+     *            列名去掉首尾空白后比较，表头中找不到的属性不再赋值
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 2:10
+     */
+    public ColumnPlan bind(SheetRow header) {
+        Map<String, Integer> positions = new HashMap<String, Integer>();
+        for (int i = 0; i < header.size(); i++) {
+            String text = header.getText(i);
+            if (text != null && !text.trim().isEmpty()) {
+                //同名的列取第一列
+                positions.putIfAbsent(text.trim(), i);
+            }
+        }
+        Column[] slots = new Column[header.size()];
+        for (Column column : columns) {
+            Integer position = positions.get(column.header);
+            if (position == null) {
+                logger.info("表头中没有 {} 列，属性 {} 不赋值", column.header, column.property.getName());
+            } else if (slots[position] == null) {
+                slots[position] = new Column(position, column);
+            }
+        }
+        List<Column> bound = new ArrayList<Column>();
+        for (Column column : slots) {
+            if (column != null) {
+                bound.add(column);
+            }
+        }
+        return new ColumnPlan(type, bound);
+    }
+
+    /**
+     * 一列：列号、属性以及标注中的列名、数据格式和转换器
+     */
+    public static final class Column {
+
+        private final int index;
+
+        private final BeanProperty property;
+
+        private final String header;
+
+        private final String format;
+
+        private final CellConverter<?> converter;
+
+        private Column(int index, BeanProperty property) {
+            ExcelColumn annotation = property.getColumn();
+            this.index = index;
+            this.property = property;
+            this.header = annotation == null || annotation.header().isEmpty() ? property.getName() : annotation.header();
+            this.format = annotation == null ? "" : annotation.format();
+            this.converter = annotation == null || annotation.converter() == CellConverter.class
+                    ? null : (CellConverter<?>) BeanSchema.of(annotation.converter()).newInstance();
+        }
+
+        private Column(int index, Column other) {
+            this.index = index;
+            this.property = other.property;
+            this.header = other.header;
+            this.format = other.format;
+            this.converter = other.converter;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public BeanProperty getProperty() {
+            return property;
+        }
+
+        public String getHeader() {
+            return header;
+        }
+
+        /**
+         * 数据格式，没有声明时为空字符串
+         */
+        public String getFormat() {
+            return format;
+        }
+
+        /**
+         * 标注中指定的转换器，没有指定时为null
+         */
+        public CellConverter<?> getConverter() {
+            return converter;
+        }
+
+        @Override
+        public String toString() {
+            return index + ":" + header;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.demo.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+
+/**
+ * @className: ColumnProjection
+ * @package: com.demo.utils
+ * @describe: 导入时的列投影。读取器对每个单元格先判断是否在投影中，不在的直接跳过：
+ *            .xlsx不收集文本、不查共享字符串表，.xls不取SST字符串、不判断日期格式，CSV不解码字段。
+ *            按列名指定时读到表头行后才确定列号；表头行本身总是完整读取。每次读取创建一个，非线程安全
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 7:45
+ */
+final class ColumnProjection {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColumnProjection.class);
+
+    //不做投影，读取所有列
+    static final ColumnProjection ALL = new ColumnProjection(null, null, -1);
+
+    //列号 -> 是否读取，null表示读取所有列
+    private boolean[] mask;
+
+    private final String[] names;
+
+    private final int headerRow;
+
+    private ColumnProjection(boolean[] mask, String[] names, int headerRow) {
+        this.mask = mask;
+        this.names = names;
+        this.headerRow = headerRow;
+    }
+
+    /**
+     * 按导入参数中的列号和列名创建投影，都没有设置时返回ALL
+     */
+    static ColumnProjection of(ImportOptions options) {
+        int[] columns = options.getColumns();
+        String[] names = options.getColumnNames();
+        if (columns == null && names == null) {
+            return ALL;
+        }
+        if (names != null && options.getHeaderRow() < 0) {
+            throw new IllegalArgumentException("按列名投影时必须设置表头行");
+        }
+        boolean[] mask = null;
+        if (columns != null) {
+            int width = 0;
+            for (int column : columns) {
+                if (column < 0) {
+                    throw new IllegalArgumentException("列号不能小于0：" + column);
+                }
+                width = Math.max(width, column + 1);
+            }
+            mask = new boolean[width];
+            for (int column : columns) {
+                mask[column] = true;
+            }
+        }
+        return new ColumnProjection(mask, names, options.getHeaderRow());
+    }
+
+    /**
+     * 该行的这一列是否跳过
+     */
+    boolean skips(int rowNum, int column) {
+        boolean[] m = mask;
+        return m != null && rowNum != headerRow && (column >= m.length || !m[column]);
+    }
+
+    /**
+     * 按表头行确定列名对应的列号，加入投影；表头中找不到的列名忽略
+     */
+    void bind(SheetRow header) {
+        if (names == null) {
+            return;
+        }
+        boolean[] m = mask == null ? new boolean[header.size()] : Arrays.copyOf(mask, Math.max(mask.length, header.size()));
+        for (String name : names) {
+            boolean found = false;
+            for (int i = 0; i < header.size(); i++) {
+                if (header.getText(i).trim().equals(name)) {
+                    m[i] = true;
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                logger.info("表头中没有 {} 列，不读取", name);
+            }
+        }
+        mask = m;
+    }
+}
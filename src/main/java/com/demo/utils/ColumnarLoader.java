@@ -0,0 +1,141 @@
+package com.demo.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @className: ColumnarLoader
+ * @package: com.demo.utils
+ * @describe: 把读取到的行按列追加到ColumnarTable的各列中；按名称指定的列在读到表头行时确定列号，
+ *            表头中找不到时抛出异常，而不是得到一列全为null的数据
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 8:20
+ */
+final class ColumnarLoader implements RowCallback {
+
+    private final List<ColumnarSchema.Field> fields;
+
+    private final ColumnarTable.Column[] columns;
+
+    //各列在行中的列号，-1表示还没有绑定
+    private final int[] indexes;
+
+    private int capacity;
+
+    private int rowCount;
+
+    private long loadNanos;
+
+    ColumnarLoader(ColumnarSchema schema, boolean hasHeader) {
+        fields = schema.getFields();
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("至少需要读取一列");
+        }
+        capacity = schema.getInitialCapacity();
+        columns = new ColumnarTable.Column[fields.size()];
+        indexes = new int[fields.size()];
+        for (int i = 0; i < columns.length; i++) {
+            ColumnarSchema.Field field = fields.get(i);
+            if (field.column < 0 && !hasHeader) {
+                throw new IllegalArgumentException("按列名读取 " + field.name + " 时必须设置表头行");
+            }
+            indexes[i] = field.column;
+            switch (field.type) {
+                case DOUBLE:
+                    columns[i] = new ColumnarTable.DoubleColumn(field.name, schema.isOffHeap(), capacity);
+                    break;
+                case LONG:
+                    columns[i] = new ColumnarTable.LongColumn(field.name, schema.isOffHeap(), capacity);
+                    break;
+                default:
+                    columns[i] = new ColumnarTable.StringColumn(field.name, capacity);
+            }
+        }
+    }
+
+    /**
+     * 调用方没有设置列投影时，只让读取器解析schema中的列
+     */
+    ImportOptions project(ImportOptions options) {
+        if (options.getColumns() != null || options.getColumnNames() != null) {
+            return options;
+        }
+        List<Integer> columns = new ArrayList<Integer>();
+        List<String> names = new ArrayList<String>();
+        for (ColumnarSchema.Field field : fields) {
+            if (field.column >= 0) {
+                columns.add(field.column);
+            } else {
+                names.add(field.name);
+            }
+        }
+        ImportOptions projected = options.copy();
+        if (!columns.isEmpty()) {
+            int[] array = new int[columns.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = columns.get(i);
+            }
+            projected.setColumns(array);
+        }
+        if (!names.isEmpty()) {
+            projected.setColumnNames(names.toArray(new String[names.size()]));
+        }
+        return projected;
+    }
+
+    @Override
+    public void onHeader(SheetRow header) {
+        for (int i = 0; i < indexes.length; i++) {
+            ColumnarSchema.Field field = fields.get(i);
+            if (field.column >= 0) {
+                continue;
+            }
+            indexes[i] = -1;
+            for (int column = 0; column < header.size(); column++) {
+                if (header.getText(column).trim().equals(field.name)) {
+                    indexes[i] = column;
+                    break;
+                }
+            }
+            if (indexes[i] < 0) {
+                throw new IllegalArgumentException("表头中没有 " + field.name + " 列");
+            }
+        }
+    }
+
+    @Override
+    public boolean onRow(SheetRow row) {
+        long start = System.nanoTime();
+        if (rowCount == capacity) {
+            capacity = capacity * 2;
+            for (ColumnarTable.Column column : columns) {
+                column.ensureCapacity(capacity);
+            }
+        }
+        for (int i = 0; i < columns.length; i++) {
+            if (indexes[i] < 0) {
+                throw new IllegalArgumentException("没有读到表头行，无法确定 " + fields.get(i).name + " 列的列号");
+            }
+            columns[i].load(rowCount, row, indexes[i]);
+        }
+        rowCount++;
+        loadNanos += System.nanoTime() - start;
+        return true;
+    }
+
+    long getRowCount() {
+        return rowCount;
+    }
+
+    long getLoadNanos() {
+        return loadNanos;
+    }
+
+    ColumnarTable toTable() {
+        for (ColumnarTable.Column column : columns) {
+            column.size = rowCount;
+        }
+        return new ColumnarTable(columns, rowCount);
+    }
+}
@@ -0,0 +1,124 @@
+package com.demo.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @className: ColumnarSchema
+ * @package: com.demo.utils
+ * @describe: 列式导入要读取的列及其类型。列按表头名称或列号指定，按添加顺序成为ColumnarTable的列，
+ *            例如 new ColumnarSchema().addString("机构").addDouble("金额").setOffHeap(true)
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 8:00
+ */
+public class ColumnarSchema {
+
+    enum Type {
+        DOUBLE, LONG, STRING
+    }
+
+    private final List<Field> fields = new ArrayList<Field>();
+
+    //数值列是否放在堆外(DirectByteBuffer)，字符串列始终在堆内
+    private boolean offHeap = false;
+
+    //每列初始的行容量，已知行数时设置可以避免扩容复制
+    private int initialCapacity = 1024;
+
+    /**
+     * 按表头名称添加一个double列(需要设置表头行)
+     */
+    public ColumnarSchema addDouble(String name) {
+        return add(Type.DOUBLE, name, -1);
+    }
+
+    /**
+     * 按列号添加一个double列，name为表中的列名
+     */
+    public ColumnarSchema addDouble(int column, String name) {
+        return add(Type.DOUBLE, name, column);
+    }
+
+    /**
+     * 按表头名称添加一个long列，日期单元格存为毫秒时间戳
+     */
+    public ColumnarSchema addLong(String name) {
+        return add(Type.LONG, name, -1);
+    }
+
+    public ColumnarSchema addLong(int column, String name) {
+        return add(Type.LONG, name, column);
+    }
+
+    /**
+     * 按表头名称添加一个字典编码的字符串列，取值与ExcelImportUtil.getCellValue一致
+     */
+    public ColumnarSchema addString(String name) {
+        return add(Type.STRING, name, -1);
+    }
+
+    public ColumnarSchema addString(int column, String name) {
+        return add(Type.STRING, name, column);
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    public ColumnarSchema setOffHeap(boolean offHeap) {
+        this.offHeap = offHeap;
+        return this;
+    }
+
+    public int getInitialCapacity() {
+        return initialCapacity;
+    }
+
+    public ColumnarSchema setInitialCapacity(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("initialCapacity必须大于0");
+        }
+        this.initialCapacity = initialCapacity;
+        return this;
+    }
+
+    List<Field> getFields() {
+        return Collections.unmodifiableList(fields);
+    }
+
+    private ColumnarSchema add(Type type, String name, int column) {
+        if (column < -1) {
+            throw new IllegalArgumentException("列号不能小于0：" + column);
+        }
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("列名不能为空");
+        }
+        for (Field field : fields) {
+            if (field.name.equals(name)) {
+                throw new IllegalArgumentException("列名重复：" + name);
+            }
+        }
+        fields.add(new Field(type, name, column));
+        return this;
+    }
+
+    /**
+     * 一列的定义，column为-1时读到表头行后按名称确定列号
+     */
+    static final class Field {
+
+        final Type type;
+
+        final String name;
+
+        final int column;
+
+        Field(Type type, String name, int column) {
+            this.type = type;
+            this.name = name;
+            this.column = column;
+        }
+    }
+}
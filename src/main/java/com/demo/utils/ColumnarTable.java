@@ -0,0 +1,656 @@
+package com.demo.utils;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoublePredicate;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+
+/**
+ * @className: ColumnarTable
+ * @package: com.demo.utils
+ * @describe: 列式的导入结果，用于只做汇总统计的大表。数值列存放在double[]/long[](或堆外缓冲)中，
+ *            字符串列存放字典编号int[]和去重后的字典，每个单元格不再是装箱的Double/Integer和反射创建的对象；
+ *            汇总、分组和过滤都是对连续数组的顺序扫描，过滤结果用BitSet表示，可以交给sum、sumBy继续计算。
+ *            空单元格记为null：数值列存0并在nulls中标记，字符串列编号为-1。读取完成后只读，可以多线程查询
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 8:05
+ */
+public final class ColumnarTable {
+
+    private final Column[] columns;
+
+    private final Map<String, Column> byName;
+
+    private final int rowCount;
+
+    ColumnarTable(Column[] columns, int rowCount) {
+        this.columns = columns;
+        this.rowCount = rowCount;
+        this.byName = new LinkedHashMap<String, Column>();
+        for (Column column : columns) {
+            byName.put(column.name, column);
+        }
+    }
+
+    /**
+     * @methodName: read
+     * @param: file    Excel文件(.xls/.xlsx)
+     *          options 读取参数，没有设置列投影时只解析schema中的列
+     *          schema  要读取的列及其类型
+     * @describe: 流式读取一个工作表到列式表中
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 8:10
+     */
+    public static ColumnarTable read(File file, ImportOptions options, ColumnarSchema schema) throws IOException {
+        ColumnarLoader loader = new ColumnarLoader(schema, options.getHeaderRow() >= 0);
+        long start = System.nanoTime();
+        ExcelRowReader.read(file, loader.project(options), loader);
+        long elapsed = System.nanoTime() - start;
+        ExcelMetrics.recordImport(ExcelMetrics.excelFormat(file), loader.getRowCount(), file.length(),
+                elapsed - loader.getLoadNanos(), loader.getLoadNanos());
+        return loader.toTable();
+    }
+
+    /**
+     * @methodName: read
+     * @param: reader  CSV读取器，不关闭
+     *          options 读取参数，没有设置列投影时只解码schema中的列
+     *          schema  要读取的列及其类型
+     * @describe: 读取CSV到列式表中
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 8:10
+     */
+    public static ColumnarTable read(CSVReader reader, ImportOptions options, ColumnarSchema schema) {
+        ColumnarLoader loader = new ColumnarLoader(schema, options.getHeaderRow() >= 0);
+        reader.read(loader.project(options), loader);
+        return loader.toTable();
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 按schema中的顺序返回各列的名称
+     */
+    public List<String> getColumnNames() {
+        return Collections.unmodifiableList(new ArrayList<String>(byName.keySet()));
+    }
+
+    public Column getColumn(String name) {
+        Column column = byName.get(name);
+        if (column == null) {
+            throw new IllegalArgumentException("没有名为 " + name + " 的列");
+        }
+        return column;
+    }
+
+    public DoubleColumn doubleColumn(String name) {
+        return column(name, DoubleColumn.class);
+    }
+
+    public LongColumn longColumn(String name) {
+        return column(name, LongColumn.class);
+    }
+
+    public StringColumn stringColumn(String name) {
+        return column(name, StringColumn.class);
+    }
+
+    /**
+     * @methodName: sumBy
+     * @param: key   分组的字符串列
+     *          value 求和的数值列(double或long)
+     *          rows  参与计算的行，null表示所有行
+     * @describe: 按字符串列分组求和，累加器是按字典编号下标的double[]，不为每一行查找哈希表；
+     *            分组键为null的行不计入，结果按分组首次出现的顺序排列
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 8:15
+     */
+    public Map<String, Double> sumBy(String key, String value, BitSet rows) {
+        StringColumn keys = stringColumn(key);
+        Column values = getColumn(value);
+        if (!(values instanceof DoubleColumn) && !(values instanceof LongColumn)) {
+            throw new IllegalArgumentException(value + " 不是数值列");
+        }
+        int groups = keys.getDictionarySize();
+        double[] sums = new double[groups];
+        boolean[] present = new boolean[groups];
+        if (values instanceof DoubleColumn) {
+            DoubleColumn doubles = (DoubleColumn) values;
+            for (int row = first(rows); row >= 0; row = next(rows, row)) {
+                int code = keys.codes[row];
+                if (code >= 0) {
+                    sums[code] += doubles.get(row);
+                    present[code] = true;
+                }
+            }
+        } else {
+            LongColumn longs = (LongColumn) values;
+            for (int row = first(rows); row >= 0; row = next(rows, row)) {
+                int code = keys.codes[row];
+                if (code >= 0) {
+                    sums[code] += longs.get(row);
+                    present[code] = true;
+                }
+            }
+        }
+        Map<String, Double> result = new LinkedHashMap<String, Double>();
+        for (int code = 0; code < groups; code++) {
+            if (present[code]) {
+                result.put(keys.dictionary.get(code), sums[code]);
+            }
+        }
+        return result;
+    }
+
+    public Map<String, Double> sumBy(String key, String value) {
+        return sumBy(key, value, null);
+    }
+
+    /**
+     * @methodName: countBy
+     * @param: key  分组的字符串列
+     *          rows 参与计算的行，null表示所有行
+     * @describe: 按字符串列分组计数，分组键为null的行不计入
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 8:15
+     */
+    public Map<String, Long> countBy(String key, BitSet rows) {
+        StringColumn keys = stringColumn(key);
+        long[] counts = new long[keys.getDictionarySize()];
+        for (int row = first(rows); row >= 0; row = next(rows, row)) {
+            int code = keys.codes[row];
+            if (code >= 0) {
+                counts[code]++;
+            }
+        }
+        Map<String, Long> result = new LinkedHashMap<String, Long>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                result.put(keys.dictionary.get(code), counts[code]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 估算各列占用的内存(字节)，包括堆外缓冲、null标记和字符串字典
+     */
+    public long getMemoryBytes() {
+        long bytes = 0;
+        for (Column column : columns) {
+            bytes += column.getMemoryBytes();
+        }
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnarTable{rows=" + rowCount + ", columns=" + byName.keySet() + ", bytes=" + getMemoryBytes() + "}";
+    }
+
+    private <C extends Column> C column(String name, Class<C> type) {
+        Column column = getColumn(name);
+        if (!type.isInstance(column)) {
+            throw new IllegalArgumentException(name + " 列的类型是 " + column.getClass().getSimpleName() + "，不是 " + type.getSimpleName());
+        }
+        return type.cast(column);
+    }
+
+    private int first(BitSet rows) {
+        int first = rows == null ? 0 : rows.nextSetBit(0);
+        return first >= 0 && first < rowCount ? first : -1;
+    }
+
+    private int next(BitSet rows, int row) {
+        if (rows == null) {
+            return row + 1 < rowCount ? row + 1 : -1;
+        }
+        int next = rows.nextSetBit(row + 1);
+        return next < rowCount ? next : -1;
+    }
+
+    /**
+     * 一列数据，行号从0开始，与导入的数据行一一对应
+     */
+    public abstract static class Column {
+
+        final String name;
+
+        //空单元格所在的行
+        final BitSet nulls = new BitSet();
+
+        int size;
+
+        Column(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isNull(int row) {
+            return nulls.get(row);
+        }
+
+        /**
+         * 值不为null的行
+         */
+        public BitSet notNull() {
+            BitSet rows = new BitSet(size);
+            rows.set(0, size);
+            rows.andNot(nulls);
+            return rows;
+        }
+
+        /**
+         * 扩容到至少能放下capacity行
+         */
+        abstract void ensureCapacity(int capacity);
+
+        /**
+         * 把行中column列的单元格转换后放到第row行
+         */
+        abstract void load(int row, SheetRow source, int column);
+
+        abstract long getMemoryBytes();
+
+        CellConversionException conversionError(SheetRow source, String message) {
+            return new CellConversionException("第 " + (source.getRowNum() + 1) + " 行 " + name + " 列：" + message);
+        }
+    }
+
+    /**
+     * double列，数值单元格直接存放，字符串单元格按数字解析
+     */
+    public static final class DoubleColumn extends Column {
+
+        private double[] values;
+
+        private DoubleBuffer buffer;
+
+        DoubleColumn(String name, boolean offHeap, int capacity) {
+            super(name);
+            if (offHeap) {
+                buffer = allocate(capacity).asDoubleBuffer();
+            } else {
+                values = new double[capacity];
+            }
+        }
+
+        public double get(int row) {
+            return values != null ? values[row] : buffer.get(row);
+        }
+
+        /**
+         * 所有行的和，null按0计。堆内数组用4个累加器展开循环，JIT可以生成更少依赖的加法指令
+         */
+        public double sum() {
+            int n = size;
+            double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+            int i = 0;
+            if (values != null) {
+                double[] v = values;
+                for (; i + 3 < n; i += 4) {
+                    s0 += v[i];
+                    s1 += v[i + 1];
+                    s2 += v[i + 2];
+                    s3 += v[i + 3];
+                }
+                for (; i < n; i++) {
+                    s0 += v[i];
+                }
+            } else {
+                DoubleBuffer b = buffer;
+                for (; i < n; i++) {
+                    s0 += b.get(i);
+                }
+            }
+            return (s0 + s1) + (s2 + s3);
+        }
+
+        /**
+         * 指定行的和
+         */
+        public double sum(BitSet rows) {
+            if (rows == null) {
+                return sum();
+            }
+            double sum = 0;
+            for (int row = rows.nextSetBit(0); row >= 0 && row < size; row = rows.nextSetBit(row + 1)) {
+                sum += get(row);
+            }
+            return sum;
+        }
+
+        /**
+         * 值满足条件的行，null不参与判断
+         */
+        public BitSet filter(DoublePredicate predicate) {
+            BitSet rows = new BitSet(size);
+            for (int row = 0; row < size; row++) {
+                if (predicate.test(get(row)) && !nulls.get(row)) {
+                    rows.set(row);
+                }
+            }
+            return rows;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (values != null) {
+                if (capacity > values.length) {
+                    values = Arrays.copyOf(values, Math.max(capacity, values.length * 2));
+                }
+            } else if (capacity > buffer.capacity()) {
+                DoubleBuffer grown = allocate(Math.max(capacity, buffer.capacity() * 2)).asDoubleBuffer();
+                DoubleBuffer old = buffer.duplicate();
+                old.clear();
+                grown.put(old);
+                buffer = grown;
+            }
+        }
+
+        @Override
+        void load(int row, SheetRow source, int column) {
+            double value = 0;
+            switch (source.getCellType(column)) {
+                case Cell.CELL_TYPE_NUMERIC:
+                case Cell.CELL_TYPE_BOOLEAN:
+                    //布尔单元格按1/0
+                    value = source.getNumber(column);
+                    break;
+                case Cell.CELL_TYPE_STRING:
+                    String text = source.getString(column).trim();
+                    if (text.isEmpty()) {
+                        nulls.set(row);
+                        break;
+                    }
+                    try {
+                        value = Double.parseDouble(text);
+                    } catch (NumberFormatException e) {
+                        throw conversionError(source, text + " 不是数字");
+                    }
+                    break;
+                case Cell.CELL_TYPE_ERROR:
+                    throw conversionError(source, "单元格的值是错误码 " + source.getText(column));
+                default:
+                    nulls.set(row);
+            }
+            if (values != null) {
+                values[row] = value;
+            } else {
+                buffer.put(row, value);
+            }
+            size = row + 1;
+        }
+
+        @Override
+        long getMemoryBytes() {
+            return (values != null ? values.length : buffer.capacity()) * 8L + nulls.size() / 8;
+        }
+    }
+
+    /**
+     * long列，数值单元格必须是整数，日期单元格存为毫秒时间戳，字符串单元格按整数解析
+     */
+    public static final class LongColumn extends Column {
+
+        private long[] values;
+
+        private LongBuffer buffer;
+
+        LongColumn(String name, boolean offHeap, int capacity) {
+            super(name);
+            if (offHeap) {
+                buffer = allocate(capacity).asLongBuffer();
+            } else {
+                values = new long[capacity];
+            }
+        }
+
+        public long get(int row) {
+            return values != null ? values[row] : buffer.get(row);
+        }
+
+        /**
+         * 所有行的和，null按0计
+         */
+        public long sum() {
+            int n = size;
+            long sum = 0;
+            if (values != null) {
+                long[] v = values;
+                for (int i = 0; i < n; i++) {
+                    sum += v[i];
+                }
+            } else {
+                LongBuffer b = buffer;
+                for (int i = 0; i < n; i++) {
+                    sum += b.get(i);
+                }
+            }
+            return sum;
+        }
+
+        public long sum(BitSet rows) {
+            if (rows == null) {
+                return sum();
+            }
+            long sum = 0;
+            for (int row = rows.nextSetBit(0); row >= 0 && row < size; row = rows.nextSetBit(row + 1)) {
+                sum += get(row);
+            }
+            return sum;
+        }
+
+        public BitSet filter(LongPredicate predicate) {
+            BitSet rows = new BitSet(size);
+            for (int row = 0; row < size; row++) {
+                if (predicate.test(get(row)) && !nulls.get(row)) {
+                    rows.set(row);
+                }
+            }
+            return rows;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (values != null) {
+                if (capacity > values.length) {
+                    values = Arrays.copyOf(values, Math.max(capacity, values.length * 2));
+                }
+            } else if (capacity > buffer.capacity()) {
+                LongBuffer grown = allocate(Math.max(capacity, buffer.capacity() * 2)).asLongBuffer();
+                LongBuffer old = buffer.duplicate();
+                old.clear();
+                grown.put(old);
+                buffer = grown;
+            }
+        }
+
+        @Override
+        void load(int row, SheetRow source, int column) {
+            long value = 0;
+            switch (source.getCellType(column)) {
+                case Cell.CELL_TYPE_NUMERIC:
+                    double number = source.getNumber(column);
+                    if (source.isDate(column)) {
+                        value = DateUtil.getJavaDate(number).getTime();
+                    } else if (number == Math.rint(number) && !Double.isInfinite(number)) {
+                        value = (long) number;
+                    } else {
+                        throw conversionError(source, number + " 不是整数");
+                    }
+                    break;
+                case Cell.CELL_TYPE_BOOLEAN:
+                    value = (long) source.getNumber(column);
+                    break;
+                case Cell.CELL_TYPE_STRING:
+                    String text = source.getString(column).trim();
+                    if (text.isEmpty()) {
+                        nulls.set(row);
+                        break;
+                    }
+                    try {
+                        value = Long.parseLong(text);
+                    } catch (NumberFormatException e) {
+                        throw conversionError(source, text + " 不是整数");
+                    }
+                    break;
+                case Cell.CELL_TYPE_ERROR:
+                    throw conversionError(source, "单元格的值是错误码 " + source.getText(column));
+                default:
+                    nulls.set(row);
+            }
+            if (values != null) {
+                values[row] = value;
+            } else {
+                buffer.put(row, value);
+            }
+            size = row + 1;
+        }
+
+        @Override
+        long getMemoryBytes() {
+            return (values != null ? values.length : buffer.capacity()) * 8L + nulls.size() / 8;
+        }
+    }
+
+    /**
+     * 字典编码的字符串列：每行存字典编号，相同的值只保存一份。
+     * 过滤条件对每个字典值只求值一次，再按编号扫描各行
+     */
+    public static final class StringColumn extends Column {
+
+        //每行的字典编号，-1表示null
+        private int[] codes;
+
+        private final List<String> dictionary = new ArrayList<String>();
+
+        private final Map<String, Integer> index = new HashMap<String, Integer>();
+
+        StringColumn(String name, int capacity) {
+            super(name);
+            codes = new int[capacity];
+        }
+
+        public String get(int row) {
+            int code = codes[row];
+            return code < 0 ? null : dictionary.get(code);
+        }
+
+        /**
+         * 行的字典编号，null为-1
+         */
+        public int getCode(int row) {
+            return codes[row];
+        }
+
+        public int getDictionarySize() {
+            return dictionary.size();
+        }
+
+        /**
+         * 去重后的值，按首次出现的顺序，下标即字典编号
+         */
+        public List<String> getDictionary() {
+            return Collections.unmodifiableList(dictionary);
+        }
+
+        public BitSet equalTo(String value) {
+            Integer code = index.get(value);
+            BitSet rows = new BitSet(size);
+            if (code != null) {
+                int target = code;
+                for (int row = 0; row < size; row++) {
+                    if (codes[row] == target) {
+                        rows.set(row);
+                    }
+                }
+            }
+            return rows;
+        }
+
+        public BitSet filter(Predicate<String> predicate) {
+            boolean[] matches = new boolean[dictionary.size()];
+            for (int code = 0; code < matches.length; code++) {
+                matches[code] = predicate.test(dictionary.get(code));
+            }
+            BitSet rows = new BitSet(size);
+            for (int row = 0; row < size; row++) {
+                int code = codes[row];
+                if (code >= 0 && matches[code]) {
+                    rows.set(row);
+                }
+            }
+            return rows;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > codes.length) {
+                codes = Arrays.copyOf(codes, Math.max(capacity, codes.length * 2));
+            }
+        }
+
+        @Override
+        void load(int row, SheetRow source, int column) {
+            if (source.isBlank(column)) {
+                codes[row] = -1;
+                nulls.set(row);
+            } else {
+                String value = source.getText(column);
+                Integer code = index.get(value);
+                if (code == null) {
+                    code = dictionary.size();
+                    dictionary.add(value);
+                    index.put(value, code);
+                }
+                codes[row] = code;
+            }
+            size = row + 1;
+        }
+
+        @Override
+        long getMemoryBytes() {
+            //每个字典值按String对象头、char[]和HashMap.Node估算
+            long bytes = codes.length * 4L + nulls.size() / 8;
+            for (String value : dictionary) {
+                bytes += 40 + value.length() * 2L + 48;
+            }
+            return bytes;
+        }
+    }
+
+    private static ByteBuffer allocate(int values) {
+        return ByteBuffer.allocateDirect(values * 8).order(ByteOrder.nativeOrder());
+    }
+}
@@ -0,0 +1,39 @@
+package com.demo.utils;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * @className: CountingOutputStream
+ * @package: com.demo.utils
+ * @describe: 统计写出的字节数，用于导出指标；只做计数，不缓冲
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 3:55
+ */
+final class CountingOutputStream extends FilterOutputStream {
+
+    private long count;
+
+    CountingOutputStream(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        //FilterOutputStream默认逐字节写出，这里直接转交
+        out.write(b, off, len);
+        count += len;
+    }
+
+    long getCount() {
+        return count;
+    }
+}
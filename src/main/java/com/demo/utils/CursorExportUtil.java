@@ -0,0 +1,158 @@
+package com.demo.utils;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * @className: CursorExportUtil
+ * @package: com.demo.utils
+ * @describe: 从MyBatis游标(Cursor)或Stream流式导出Excel/CSV。数据逐行从数据库取出后立即写入，
+ *            配合SXSSF和合适的fetchSize，导出几百万行时堆内存占用保持不变。
+ *            MySQL驱动只有在fetchSize为Integer.MIN_VALUE(或连接参数useCursorFetch=true且fetchSize>0)时才逐行读取结果集，
+ *            否则会在executeQuery时把整个结果集读入内存。fetchSize在查询语句上声明：
+ *            注解方式@Options(fetchSize = CursorExportUtil.MYSQL_STREAMING_FETCH_SIZE)，XML方式&lt;select fetchSize="-2147483648"&gt;
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 7:10
+ */
+public class CursorExportUtil {
+
+    public static final Logger logger = LoggerFactory.getLogger(CursorExportUtil.class);
+
+    /**
+     * MySQL逐行读取结果集所需的fetchSize，在查询语句的@Options或XML中声明
+     */
+    public static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    /**
+     * @methodName: exportExcel
+     * @param: cursor    MyBatis游标(需要在打开它的SqlSession关闭之前使用)，导出完成后关闭
+     *          sheetName 工作表的名称
+     *          titleName 表头
+     *          headers   列表名
+     *          out       输出流(由调用方负责关闭)
+     *          pattern   时间类型的数据格式
+     * @describe: 将游标中的数据流式导出为.xlsx
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 7:15
+     */
+    public static void exportExcel(Cursor<?> cursor, String sheetName, String titleName, String[] headers, OutputStream out, String pattern) throws IOException {
+        try {
+            ExcelExportUtil.doExportExcelStreaming(sheetName, titleName, headers, cursor.iterator(), out, pattern, ExcelExportUtil.DEFAULT_WINDOW_SIZE);
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * @methodName: exportExcel
+     * @param: stream    数据流，导出完成后关闭
+     *          其余参数同上
+     * @describe: 将Stream中的数据流式导出为.xlsx
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 7:15
+     */
+    public static void exportExcel(Stream<?> stream, String sheetName, String titleName, String[] headers, OutputStream out, String pattern) throws IOException {
+        try {
+            ExcelExportUtil.doExportExcelStreaming(sheetName, titleName, headers, stream.iterator(), out, pattern, ExcelExportUtil.DEFAULT_WINDOW_SIZE);
+        } finally {
+            stream.close();
+        }
+    }
+
+    /**
+     * @methodName: exportExcel
+     * @param: sqlSessionFactory MyBatis会话工厂
+     *          statement         查询语句的id(Mapper接口全名.方法名)，fetchSize在语句上声明
+     *          parameter         查询参数
+     *          其余参数同上
+     * @describe: 打开一个只读会话，以游标方式执行查询并流式导出为.xlsx，返回导出的行数
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 7:20
+     */
+    public static int exportExcel(SqlSessionFactory sqlSessionFactory, String statement, Object parameter,
+                                  String sheetName, String titleName, String[] headers, OutputStream out, String pattern) throws IOException {
+        try (SqlSession session = sqlSessionFactory.openSession()) {
+            Cursor<Object> cursor = session.selectCursor(statement, parameter);
+            exportExcel(cursor, sheetName, titleName, headers, out, pattern);
+            return cursor.getCurrentIndex() + 1;
+        }
+    }
+
+    /**
+     * @methodName: exportCsv
+     * @param: cursor     MyBatis游标，导出完成后关闭
+     *          titles     csv文件的列表头
+     *          fileds     导出对象的属性数组
+     *          outPutPath 文件路径
+     *          fileName   文件名称
+     * @describe: 将游标中的数据流式导出为CSV文件；读取游标失败时删除写了一半的文件并抛出异常
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 7:25
+     */
+    public static <T> File exportCsv(Cursor<T> cursor, String[] titles, String[] fileds, String outPutPath, String fileName) throws IOException {
+        try {
+            return writeCsv(titles, fileds, cursor.iterator(), outPutPath, fileName);
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * @methodName: exportCsv
+     * @param: stream 数据流，导出完成后关闭
+     *          其余参数同上
+     * @describe: 将Stream中的数据流式导出为CSV文件；读取数据失败时删除写了一半的文件并抛出异常
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 7:25
+     */
+    public static <T> File exportCsv(Stream<T> stream, String[] titles, String[] fileds, String outPutPath, String fileName) throws IOException {
+        try {
+            return writeCsv(titles, fileds, stream.iterator(), outPutPath, fileName);
+        } finally {
+            stream.close();
+        }
+    }
+
+    /**
+     * @methodName: exportCsv
+     * @param: sqlSessionFactory MyBatis会话工厂
+     *          statement         查询语句的id，fetchSize在语句上声明
+     *          parameter         查询参数
+     *          其余参数同上
+     * @describe: 打开一个只读会话，以游标方式执行查询并流式导出为CSV文件
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 7:30
+     */
+    public static File exportCsv(SqlSessionFactory sqlSessionFactory, String statement, Object parameter,
+                                 String[] titles, String[] fileds, String outPutPath, String fileName) throws IOException {
+        try (SqlSession session = sqlSessionFactory.openSession()) {
+            Cursor<Object> cursor = session.selectCursor(statement, parameter);
+            return exportCsv(cursor, titles, fileds, outPutPath, fileName);
+        }
+    }
+
+    /**
+     * 沿用CSVUtil旧版的GBK编码和制表符文本保持方式，写入失败时抛出IOException(写了一半的文件由CSVUtil删除)
+     */
+    private static <T> File writeCsv(String[] titles, String[] fileds, Iterator<? extends T> exportData,
+                                     String outPutPath, String fileName) throws IOException {
+        CSVOptions options = CSVOptions.gbk().setKeepAsText(CSVOptions.KeepAsText.TAB);
+        return new CSVUtil<T>().createCSVFile(titles, fileds, exportData, outPutPath, fileName, options);
+    }
+}
@@ -0,0 +1,239 @@
+package com.demo.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * @className: DownloadUtil
+ * @package: com.demo.utils
+ * @describe: 文件下载。设置Content-Length，支持单段Range请求(断点续传)和ETag/Last-Modified条件请求(未修改时返回304)；
+ *            文件内容用FileChannel.transferTo写入响应，Tomcat开启sendfile时交给容器直接发送，不经过应用的缓冲区
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 11:20
+ */
+public class DownloadUtil {
+
+    public static final Logger logger = LoggerFactory.getLogger(DownloadUtil.class);
+
+    //Tomcat的sendfile约定：容器支持时设置该请求属性，应用设置文件名和起止位置后由容器在请求结束时发送
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * @methodName: sendFile
+     * @param: request     请求(读取Range、If-None-Match、If-Modified-Since、If-Range)
+     *          response    响应
+     *          file        要下载的文件
+     *          contentType 内容类型
+     *          fileName    下载时显示的文件名
+     * @describe: 发送文件，按请求头返回200、206、304或416
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 11:25
+     */
+    public static void sendFile(HttpServletRequest request, HttpServletResponse response, File file,
+                                String contentType, String fileName) throws IOException {
+        sendFile(request, response, file, contentType, fileName, true);
+    }
+
+    /**
+     * allowSendfile为false时不交给容器的sendfile，在返回之前写完响应(文件在返回之后可能被删除时使用)
+     */
+    static void sendFile(HttpServletRequest request, HttpServletResponse response, File file,
+                         String contentType, String fileName, boolean allowSendfile) throws IOException {
+        if (!file.isFile()) {
+            logger.info("{} 文件不存在!", file.getName());
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        long length = file.length();
+        //HTTP日期精确到秒
+        long lastModified = file.lastModified() / 1000 * 1000;
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+        response.setHeader("ETag", etag);
+        response.setDateHeader("Last-Modified", lastModified);
+        response.setHeader("Accept-Ranges", "bytes");
+
+        if (notModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader("Range");
+        if (range != null && ifRangeMatches(request, etag, lastModified)) {
+            long[] parsed = parseRange(range, length);
+            if (parsed == null) {
+                response.setHeader("Content-Range", "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (parsed.length == 2) {
+                start = parsed[0];
+                end = parsed[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        response.setContentType(contentType);
+        response.setHeader("Content-Disposition", "attachment;  filename="
+                + new String(fileName.getBytes("GBK"), "ISO8859-1"));
+        //Servlet 2.5的setContentLength只接受int
+        response.setHeader("Content-Length", Long.toString(end - start + 1));
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+        if (allowSendfile && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.getCanonicalPath());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        transfer(file, start, end - start + 1, response);
+    }
+
+    /**
+     * @methodName: sendFile
+     * @param: response    响应
+     *          file        要下载的文件
+     *          contentType 内容类型
+     *          fileName    下载时显示的文件名
+     * @describe: 不处理条件请求和Range，发送整个文件
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 11:30
+     */
+    public static void sendFile(HttpServletResponse response, File file, String contentType, String fileName) throws IOException {
+        response.setContentType(contentType);
+        response.setHeader("Content-Disposition", "attachment;  filename="
+                + new String(fileName.getBytes("GBK"), "ISO8859-1"));
+        response.setHeader("Content-Length", Long.toString(file.length()));
+        transfer(file, 0, file.length(), response);
+    }
+
+    /**
+     * 用transferTo把文件的一段写入响应
+     */
+    private static void transfer(File file, long position, long count, HttpServletResponse response) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            //不关闭，响应流由容器管理
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long end = position + count;
+            while (position < end) {
+                long n = channel.transferTo(position, end - position, target);
+                if (n <= 0) {
+                    throw new IOException(file.getName() + " 在发送过程中被截断");
+                }
+                position += n;
+            }
+        }
+        response.flushBuffer();
+    }
+
+    /**
+     * If-None-Match优先，没有时才比较If-Modified-Since
+     */
+    private static boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            return matchesEtag(ifNoneMatch, etag);
+        }
+        long ifModifiedSince = getDateHeader(request, "If-Modified-Since");
+        return ifModifiedSince >= 0 && lastModified <= ifModifiedSince;
+    }
+
+    /**
+     * 没有If-Range，或者If-Range与当前文件一致时Range才有效
+     */
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return etag.equals(ifRange.trim());
+        }
+        return getDateHeader(request, "If-Range") == lastModified;
+    }
+
+    private static boolean matchesEtag(String header, String etag) {
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long getDateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @methodName: parseRange
+     * @param: range  Range请求头
+     *          length 文件长度
+     * @describe: 解析单段的字节范围，返回[起始, 结束]；多段或格式不支持时返回空数组(按完整内容返回)，
+     *            范围不能满足时返回null
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 11:35
+     */
+    static long[] parseRange(String range, long length) {
+        if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            long start;
+            long end;
+            if (dash == 0) {
+                //bytes=-500 表示最后500个字节
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(spec.substring(0, dash));
+                end = dash == spec.length() - 1 ? length - 1 : Math.min(Long.parseLong(spec.substring(dash + 1)), length - 1);
+            }
+            if (start >= length || start > end) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
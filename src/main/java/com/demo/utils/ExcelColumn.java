@@ -0,0 +1,44 @@
+package com.demo.utils;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @className: ExcelColumn
+ * @package: com.demo.utils
+ * @describe: 声明属性对应的列，标注在属性或其get方法上。每个类的标注由{@link ColumnPlan}一次性解析，
+ *            导入、导出和CSV共用
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 1:00
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ExcelColumn {
+
+    /**
+     * 列号(从0开始)，-1表示未指定：未指定列号的属性按声明顺序依次占用未被指定的列号
+     */
+    int index() default -1;
+
+    /**
+     * 列名，导出时作为列首，导入时用于按表头匹配列；为空时使用属性名
+     */
+    String header() default "";
+
+    /**
+     * Excel的数据格式，如"0.00"、"#,##0"、"yyyy-MM-dd HH:mm"。
+     * 设置后数值和日期按原始类型写入单元格，由格式控制显示；为空时日期按导出时指定的pattern转为文本
+     */
+    String format() default "";
+
+    /**
+     * 导入时使用的转换器，需要有无参构造器；默认按属性类型从{@link CellConverters}中查找
+     */
+    @SuppressWarnings("rawtypes")
+    Class<? extends CellConverter> converter() default CellConverter.class;
+}
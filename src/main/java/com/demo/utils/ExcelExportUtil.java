@@ -2,22 +2,33 @@ package com.demo.utils;
 
 import org.apache.poi.hssf.usermodel.*;
 import org.apache.poi.hssf.util.HSSFColor;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.text.SimpleDateFormat;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.List;
+import java.util.Map;
 
 /**
  * @className: ExcelExportUtil
@@ -31,6 +42,12 @@ public class ExcelExportUtil {
 
     public static final Logger logger = LoggerFactory.getLogger(ExcelExportUtil.class);
 
+    //流式导出时默认保留在内存中的行数，超出窗口的行会被刷到临时文件
+    public static final int DEFAULT_WINDOW_SIZE = 1000;
+
+    //标题行和列首行占用的行数
+    private static final int HEADER_ROW_COUNT = 2;
+
     /**
      * @methodName: doExportExcel
      * @param: sheetName 工作表的名称
@@ -45,102 +62,387 @@ public class ExcelExportUtil {
      * @time: 下午 2:55
      */
     public static void doExportExcel(String sheetName, String titleName, String[] headers, Collection<?> dataSet, String resultUrl, String pattern){
+        OutputStream out = null;
+        try {
+            out = new BufferedOutputStream(new FileOutputStream(resultUrl));
+            doExportExcel(sheetName, titleName, headers, dataSet, out, pattern);
+        } catch (IOException e) {
+            logger.error("导出Excel失败，文件位置：{}，错误信息：{}", resultUrl, e.getMessage());
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    logger.error("关闭文件失败，错误信息：{}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * @methodName: doExportExcel
+     * @param: sheetName 工作表的名称
+     *          titleName 表头
+     *          headers   列表名
+     *          dataSet   内容
+     *          out       输出流(由调用方负责关闭)
+     *          pattern   时间类型的数据格式
+     * @describe: 导出Excel到指定的输出流，先填充所有行，最后只序列化一次工作簿
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 上午 10:05
+     */
+    public static void doExportExcel(String sheetName, String titleName, String[] headers, Collection<?> dataSet, OutputStream out, String pattern) throws IOException {
         logger.info("-------------------导出数据开始-------------------");
+        long start = System.nanoTime();
+        CountingOutputStream counter = new CountingOutputStream(out);
         //声明一个工作簿
         HSSFWorkbook workbook = new HSSFWorkbook();
-        //声明一个指定名字的工作表
-        HSSFSheet sheet = workbook.createSheet(sheetName);
-        //设置表格的默认宽度
+        //.xls单个工作表最多65536行，超出部分自动写入新的工作表
+        long rows = fillWorkbook(workbook, SpreadsheetVersion.EXCEL97.getMaxRows(), sheetName, titleName, headers, dataSet.iterator(), pattern);
+        workbook.write(counter);
+        counter.flush();
+        ExcelMetrics.recordExport(ExcelMetrics.XLS, rows, counter.getCount(), System.nanoTime() - start);
+        logger.info("-------------------导出数据结束-------------------");
+    }
+
+    /**
+     * @methodName: doExportExcelStreaming
+     * @param: sheetName 工作表的名称
+     *          titleName 表头
+     *          headers   列表名
+     *          dataSet   内容
+     *          resultUrl 导出的位置(.xlsx)
+     *          pattern   时间类型的数据格式
+     * @describe: 以流式方式导出.xlsx，使用默认的行窗口大小
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 上午 9:10
+     */
+    public static void doExportExcelStreaming(String sheetName, String titleName, String[] headers, Collection<?> dataSet, String resultUrl, String pattern) throws IOException {
+        doExportExcelStreaming(sheetName, titleName, headers, dataSet, resultUrl, pattern, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @methodName: doExportExcelStreaming
+     * @param: sheetName  工作表的名称(超过单表行数上限时依次续建 sheetName_2、sheetName_3...)
+     *          titleName  表头
+     *          headers    列表名
+     *          dataSet    内容
+     *          resultUrl  导出的位置(.xlsx)
+     *          pattern    时间类型的数据格式
+     *          windowSize 内存中保留的行数，超出窗口的行写入临时文件
+     * @describe: 以流式(SXSSF)方式导出.xlsx，内存中只保留windowSize行，
+     *            占用的堆内存与导出的总行数无关，适用于百万行级别的报表
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 上午 9:10
+     */
+    public static void doExportExcelStreaming(String sheetName, String titleName, String[] headers, Collection<?> dataSet, String resultUrl, String pattern, int windowSize) throws IOException {
+        OutputStream out = null;
+        try {
+            out = new BufferedOutputStream(new FileOutputStream(resultUrl));
+            doExportExcelStreaming(sheetName, titleName, headers, dataSet, out, pattern, windowSize);
+        } finally {
+            if (out != null) {
+                out.close();
+            }
+        }
+    }
+
+    /**
+     * @methodName: doExportExcelStreaming
+     * @param: sheetName  工作表的名称
+     *          titleName  表头
+     *          headers    列表名
+     *          dataSet    内容
+     *          out        输出流(由调用方负责关闭)
+     *          pattern    时间类型的数据格式
+     *          windowSize 内存中保留的行数，超出窗口的行写入临时文件
+     * @describe: 以流式(SXSSF)方式导出.xlsx到指定的输出流
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 上午 10:10
+     */
+    public static void doExportExcelStreaming(String sheetName, String titleName, String[] headers, Collection<?> dataSet, OutputStream out, String pattern, int windowSize) throws IOException {
+        doExportExcelStreaming(sheetName, titleName, headers, dataSet.iterator(), out, pattern, windowSize);
+    }
+
+    /**
+     * @methodName: doExportExcelStreaming
+     * @param: sheetName  工作表的名称
+     *          titleName  表头
+     *          headers    列表名
+     *          rows       内容，逐个取出后即写入，可以是MyBatis Cursor、Stream等惰性数据源的迭代器
+     *          out        输出流(由调用方负责关闭)
+     *          pattern    时间类型的数据格式
+     *          windowSize 内存中保留的行数，超出窗口的行写入临时文件
+     * @describe: 以流式(SXSSF)方式导出.xlsx，数据不需要事先全部加载到内存
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 7:00
+     */
+    public static void doExportExcelStreaming(String sheetName, String titleName, String[] headers, Iterator<?> rows, OutputStream out, String pattern, int windowSize) throws IOException {
+        logger.info("-------------------流式导出数据开始-------------------");
+        SXSSFWorkbook workbook = new SXSSFWorkbook(windowSize);
+        //临时文件使用gzip压缩，避免大报表占满磁盘
+        workbook.setCompressTempFiles(true);
+        long start = System.nanoTime();
+        CountingOutputStream counter = new CountingOutputStream(out);
+        try {
+            long rowCount = fillWorkbook(workbook, SpreadsheetVersion.EXCEL2007.getMaxRows(), sheetName, titleName, headers, rows, pattern);
+            workbook.write(counter);
+            counter.flush();
+            ExcelMetrics.recordExport(ExcelMetrics.XLSX, rowCount, counter.getCount(), System.nanoTime() - start);
+            logger.info("共导出 {} 行，{} 个工作表", rowCount, workbook.getNumberOfSheets());
+        } finally {
+            //删除窗口之外的行所产生的临时文件
+            workbook.dispose();
+        }
+        logger.info("-------------------流式导出数据结束-------------------");
+    }
+
+    /**
+     * @methodName: doExportExcelStreaming
+     * @param: sheetName  工作表的名称
+     *          titleName  表头
+     *          clazz      数据的类型，列首取自@ExcelColumn的header(没有时为属性名)
+     *          rows       内容
+     *          out        输出流(由调用方负责关闭)
+     *          pattern    时间类型的数据格式
+     *          windowSize 内存中保留的行数
+     * @describe: 按类的列映射计划以流式(SXSSF)方式导出.xlsx，列首和列顺序都由标注决定
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 2:45
+     */
+    public static void doExportExcelStreaming(String sheetName, String titleName, Class<?> clazz, Iterator<?> rows, OutputStream out, String pattern, int windowSize) throws IOException {
+        doExportExcelStreaming(sheetName, titleName, ColumnPlan.of(clazz).getHeaders(), rows, out, pattern, windowSize);
+    }
+
+    /**
+     * @methodName: fillWorkbook
+     * @param: workbook  工作簿
+     *          maxRows   单个工作表允许的最大行数
+     *          sheetName 工作表的名称
+     *          titleName 表头
+     *          headers   列表名
+     *          it        内容
+     *          pattern   时间类型的数据格式
+     * @describe: 将数据逐行填充到工作簿中，行数达到上限时自动新建工作表，返回数据行数
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 上午 9:20
+     */
+    static long fillWorkbook(Workbook workbook, int maxRows, String sheetName, String titleName, String[] headers, Iterator<?> it, String pattern) {
+        //样式属于工作簿，只创建一次供所有工作表共用
+        ExportStyles styles = new ExportStyles(workbook);
+        Sheet sheet = createSheetForExport(workbook, sheetName, titleName, headers, styles);
+        long rows = fillSheet(sheet, maxRows, it, styles, pattern);
+        int sheetCount = 1;
+        while (it.hasNext()) {
+            //当前工作表已写满，续建下一个工作表
+            sheetCount++;
+            sheet = createSheetForExport(workbook, sheetName + "_" + sheetCount, titleName, headers, styles);
+            rows += fillSheet(sheet, maxRows, it, styles, pattern);
+        }
+        return rows;
+    }
+
+    /**
+     * @methodName: fillSheet
+     * @param: sheet   已写入标题行和列首行的工作表
+     *          maxRows 工作表允许的最大行数
+     *          it      内容，写满工作表后剩余的数据留在迭代器中
+     *          styles  工作簿的导出样式
+     *          pattern 时间类型的数据格式
+     * @describe: 将数据逐行写入一个工作表直到写满或没有数据，返回写入的数据行数。
+     *            只访问该工作表和共用的样式，流式工作簿的不同工作表可以在多个线程中同时填充
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 6:40
+     */
+    static int fillSheet(Sheet sheet, int maxRows, Iterator<?> it, ExportStyles styles, String pattern) {
+        int index = HEADER_ROW_COUNT;
+        Class<?> clazz = null;
+        List<ColumnPlan.Column> columns = null;
+        CellStyle[] columnStyles = null;
+        while (index < maxRows && it.hasNext()) {
+            Object obj = it.next();
+            //列映射和各列的样式只在数据类型变化时解析一次
+            if (obj.getClass() != clazz) {
+                clazz = obj.getClass();
+                columns = ColumnPlan.of(clazz).getColumns();
+                columnStyles = styles.getColumnStyles(clazz, columns);
+            }
+            writeDataRow(sheet.createRow(index++), obj, columns, columnStyles, styles.data, pattern);
+        }
+        return index - HEADER_ROW_COUNT;
+    }
+
+    /**
+     * 单个工作表最多能写入的数据行数
+     */
+    static int maxDataRows(SpreadsheetVersion version) {
+        return version.getMaxRows() - HEADER_ROW_COUNT;
+    }
+
+    /**
+     * 一个工作簿的导出样式：标题、列首、数据样式在创建时生成，按列声明的数据格式派生的样式按数据类型缓存。
+     * 派生样式在锁内创建，同一工作簿的多个工作表并行填充时可以共用
+     */
+    static final class ExportStyles {
+
+        private final CellStyle title;
+
+        private final CellStyle header;
+
+        private final CellStyle data;
+
+        private final CellStylePool stylePool;
+
+        private final Map<Class<?>, CellStyle[]> columnStyles = new HashMap<Class<?>, CellStyle[]>();
+
+        ExportStyles(Workbook workbook) {
+            this.title = createTitleStyleForExport(workbook);
+            this.header = createHeaderStyleForExport(workbook);
+            this.data = createDataCellStyleForExport(workbook);
+            this.stylePool = new CellStylePool(workbook);
+        }
+
+        synchronized CellStyle[] getColumnStyles(Class<?> clazz, List<ColumnPlan.Column> columns) {
+            CellStyle[] styles = columnStyles.get(clazz);
+            if (styles == null) {
+                styles = resolveColumnStyles(stylePool, columns, data);
+                columnStyles.put(clazz, styles);
+            }
+            return styles;
+        }
+    }
+
+    /**
+     * @methodName: resolveColumnStyles
+     * @param: stylePool 工作簿的样式池
+     *          columns   导出的列
+     *          base      表中数据的样式
+     * @describe: 按列声明的数据格式取得各列的样式，没有声明格式的列为null
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 1:20
+     */
+    private static CellStyle[] resolveColumnStyles(CellStylePool stylePool, List<ColumnPlan.Column> columns, CellStyle base) {
+        CellStyle[] styles = new CellStyle[columns.size()];
+        for (int i = 0; i < styles.length; i++) {
+            String format = columns.get(i).getFormat();
+            if (!format.isEmpty()) {
+                styles[i] = stylePool.getStyle(base, format);
+            }
+        }
+        return styles;
+    }
+
+    /**
+     * @methodName: createSheetForExport
+     * @param: workbook    工作簿
+     *          sheetName   工作表的名称
+     *          titleName   表头
+     *          headers     列表名
+     *          styles      工作簿的导出样式
+     * @describe: 创建工作表并写入标题行和列首行
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 上午 9:25
+     */
+    static Sheet createSheetForExport(Workbook workbook, String sheetName, String titleName, String[] headers, ExportStyles styles) {
+        Sheet sheet = workbook.createSheet(sheetName);
         sheet.setDefaultColumnWidth(20);
-        //设置表格首行合并并居中
-        sheet.addMergedRegion(new CellRangeAddress(0,0,0,headers.length-1));
-        //设置标题样式
-        HSSFCellStyle titleStyle = createTitleStyleForExport(workbook);
-        //设置工作簿的样式
-        HSSFCellStyle headerStyle = createHeaderStyleForExport(workbook);
-        //设置表中数据的格式
-        HSSFCellStyle dataCellStyle = createDataCellStyleForExport(workbook);
-        //创建标题行-设置格式-赋值
-        HSSFRow titleRow = sheet.createRow(0);
-        HSSFCell titleCell = titleRow.createCell(0);
-        titleCell.setCellStyle(titleStyle);
+        sheet.addMergedRegion(new CellRangeAddress(0, 0, 0, headers.length - 1));
+        Cell titleCell = sheet.createRow(0).createCell(0);
+        titleCell.setCellStyle(styles.title);
         titleCell.setCellValue(titleName);
-        //创建列首-设置格式-赋值
-        HSSFRow row = sheet.createRow(1);
-        for(int i = 0;i < headers.length;i++){
-            HSSFCell cell = row.createCell(i);
-            cell.setCellStyle(headerStyle);
-            HSSFRichTextString textValue = new HSSFRichTextString(headers[i]);
-            cell.setCellValue(textValue);
+        Row headerRow = sheet.createRow(1);
+        for (int i = 0; i < headers.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellStyle(styles.header);
+            cell.setCellValue(headers[i]);
         }
+        return sheet;
+    }
 
-        Iterator<?> it = dataSet.iterator();
-        int index = 1;
-        while(it.hasNext()){
-            index++;
-            row = sheet.createRow(index);
-            Object obj = it.next();
-            //通过反射获取属性,动态的调用getXxx方法获取属性值
-            Field[] fields = obj.getClass().getDeclaredFields();
-            for(int i = 0;i< fields.length;i++){
-                HSSFCell cell = row.createCell(i);
-                cell.setCellStyle(dataCellStyle);
-                Field field = fields[i];
-                String fieldName = field.getName();
-                //方法名
-                String getMethodName = "get" + fieldName.substring(0,1).toUpperCase() + fieldName.substring(1);
-                try {
-                    Class<?> aClass = obj.getClass();
-                    Method method = aClass.getMethod(getMethodName, new Class[]{});
-                    Object value = method.invoke(obj, new Object[]{});
-                    String textValue = null;
-                    //如果属性是日期格式，按照指定样式装换
-                    if(value instanceof Date){
-                        Date date = (Date) value;
-                        SimpleDateFormat sdf = new SimpleDateFormat(pattern);
-                        textValue = sdf.format(date);
-                    }else {
-                        //其他的统一当做字符串处理
-                        textValue = value.toString();
-                    }
-
-                    //判断属性是否为空
-                    if(textValue != null){
-                        Pattern p = Pattern.compile("^\\d+(\\.\\d+)?$");
-                        Matcher matcher = p.matcher(textValue);
-                        if (matcher.matches()) {
-                            // 是数字当作double处理
-                            cell.setCellValue(Double.parseDouble(textValue));
-                        } else {
-                            // 不是数字做普通处理
-                            cell.setCellValue(textValue);
-                        }
-                    }
-                    OutputStream out = null;
-                    try{
-                        out = new FileOutputStream(resultUrl);
-                        workbook.write(out);
-                    }catch (IOException e){
-                        e.printStackTrace();
-                    }finally {
-                        if(out != null){
-                            out.close();
-                        }
-                    }
-                } catch (NoSuchMethodException e) {
-                    e.printStackTrace();
-                } catch (IllegalArgumentException e) {
-                    e.printStackTrace();
-                } catch (IllegalAccessException e) {
-                    e.printStackTrace();
-                } catch (InvocationTargetException e) {
-                    e.printStackTrace();
-                }catch (Exception e){
-                    e.printStackTrace();
-                }
+    /**
+     * @methodName: writeDataRow
+     * @param: row          行
+     *          obj          该行对应的数据对象
+     *          columns      导出的列
+     *          columnStyles 各列声明了格式时的样式，其余列使用数据样式
+     *          style        表中数据的样式
+     *          pattern      时间类型的数据格式
+     * @describe: 将对象的属性值写入各列
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 上午 9:30
+     */
+    private static void writeDataRow(Row row, Object obj, List<ColumnPlan.Column> columns, CellStyle[] columnStyles, CellStyle style, String pattern) {
+        for (int i = 0; i < columnStyles.length; i++) {
+            ColumnPlan.Column column = columns.get(i);
+            Cell cell = row.createCell(column.getIndex());
+            boolean formatted = columnStyles[i] != null;
+            cell.setCellStyle(formatted ? columnStyles[i] : style);
+            Object value = column.getProperty().get(obj);
+            if (value != null) {
+                writeCell(cell, value, formatted, pattern);
             }
         }
-        logger.info("-------------------导出数据结束-------------------");
+    }
+
+    /**
+     * @methodName: writeCell
+     * @param: cell      单元格
+     *          value     属性值
+     *          formatted 该列是否声明了数据格式
+     *          pattern   时间类型的数据格式
+     * @describe: 按值的类型写入单元格：数值写为数字，布尔值写为布尔，字符串原样写为文本(不再按内容猜测是否为数字)；
+     *            转为double会丢失数字的Long、BigInteger和BigDecimal(如超过2^53的编号、高精度金额)写为文本；
+     *            日期在声明了数据格式的列中写为Excel日期，否则按pattern转为文本
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 1:25
+     */
+    private static void writeCell(Cell cell, Object value, boolean formatted, String pattern) {
+        if (value instanceof String) {
+            cell.setCellValue((String) value);
+        } else if (value instanceof Number && !isExactDouble((Number) value)) {
+            cell.setCellValue(value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString());
+        } else if (value instanceof Number) {
+            cell.setCellValue(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            cell.setCellValue((Boolean) value);
+        } else if (value instanceof Date) {
+            if (formatted) {
+                cell.setCellValue((Date) value);
+            } else {
+                cell.setCellValue(CellConverters.dateFormat(pattern).format((Date) value));
+            }
+        } else if (formatted && value instanceof LocalDateTime) {
+            cell.setCellValue(Date.from(((LocalDateTime) value).atZone(ZoneId.systemDefault()).toInstant()));
+        } else if (formatted && value instanceof LocalDate) {
+            cell.setCellValue(Date.from(((LocalDate) value).atStartOfDay(ZoneId.systemDefault()).toInstant()));
+        } else {
+            cell.setCellValue(value.toString());
+        }
+    }
+
+    /**
+     * 数值转为double后能否还原：Excel的数字单元格是double，不能还原的按文本写出
+     */
+    private static boolean isExactDouble(Number value) {
+        if (!(value instanceof Long || value instanceof BigInteger || value instanceof BigDecimal)) {
+            return true;
+        }
+        double d = value.doubleValue();
+        BigDecimal exact = value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+        //BigDecimal.valueOf按double的最短十进制表示比较，0.1这样的小数仍写为数字
+        return !Double.isInfinite(d) && BigDecimal.valueOf(d).compareTo(exact) == 0;
     }
 
     /**
@@ -151,10 +453,10 @@ public class ExcelExportUtil {
      * @date: 2018/7/16
      * @time: 下午 3:16
      */
-    private static HSSFCellStyle createTitleStyleForExport(HSSFWorkbook workbook){
-        logger.info("-------------------设置标题格式-------------------");
+    private static CellStyle createTitleStyleForExport(Workbook workbook){
+        logger.debug("-------------------设置标题格式-------------------");
         //声明[标题]样式,并设置[标题]样式
-        HSSFCellStyle titleStyle = workbook.createCellStyle();
+        CellStyle titleStyle = workbook.createCellStyle();
         titleStyle.setFillForegroundColor(HSSFColor.LIGHT_BLUE.index);
         titleStyle.setFillPattern(HSSFCellStyle.SOLID_FOREGROUND);
         titleStyle.setBorderBottom(HSSFCellStyle.BORDER_THIN);
@@ -164,7 +466,7 @@ public class ExcelExportUtil {
         titleStyle.setAlignment(HSSFCellStyle.ALIGN_CENTER);
 
         //声明[标题]字体，并设置[标题]字体
-        HSSFFont titleFont = workbook.createFont();
+        Font titleFont = workbook.createFont();
         titleFont.setColor(HSSFColor.WHITE.index);
         titleFont.setFontHeightInPoints((short) 24);
         titleFont.setBoldweight(HSSFFont.BOLDWEIGHT_BOLD);
@@ -183,10 +485,10 @@ public class ExcelExportUtil {
      * @date: 2018/7/16
      * @time: 下午 3:24
      */
-    private static HSSFCellStyle createHeaderStyleForExport(HSSFWorkbook workbook){
-        logger.info("-------------------设置列首样式-------------------");
+    private static CellStyle createHeaderStyleForExport(Workbook workbook){
+        logger.debug("-------------------设置列首样式-------------------");
         //声明[列首]样式，并设置[列首]样式
-        HSSFCellStyle headersStyle = workbook.createCellStyle();
+        CellStyle headersStyle = workbook.createCellStyle();
         headersStyle.setFillForegroundColor(HSSFColor.LIGHT_ORANGE.index);
         headersStyle.setFillPattern(HSSFCellStyle.SOLID_FOREGROUND);
         headersStyle.setBorderBottom(HSSFCellStyle.BORDER_THIN);
@@ -196,7 +498,7 @@ public class ExcelExportUtil {
         headersStyle.setAlignment(HSSFCellStyle.ALIGN_CENTER);
 
         //声明[列首]字体，并设置[列首]字体
-        HSSFFont headersFont = workbook.createFont();
+        Font headersFont = workbook.createFont();
         headersFont.setColor(HSSFColor.VIOLET.index);
         headersFont.setFontHeightInPoints((short) 12);
         headersFont.setBoldweight(HSSFFont.BOLDWEIGHT_BOLD);
@@ -215,10 +517,10 @@ public class ExcelExportUtil {
      * @date: 2018/7/16
      * @time: 下午 3:24
      */
-    private static HSSFCellStyle createDataCellStyleForExport(HSSFWorkbook workbook){
-        logger.info("-------------------设置表中数据样式-------------------");
+    private static CellStyle createDataCellStyleForExport(Workbook workbook){
+        logger.debug("-------------------设置表中数据样式-------------------");
         //声明[表中数据]样式，并设置[表中数据]样式
-        HSSFCellStyle dataSetStyle = workbook.createCellStyle();
+        CellStyle dataSetStyle = workbook.createCellStyle();
         dataSetStyle.setFillForegroundColor(HSSFColor.GOLD.index);
         dataSetStyle.setFillPattern(HSSFCellStyle.SOLID_FOREGROUND);
         dataSetStyle.setBorderBottom(HSSFCellStyle.BORDER_THIN);
@@ -229,7 +531,7 @@ public class ExcelExportUtil {
         dataSetStyle.setVerticalAlignment(HSSFCellStyle.VERTICAL_CENTER);
 
         //声明[表中数据]字体，并设置[表中数据]字体
-        HSSFFont dataSetFont = workbook.createFont();
+        Font dataSetFont = workbook.createFont();
         dataSetFont.setBoldweight(HSSFFont.BOLDWEIGHT_NORMAL);
         dataSetFont.setColor(HSSFColor.BLUE.index);
 
@@ -1,26 +1,18 @@
 package com.demo.utils;
 
-import org.apache.poi.hssf.usermodel.HSSFSheet;
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.ss.usermodel.Row;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.CollectionUtils;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.Consumer;
 
 /**
  * @className: ExcelImportUtil
@@ -39,7 +31,7 @@ public class ExcelImportUtil {
 
     /**
      * @methodName: doImportExcel
-     * @param: originUrl 文件的位置
+     * @param: originUrl 文件的位置(.xls/.xlsx)
      *          startRow 起始行(从哪一行开始)
      *          endRow   结束行(到哪一行结束
      *                          (0表示所有行;
@@ -52,84 +44,130 @@ public class ExcelImportUtil {
      * @date: 2018/7/16
      * @time: 下午 5:38
      */
-    private static List<Object> doImportExcel(String originUrl, int startRow, int endRow, Class<?> clazz) throws IOException {
-        File file = new File(originUrl);
+    public static List<Object> doImportExcel(String originUrl, int startRow, int endRow, Class<?> clazz) throws IOException {
+        List<Object> objectList = new ArrayList<Object>();
+        doImportExcel(originUrl, startRow, endRow, clazz, objectList::add);
+        return objectList;
+    }
+
+    /**
+     * @methodName: doImportExcel
+     * @param: originUrl 文件的位置(.xls/.xlsx)
+     *          startRow  起始行
+     *          endRow    结束行(含义同上)
+     *          clazz     对象的类型
+     *          consumer  每解析出一个对象就回调一次
+     * @describe: 流式导入Excel的第一个工作表，边解析边转换为对象，不在内存中保留整个工作簿
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 3:30
+     */
+    public static void doImportExcel(String originUrl, int startRow, int endRow, Class<?> clazz, Consumer<Object> consumer) throws IOException {
+        doImportExcel(originUrl, new ImportOptions().setStartRow(startRow).setEndRow(endRow), clazz, consumer);
+    }
+
+    /**
+     * @methodName: doImportExcel
+     * @param: originUrl 文件的位置(.xls/.xlsx)
+     *          options   工作表、起始行、结束行；设置了表头行时按表头的列名匹配@ExcelColumn的header(或属性名)
+     *          clazz     对象的类型
+     *          consumer  每解析出一个对象就回调一次
+     * @describe: 流式导入Excel的一个工作表，表头只在读到时解析一次
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 2:35
+     */
+    public static void doImportExcel(String originUrl, ImportOptions options, Class<?> clazz, Consumer<Object> consumer) throws IOException {
+        read(new File(originUrl), options, new MappingCallback(new RowMapper(clazz), consumer));
+    }
+
+    /**
+     * @methodName: doImportExcelValidated
+     * @param: originUrl 文件的位置(.xls/.xlsx)
+     *          options   工作表、起始行、结束行、表头行，以及错误报告的保留条数和停止导入的错误数
+     *          clazz     对象的类型
+     *          consumer  只接收没有错误的行转换出的对象
+     * @describe: 校验导入：转换失败的单元格不再只记日志，而是收集到错误报告中，有错误的行跳过，导入继续进行；
+     *            错误数达到abortThreshold时提前停止。可以用报告的writeWorkbook导出标注了错误的工作簿
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 6:25
+     */
+    public static ImportErrorReport doImportExcelValidated(String originUrl, ImportOptions options, Class<?> clazz, Consumer<Object> consumer) throws IOException {
+        ImportErrorReport report = new ImportErrorReport(options.getErrorLimit());
+        read(new File(originUrl), options, new MappingCallback(new RowMapper(clazz), consumer, report, options.getAbortThreshold()));
+        if (!report.isEmpty()) {
+            logger.info("{} 导入完成，{}", originUrl, report);
+        }
+        return report;
+    }
+
+    /**
+     * @methodName: read
+     * @param: file     文件
+     *          options  导入参数
+     *          callback 转换回调
+     * @describe: 流式读取一个工作表并记录导入指标，文件不存在或内容为空时抛出异常；
+     *            列投影和行过滤条件在读取器中生效，不需要的列不解析，不满足条件的行不转换为对象；
+     *            使用字符串字典时记录字典的命中率和节省的内存
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 6:25
+     */
+    private static void read(File file, ImportOptions options, MappingCallback callback) throws IOException {
         if(!file.exists()){
             logger.info(file.getName() + " 文件不存在!");
             throw new IOException("文件名为 " + file.getName() + "的Excel文件不存在!");
         }
-        HSSFWorkbook workbook = null;
-        FileInputStream fis = null;
-        //Excel中行的集合
-        List<Row> rowList = new ArrayList<Row>();
+        long start = System.nanoTime();
         try {
-            //创建文件输入流
-            fis = new FileInputStream(file);
-            //通过文件输入流去读取文件内容
-            workbook = new HSSFWorkbook(fis);
-            //获取文件中的第一个sheet表
-            HSSFSheet sheet = workbook.getSheetAt(0);
-            //获取sheet表中的最后一行
-            int rowNum = sheet.getLastRowNum();
-            if(rowNum <= 0){
-                logger.info( "{} 表的内容为空！",sheet.getSheetName());
-                throw new IOException(sheet.getSheetName() + " 表的内容为空！");
-            }
-            for(int i = startRow;i <= rowNum + endRow;i++){
-                Row row = sheet.getRow(i);
-                if(row != null){
-                    //将每一行加入到list中
-                    rowList.add(row);
-                    for(int j = 0;j < row.getLastCellNum();j++){
-                        String value = getCellValue(row.getCell(j));
-                        if(!"".equals(value)){
-                            logger.info("开始读取单元格内容！");
-                        }
-                    }
-                }
-            }
+            ExcelRowReader.read(file, options, callback);
         }catch (IOException e) {
-            e.printStackTrace();
             logger.error("错误信息: {}",e.getMessage());
-            throw new IOException("错误信息: 文件读取失败！" + e.getMessage());
+            throw new IOException("错误信息: 文件读取失败！" + e.getMessage(), e);
+        }
+        long elapsed = System.nanoTime() - start;
+        ExcelMetrics.recordImport(ExcelMetrics.excelFormat(file), callback.getRowCount(), file.length(),
+                elapsed - callback.getCallbackNanos(), callback.getMapNanos());
+        if (options.getStringDictionary() != null) {
+            logger.info("{} 字符串字典：{}", file.getName(), options.getStringDictionary());
+        }
+        //设置了行过滤条件时没有满足条件的行是正常结果
+        if(callback.getRowCount() == 0 && options.getRowFilter() == null){
+            logger.info( "{} 表的内容为空！",file.getName());
+            throw new IOException(file.getName() + " 表的内容为空！");
         }
-        return returnObjectList(rowList,clazz);
     }
 
     /**
-     * @methodName: getCellValue
-     * @param: [cell 单元格]
-     * @describe: 获取单元格的值
+     * @methodName: importToDatabase
+     * @param: originUrl         文件的位置(.xls/.xlsx)
+     *          startRow          起始行
+     *          endRow            结束行(含义同上)
+     *          clazz             对象的类型
+     *          sqlSessionFactory MyBatis会话工厂
+     *          statement         insert语句的id(Mapper接口全名.方法名)
+     * @describe: 流式导入并批量写入数据库(默认批次大小、提交间隔和队列容量)，返回写入的行数；
+     *            解析失败时回滚未提交的数据并抛出原来的异常，回滚失败的异常附加在其中(getSuppressed)
      * @auther: liuzhiyong
-     * @date: 2018/7/16
-     * @time: 下午 5:43
+     * @date: 2026/10/18
+     * @time: 下午 6:30
      */
-    private static String getCellValue(Cell cell){
-        Object result = null;
-        if(cell != null){
-            switch (cell.getCellType()){
-                case Cell.CELL_TYPE_STRING :
-                    result = cell.getStringCellValue();
-                    break;
-                case Cell.CELL_TYPE_NUMERIC:
-                    result = cell.getNumericCellValue();
-                    break;
-                case Cell.CELL_TYPE_BOOLEAN:
-                    result = cell.getBooleanCellValue();
-                    break;
-                case Cell.CELL_TYPE_FORMULA:
-                    result = cell.getCellFormula();
-                    break;
-                case Cell.CELL_TYPE_ERROR:
-                    result = cell.getErrorCellValue();
-                    break;
-                case Cell.CELL_TYPE_BLANK:
-                    break;
-                default:
-                    break;
+    public static long importToDatabase(String originUrl, int startRow, int endRow, Class<?> clazz,
+                                        SqlSessionFactory sqlSessionFactory, String statement) throws IOException {
+        BatchInsertSink<Object> sink = new BatchInsertSink<Object>(sqlSessionFactory, statement).start();
+        try {
+            doImportExcel(originUrl, startRow, endRow, clazz, sink);
+        } catch (Throwable e) {
+            try {
+                sink.abort();
+            } catch (RuntimeException abortError) {
+                e.addSuppressed(abortError);
             }
+            throw e;
         }
-        return result.toString();
+        sink.close();
+        return sink.getRowCount();
     }
 
     /**
@@ -143,38 +181,62 @@ public class ExcelImportUtil {
      */
     public static List<Object> returnObjectList(List<Row> rowList,Class<?> clazz){
         List<Object> objectList = null;
-        Object object;
-        String attribute = null;
-        String value = null;
-        int j = 0;
         try {
             objectList = new ArrayList<Object>();
-            //获取属性
-            Field[] fields = clazz.getDeclaredFields();
+            RowMapper mapper = new RowMapper(clazz);
+            SheetRow sheetRow = new SheetRow();
             if(!CollectionUtils.isEmpty(rowList)){
                 for(Row row:rowList){
-                    j = 0;
-                    object = clazz.newInstance();
-                    for(Field field:fields){
-                        //获取属性名
-                        attribute = field.getName().toString();
-                        //获取对应单元格的内容
-                        value = getCellValue(row.createCell(j));
-                        //给指定的属性赋值
-                        setAttributeValue(object,attribute,value);
-                        j++;
-                    }
-                    objectList.add(object);
+                    objectList.add(mapper.map(toSheetRow(row, sheetRow)));
                 }
             }
         }catch (Exception e){
-            e.printStackTrace();
-            logger.info("异常信息详情：{}",e.getMessage());
+            logger.error("异常信息详情：{}",e.getMessage(),e);
         }
 
         return objectList;
     }
 
+    /**
+     * @methodName: toSheetRow
+     * @param: row      POI的行
+     *          sheetRow 用于存放结果的行(复用)
+     * @describe: 将POI的行转换为流式读取使用的行，公式单元格取缓存的计算结果
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 5:00
+     */
+    private static SheetRow toSheetRow(Row row, SheetRow sheetRow){
+        sheetRow.reset(row.getRowNum());
+        for(int j = 0;j < row.getLastCellNum();j++){
+            Cell cell = row.getCell(j);
+            if(cell == null){
+                continue;
+            }
+            int cellType = cell.getCellType();
+            if(cellType == Cell.CELL_TYPE_FORMULA){
+                cellType = cell.getCachedFormulaResultType();
+            }
+            switch (cellType){
+                case Cell.CELL_TYPE_STRING:
+                    sheetRow.setString(j, cell.getStringCellValue());
+                    break;
+                case Cell.CELL_TYPE_NUMERIC:
+                    sheetRow.setNumeric(j, cell.getNumericCellValue(), DateUtil.isCellDateFormatted(cell));
+                    break;
+                case Cell.CELL_TYPE_BOOLEAN:
+                    sheetRow.setBoolean(j, cell.getBooleanCellValue());
+                    break;
+                case Cell.CELL_TYPE_ERROR:
+                    sheetRow.setError(j, cell.getErrorCellValue());
+                    break;
+                default:
+                    break;
+            }
+        }
+        return sheetRow;
+    }
+
     /**
      * @methodName: setAttributeValue
      * @param: object     指定对象
@@ -186,56 +248,23 @@ public class ExcelImportUtil {
      * @time: 上午 10:57
      */
     public static void setAttributeValue(Object object,String attribute,String value){
-        logger.info("---------------------为属性赋值---------------------");
-        //获取该属性对应的get/set方法名
-        String method_name = convertToMethodName(attribute, object.getClass(), true);
-        //获取方法数组
-        Method[] methods = object.getClass().getMethods();
-        /*
-            在java中确定唯一方法的办法是方法名(参数)，但是我们通过get/set加上属性名来获取方法，由于属性名不允许重复，那理论上方法名也不会重复
-         */
-        for(Method method:methods)
-            try {
-                if (method.getName().equals(method_name)) {
-                    Class<?>[] parameterTypes = method.getParameterTypes();
-                    Class<?> type = parameterTypes[0];
-                    if (type == int.class || type == Integer.class) {
-                        method.invoke(object, Integer.valueOf(value));
-                        break;
-                    } else if (type == float.class || type == Float.class) {
-                        method.invoke(object, Float.valueOf(value));
-                        break;
-                    } else if (type == double.class || type == Double.class) {
-                        method.invoke(object, Double.valueOf(value));
-                        break;
-                    } else if (type == byte.class || type == Byte.class) {
-                        method.invoke(object, Byte.valueOf(value));
-                        break;
-                    } else if (type == boolean.class || type == Boolean.class) {
-                        method.invoke(object, Boolean.valueOf(value));
-                        break;
-                    } else if (type == Date.class) {
-                        try {
-                            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-                            Date date = sdf.parse(value);
-                            method.invoke(object,date);
-                        }catch (ParseException e) {
-                            logger.info("日期解析错误");
-                        }
-                        break;
-                    }else {
-                        method.invoke(object,type.cast(value));
-                        break;
-                    }
-                }
-            }  catch (IllegalArgumentException e) {
-                logger.info("参数异常，详细信息：{}",e.getMessage());
-            } catch (IllegalAccessException e) {
-                logger.info("安全权限异常,反射调用的是private方法。详细信息：{}",e.getMessage());
-            } catch (InvocationTargetException e) {
-                e.printStackTrace();
-                logger.info("反射异常，详细信息：{}",e.getMessage());
-            }
+        BeanProperty property = BeanSchema.of(object.getClass()).getProperty(attribute);
+        if(property == null){
+            logger.trace("未找到属性：{}",attribute);
+            return;
+        }
+        if(!property.isWritable() || value == null || "".equals(value)){
+            return;
+        }
+        //字符串按单元格转换器的规则转换为属性类型
+        SheetRow row = new SheetRow(1);
+        row.setString(0, value);
+        try {
+            property.setConverted(object, CellConverters.getDefault().find(Cell.CELL_TYPE_STRING, property.getType()), row, 0);
+        } catch (IllegalArgumentException e) {
+            ExcelMetrics.conversionError(property.getType());
+            logger.trace("参数异常，详细信息：{}",e.getMessage());
+        }
     }
 
     /**
@@ -249,40 +278,18 @@ public class ExcelImportUtil {
      * @time: 上午 11:01
      */
     public static String convertToMethodName(String attribute,Class<?> clazz,boolean isSet) {
-        //创建表达式
-        Pattern pattern = Pattern.compile(REGEX);
-        //创建属性匹配规则
-        Matcher matcher = pattern.matcher(attribute);
-        StringBuffer buffer = new StringBuffer();
         //如果前缀是set开头，则设置set
         if(isSet){
-            buffer.append("set");
-        }else {
-            try {
-                //根据属性名获取该属性的数据类型
-                Field field = clazz.getDeclaredField(attribute);
-                //若该属性属于布尔类型，则设置is开头，否则设置get开头
-                if(field.getType() == boolean.class || field.getType() == Boolean.class){
-                    buffer.append("is");
-                }else {
-                    buffer.append("get");
-                }
-            }catch (NoSuchFieldException e){
-                e.printStackTrace();
-                logger.info("未找到属性类型，具体信息：{}",e.getMessage());
-            }
+            return BeanSchema.accessorName("set", attribute);
         }
-        //针对属性名是非"_"开始的属性，将首字母大写
-        if(attribute.charAt(0) != '_' || matcher.find()){
-            buffer.append(
-                    matcher.replaceFirst(
-                            matcher.group(attribute).toUpperCase()
-                    )
-            );
-        }else {
-            buffer.append(attribute);
+        BeanProperty property = BeanSchema.of(clazz).getProperty(attribute);
+        if(property == null){
+            logger.trace("未找到属性类型，属性名：{}",attribute);
         }
-
-        return buffer.toString();
+        //若该属性属于布尔类型，则设置is开头，否则设置get开头
+        if(property != null && (property.getType() == boolean.class || property.getType() == Boolean.class)){
+            return BeanSchema.accessorName("is", attribute);
+        }
+        return BeanSchema.accessorName("get", attribute);
     }
 }
@@ -0,0 +1,149 @@
+package com.demo.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @className: ExcelMetrics
+ * @package: com.demo.utils
+ * @describe: 导入导出的Micrometer指标。工具类都是静态方法，不经过Spring注入，统一记录到Metrics.globalRegistry，
+ *            Spring Boot会把Actuator的注册表加入其中，通过/actuator/metrics/excel.rows等查看。
+ *            只在一次导入导出结束时按汇总值记录，逐行的计时累加在局部变量中，不在热点路径上查找指标。
+ *            每秒行数 = excel.rows的增长速率；各阶段耗时看excel.phase的phase标签
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 3:50
+ */
+public final class ExcelMetrics {
+
+    //处理的行数，标签：operation、format
+    public static final String ROWS = "excel.rows";
+
+    //导入时读取的文件字节数、导出时写出的字节数，标签：operation、format
+    public static final String BYTES = "excel.bytes";
+
+    //各阶段耗时，标签：operation、phase、format
+    public static final String PHASE = "excel.phase";
+
+    //单元格转换失败的次数，标签：type(属性类型)
+    public static final String CONVERSION_ERRORS = "excel.conversion.errors";
+
+    //报表缓存的查找次数，标签：result(hit命中、shared等待同一次生成、miss重新生成)
+    public static final String CACHE = "excel.cache";
+
+    public static final String IMPORT = "import";
+
+    public static final String EXPORT = "export";
+
+    //读取文件、拆分成行
+    public static final String PARSE = "parse";
+
+    //行转换为对象
+    public static final String MAP = "map";
+
+    //填充并序列化工作簿或写出CSV
+    public static final String WRITE = "write";
+
+    //压缩(各压缩任务的耗时之和)
+    public static final String COMPRESS = "compress";
+
+    public static final String XLS = "xls";
+
+    public static final String XLSX = "xlsx";
+
+    public static final String CSV = "csv";
+
+    public static final String ZIP = "zip";
+
+    private static final MeterRegistry REGISTRY = Metrics.globalRegistry;
+
+    private ExcelMetrics() {
+    }
+
+    /**
+     * 记录处理的行数
+     */
+    public static void rows(String operation, String format, long count) {
+        Counter.builder(ROWS).baseUnit("rows").tag("operation", operation).tag("format", format)
+                .register(REGISTRY).increment(count);
+    }
+
+    /**
+     * 记录读取或写出的字节数
+     */
+    public static void bytes(String operation, String format, long count) {
+        Counter.builder(BYTES).baseUnit("bytes").tag("operation", operation).tag("format", format)
+                .register(REGISTRY).increment(count);
+    }
+
+    /**
+     * 记录一个阶段的耗时
+     */
+    public static void phase(String operation, String phase, String format, long nanos) {
+        Timer.builder(PHASE).tag("operation", operation).tag("phase", phase).tag("format", format)
+                .register(REGISTRY).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @methodName: recordImport
+     * @param: format     文件格式
+     *          rows       导入的行数
+     *          bytes      文件大小
+     *          parseNanos 解析耗时
+     *          mapNanos   转换耗时
+     * @describe: 一次导入结束时记录行数、字节数和解析、转换两个阶段的耗时
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 3:50
+     */
+    public static void recordImport(String format, long rows, long bytes, long parseNanos, long mapNanos) {
+        rows(IMPORT, format, rows);
+        bytes(IMPORT, format, bytes);
+        phase(IMPORT, PARSE, format, parseNanos);
+        phase(IMPORT, MAP, format, mapNanos);
+    }
+
+    /**
+     * @methodName: recordExport
+     * @param: format     文件格式
+     *          rows       导出的行数
+     *          bytes      写出的字节数
+     *          writeNanos 填充和写出的耗时
+     * @describe: 一次导出结束时记录行数、字节数和写出阶段的耗时
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 3:50
+     */
+    public static void recordExport(String format, long rows, long bytes, long writeNanos) {
+        rows(EXPORT, format, rows);
+        bytes(EXPORT, format, bytes);
+        phase(EXPORT, WRITE, format, writeNanos);
+    }
+
+    /**
+     * 记录一次单元格转换失败
+     */
+    public static void conversionError(Class<?> type) {
+        Counter.builder(CONVERSION_ERRORS).tag("type", type.getSimpleName()).register(REGISTRY).increment();
+    }
+
+    /**
+     * 记录一次报表缓存的查找结果
+     */
+    public static void cacheLookup(String result) {
+        Counter.builder(CACHE).tag("result", result).register(REGISTRY).increment();
+    }
+
+    /**
+     * 按文件头判断Excel文件的格式
+     */
+    static String excelFormat(File file) throws IOException {
+        return ExcelRowReader.isXlsx(file) ? XLSX : XLS;
+    }
+}
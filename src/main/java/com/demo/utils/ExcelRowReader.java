@@ -0,0 +1,91 @@
+package com.demo.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * @className: ExcelRowReader
+ * @package: com.demo.utils
+ * @describe: Excel文件的流式读取入口，根据文件头自动选择.xls(HSSF事件模型)或.xlsx(SAX)读取器，
+ *            解析出一行就回调一行，内存占用与工作表的行数无关
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 3:10
+ */
+public final class ExcelRowReader {
+
+    //OLE2复合文档(.xls)的文件头
+    private static final int OLE2_SIGNATURE = 0xD0CF11E0;
+
+    //zip(.xlsx)的文件头
+    private static final int ZIP_SIGNATURE = 0x504B0304;
+
+    private ExcelRowReader() {
+    }
+
+    /**
+     * @methodName: read
+     * @param: file     Excel文件(.xls/.xlsx)
+     *          options  读取参数(工作表、起始行、结束行、列投影、行过滤条件、字符串字典)
+     *          callback 逐行回调，空行(或投影中的列都为空的行)不回调
+     * @describe: 流式读取Excel
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 3:15
+     */
+    public static void read(File file, ImportOptions options, RowCallback callback) throws IOException {
+        if (!file.exists()) {
+            throw new IOException("文件名为 " + file.getName() + "的Excel文件不存在!");
+        }
+        ColumnProjection projection = ColumnProjection.of(options);
+        RowCallback filter = new RowRangeFilter(callback, options, projection, true);
+        StringDictionary dictionary = options.getStringDictionary();
+        boolean found = isXlsx(file)
+                ? XlsxRowReader.read(file, options.getSheetIndex(), projection, dictionary, filter)
+                : HssfRowReader.read(file, options.getSheetIndex(), projection, dictionary, filter);
+        if (!found) {
+            throw new IOException(file.getName() + " 中不存在序号为 " + options.getSheetIndex() + " 的工作表");
+        }
+    }
+
+    /**
+     * @methodName: getSheetNames
+     * @param: [file Excel文件(.xls/.xlsx)]
+     * @describe: 获取所有工作表的名称(按工作表顺序)
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 3:15
+     */
+    public static List<String> getSheetNames(File file) throws IOException {
+        return isXlsx(file) ? XlsxRowReader.readSheetNames(file) : HssfRowReader.readSheetNames(file);
+    }
+
+    /**
+     * 根据文件头判断是否为.xlsx文件，不依赖扩展名
+     */
+    static boolean isXlsx(File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+        try {
+            int signature = 0;
+            for (int i = 0; i < 4; i++) {
+                int b = in.read();
+                if (b < 0) {
+                    throw new IOException(file.getName() + " 不是有效的Excel文件");
+                }
+                signature = (signature << 8) | b;
+            }
+            if (signature == ZIP_SIGNATURE) {
+                return true;
+            }
+            if (signature == OLE2_SIGNATURE) {
+                return false;
+            }
+            throw new IOException(file.getName() + " 不是有效的Excel文件");
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.demo.utils;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @className: ExportJob
+ * @package: com.demo.utils
+ * @describe: 一个异步导出任务的状态和进度，由导出线程更新，其他线程只读取
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 4:20
+ */
+public class ExportJob {
+
+    public enum Status {
+        //排队中
+        QUEUED,
+        //导出中
+        RUNNING,
+        //已完成，可以下载
+        DONE,
+        //导出失败
+        FAILED,
+        //已取消
+        CANCELLED
+    }
+
+    private final String id;
+
+    private final ExportRequest request;
+
+    //提交顺序，相同优先级按提交顺序执行
+    final long sequence;
+
+    private final long submittedAt = System.currentTimeMillis();
+
+    private volatile Status status = Status.QUEUED;
+
+    //只由导出线程递增
+    private volatile long rowCount;
+
+    private volatile long startedNanos;
+
+    private volatile long finishedAt;
+
+    private volatile File file;
+
+    private volatile String error;
+
+    ExportJob(String id, ExportRequest request, long sequence) {
+        this.id = id;
+        this.request = request;
+        this.sequence = sequence;
+    }
+
+    /**
+     * @methodName: track
+     * @param: [rows 数据源的迭代器]
+     * @describe: 包装数据源，每取出一行计数一次；任务被取消后在下一次取数时抛出CancellationException结束导出
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 4:20
+     */
+    public <T> Iterator<T> track(final Iterator<T> rows) {
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                if (status == Status.CANCELLED) {
+                    throw new CancellationException("导出任务 " + id + " 已取消");
+                }
+                return rows.hasNext();
+            }
+
+            @Override
+            public T next() {
+                T row = rows.next();
+                rowCount++;
+                return row;
+            }
+        };
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTenant() {
+        return request.getTenant();
+    }
+
+    public String getFileName() {
+        return request.getFileName();
+    }
+
+    public String getContentType() {
+        return request.getContentType();
+    }
+
+    public int getPriority() {
+        return request.getPriority();
+    }
+
+    ExportRequest getRequest() {
+        return request;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getSubmittedAt() {
+        return submittedAt;
+    }
+
+    /**
+     * 已写出的行数
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 完成的比例(0-1)，预计行数未知时为-1
+     */
+    public double getProgress() {
+        long expected = request.getExpectedRows();
+        if (status == Status.DONE) {
+            return 1d;
+        }
+        return expected > 0 ? Math.min(1d, (double) rowCount / expected) : -1d;
+    }
+
+    /**
+     * 按目前的速度估算的剩余毫秒数，无法估算时为-1
+     */
+    public long getEtaMillis() {
+        long expected = request.getExpectedRows();
+        long rows = rowCount;
+        long started = startedNanos;
+        if (status != Status.RUNNING || expected <= 0 || rows == 0 || started == 0) {
+            return status == Status.DONE ? 0 : -1;
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        return Math.max(0, (long) ((double) elapsed / rows * (expected - rows)));
+    }
+
+    /**
+     * 结束(完成、失败或取消)的时间，未结束时为0
+     */
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * 导出的文件，完成之前为null
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * 失败原因
+     */
+    public String getError() {
+        return error;
+    }
+
+    boolean isFinished() {
+        return finishedAt != 0;
+    }
+
+    void start() {
+        startedNanos = System.nanoTime();
+        status = Status.RUNNING;
+    }
+
+    void done(File file) {
+        this.file = file;
+        finish(Status.DONE);
+    }
+
+    void fail(String error) {
+        this.error = error;
+        finish(Status.FAILED);
+    }
+
+    /**
+     * 只改状态，由导出线程在track中发现后结束任务
+     */
+    void cancel() {
+        this.status = Status.CANCELLED;
+    }
+
+    void finish(Status status) {
+        this.status = status;
+        this.finishedAt = System.currentTimeMillis();
+    }
+
+    @Override
+    public String toString() {
+        return id + "(" + getTenant() + ", " + status + ", " + rowCount + "行)";
+    }
+}
@@ -0,0 +1,339 @@
+package com.demo.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @className: ExportJobService
+ * @package: com.demo.utils
+ * @describe: 异步导出任务。调用方提交导出请求后立即拿到任务ID，之后轮询进度，完成后再下载，不占用请求线程。
+ *            等待的任务按优先级(相同优先级按提交顺序)排队，队列有上限，满了直接拒绝；
+ *            同时运行的任务数不超过线程数，同一租户同时运行的任务数不超过tenantLimit，
+ *            租户达到上限时跳过它的任务，先执行其他租户的任务。
+ *            导出文件写在专用目录中，超过保留时间的文件和任务记录由后台线程定期清理
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 4:30
+ */
+public class ExportJobService implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportJobService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    //优先级高的在前，相同优先级先提交的在前
+    private static final Comparator<ExportJob> ORDER = Comparator
+            .comparingInt((ExportJob job) -> -job.getPriority())
+            .thenComparingLong(job -> job.sequence);
+
+    private final File directory;
+
+    private final int threads;
+
+    private final int queueCapacity;
+
+    private final int tenantLimit;
+
+    private final long ttlMillis;
+
+    private final ThreadPoolExecutor executor;
+
+    private final ScheduledExecutorService cleaner;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<String, ExportJob>();
+
+    //以下字段都由lock保护
+    private final Object lock = new Object();
+
+    private final TreeSet<ExportJob> queue = new TreeSet<ExportJob>(ORDER);
+
+    private final Map<String, Integer> runningByTenant = new HashMap<String, Integer>();
+
+    private int running;
+
+    private long sequence;
+
+    private boolean closed;
+
+    /**
+     * @param directory     存放导出文件的专用目录，清理时会删除其中所有过期的文件(未结束的任务的文件除外)
+     * @param threads       同时运行的任务数
+     * @param queueCapacity 排队等待的任务数上限
+     * @param tenantLimit   同一租户同时运行的任务数上限
+     * @param ttlMillis     导出文件和任务记录在结束后的保留时间(毫秒)
+     */
+    public ExportJobService(File directory, int threads, int queueCapacity, int tenantLimit, long ttlMillis) {
+        if (threads <= 0 || queueCapacity <= 0 || tenantLimit <= 0 || ttlMillis <= 0) {
+            throw new IllegalArgumentException("threads、queueCapacity、tenantLimit和ttlMillis必须大于0");
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException("无法创建目录：" + directory);
+        }
+        this.directory = directory;
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+        this.tenantLimit = tenantLimit;
+        this.ttlMillis = ttlMillis;
+        //分派时保证运行的任务数不超过线程数，线程池本身的队列只用于交接
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), runnable -> {
+            Thread thread = new Thread(runnable, "export-job-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+        this.cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "export-job-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, ttlMillis / 2);
+        this.cleaner.scheduleWithFixedDelay(this::cleanup, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @methodName: submit
+     * @param: [request 导出请求]
+     * @describe: 提交导出任务，立即返回；排队的任务已达上限时抛出RejectedExecutionException
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 4:35
+     */
+    public ExportJob submit(ExportRequest request) {
+        if (request.getWriter() == null || request.getFileName() == null) {
+            throw new IllegalArgumentException("导出请求缺少writer或fileName");
+        }
+        synchronized (lock) {
+            if (closed) {
+                throw new RejectedExecutionException("导出服务已关闭");
+            }
+            if (queue.size() >= queueCapacity) {
+                throw new RejectedExecutionException("导出队列已满，排队任务数：" + queue.size());
+            }
+            ExportJob job = new ExportJob(UUID.randomUUID().toString().replace("-", ""), request, sequence++);
+            jobs.put(job.getId(), job);
+            queue.add(job);
+            dispatch();
+            return job;
+        }
+    }
+
+    /**
+     * 查询任务，不存在或已被清理时返回null
+     */
+    public ExportJob getJob(String id) {
+        return jobs.get(id);
+    }
+
+    /**
+     * @methodName: cancel
+     * @param: [id 任务ID]
+     * @describe: 取消任务：排队中的任务直接移出队列，运行中的任务在下一次从数据源取数时结束。返回任务是否被取消
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 4:40
+     */
+    public boolean cancel(String id) {
+        ExportJob job = jobs.get(id);
+        if (job == null) {
+            return false;
+        }
+        synchronized (lock) {
+            if (queue.remove(job)) {
+                job.finish(ExportJob.Status.CANCELLED);
+                return true;
+            }
+            if (job.getStatus() == ExportJob.Status.QUEUED || job.getStatus() == ExportJob.Status.RUNNING) {
+                //只改状态，由导出线程结束任务
+                job.cancel();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * @methodName: sendResult
+     * @param: id       任务ID
+     *          request  请求
+     *          response 响应
+     * @describe: 下载已完成任务的文件(支持Range和条件请求)；任务不存在、未完成或文件已被清理时返回false，由调用方决定响应状态
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 4:45
+     */
+    public boolean sendResult(String id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ExportJob job = jobs.get(id);
+        if (job == null || job.getStatus() != ExportJob.Status.DONE || !job.getFile().isFile()) {
+            return false;
+        }
+        DownloadUtil.sendFile(request, response, job.getFile(), job.getContentType(), job.getFileName());
+        return true;
+    }
+
+    /**
+     * 排队中的任务数
+     */
+    public int getQueuedCount() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * 运行中的任务数
+     */
+    public int getRunningCount() {
+        synchronized (lock) {
+            return running;
+        }
+    }
+
+    /**
+     * @methodName: cleanup
+     * @describe: 删除目录中超过保留时间的文件，并移除结束时间超过保留时间的任务记录；
+     *            未结束的任务的文件不删除：查询慢的任务可能很久都没有写满缓冲区，临时文件的修改时间一直停在创建时
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 4:50
+     */
+    public void cleanup() {
+        try {
+            int deleted = FileUtil.deleteFiles(directory.getPath(), ttlMillis, file -> !isUnfinished(file));
+            long expireBefore = System.currentTimeMillis() - ttlMillis;
+            jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt() < expireBefore);
+            if (deleted > 0) {
+                logger.info("清理过期的导出文件 {} 个", deleted);
+            }
+        } catch (RuntimeException e) {
+            //异常会终止定时任务，这里只记录
+            logger.error("清理导出文件失败：{}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 文件是否属于还没有结束的任务(文件名为"任务ID.扩展名")
+     */
+    private boolean isUnfinished(File file) {
+        String name = file.getName();
+        int dot = name.indexOf('.');
+        ExportJob job = jobs.get(dot < 0 ? name : name.substring(0, dot));
+        return job != null && !job.isFinished();
+    }
+
+    /**
+     * 不再接受新任务，取消排队中的任务；运行中的任务继续执行完
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            for (ExportJob job : queue) {
+                job.finish(ExportJob.Status.CANCELLED);
+            }
+            queue.clear();
+        }
+        executor.shutdown();
+        cleaner.shutdownNow();
+    }
+
+    /**
+     * 按优先级把可以运行的任务交给线程池，调用时必须持有lock
+     */
+    private void dispatch() {
+        Iterator<ExportJob> it = queue.iterator();
+        while (running < threads && it.hasNext()) {
+            ExportJob job = it.next();
+            int tenantRunning = runningByTenant.getOrDefault(job.getTenant(), 0);
+            if (tenantRunning >= tenantLimit) {
+                continue;
+            }
+            it.remove();
+            running++;
+            runningByTenant.put(job.getTenant(), tenantRunning + 1);
+            executor.execute(() -> run(job));
+        }
+    }
+
+    private void run(ExportJob job) {
+        File temp = new File(directory, job.getId() + ".tmp");
+        try {
+            synchronized (lock) {
+                //分派之后、开始之前被取消
+                if (job.getStatus() == ExportJob.Status.CANCELLED) {
+                    job.finish(ExportJob.Status.CANCELLED);
+                    return;
+                }
+                job.start();
+            }
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(temp), BUFFER_SIZE)) {
+                job.getRequest().getWriter().write(out, job);
+            }
+            File file = new File(directory, job.getId() + extension(job.getFileName()));
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            synchronized (lock) {
+                if (job.getStatus() == ExportJob.Status.CANCELLED) {
+                    file.delete();
+                    job.finish(ExportJob.Status.CANCELLED);
+                } else {
+                    job.done(file);
+                }
+            }
+            logger.info("导出任务 {} 完成，行数：{}", job.getId(), job.getRowCount());
+        } catch (Exception | LinkageError e) {
+            temp.delete();
+            //取消时track抛出的CancellationException可能被导出工具包装成其他异常，以状态为准
+            if (e instanceof CancellationException || job.getStatus() == ExportJob.Status.CANCELLED) {
+                job.finish(ExportJob.Status.CANCELLED);
+                logger.info("导出任务 {} 已取消", job.getId());
+            } else {
+                job.fail(e.getMessage() == null ? e.getClass().getName() : e.getMessage());
+                logger.error("导出任务 {} 失败：{}", job.getId(), e.getMessage(), e);
+            }
+        } finally {
+            synchronized (lock) {
+                running--;
+                int tenantRunning = runningByTenant.get(job.getTenant()) - 1;
+                if (tenantRunning == 0) {
+                    runningByTenant.remove(job.getTenant());
+                } else {
+                    runningByTenant.put(job.getTenant(), tenantRunning);
+                }
+                if (!closed) {
+                    dispatch();
+                }
+            }
+        }
+    }
+
+    private static String extension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? "" : fileName.substring(dot);
+    }
+}
@@ -0,0 +1,95 @@
+package com.demo.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * @className: ExportRequest
+ * @package: com.demo.utils
+ * @describe: 提交给ExportJobService的异步导出请求
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 4:15
+ */
+public class ExportRequest {
+
+    /**
+     * 在导出线程中生成内容并写入输出流，不关闭输出流。
+     * 数据源(如MyBatis Cursor)应在这里打开，并用job.track包装迭代器以汇报进度
+     */
+    @FunctionalInterface
+    public interface JobWriter {
+        void write(OutputStream out, ExportJob job) throws IOException;
+    }
+
+    //租户，同一租户同时运行的任务数受限
+    private String tenant = "";
+
+    //下载时显示的文件名(含扩展名)
+    private String fileName;
+
+    //下载时的Content-Type
+    private String contentType = "application/octet-stream";
+
+    //优先级，数值越大越先执行，相同优先级先提交先执行
+    private int priority = 0;
+
+    //预计的行数，用于计算进度和剩余时间，-1表示未知
+    private long expectedRows = -1;
+
+    private JobWriter writer;
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    public ExportRequest setTenant(String tenant) {
+        this.tenant = tenant;
+        return this;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public ExportRequest setFileName(String fileName) {
+        this.fileName = fileName;
+        return this;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public ExportRequest setContentType(String contentType) {
+        this.contentType = contentType;
+        return this;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public ExportRequest setPriority(int priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    public long getExpectedRows() {
+        return expectedRows;
+    }
+
+    public ExportRequest setExpectedRows(long expectedRows) {
+        this.expectedRows = expectedRows;
+        return this;
+    }
+
+    public JobWriter getWriter() {
+        return writer;
+    }
+
+    public ExportRequest setWriter(JobWriter writer) {
+        this.writer = writer;
+        return this;
+    }
+}
@@ -1,6 +1,7 @@
 package com.demo.utils;
 
 import java.io.File;
+import java.io.FileFilter;
 
 /**
  * @className: FileUtil
@@ -32,6 +33,41 @@ public class FileUtil {
         }
     }
 
+    /**
+     * @methodName: deleteFiles
+     * @param: [filePath 文件目录路径, ttlMillis 文件的保留时间(毫秒)]
+     * @describe: 删除该目录filePath下最后修改时间早于ttlMillis之前的文件，返回删除的文件数
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 4:10
+     */
+    public static int deleteFiles(String filePath, long ttlMillis) {
+        return deleteFiles(filePath, ttlMillis, file -> true);
+    }
+
+    /**
+     * @methodName: deleteFiles
+     * @param: [filePath 文件目录路径, ttlMillis 文件的保留时间(毫秒), filter 只删除filter接受的文件]
+     * @describe: 删除该目录filePath下最后修改时间早于ttlMillis之前、且filter接受的文件，返回删除的文件数
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 9:30
+     */
+    public static int deleteFiles(String filePath, long ttlMillis, FileFilter filter) {
+        File[] files = new File(filePath).listFiles();
+        if (files == null) {
+            return 0;
+        }
+        long expireBefore = System.currentTimeMillis() - ttlMillis;
+        int deleted = 0;
+        for (File file : files) {
+            if (file.isFile() && file.lastModified() < expireBefore && filter.accept(file) && file.delete()) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
     /**
      * @methodName: deleteFile
      * @param: [filePath 文件目录路径, fileName 文件名称]
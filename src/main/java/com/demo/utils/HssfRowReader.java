@@ -0,0 +1,277 @@
+package com.demo.utils;
+
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.MissingRecordAwareHSSFListener;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.LastCellOfRowDummyRecord;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BlankRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.poifs.filesystem.NPOIFSFileSystem;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @className: HssfRowReader
+ * @package: com.demo.utils
+ * @describe: 基于HSSF事件模型(HSSFListener)的.xls流式读取器，
+ *            逐条处理BIFF记录，不创建HSSFWorkbook，内存中只保留共享字符串表和当前行
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 2:10
+ */
+final class HssfRowReader implements HSSFListener {
+
+    private final int targetSheet;
+
+    private final ColumnProjection projection;
+
+    //字符串字典，null表示不使用
+    private final StringDictionary dictionary;
+
+    private final RowCallback callback;
+
+    private final SheetRow row = new SheetRow();
+
+    private final List<String> sheetNames = new ArrayList<String>();
+
+    //按格式序号缓存是否为日期格式(0:未判断 1:是 2:否)，避免每个单元格都做格式字符串判断
+    private byte[] dateFormats = new byte[256];
+
+    private FormatTrackingHSSFListener formatListener;
+
+    private SSTRecord sstRecord;
+
+    //当前所在工作表的序号，-1表示还在工作簿的全局记录中
+    private int sheetIndex = -1;
+
+    private int currentRow = -1;
+
+    //字符串类型的公式结果在紧随其后的StringRecord中
+    private int pendingFormulaColumn = -1;
+
+    private boolean onlySheetNames;
+
+    private HssfRowReader(int targetSheet, ColumnProjection projection, StringDictionary dictionary, RowCallback callback) {
+        this.targetSheet = targetSheet;
+        this.projection = projection;
+        this.dictionary = dictionary;
+        this.callback = callback;
+    }
+
+    /**
+     * @methodName: read
+     * @param: file       .xls文件
+     *          sheetIndex 工作表序号
+     *          projection 列投影，不在投影中的单元格不取字符串、不判断日期格式
+     *          dictionary 字符串字典，SST以外的字符串(旧版LabelRecord、公式的字符串结果)按内容驻留，可以为null
+     *          callback   逐行回调，空行也回调(由RowRangeFilter计入行号后丢弃)
+     * @describe: 流式读取指定工作表，返回是否读到了该工作表
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 2:15
+     */
+    static boolean read(File file, int sheetIndex, ColumnProjection projection, StringDictionary dictionary, RowCallback callback) throws IOException {
+        HssfRowReader reader = new HssfRowReader(sheetIndex, projection, dictionary, callback);
+        reader.process(file);
+        return reader.sheetIndex >= sheetIndex;
+    }
+
+    /**
+     * 读取所有工作表的名称，读到第一个工作表时即停止
+     */
+    static List<String> readSheetNames(File file) throws IOException {
+        HssfRowReader reader = new HssfRowReader(-1, ColumnProjection.ALL, null, null);
+        reader.onlySheetNames = true;
+        reader.process(file);
+        return reader.sheetNames;
+    }
+
+    private void process(File file) throws IOException {
+        NPOIFSFileSystem fs = new NPOIFSFileSystem(file, true);
+        try {
+            HSSFRequest request = new HSSFRequest();
+            formatListener = new FormatTrackingHSSFListener(new MissingRecordAwareHSSFListener(this));
+            request.addListenerForAllRecords(formatListener);
+            new HSSFEventFactory().processWorkbookEvents(request, fs.getRoot());
+        } catch (StopReadingException e) {
+            //回调要求停止或目标工作表已读完
+        } finally {
+            fs.close();
+        }
+    }
+
+    @Override
+    public void processRecord(Record record) {
+        switch (record.getSid()) {
+            case BoundSheetRecord.sid:
+                sheetNames.add(((BoundSheetRecord) record).getSheetname());
+                break;
+            case BOFRecord.sid:
+                if (((BOFRecord) record).getType() == BOFRecord.TYPE_WORKSHEET) {
+                    sheetIndex++;
+                    if (onlySheetNames || sheetIndex > targetSheet) {
+                        throw StopReadingException.INSTANCE;
+                    }
+                }
+                break;
+            case EOFRecord.sid:
+                if (sheetIndex == targetSheet) {
+                    flushRow();
+                    throw StopReadingException.INSTANCE;
+                }
+                break;
+            case SSTRecord.sid:
+                sstRecord = (SSTRecord) record;
+                break;
+            default:
+                if (sheetIndex == targetSheet) {
+                    processCellRecord(record);
+                }
+                break;
+        }
+    }
+
+    private void processCellRecord(Record record) {
+        if (record instanceof LastCellOfRowDummyRecord) {
+            flushRow();
+            return;
+        }
+        switch (record.getSid()) {
+            case NumberRecord.sid:
+                NumberRecord number = (NumberRecord) record;
+                if (startCell(number.getRow(), number.getColumn())) {
+                    row.setNumeric(number.getColumn(), number.getValue(), isDateFormatted(number));
+                }
+                break;
+            case LabelSSTRecord.sid:
+                LabelSSTRecord label = (LabelSSTRecord) record;
+                if (startCell(label.getRow(), label.getColumn())) {
+                    //SST中同一序号返回的本来就是同一个对象，不经过字典
+                    row.setString(label.getColumn(), sstRecord.getString(label.getSSTIndex()).getString());
+                }
+                break;
+            case LabelRecord.sid:
+                LabelRecord oldLabel = (LabelRecord) record;
+                if (startCell(oldLabel.getRow(), oldLabel.getColumn())) {
+                    row.setString(oldLabel.getColumn(), intern(oldLabel.getValue()));
+                }
+                break;
+            case BoolErrRecord.sid:
+                BoolErrRecord boolErr = (BoolErrRecord) record;
+                if (!startCell(boolErr.getRow(), boolErr.getColumn())) {
+                    break;
+                }
+                if (boolErr.isBoolean()) {
+                    row.setBoolean(boolErr.getColumn(), boolErr.getBooleanValue());
+                } else {
+                    row.setError(boolErr.getColumn(), boolErr.getErrorValue());
+                }
+                break;
+            case FormulaRecord.sid:
+                processFormula((FormulaRecord) record);
+                break;
+            case BlankRecord.sid:
+                //只有格式没有值的单元格，行照样存在
+                BlankRecord blank = (BlankRecord) record;
+                startCell(blank.getRow(), blank.getColumn());
+                break;
+            case StringRecord.sid:
+                if (pendingFormulaColumn >= 0) {
+                    row.setString(pendingFormulaColumn, intern(((StringRecord) record).getString()));
+                    pendingFormulaColumn = -1;
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * 公式单元格取缓存的计算结果
+     */
+    private void processFormula(FormulaRecord formula) {
+        int column = formula.getColumn();
+        if (!startCell(formula.getRow(), column)) {
+            return;
+        }
+        if (formula.hasCachedResultString()) {
+            pendingFormulaColumn = column;
+            return;
+        }
+        switch (formula.getCachedResultType()) {
+            case Cell.CELL_TYPE_BOOLEAN:
+                row.setBoolean(column, formula.getCachedBooleanValue());
+                break;
+            case Cell.CELL_TYPE_ERROR:
+                row.setError(column, formula.getCachedErrorValue());
+                break;
+            default:
+                row.setNumeric(column, formula.getValue(), isDateFormatted(formula));
+                break;
+        }
+    }
+
+    /**
+     * 开始处理一个单元格，换行时先输出上一行；返回该单元格是否在列投影中
+     */
+    private boolean startCell(int rowNum, int column) {
+        if (rowNum != currentRow) {
+            flushRow();
+            currentRow = rowNum;
+            row.reset(rowNum);
+        }
+        return !projection.skips(rowNum, column);
+    }
+
+    private void flushRow() {
+        if (currentRow >= 0) {
+            //空行也交给回调，结束行为负数时按行号截取需要知道所有行的行号
+            boolean proceed = callback.onRow(row);
+            currentRow = -1;
+            if (!proceed) {
+                throw StopReadingException.INSTANCE;
+            }
+        }
+    }
+
+    private boolean isDateFormatted(CellValueRecordInterface cell) {
+        int formatIndex = formatListener.getFormatIndex(cell);
+        if (formatIndex < 0) {
+            return false;
+        }
+        if (formatIndex >= dateFormats.length) {
+            dateFormats = Arrays.copyOf(dateFormats, Math.max(formatIndex + 1, dateFormats.length * 2));
+        }
+        if (dateFormats[formatIndex] == 0) {
+            boolean date = DateUtil.isADateFormat(formatIndex, formatListener.getFormatString(formatIndex));
+            dateFormats[formatIndex] = date ? (byte) 1 : (byte) 2;
+        }
+        return dateFormats[formatIndex] == 1;
+    }
+
+    /**
+     * 不在SST中的字符串(旧版LabelRecord、公式的字符串结果)按内容驻留
+     */
+    private String intern(String value) {
+        return dictionary == null || value == null ? value : dictionary.intern(value);
+    }
+}
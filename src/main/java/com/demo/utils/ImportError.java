@@ -0,0 +1,51 @@
+package com.demo.utils;
+
+/**
+ * @className: ImportError
+ * @package: com.demo.utils
+ * @describe: 校验导入中一个单元格的错误
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 6:10
+ */
+public class ImportError {
+
+    //行号(从0开始)
+    private final int row;
+
+    //列号(从0开始)
+    private final int column;
+
+    //单元格的原始文本
+    private final String value;
+
+    private final String reason;
+
+    public ImportError(int row, int column, String value, String reason) {
+        this.row = row;
+        this.column = column;
+        this.value = value;
+        this.reason = reason;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    @Override
+    public String toString() {
+        return "第" + (row + 1) + "行第" + (column + 1) + "列[" + value + "]：" + reason;
+    }
+}
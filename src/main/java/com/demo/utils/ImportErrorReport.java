@@ -0,0 +1,270 @@
+package com.demo.utils;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @className: ImportErrorReport
+ * @package: com.demo.utils
+ * @describe: 校验导入的错误报告。每个转换失败的单元格记录行号、列号、原始值和原因，
+ *            按列存放在几个数组中，不为每个错误创建对象；最多保留errorLimit条，超出的只计数。
+ *            错误按读取顺序(行号递增)记录，可以再读一遍源文件，只把出错的行写成标注了错误的工作簿
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 6:10
+ */
+public class ImportErrorReport {
+
+    private final int limit;
+
+    private int[] rows = new int[0];
+
+    private int[] columns = new int[0];
+
+    private String[] values = new String[0];
+
+    private String[] reasons = new String[0];
+
+    private int size;
+
+    private long errorCount;
+
+    private long invalidRowCount;
+
+    private boolean aborted;
+
+    /**
+     * @param limit 最多保留的错误数
+     */
+    public ImportErrorReport(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit不能小于0");
+        }
+        this.limit = limit;
+    }
+
+    void add(int row, int column, String value, String reason) {
+        errorCount++;
+        if (size == limit) {
+            return;
+        }
+        if (size == rows.length) {
+            //按需扩容，错误少时不占用limit大小的数组
+            int capacity = Math.min(limit, Math.max(16, size * 2));
+            rows = Arrays.copyOf(rows, capacity);
+            columns = Arrays.copyOf(columns, capacity);
+            values = Arrays.copyOf(values, capacity);
+            reasons = Arrays.copyOf(reasons, capacity);
+        }
+        rows[size] = row;
+        columns[size] = column;
+        values[size] = value;
+        reasons[size] = reason;
+        size++;
+    }
+
+    void invalidRow() {
+        invalidRowCount++;
+    }
+
+    void abort() {
+        aborted = true;
+    }
+
+    /**
+     * 错误总数(包括超出保留上限、没有记录明细的错误)
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * 有错误而没有交给consumer的行数
+     */
+    public long getInvalidRowCount() {
+        return invalidRowCount;
+    }
+
+    /**
+     * 是否因为错误数达到abortThreshold而提前停止
+     */
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    /**
+     * 是否有错误超出了保留上限
+     */
+    public boolean isTruncated() {
+        return errorCount > size;
+    }
+
+    public boolean isEmpty() {
+        return errorCount == 0;
+    }
+
+    /**
+     * 保留了明细的错误数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 第i个错误的行号(从0开始)
+     */
+    public int getRow(int i) {
+        checkIndex(i);
+        return rows[i];
+    }
+
+    /**
+     * 第i个错误的列号(从0开始)
+     */
+    public int getColumn(int i) {
+        checkIndex(i);
+        return columns[i];
+    }
+
+    /**
+     * 第i个错误的单元格原始文本
+     */
+    public String getValue(int i) {
+        checkIndex(i);
+        return values[i];
+    }
+
+    public String getReason(int i) {
+        checkIndex(i);
+        return reasons[i];
+    }
+
+    /**
+     * 以对象列表的形式返回错误明细，每次调用都新建列表
+     */
+    public List<ImportError> getErrors() {
+        List<ImportError> errors = new ArrayList<ImportError>(size);
+        for (int i = 0; i < size; i++) {
+            errors.add(new ImportError(rows[i], columns[i], values[i], reasons[i]));
+        }
+        return Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * @methodName: writeWorkbook
+     * @param: source  导入的Excel文件
+     *          options 导入时使用的参数(起始行、结束行、表头行需要一致)
+     *          out     输出流(由调用方负责关闭)
+     * @describe: 重新流式读取源文件，把出错的行写入.xlsx：第一列为原行号，第二列为错误原因，之后是原来的各列，出错的单元格标红
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 6:15
+     */
+    public void writeWorkbook(File source, ImportOptions options, OutputStream out) throws IOException {
+        writeWorkbook(out, callback -> ExcelRowReader.read(source, options, callback));
+    }
+
+    /**
+     * @methodName: writeWorkbook
+     * @param: source     导入的CSV文件
+     *          options    导入时使用的参数
+     *          csvOptions 编码和分隔符
+     *          out        输出流(由调用方负责关闭)
+     * @describe: 同上，源文件为CSV
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 6:15
+     */
+    public void writeWorkbook(File source, ImportOptions options, CSVOptions csvOptions, OutputStream out) throws IOException {
+        writeWorkbook(out, callback -> {
+            try (CSVReader reader = CSVReader.open(source, csvOptions)) {
+                reader.read(options, callback);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface SourceReader {
+        void read(RowCallback callback) throws IOException;
+    }
+
+    private void writeWorkbook(OutputStream out, SourceReader source) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ExcelExportUtil.DEFAULT_WINDOW_SIZE);
+        workbook.setCompressTempFiles(true);
+        try {
+            Sheet sheet = workbook.createSheet("错误数据");
+            CellStyle errorStyle = workbook.createCellStyle();
+            errorStyle.setFillForegroundColor(IndexedColors.CORAL.getIndex());
+            errorStyle.setFillPattern(CellStyle.SOLID_FOREGROUND);
+            Row title = sheet.createRow(0);
+            title.createCell(0).setCellValue("原行号");
+            title.createCell(1).setCellValue("错误原因");
+            int[] next = new int[]{0, 1};
+            source.read(new RowCallback() {
+                @Override
+                public void onHeader(SheetRow header) {
+                    for (int i = 0; i < header.size(); i++) {
+                        title.createCell(i + 2).setCellValue(header.getText(i));
+                    }
+                }
+
+                @Override
+                public boolean onRow(SheetRow row) {
+                    int index = next[0];
+                    while (index < size && rows[index] < row.getRowNum()) {
+                        index++;
+                    }
+                    if (index < size && rows[index] == row.getRowNum()) {
+                        Row target = sheet.createRow(next[1]++);
+                        target.createCell(0).setCellValue(row.getRowNum() + 1);
+                        for (int i = 0; i < row.size(); i++) {
+                            if (!row.isBlank(i)) {
+                                target.createCell(i + 2).setCellValue(row.getText(i));
+                            }
+                        }
+                        StringBuilder reason = new StringBuilder();
+                        for (; index < size && rows[index] == row.getRowNum(); index++) {
+                            if (reason.length() > 0) {
+                                reason.append("；");
+                            }
+                            reason.append("第").append(columns[index] + 1).append("列：").append(reasons[index]);
+                            Cell cell = target.getCell(columns[index] + 2);
+                            (cell == null ? target.createCell(columns[index] + 2) : cell).setCellStyle(errorStyle);
+                        }
+                        target.createCell(1).setCellValue(reason.toString());
+                    }
+                    next[0] = index;
+                    //记录的错误行都写完后不再读取
+                    return index < size;
+                }
+            });
+            workbook.write(out);
+            out.flush();
+        } finally {
+            workbook.dispose();
+        }
+    }
+
+    private void checkIndex(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "错误数：" + errorCount + "，错误行数：" + invalidRowCount + (aborted ? "，已提前停止" : "");
+    }
+}
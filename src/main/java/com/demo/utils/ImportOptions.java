@@ -0,0 +1,158 @@
+package com.demo.utils;
+
+import java.util.function.Predicate;
+
+/**
+ * @className: ImportOptions
+ * @package: com.demo.utils
+ * @describe: 流式导入的参数
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 1:55
+ */
+public class ImportOptions {
+
+    //要读取的工作表序号(从0开始)
+    private int sheetIndex = 0;
+
+    //起始行(从0开始)
+    private int startRow = 0;
+
+    //结束行(0表示所有行; 正数表示到第几行结束(含该行，从0开始); 负数表示去掉末尾的几行)
+    private int endRow = 0;
+
+    //表头所在的行(从0开始)，-1表示没有表头，列按@ExcelColumn的列号或属性顺序对应
+    private int headerRow = -1;
+
+    //校验导入时错误报告中保留的错误数，超出的只计数
+    private int errorLimit = 1000;
+
+    //校验导入时错误数达到该值就停止导入，0表示不停止
+    private int abortThreshold = 0;
+
+    //只解析这些列(从0开始)，其余列在读取器中直接跳过，null表示所有列
+    private int[] columns;
+
+    //只解析表头中这些名称的列，需要设置表头行；与columns同时设置时取并集
+    private String[] columnNames;
+
+    //数据行的过滤条件，在读取器中求值，不满足的行不转换为对象；只能读到投影中的列
+    private Predicate<SheetRow> rowFilter;
+
+    //重复字符串共用同一个对象的字典，null表示不使用
+    private StringDictionary stringDictionary;
+
+    public int getSheetIndex() {
+        return sheetIndex;
+    }
+
+    public ImportOptions setSheetIndex(int sheetIndex) {
+        this.sheetIndex = sheetIndex;
+        return this;
+    }
+
+    public int getStartRow() {
+        return startRow;
+    }
+
+    public ImportOptions setStartRow(int startRow) {
+        this.startRow = startRow;
+        return this;
+    }
+
+    public int getEndRow() {
+        return endRow;
+    }
+
+    public ImportOptions setEndRow(int endRow) {
+        this.endRow = endRow;
+        return this;
+    }
+
+    public int getHeaderRow() {
+        return headerRow;
+    }
+
+    public ImportOptions setHeaderRow(int headerRow) {
+        this.headerRow = headerRow;
+        return this;
+    }
+
+    public int getErrorLimit() {
+        return errorLimit;
+    }
+
+    public ImportOptions setErrorLimit(int errorLimit) {
+        this.errorLimit = errorLimit;
+        return this;
+    }
+
+    public int getAbortThreshold() {
+        return abortThreshold;
+    }
+
+    public ImportOptions setAbortThreshold(int abortThreshold) {
+        this.abortThreshold = abortThreshold;
+        return this;
+    }
+
+    public int[] getColumns() {
+        return columns;
+    }
+
+    public ImportOptions setColumns(int... columns) {
+        this.columns = columns;
+        return this;
+    }
+
+    public String[] getColumnNames() {
+        return columnNames;
+    }
+
+    public ImportOptions setColumnNames(String... columnNames) {
+        this.columnNames = columnNames;
+        return this;
+    }
+
+    public Predicate<SheetRow> getRowFilter() {
+        return rowFilter;
+    }
+
+    /**
+     * 设置数据行的过滤条件。行对象会被读取器复用，不能在条件之外保留；
+     * 并行导入时多个工作表同时求值，条件需要是线程安全的
+     */
+    public ImportOptions setRowFilter(Predicate<SheetRow> rowFilter) {
+        this.rowFilter = rowFilter;
+        return this;
+    }
+
+    public StringDictionary getStringDictionary() {
+        return stringDictionary;
+    }
+
+    /**
+     * 设置本次导入使用的字符串字典，导入结束后可以从字典中取命中率和节省的内存
+     */
+    public ImportOptions setStringDictionary(StringDictionary stringDictionary) {
+        this.stringDictionary = stringDictionary;
+        return this;
+    }
+
+    /**
+     * 复制一份参数，修改副本不影响调用方传入的对象
+     */
+    ImportOptions copy() {
+        return new ImportOptions()
+                .setSheetIndex(sheetIndex)
+                .setStartRow(startRow)
+                .setEndRow(endRow)
+                .setHeaderRow(headerRow)
+                .setErrorLimit(errorLimit)
+                .setAbortThreshold(abortThreshold)
+                .setColumns(columns)
+                .setColumnNames(columnNames)
+                .setRowFilter(rowFilter)
+                .setStringDictionary(stringDictionary);
+    }
+}
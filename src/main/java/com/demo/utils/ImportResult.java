@@ -0,0 +1,44 @@
+package com.demo.utils;
+
+import java.util.List;
+
+/**
+ * @className: ImportResult
+ * @package: com.demo.utils
+ * @describe: 并行导入的结果，rows按文件、工作表、行的原始顺序排列
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 5:35
+ */
+public class ImportResult<T> {
+
+    private final List<T> rows;
+
+    private final List<SheetTiming> timings;
+
+    private final long elapsedMillis;
+
+    public ImportResult(List<T> rows, List<SheetTiming> timings, long elapsedMillis) {
+        this.rows = rows;
+        this.timings = timings;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<T> getRows() {
+        return rows;
+    }
+
+    /**
+     * 每个工作表的行数和耗时，顺序与rows一致
+     */
+    public List<SheetTiming> getTimings() {
+        return timings;
+    }
+
+    /**
+     * 整个导入的耗时
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,81 @@
+package com.demo.utils;
+
+import java.util.function.Consumer;
+
+/**
+ * @className: MappingCallback
+ * @package: com.demo.utils
+ * @describe: 把读取到的行转换为对象交给consumer；读到表头行时按列名重新绑定列号，之后的行直接按列号转换。
+ *            有错误报告时为校验导入：有错误的行不交给consumer，错误数达到阈值时停止读取
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 2:30
+ */
+final class MappingCallback implements RowCallback {
+
+    private RowMapper mapper;
+
+    private final Consumer<Object> consumer;
+
+    private final ImportErrorReport report;
+
+    private final int abortThreshold;
+
+    private long rowCount;
+
+    //转换为对象的耗时
+    private long mapNanos;
+
+    //回调(转换 + consumer)的总耗时，读取的总耗时减去它即为解析耗时
+    private long callbackNanos;
+
+    MappingCallback(RowMapper mapper, Consumer<Object> consumer) {
+        this(mapper, consumer, null, 0);
+    }
+
+    /**
+     * @param report         错误报告，为null时不校验
+     * @param abortThreshold 错误数达到该值时停止读取，0表示不停止
+     */
+    MappingCallback(RowMapper mapper, Consumer<Object> consumer, ImportErrorReport report, int abortThreshold) {
+        this.mapper = mapper;
+        this.consumer = consumer;
+        this.report = report;
+        this.abortThreshold = abortThreshold;
+    }
+
+    @Override
+    public void onHeader(SheetRow header) {
+        mapper = mapper.bind(header);
+    }
+
+    @Override
+    public boolean onRow(SheetRow row) {
+        rowCount++;
+        long start = System.nanoTime();
+        Object bean = mapper.map(row, report);
+        long mapped = System.nanoTime();
+        if (bean != null) {
+            consumer.accept(bean);
+        }
+        mapNanos += mapped - start;
+        callbackNanos += System.nanoTime() - start;
+        if (report != null && abortThreshold > 0 && report.getErrorCount() >= abortThreshold) {
+            report.abort();
+            return false;
+        }
+        return true;
+    }
+
+    long getRowCount() {
+        return rowCount;
+    }
+
+    long getMapNanos() {
+        return mapNanos;
+    }
+
+    long getCallbackNanos() {
+        return callbackNanos;
+    }
+}
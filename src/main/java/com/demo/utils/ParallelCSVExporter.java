@@ -0,0 +1,262 @@
+package com.demo.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @className: ParallelCSVExporter
+ * @package: com.demo.utils
+ * @describe: 内存中的大列表并行生成CSV。数据按chunkSize分块，每块在线程池中用各自的CSVWriter格式化并编码到内存缓冲，
+ *            当前线程按分块顺序把缓冲依次写入通道。只有第一块写BOM和表头，编码器在行尾不保留状态(GBK、UTF-8)，
+ *            因此输出与CSVUtil逐行写出的结果逐字节相同；同时等待写出的分块数有上限，内存占用与总行数无关。
+ *            UTF-16等每次编码都在开头写BOM的字符集不能分块拼接，改为在当前线程顺序写出
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 7:20
+ */
+public class ParallelCSVExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelCSVExporter.class);
+
+    public static final int DEFAULT_CHUNK_SIZE = 10000;
+
+    //分块编码到内存，不需要CSVOptions默认那么大的缓冲区
+    private static final int CHUNK_BUFFER_SIZE = 64 * 1024;
+
+    private final ExecutorService executor;
+
+    private final int chunkSize;
+
+    private final int maxPendingChunks;
+
+    /**
+     * @param executor         格式化分块的线程池，由调用方负责关闭；调用线程写出时会等待分块完成，不要使用ForkJoinPool公共线程池
+     * @param chunkSize        每个分块的行数
+     * @param maxPendingChunks 同时在内存中等待格式化或写出的分块数
+     */
+    public ParallelCSVExporter(ExecutorService executor, int chunkSize, int maxPendingChunks) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize必须大于0");
+        }
+        if (maxPendingChunks <= 0) {
+            throw new IllegalArgumentException("maxPendingChunks必须大于0");
+        }
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.maxPendingChunks = maxPendingChunks;
+    }
+
+    /**
+     * @methodName: createCSVFile
+     * @param: titles     csv文件的列表头，为null时不写表头
+     *          fileds     导出对象的属性数组
+     *          exportData 源数据List
+     *          outPutPath 文件路径
+     *          fileName   文件名称
+     *          options    编码、分隔符、文本保持方式等参数
+     * @describe: 并行生成CSV文件，结果与CSVUtil.createCSVFile相同
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 7:25
+     */
+    public File createCSVFile(String[] titles, String[] fileds, List<?> exportData, String outPutPath, String fileName, CSVOptions options) throws IOException {
+        File file = new File(outPutPath);
+        if (!file.exists()) {
+            file.mkdir();
+        }
+        File csvFile = new File(file, fileName + ".csv");
+        try (FileChannel channel = FileChannel.open(csvFile.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            write(titles, fileds, exportData, options, channel);
+        }
+        return csvFile;
+    }
+
+    /**
+     * @methodName: write
+     * @param: titles     csv文件的列表头，为null时不写表头
+     *          fileds     导出对象的属性数组
+     *          exportData 源数据List
+     *          options    编码、分隔符、文本保持方式等参数
+     *          channel    输出通道，不关闭；响应流可用Channels.newChannel(response.getOutputStream())
+     * @describe: 按属性名并行写出，返回写入的数据行数
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 7:25
+     */
+    public long write(String[] titles, String[] fileds, List<?> exportData, CSVOptions options, WritableByteChannel channel) throws IOException {
+        return write(exportData, options, channel, (writer, first, chunk) -> {
+            if (first && titles != null) {
+                writer.writeHeader(titles);
+            }
+            CSVUtil.writeRows(writer, fileds, chunk.iterator());
+        });
+    }
+
+    /**
+     * @methodName: write
+     * @param: clazz      导出对象的类型，按@ExcelColumn的列号和列名写出
+     *          exportData 源数据List
+     *          options    编码、分隔符、文本保持方式等参数
+     *          channel    输出通道，不关闭
+     * @describe: 按类的列映射计划并行写出，结果与CSVUtil.writeCSV(writer, clazz, data)相同，返回写入的数据行数
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 7:25
+     */
+    public long write(Class<?> clazz, List<?> exportData, CSVOptions options, WritableByteChannel channel) throws IOException {
+        ColumnPlan plan = ColumnPlan.of(clazz);
+        BeanProperty[] properties = CSVUtil.columnProperties(plan);
+        return write(exportData, options, channel, (writer, first, chunk) -> {
+            if (first) {
+                writer.writeHeader(plan.getHeaders());
+            }
+            CSVUtil.writeRows(writer, properties, chunk.iterator());
+        });
+    }
+
+    @FunctionalInterface
+    private interface ChunkFormatter {
+        void format(CSVWriter writer, boolean first, List<?> chunk) throws IOException;
+    }
+
+    private long write(List<?> exportData, CSVOptions options, WritableByteChannel channel, ChunkFormatter formatter) throws IOException {
+        long start = System.nanoTime();
+        int size = exportData.size();
+        long bytes = isConcatenable(options.getCharset())
+                ? writeChunks(exportData, options, channel, formatter)
+                : writeSequentially(exportData, options, channel, formatter);
+        long elapsed = System.nanoTime() - start;
+        ExcelMetrics.recordExport(ExcelMetrics.CSV, size, bytes, elapsed);
+        logger.info("并行导出CSV完成，行数：{}，字节数：{}，耗时：{}ms", size, bytes, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return size;
+    }
+
+    /**
+     * 分块各自编码后拼接的结果是否与整体编码相同：UTF-16等每次编码都在开头写BOM，拼接后文件中间会出现BOM
+     */
+    private static boolean isConcatenable(Charset charset) {
+        byte[] one = "\n".getBytes(charset);
+        byte[] two = "\n\n".getBytes(charset);
+        return two.length == one.length * 2 && Arrays.equals(one, Arrays.copyOfRange(two, one.length, two.length));
+    }
+
+    private static long writeSequentially(List<?> exportData, CSVOptions options, WritableByteChannel channel, ChunkFormatter formatter) throws IOException {
+        CSVWriter writer = new CSVWriter(channel, options);
+        formatter.format(writer, true, exportData);
+        writer.finish();
+        return writer.getByteCount();
+    }
+
+    private long writeChunks(List<?> exportData, CSVOptions options, WritableByteChannel channel, ChunkFormatter formatter) throws IOException {
+        CSVOptions firstOptions = options.copy().setBufferSize(CHUNK_BUFFER_SIZE);
+        //BOM只在文件开头写一次
+        CSVOptions chunkOptions = firstOptions.copy().setBom(false);
+        int size = exportData.size();
+        Deque<Future<ChunkBuffer>> pending = new ArrayDeque<Future<ChunkBuffer>>();
+        long bytes = 0;
+        try {
+            //没有数据时也提交第一块，写出BOM和表头
+            for (int from = 0; from == 0 || from < size; from += chunkSize) {
+                if (pending.size() >= maxPendingChunks) {
+                    bytes += drain(pending.poll(), channel);
+                }
+                List<?> chunk = exportData.subList(from, Math.min(size, from + chunkSize));
+                boolean first = from == 0;
+                pending.add(executor.submit(() -> {
+                    ChunkBuffer buffer = new ChunkBuffer();
+                    CSVWriter writer = new CSVWriter(buffer, first ? firstOptions : chunkOptions);
+                    formatter.format(writer, first, chunk);
+                    writer.finish();
+                    return buffer;
+                }));
+            }
+            while (!pending.isEmpty()) {
+                bytes += drain(pending.poll(), channel);
+            }
+        } catch (IOException | RuntimeException e) {
+            for (Future<ChunkBuffer> future : pending) {
+                future.cancel(true);
+            }
+            throw e;
+        }
+        return bytes;
+    }
+
+    /**
+     * 等待最早的分块格式化完成并写入通道
+     */
+    private static long drain(Future<ChunkBuffer> future, WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer;
+        try {
+            buffer = future.get().toByteBuffer();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("导出被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("导出失败：" + cause.getMessage(), cause);
+        }
+        long n = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return n;
+    }
+
+    /**
+     * 分块的内存缓冲，CSVWriter编码后的字节直接复制到数组中
+     */
+    private static final class ChunkBuffer implements WritableByteChannel {
+
+        private byte[] bytes = new byte[CHUNK_BUFFER_SIZE];
+
+        private int count;
+
+        @Override
+        public int write(ByteBuffer src) {
+            int n = src.remaining();
+            if (count + n > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, count + n));
+            }
+            src.get(bytes, count, n);
+            count += n;
+            return n;
+        }
+
+        private ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(bytes, 0, count);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
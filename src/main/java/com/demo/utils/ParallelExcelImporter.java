@@ -0,0 +1,342 @@
+package com.demo.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @className: ParallelExcelImporter
+ * @package: com.demo.utils
+ * @describe: 多文件、多工作表的并行导入。每个工作表一个任务：
+ *            .xlsx工作表按chunkSize行拆成若干行范围(XlsxSheetSplitter)，每个范围一个解析任务；
+ *            调用线程按顺序对各范围的行做起始行/结束行/行过滤(RowRangeFilter需要按顺序看到所有行)，再把每个范围提交一个转换任务。
+ *            .xls工作表(事件模型只能顺序读取整个工作簿，且每个工作表最多65536行)和按列名投影的工作表(读到表头才知道要解析哪些列)
+ *            由一个任务顺序解析，解析出的行按chunkSize分块提交转换任务。
+ *            最后按文件、工作表、分块的顺序合并结果，保持原始的行顺序；任何一个任务失败时取消所有未完成的任务
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 5:40
+ */
+public class ParallelExcelImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelExcelImporter.class);
+
+    public static final int DEFAULT_CHUNK_SIZE = 5000;
+
+    private final ExecutorService executor;
+
+    private final int chunkSize;
+
+    /**
+     * @param executor 执行解析和转换任务的线程池，由调用方负责关闭；解析会阻塞在文件读取上，不要使用ForkJoinPool公共线程池
+     */
+    public ParallelExcelImporter(ExecutorService executor) {
+        this(executor, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param executor  执行解析和转换任务的线程池，由调用方负责关闭
+     * @param chunkSize 每个解析任务(.xlsx)和转换任务处理的行数
+     */
+    public ParallelExcelImporter(ExecutorService executor, int chunkSize) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor不能为空");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize必须大于0");
+        }
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @methodName: importFiles
+     * @param: files   Excel文件(.xls/.xlsx)
+     *          clazz   对象的类型
+     *          options 起始行/结束行、列投影、行过滤条件和字符串字典对每个工作表生效，sheetIndex被忽略(读取所有工作表)
+     * @describe: 并行导入多个文件的所有工作表
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 5:45
+     */
+    public <T> ImportResult<T> importFiles(List<File> files, Class<T> clazz, ImportOptions options) throws IOException {
+        long start = System.nanoTime();
+        RowMapper mapper = new RowMapper(clazz);
+        List<SheetTask<T>> sheets = new ArrayList<SheetTask<T>>();
+        List<Future<?>> sheetFutures = new ArrayList<Future<?>>();
+        List<T> rows = new ArrayList<T>();
+        List<SheetTiming> timings = new ArrayList<SheetTiming>();
+        try {
+            for (File file : files) {
+                if (!file.exists()) {
+                    throw new IOException("文件名为 " + file.getName() + "的Excel文件不存在!");
+                }
+                String format = ExcelMetrics.excelFormat(file);
+                ExcelMetrics.bytes(ExcelMetrics.IMPORT, format, file.length());
+                List<String> sheetNames = ExcelRowReader.getSheetNames(file);
+                for (int i = 0; i < sheetNames.size(); i++) {
+                    SheetTiming timing = new SheetTiming(file.getName(), i, sheetNames.get(i));
+                    SheetTask<T> sheet = new SheetTask<T>(file, format, i, options, clazz, mapper, timing);
+                    sheets.add(sheet);
+                    sheetFutures.add(executor.submit(sheet));
+                }
+            }
+            for (int i = 0; i < sheets.size(); i++) {
+                SheetTask<T> sheet = sheets.get(i);
+                sheetFutures.get(i).get();
+                //拆分成行范围的工作表，在调用线程中按顺序过滤并提交转换任务
+                sheet.filterFragments();
+                for (Future<List<T>> chunk : sheet.chunks) {
+                    rows.addAll(chunk.get());
+                }
+                sheet.finish();
+                timings.add(sheet.timing);
+            }
+        } catch (InterruptedException e) {
+            cancel(sheetFutures, sheets);
+            Thread.currentThread().interrupt();
+            throw new IOException("导入被中断", e);
+        } catch (ExecutionException e) {
+            cancel(sheetFutures, sheets);
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("导入失败：" + cause.getMessage(), cause);
+        } catch (IOException | RuntimeException e) {
+            cancel(sheetFutures, sheets);
+            throw e;
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.info("并行导入完成，文件数：{}，工作表数：{}，行数：{}，耗时：{}ms", files.size(), timings.size(), rows.size(), elapsed);
+        return new ImportResult<T>(rows, Collections.unmodifiableList(timings), elapsed);
+    }
+
+    /**
+     * @methodName: importFile
+     * @param: file    Excel文件
+     *          clazz   对象的类型
+     *          options 起始行/结束行对每个工作表生效
+     * @describe: 并行导入单个文件的所有工作表
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 5:45
+     */
+    public <T> ImportResult<T> importFile(File file, Class<T> clazz, ImportOptions options) throws IOException {
+        return importFiles(Collections.singletonList(file), clazz, options);
+    }
+
+    /**
+     * 取消所有工作表任务以及它们已经提交的解析、转换任务；工作表任务之后不能再提交新的任务
+     */
+    private static void cancel(List<Future<?>> sheetFutures, List<? extends SheetTask<?>> sheets) {
+        for (SheetTask<?> sheet : sheets) {
+            sheet.cancel();
+        }
+        for (Future<?> future : sheetFutures) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * 一个工作表的导入：解析(或拆分后提交解析任务)，按顺序排列的分块转换任务
+     */
+    private final class SheetTask<T> implements Callable<Void> {
+
+        private final File file;
+
+        private final String format;
+
+        private final ImportOptions options;
+
+        private final Class<T> clazz;
+
+        private final SheetTiming timing;
+
+        //按顺序排列的分块转换任务
+        private final List<Future<List<T>>> chunks = new ArrayList<Future<List<T>>>();
+
+        //.xlsx拆分后按顺序排列的解析任务
+        private final List<Future<List<SheetRow>>> fragments = new ArrayList<Future<List<SheetRow>>>();
+
+        private final AtomicLong parseNanos = new AtomicLong();
+
+        private final AtomicLong mapNanos = new AtomicLong();
+
+        private boolean cancelled;
+
+        //本工作表使用的转换器，设置了表头行时为按表头绑定后的转换器
+        private RowMapper sheetMapper;
+
+        private int rowCount;
+
+        private SheetTask(File file, String format, int sheetIndex, ImportOptions options, Class<T> clazz, RowMapper mapper, SheetTiming timing) {
+            this.file = file;
+            this.format = format;
+            //列投影、行过滤条件和字符串字典对每个工作表都生效，字典由各工作表共用
+            this.options = options.copy().setSheetIndex(sheetIndex);
+            this.clazz = clazz;
+            this.sheetMapper = mapper;
+            this.timing = timing;
+        }
+
+        @Override
+        public Void call() throws IOException {
+            long start = System.nanoTime();
+            //按列名投影时读到表头才知道要解析哪些列，不能在表头之前并行解析后面的行
+            boolean split = ExcelRowReader.isXlsx(file) && options.getColumnNames() == null
+                    && XlsxSheetSplitter.split(file, options.getSheetIndex(), chunkSize, maxRows(), this::submitFragment);
+            if (!split) {
+                readSequentially();
+            }
+            parseNanos.addAndGet(System.nanoTime() - start);
+            return null;
+        }
+
+        /**
+         * 结束行为正数时只需要拆分到结束行(和表头行)为止
+         */
+        private int maxRows() {
+            int endRow = options.getEndRow();
+            return endRow > 0 ? Math.max(endRow, options.getHeaderRow()) + 1 : Integer.MAX_VALUE;
+        }
+
+        private void readSequentially() throws IOException {
+            final List<SheetRow> chunk = new ArrayList<SheetRow>(chunkSize);
+            ExcelRowReader.read(file, options, new RowCallback() {
+                @Override
+                public void onHeader(SheetRow header) {
+                    //每个工作表按自己的表头绑定列号，表头行在数据行之前，之后提交的分块都使用绑定后的转换器
+                    sheetMapper = sheetMapper.bind(header);
+                }
+
+                @Override
+                public boolean onRow(SheetRow row) {
+                    //读取器复用行对象，跨线程传递前必须复制
+                    chunk.add(row.copy());
+                    rowCount++;
+                    if (chunk.size() == chunkSize) {
+                        submitChunk(new ArrayList<SheetRow>(chunk));
+                        chunk.clear();
+                    }
+                    return true;
+                }
+            });
+            if (!chunk.isEmpty()) {
+                submitChunk(new ArrayList<SheetRow>(chunk));
+            }
+        }
+
+        private void submitFragment(final XlsxSheetSplitter.Fragment fragment) {
+            synchronized (this) {
+                if (cancelled) {
+                    throw new IllegalStateException("导入已取消");
+                }
+                fragments.add(executor.submit(() -> {
+                    long start = System.nanoTime();
+                    //各解析任务单独创建投影，按列号投影时不需要表头
+                    List<SheetRow> rows = fragment.parse(ColumnProjection.of(options), options.getStringDictionary());
+                    parseNanos.addAndGet(System.nanoTime() - start);
+                    return rows;
+                }));
+            }
+        }
+
+        /**
+         * 在调用线程中按顺序过滤各行范围的解析结果：表头绑定、起始行/结束行(包括负数结束行)和行过滤条件，
+         * 每个行范围过滤后提交一个转换任务；工作表任务完成之后调用
+         */
+        private void filterFragments() throws InterruptedException, ExecutionException {
+            if (fragments.isEmpty()) {
+                return;
+            }
+            final List<SheetRow> chunk = new ArrayList<SheetRow>();
+            //结束行为负数时RowRangeFilter输出的是它复用的缓冲行，需要复制
+            final boolean copy = options.getEndRow() < 0;
+            RowRangeFilter filter = new RowRangeFilter(new RowCallback() {
+                @Override
+                public void onHeader(SheetRow header) {
+                    sheetMapper = sheetMapper.bind(header);
+                }
+
+                @Override
+                public boolean onRow(SheetRow row) {
+                    chunk.add(copy ? row.copy() : row);
+                    rowCount++;
+                    return true;
+                }
+            }, options, ColumnProjection.of(options), true);
+            for (int i = 0; i < fragments.size(); i++) {
+                boolean proceed = true;
+                for (SheetRow row : fragments.get(i).get()) {
+                    if (!filter.onRow(row)) {
+                        proceed = false;
+                        break;
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    submitChunk(new ArrayList<SheetRow>(chunk));
+                    chunk.clear();
+                }
+                if (!proceed) {
+                    //已超过结束行，后面的行范围不需要再解析
+                    for (Future<List<SheetRow>> rest : fragments.subList(i + 1, fragments.size())) {
+                        rest.cancel(true);
+                    }
+                    break;
+                }
+            }
+        }
+
+        private void submitChunk(final List<SheetRow> rows) {
+            final RowMapper mapper = sheetMapper;
+            synchronized (this) {
+                if (cancelled) {
+                    throw new IllegalStateException("导入已取消");
+                }
+                chunks.add(executor.submit(() -> {
+                    long start = System.nanoTime();
+                    List<T> objects = new ArrayList<T>(rows.size());
+                    for (SheetRow row : rows) {
+                        objects.add(clazz.cast(mapper.map(row)));
+                    }
+                    mapNanos.addAndGet(System.nanoTime() - start);
+                    return objects;
+                }));
+            }
+        }
+
+        private synchronized void cancel() {
+            cancelled = true;
+            for (Future<?> future : fragments) {
+                future.cancel(true);
+            }
+            for (Future<?> future : chunks) {
+                future.cancel(true);
+            }
+        }
+
+        /**
+         * 所有转换任务完成后记录统计信息
+         */
+        private void finish() {
+            timing.setRowCount(rowCount);
+            timing.setParseMillis(TimeUnit.NANOSECONDS.toMillis(parseNanos.get()));
+            timing.setMapMillis(TimeUnit.NANOSECONDS.toMillis(mapNanos.get()));
+            ExcelMetrics.rows(ExcelMetrics.IMPORT, format, rowCount);
+            ExcelMetrics.phase(ExcelMetrics.IMPORT, ExcelMetrics.PARSE, format, parseNanos.get());
+            ExcelMetrics.phase(ExcelMetrics.IMPORT, ExcelMetrics.MAP, format, mapNanos.get());
+        }
+    }
+}
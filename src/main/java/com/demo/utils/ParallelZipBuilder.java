@@ -0,0 +1,562 @@
+package com.demo.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * @className: ParallelZipBuilder
+ * @package: com.demo.utils
+ * @describe: 并行压缩的zip写入器(参照pigz的做法)。每个条目的内容按128KB切块，各块在线程池中并行deflate：
+ *            每块用前一块的最后32KB作为预置字典，非最后一块以SYNC_FLUSH结束(输出在字节边界对齐)，
+ *            最后一块以FINISH结束，按顺序拼接后就是一个完整的deflate流，压缩率与串行压缩基本相同。
+ *            条目使用数据描述符(通用标志位3)，不需要预先知道大小和CRC，直接写入任意OutputStream(如Servlet响应)，
+ *            不产生临时文件；文件名按UTF-8编码(通用标志位11)。
+ *            不支持ZIP64，单个条目和整个压缩包不能超过4GB，条目数不能超过65535。非线程安全
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 10:20
+ */
+public class ParallelZipBuilder implements Closeable {
+
+    public static final int BLOCK_SIZE = 128 * 1024;
+
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+
+    private static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+
+    private static final int END_SIGNATURE = 0x06054b50;
+
+    //通用标志位：3(数据描述符) + 11(UTF-8文件名)
+    private static final int FLAGS = 0x0808;
+
+    private static final int VERSION = 20;
+
+    private static final int DEFLATED = 8;
+
+    private static final long MAX_ZIP32 = 0xFFFFFFFFL;
+
+    /**
+     * 条目内容的来源，每次调用返回新的输入流，由写入器负责关闭
+     */
+    @FunctionalInterface
+    public interface StreamSupplier {
+        InputStream open() throws IOException;
+    }
+
+    private final OutputStream out;
+
+    private final ExecutorService executor;
+
+    private final int maxPendingBlocks;
+
+    private int level = Deflater.DEFAULT_COMPRESSION;
+
+    //还未写出的条目头、压缩块(压缩任务可能还没完成)和数据描述符，按写出顺序排列
+    private final ArrayDeque<Piece> pending = new ArrayDeque<Piece>();
+
+    private int pendingBlocks;
+
+    private final List<Entry> entries = new ArrayList<Entry>();
+
+    private final ByteBuffer header = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+
+    private long written;
+
+    //各压缩任务的耗时之和
+    private final LongAdder deflateNanos = new LongAdder();
+
+    private boolean finished;
+
+    private boolean failed;
+
+    //正在写入的条目
+    private EntryOutputStream openEntry;
+
+    /**
+     * 同时等待压缩或写出的块数为CPU核数的两倍加2
+     *
+     * @param out      输出流，close时一并关闭，只需要写完时使用finish
+     * @param executor 执行压缩任务的线程池，由调用方负责关闭
+     */
+    public ParallelZipBuilder(OutputStream out, ExecutorService executor) {
+        this(out, executor, Runtime.getRuntime().availableProcessors() * 2 + 2);
+    }
+
+    /**
+     * @param out              输出流，close时一并关闭，只需要写完时使用finish
+     * @param executor         执行压缩任务的线程池，由调用方负责关闭；并发的下载各自提交压缩任务，
+     *                         不要使用ForkJoinPool公共线程池，以免与JVM中其他使用公共线程池的任务互相争用
+     * @param maxPendingBlocks 同时在内存中等待压缩或写出的块数，决定内存占用(每块约128KB输入 + 压缩结果)
+     */
+    public ParallelZipBuilder(OutputStream out, ExecutorService executor, int maxPendingBlocks) {
+        if (maxPendingBlocks <= 0) {
+            throw new IllegalArgumentException("maxPendingBlocks必须大于0");
+        }
+        this.out = out;
+        this.executor = executor;
+        this.maxPendingBlocks = maxPendingBlocks;
+    }
+
+    /**
+     * 压缩级别(0-9，-1为默认级别6)
+     */
+    public ParallelZipBuilder setLevel(int level) {
+        if (level < -1 || level > 9) {
+            throw new IllegalArgumentException("压缩级别必须在-1到9之间");
+        }
+        this.level = level;
+        return this;
+    }
+
+    /**
+     * 以文件名作为条目名添加文件
+     */
+    public ParallelZipBuilder addFile(File file) throws IOException {
+        return addFile(file.getName(), file);
+    }
+
+    public ParallelZipBuilder addFile(String name, File file) throws IOException {
+        return addEntry(name, file.lastModified(), () -> new FileInputStream(file));
+    }
+
+    /**
+     * 添加条目，修改时间为当前时间
+     */
+    public ParallelZipBuilder addEntry(String name, StreamSupplier supplier) throws IOException {
+        return addEntry(name, System.currentTimeMillis(), supplier);
+    }
+
+    /**
+     * @methodName: addEntry
+     * @param: name         条目名(可含目录，以/分隔)
+     *          lastModified 修改时间(毫秒)
+     *          supplier     内容来源
+     * @describe: 在调用线程中按块读取内容并计算CRC，各块提交给线程池压缩，
+     *            等待中的块达到上限时先按顺序写出最早的块
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 10:30
+     */
+    public ParallelZipBuilder addEntry(String name, long lastModified, StreamSupplier supplier) throws IOException {
+        OutputStream entry = openEntry(name, lastModified);
+        try (InputStream in = supplier.open()) {
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                entry.write(buffer, 0, n);
+            }
+        } catch (IOException | RuntimeException e) {
+            abort();
+            throw e;
+        }
+        entry.close();
+        return this;
+    }
+
+    /**
+     * 打开条目，修改时间为当前时间
+     */
+    public OutputStream openEntry(String name) throws IOException {
+        return openEntry(name, System.currentTimeMillis());
+    }
+
+    /**
+     * @methodName: openEntry
+     * @param: name         条目名(可含目录，以/分隔)
+     *          lastModified 修改时间(毫秒)
+     * @describe: 打开一个条目，返回写入条目内容的输出流，用于边生成边压缩的内容(如导出的Excel、CSV)。
+     *            写满一块时提交压缩，close时结束条目；关闭前不能添加其他条目或finish
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 11:55
+     */
+    public OutputStream openEntry(String name, long lastModified) throws IOException {
+        if (finished || failed) {
+            throw new IllegalStateException("压缩包已经写完或写入失败");
+        }
+        if (openEntry != null) {
+            throw new IllegalStateException("上一个条目还没有关闭");
+        }
+        if (entries.size() == 0xFFFF) {
+            throw new IOException("条目数超过65535，不支持ZIP64");
+        }
+        Entry entry = new Entry(name.getBytes(StandardCharsets.UTF_8), dosTime(lastModified));
+        entries.add(entry);
+        pending.add(new Piece(entry, Piece.HEADER, null));
+        openEntry = new EntryOutputStream(entry);
+        return openEntry;
+    }
+
+    /**
+     * @methodName: finish
+     * @describe: 写出剩余的块和中央目录，不关闭输出流
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 10:35
+     */
+    public void finish() throws IOException {
+        if (finished || failed) {
+            return;
+        }
+        if (openEntry != null) {
+            throw new IllegalStateException("条目 " + new String(openEntry.entry.name, StandardCharsets.UTF_8) + " 还没有关闭");
+        }
+        try {
+            drain(0);
+            long centralOffset = written;
+            for (Entry entry : entries) {
+                writeCentralHeader(entry);
+            }
+            long centralSize = written - centralOffset;
+            if (centralOffset > MAX_ZIP32) {
+                throw new IOException("压缩包超过4GB，不支持ZIP64");
+            }
+            header.clear();
+            header.putInt(END_SIGNATURE).putShort((short) 0).putShort((short) 0)
+                    .putShort((short) entries.size()).putShort((short) entries.size())
+                    .putInt((int) centralSize).putInt((int) centralOffset).putShort((short) 0);
+            writeHeader();
+            out.flush();
+            finished = true;
+            ExcelMetrics.bytes(ExcelMetrics.EXPORT, ExcelMetrics.ZIP, written);
+            ExcelMetrics.phase(ExcelMetrics.EXPORT, ExcelMetrics.COMPRESS, ExcelMetrics.ZIP, deflateNanos.sum());
+        } catch (IOException | RuntimeException e) {
+            abort();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void submit(Entry entry, byte[] block, byte[] previous, boolean last) throws IOException {
+        drain(maxPendingBlocks - 1);
+        Future<byte[]> future = executor.submit(() -> {
+            long start = System.nanoTime();
+            byte[] data = deflate(block, previous, last, level);
+            deflateNanos.add(System.nanoTime() - start);
+            return data;
+        });
+        pending.add(new Piece(entry, Piece.BLOCK, future));
+        pendingBlocks++;
+    }
+
+    /**
+     * 压缩一块，previous的最后32KB作为预置字典
+     */
+    private static byte[] deflate(byte[] block, byte[] previous, boolean last, int level) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            if (previous != null) {
+                deflater.setDictionary(previous, previous.length - DICTIONARY_SIZE, DICTIONARY_SIZE);
+            }
+            deflater.setInput(block);
+            ByteArrayBuilder result = new ByteArrayBuilder(block.length / 2 + 64);
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    result.deflate(deflater, Deflater.NO_FLUSH);
+                }
+            } else {
+                //SYNC_FLUSH的输出填不满缓冲区时说明已全部输出
+                while (result.deflate(deflater, Deflater.SYNC_FLUSH)) {
+                    //继续
+                }
+            }
+            return result.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * 按顺序写出，直到等待中的块不超过maxBlocks；队首的条目头和数据描述符不需要等待，直接写出。
+     * 数据描述符排在本条目所有块之后，写到它时CRC和压缩后的大小都已确定
+     */
+    private void drain(int maxBlocks) throws IOException {
+        while (!pending.isEmpty() && (pendingBlocks > maxBlocks || pending.peek().type != Piece.BLOCK)) {
+            Piece piece = pending.poll();
+            switch (piece.type) {
+                case Piece.HEADER:
+                    writeLocalHeader(piece.entry);
+                    break;
+                case Piece.BLOCK:
+                    pendingBlocks--;
+                    byte[] data = await(piece.future);
+                    out.write(data);
+                    written += data.length;
+                    piece.entry.compressedSize += data.length;
+                    break;
+                default:
+                    writeDataDescriptor(piece.entry);
+                    break;
+            }
+        }
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("压缩被中断", e);
+        } catch (ExecutionException e) {
+            throw new IOException("压缩失败：" + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private void abort() {
+        failed = true;
+        for (Piece piece : pending) {
+            if (piece.future != null) {
+                piece.future.cancel(true);
+            }
+        }
+        pending.clear();
+        pendingBlocks = 0;
+        openEntry = null;
+    }
+
+    private void writeLocalHeader(Entry entry) throws IOException {
+        if (written > MAX_ZIP32) {
+            throw new IOException("压缩包超过4GB，不支持ZIP64");
+        }
+        entry.offset = written;
+        header.clear();
+        header.putInt(LOCAL_HEADER_SIGNATURE).putShort((short) VERSION).putShort((short) FLAGS)
+                .putShort((short) DEFLATED).putInt(entry.dosTime)
+                //CRC和大小写在数据描述符中
+                .putInt(0).putInt(0).putInt(0)
+                .putShort((short) entry.name.length).putShort((short) 0);
+        writeHeader();
+        out.write(entry.name);
+        written += entry.name.length;
+    }
+
+    private void writeDataDescriptor(Entry entry) throws IOException {
+        header.clear();
+        header.putInt(DATA_DESCRIPTOR_SIGNATURE).putInt((int) entry.crc)
+                .putInt((int) entry.compressedSize).putInt((int) entry.size);
+        writeHeader();
+    }
+
+    private void writeCentralHeader(Entry entry) throws IOException {
+        header.clear();
+        header.putInt(CENTRAL_HEADER_SIGNATURE).putShort((short) VERSION).putShort((short) VERSION)
+                .putShort((short) FLAGS).putShort((short) DEFLATED).putInt(entry.dosTime)
+                .putInt((int) entry.crc).putInt((int) entry.compressedSize).putInt((int) entry.size)
+                .putShort((short) entry.name.length).putShort((short) 0).putShort((short) 0)
+                .putShort((short) 0).putShort((short) 0).putInt(0).putInt((int) entry.offset);
+        writeHeader();
+        out.write(entry.name);
+        written += entry.name.length;
+    }
+
+    private void writeHeader() throws IOException {
+        out.write(header.array(), 0, header.position());
+        written += header.position();
+    }
+
+    /**
+     * 转换为MS-DOS格式的日期时间(高16位日期，低16位时间)
+     */
+    private static int dosTime(long millis) {
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+        if (time.getYear() < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return (time.getYear() - 1980) << 25 | time.getMonthValue() << 21 | time.getDayOfMonth() << 16
+                | time.getHour() << 11 | time.getMinute() << 5 | time.getSecond() >> 1;
+    }
+
+    /**
+     * 写入一个条目的内容。写满的块先留在手里，有后续内容时才作为中间块提交，
+     * close时当前块(可能为空或正好写满)作为最后一块提交，这样不需要预先知道内容的长度
+     */
+    private final class EntryOutputStream extends OutputStream {
+
+        private final Entry entry;
+
+        private final CRC32 crc = new CRC32();
+
+        private byte[] block = new byte[BLOCK_SIZE];
+
+        private int length;
+
+        private byte[] previous;
+
+        private boolean closed;
+
+        private EntryOutputStream(Entry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureSpace();
+            block[length++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                ensureSpace();
+                int n = Math.min(len, BLOCK_SIZE - length);
+                System.arraycopy(b, off, block, length, n);
+                length += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        private void ensureSpace() throws IOException {
+            if (closed || openEntry != this) {
+                throw new IOException("条目已经关闭");
+            }
+            if (length == BLOCK_SIZE) {
+                submitBlock(block, false);
+                previous = block;
+                block = new byte[BLOCK_SIZE];
+                length = 0;
+            }
+        }
+
+        private void submitBlock(byte[] data, boolean last) throws IOException {
+            crc.update(data);
+            entry.size += data.length;
+            if (entry.size > MAX_ZIP32) {
+                abort();
+                throw new IOException(new String(entry.name, StandardCharsets.UTF_8) + " 超过4GB，不支持ZIP64");
+            }
+            try {
+                submit(entry, data, previous, last);
+            } catch (IOException | RuntimeException e) {
+                abort();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (openEntry != this) {
+                return;
+            }
+            submitBlock(length == BLOCK_SIZE ? block : Arrays.copyOf(block, length), true);
+            entry.crc = crc.getValue();
+            pending.add(new Piece(entry, Piece.DESCRIPTOR, null));
+            openEntry = null;
+        }
+    }
+
+    /**
+     * 一个条目的元数据
+     */
+    private static final class Entry {
+
+        private final byte[] name;
+
+        private final int dosTime;
+
+        private long crc;
+
+        private long size;
+
+        private long compressedSize;
+
+        private long offset;
+
+        private Entry(byte[] name, int dosTime) {
+            this.name = name;
+            this.dosTime = dosTime;
+        }
+    }
+
+    /**
+     * 等待写出的一段内容：条目头、压缩块或数据描述符
+     */
+    private static final class Piece {
+
+        private static final int HEADER = 0;
+
+        private static final int BLOCK = 1;
+
+        private static final int DESCRIPTOR = 2;
+
+        private final Entry entry;
+
+        private final int type;
+
+        private final Future<byte[]> future;
+
+        private Piece(Entry entry, int type, Future<byte[]> future) {
+            this.entry = entry;
+            this.type = type;
+            this.future = future;
+        }
+    }
+
+    /**
+     * 收集deflate输出的可增长字节数组
+     */
+    private static final class ByteArrayBuilder {
+
+        private byte[] bytes;
+
+        private int length;
+
+        private ByteArrayBuilder(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        /**
+         * 压缩一次，返回输出是否填满了剩余空间(即可能还有未输出的内容)
+         */
+        private boolean deflate(Deflater deflater, int flush) {
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            int space = bytes.length - length;
+            int n = deflater.deflate(bytes, length, space, flush);
+            length += n;
+            return n == space;
+        }
+
+        private byte[] toByteArray() {
+            return length == bytes.length ? bytes : Arrays.copyOf(bytes, length);
+        }
+    }
+}
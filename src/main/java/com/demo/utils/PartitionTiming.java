@@ -0,0 +1,121 @@
+package com.demo.utils;
+
+/**
+ * @className: PartitionTiming
+ * @package: com.demo.utils
+ * @describe: 分区并行导出时单个分区的进度和统计信息。写入的行数在导出过程中随时更新，
+ *            可以在PartitionedExporter.Listener的onStart中取得后由其他线程轮询
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 6:45
+ */
+public class PartitionTiming {
+
+    //每写入这么多行更新一次进度，避免逐行写volatile变量
+    static final int PROGRESS_STEP = 1024;
+
+    private final String key;
+
+    private final String name;
+
+    private final int rowCount;
+
+    private volatile long writtenRows;
+
+    private volatile long startedAt;
+
+    private volatile long millis = -1;
+
+    private volatile long bytes = -1;
+
+    private volatile Throwable error;
+
+    public PartitionTiming(String key, String name, int rowCount) {
+        this.key = key;
+        this.name = name;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * 分区键
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 工作表名或压缩包中的条目名
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 分区的总行数
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 已写入的行数
+     */
+    public long getWrittenRows() {
+        return writtenRows;
+    }
+
+    void setWrittenRows(long writtenRows) {
+        this.writtenRows = writtenRows;
+    }
+
+    /**
+     * 进度(0~1)，空分区完成后为1
+     */
+    public double getProgress() {
+        if (rowCount == 0) {
+            return isFinished() ? 1d : 0d;
+        }
+        return Math.min(1d, (double) writtenRows / rowCount);
+    }
+
+    void start() {
+        this.startedAt = System.nanoTime();
+    }
+
+    void finish(long bytes, Throwable error) {
+        this.bytes = bytes;
+        this.error = error;
+        this.millis = (System.nanoTime() - startedAt) / 1000000;
+    }
+
+    /**
+     * 生成该分区的耗时，未完成时为-1
+     */
+    public long getMillis() {
+        return millis;
+    }
+
+    /**
+     * 生成的文件大小，导出为工作表或未完成时为-1
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    public boolean isFinished() {
+        return millis >= 0;
+    }
+
+    /**
+     * 生成失败的原因，成功时为null
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return key + "[" + name + "] rows=" + writtenRows + "/" + rowCount + ", time=" + millis + "ms"
+                + (bytes >= 0 ? ", bytes=" + bytes : "") + (error != null ? ", error=" + error : "");
+    }
+}
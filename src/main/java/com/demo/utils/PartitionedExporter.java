@@ -0,0 +1,380 @@
+package com.demo.utils;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * @className: PartitionedExporter
+ * @package: com.demo.utils
+ * @describe: 分区并行导出。按分区键把同一份数据分组(如按机构、按地区)，每个分区一个任务在线程池中并行生成，
+ *            再合并为一个工作簿(每个分区一个工作表)或一个压缩包(每个分区一个文件)，并记录各分区的进度和耗时。
+ *            分组需要先取完数据，所有行会保留在内存中；单个分区的数据量很大时仍应使用流式导出逐个生成
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 6:50
+ */
+public class PartitionedExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionedExporter.class);
+
+    //工作表名称的最大长度
+    private static final int MAX_SHEET_NAME_LENGTH = 31;
+
+    private static final Listener NO_LISTENER = new Listener() {
+    };
+
+    private final ExecutorService executor;
+
+    private Listener listener = NO_LISTENER;
+
+    /**
+     * 各分区开始和结束时的回调，在执行该分区的线程中调用
+     */
+    public interface Listener {
+
+        default void onStart(PartitionTiming timing) {
+        }
+
+        default void onFinish(PartitionTiming timing) {
+        }
+    }
+
+    /**
+     * 把一个分区的数据写成一个文件
+     */
+    @FunctionalInterface
+    public interface PartitionWriter<T> {
+
+        /**
+         * @param key  分区键
+         * @param rows 该分区的数据
+         * @param out  输出流，写完后由调用方关闭
+         */
+        void write(String key, Iterator<T> rows, OutputStream out) throws IOException;
+    }
+
+    /**
+     * @param executor 生成各分区的线程池，线程数决定同时生成的分区数，由调用方负责关闭；
+     *                 生成时阻塞在查询和文件写出上，不要使用ForkJoinPool公共线程池
+     */
+    public PartitionedExporter(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    public PartitionedExporter setListener(Listener listener) {
+        this.listener = listener == null ? NO_LISTENER : listener;
+        return this;
+    }
+
+    /**
+     * @methodName: excel
+     * @param: titleName 表头
+     *          clazz     数据的类型，列首取自@ExcelColumn
+     *          pattern   时间类型的数据格式
+     * @describe: 每个分区生成一个流式.xlsx文件，工作表名称为分区键
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 6:55
+     */
+    public static <T> PartitionWriter<T> excel(String titleName, Class<?> clazz, String pattern) {
+        return (key, rows, out) -> ExcelExportUtil.doExportExcelStreaming(WorkbookUtil.createSafeSheetName(key), titleName, clazz,
+                rows, out, pattern, ExcelExportUtil.DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @methodName: csv
+     * @param: clazz   数据的类型，按@ExcelColumn写表头和各列
+     *          options 编码、分隔符等参数
+     * @describe: 每个分区生成一个CSV文件
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 6:55
+     */
+    public static <T> PartitionWriter<T> csv(Class<? extends T> clazz, CSVOptions options) {
+        return (key, rows, out) -> {
+            CSVWriter writer = CSVWriter.open(out, options);
+            new CSVUtil<T>().writeCSV(writer, clazz, rows);
+            writer.finish();
+        };
+    }
+
+    /**
+     * @methodName: exportSheets
+     * @param: dataSet      内容
+     *          partitionKey 取分区键的函数，每个分区一个工作表，工作表按分区键首次出现的顺序排列
+     *          titleName    表头
+     *          clazz        数据的类型，列首取自@ExcelColumn
+     *          out          输出流(由调用方负责关闭)
+     *          pattern      时间类型的数据格式
+     * @describe: 按分区并行填充一个.xlsx的各个工作表，使用默认的行窗口大小
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 7:00
+     */
+    public <T> List<PartitionTiming> exportSheets(Collection<? extends T> dataSet, Function<? super T, String> partitionKey, String titleName,
+                                                  Class<?> clazz, OutputStream out, String pattern) throws IOException {
+        return exportSheets(dataSet.iterator(), partitionKey, titleName, ColumnPlan.of(clazz).getHeaders(), out, pattern, ExcelExportUtil.DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @methodName: exportSheets
+     * @param: rows         内容
+     *          partitionKey 取分区键的函数
+     *          titleName    表头
+     *          headers      列表名
+     *          out          输出流(由调用方负责关闭)
+     *          pattern      时间类型的数据格式
+     *          windowSize   每个工作表在内存中保留的行数
+     * @describe: 按分区并行填充一个流式(SXSSF)工作簿。工作表和样式在当前线程中事先建好，
+     *            各分区的任务只向自己的工作表写行(流式工作簿的每个工作表有独立的临时文件，不使用共享字符串表)，
+     *            全部完成后序列化一次工作簿。分区超过单表行数上限时续建 名称_2、名称_3...
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 7:00
+     */
+    public <T> List<PartitionTiming> exportSheets(Iterator<? extends T> rows, Function<? super T, String> partitionKey, String titleName,
+                                                  String[] headers, OutputStream out, String pattern, int windowSize) throws IOException {
+        long start = System.nanoTime();
+        Map<String, List<T>> partitions = partition(rows, partitionKey);
+        SXSSFWorkbook workbook = new SXSSFWorkbook(windowSize);
+        workbook.setCompressTempFiles(true);
+        CountingOutputStream counter = new CountingOutputStream(out);
+        try {
+            ExcelExportUtil.ExportStyles styles = new ExcelExportUtil.ExportStyles(workbook);
+            int maxRows = SpreadsheetVersion.EXCEL2007.getMaxRows();
+            int maxDataRows = ExcelExportUtil.maxDataRows(SpreadsheetVersion.EXCEL2007);
+            Set<String> usedNames = new HashSet<String>();
+            List<PartitionTiming> timings = new ArrayList<PartitionTiming>(partitions.size());
+            List<Future<Long>> futures = new ArrayList<Future<Long>>(partitions.size());
+            long rowCount = 0;
+            for (Map.Entry<String, List<T>> partition : partitions.entrySet()) {
+                List<T> data = partition.getValue();
+                //创建工作表会修改工作簿，只在当前线程中进行
+                String name = uniqueName(WorkbookUtil.createSafeSheetName(partition.getKey()), "", usedNames);
+                int sheetCount = Math.max(1, (data.size() + maxDataRows - 1) / maxDataRows);
+                List<Sheet> sheets = new ArrayList<Sheet>(sheetCount);
+                sheets.add(ExcelExportUtil.createSheetForExport(workbook, name, titleName, headers, styles));
+                for (int i = 2; i <= sheetCount; i++) {
+                    String next = uniqueName(WorkbookUtil.createSafeSheetName(name + "_" + i), "", usedNames);
+                    sheets.add(ExcelExportUtil.createSheetForExport(workbook, next, titleName, headers, styles));
+                }
+                PartitionTiming timing = new PartitionTiming(partition.getKey(), name, data.size());
+                timings.add(timing);
+                rowCount += data.size();
+                futures.add(executor.submit(task(timing, () -> {
+                    Iterator<T> it = track(data.iterator(), timing);
+                    for (Sheet sheet : sheets) {
+                        ExcelExportUtil.fillSheet(sheet, maxRows, it, styles, pattern);
+                    }
+                    timing.setWrittenRows(data.size());
+                    return -1L;
+                })));
+            }
+            await(futures);
+            workbook.write(counter);
+            counter.flush();
+            ExcelMetrics.recordExport(ExcelMetrics.XLSX, rowCount, counter.getCount(), System.nanoTime() - start);
+            logger.info("分区导出工作簿完成，分区数：{}，工作表数：{}，行数：{}，耗时：{}ms", partitions.size(), workbook.getNumberOfSheets(),
+                    rowCount, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return Collections.unmodifiableList(timings);
+        } finally {
+            workbook.dispose();
+        }
+    }
+
+    /**
+     * @methodName: exportZip
+     * @param: rows         内容
+     *          partitionKey 取分区键的函数，每个分区一个文件，条目名为 分区键 + suffix
+     *          suffix       文件扩展名，如.xlsx、.csv
+     *          writer       生成一个分区文件的方式，见excel、csv
+     *          out          输出流(由调用方负责关闭)
+     * @describe: 各分区在线程池中并行生成到临时文件，当前线程按分区顺序把已完成的文件依次压缩写出，
+     *            先完成的分区在后面的分区生成期间就开始压缩；临时文件写入压缩包后即删除
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 7:05
+     */
+    public <T> List<PartitionTiming> exportZip(Iterator<? extends T> rows, Function<? super T, String> partitionKey, String suffix,
+                                               PartitionWriter<T> writer, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        Map<String, List<T>> partitions = partition(rows, partitionKey);
+        Set<String> usedNames = new HashSet<String>();
+        List<PartitionTiming> timings = new ArrayList<PartitionTiming>(partitions.size());
+        List<File> files = new ArrayList<File>(partitions.size());
+        List<Future<Long>> futures = new ArrayList<Future<Long>>(partitions.size());
+        try {
+            for (Map.Entry<String, List<T>> partition : partitions.entrySet()) {
+                List<T> data = partition.getValue();
+                String key = partition.getKey();
+                //条目名中的路径分隔符替换掉，不产生目录
+                String name = uniqueName(key.replace('/', '_').replace('\\', '_'), suffix, usedNames);
+                File file = File.createTempFile("partition", suffix);
+                files.add(file);
+                PartitionTiming timing = new PartitionTiming(key, name, data.size());
+                timings.add(timing);
+                futures.add(executor.submit(task(timing, () -> {
+                    try (OutputStream o = new BufferedOutputStream(new FileOutputStream(file), 64 * 1024)) {
+                        writer.write(key, track(data.iterator(), timing), o);
+                    }
+                    timing.setWrittenRows(data.size());
+                    return file.length();
+                })));
+            }
+            //压缩任务也提交到分区的线程池：只有当前线程等待结果，池中的任务互不等待，共用不会死锁
+            ParallelZipBuilder zip = new ParallelZipBuilder(out, executor);
+            for (int i = 0; i < futures.size(); i++) {
+                get(futures, i);
+                zip.addFile(timings.get(i).getName(), files.get(i));
+                files.get(i).delete();
+            }
+            zip.finish();
+            logger.info("分区导出压缩包完成，分区数：{}，耗时：{}ms", partitions.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return Collections.unmodifiableList(timings);
+        } finally {
+            //失败时取消未完成的分区，删除剩余的临时文件
+            cancel(futures);
+            for (File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * 按分区键分组，分区按键首次出现的顺序排列，分区内保持原来的顺序
+     */
+    static <T> Map<String, List<T>> partition(Iterator<? extends T> rows, Function<? super T, String> partitionKey) {
+        Map<String, List<T>> partitions = new LinkedHashMap<String, List<T>>();
+        while (rows.hasNext()) {
+            T row = rows.next();
+            String key = String.valueOf(partitionKey.apply(row));
+            List<T> partition = partitions.get(key);
+            if (partition == null) {
+                partition = new ArrayList<T>();
+                partitions.put(key, partition);
+            }
+            partition.add(row);
+        }
+        return partitions;
+    }
+
+    @FunctionalInterface
+    private interface PartitionTask {
+        long run() throws IOException;
+    }
+
+    /**
+     * 包装分区任务：记录开始、结束时间和结果，并通知监听器
+     */
+    private Callable<Long> task(PartitionTiming timing, PartitionTask body) {
+        return () -> {
+            timing.start();
+            listener.onStart(timing);
+            long bytes = -1;
+            Throwable error = null;
+            try {
+                bytes = body.run();
+                return bytes;
+            } catch (IOException | RuntimeException | Error e) {
+                error = e;
+                throw e;
+            } finally {
+                timing.finish(bytes, error);
+                listener.onFinish(timing);
+            }
+        };
+    }
+
+    /**
+     * 统计已取出的行数，每PROGRESS_STEP行更新一次分区的进度
+     */
+    private static <T> Iterator<T> track(Iterator<T> it, PartitionTiming timing) {
+        return new Iterator<T>() {
+
+            private long count;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public T next() {
+                T next = it.next();
+                if (++count % PartitionTiming.PROGRESS_STEP == 0) {
+                    timing.setWrittenRows(count);
+                }
+                return next;
+            }
+        };
+    }
+
+    /**
+     * 名称重复时(工作表名称不区分大小写)在扩展名前加上 ~序号，工作表名称不超过31个字符
+     */
+    private static String uniqueName(String name, String suffix, Set<String> used) {
+        String candidate = name + suffix;
+        for (int n = 2; !used.add(candidate.toLowerCase(Locale.ROOT)); n++) {
+            String mark = "~" + n;
+            String base = suffix.isEmpty() && name.length() + mark.length() > MAX_SHEET_NAME_LENGTH
+                    ? name.substring(0, MAX_SHEET_NAME_LENGTH - mark.length()) : name;
+            candidate = base + mark + suffix;
+        }
+        return candidate;
+    }
+
+    private static void await(List<Future<Long>> futures) throws IOException {
+        for (int i = 0; i < futures.size(); i++) {
+            get(futures, i);
+        }
+    }
+
+    private static long get(List<Future<Long>> futures, int i) throws IOException {
+        try {
+            return futures.get(i).get();
+        } catch (InterruptedException e) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+            throw new IOException("分区导出被中断", e);
+        } catch (ExecutionException e) {
+            cancel(futures);
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("分区导出失败：" + cause.getMessage(), cause);
+        }
+    }
+
+    private static void cancel(List<? extends Future<?>> futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+}
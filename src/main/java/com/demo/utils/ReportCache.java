@@ -0,0 +1,374 @@
+package com.demo.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Pattern;
+
+/**
+ * @className: ReportCache
+ * @package: com.demo.utils
+ * @describe: 生成结果的磁盘缓存。以查询参数和数据版本的SHA-256作为键，内容相同的报表只生成一次；
+ *            同一个键的并发请求只有一个线程生成，其余线程等待并共享结果(single-flight)；
+ *            总大小超过上限时按最近最少使用的顺序删除文件。数据变化时调用方更换数据版本即可，旧的结果随LRU淘汰。
+ *            启动时加载目录中已有的文件，重启后缓存仍然有效
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 5:20
+ */
+public class ReportCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportCache.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String SUFFIX = ".report";
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    //key方法生成的键：64个小写十六进制字符，同时保证键作为文件名不会超出缓存目录
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}");
+
+    private final File directory;
+
+    private final long maxBytes;
+
+    //按访问顺序排列，最久未使用的在前；由自身的锁保护
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<String, Long>(16, 0.75f, true);
+
+    private long totalBytes;
+
+    //正在下载的键及下载数，淘汰时跳过；由index的锁保护
+    private final Map<String, Integer> pins = new HashMap<String, Integer>();
+
+    //正在生成的键
+    private final ConcurrentHashMap<String, CompletableFuture<File>> inFlight = new ConcurrentHashMap<String, CompletableFuture<File>>();
+
+    /**
+     * @param directory 存放缓存文件的专用目录
+     * @param maxBytes  缓存文件的总大小上限
+     */
+    public ReportCache(File directory, long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes必须大于0");
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException("无法创建目录：" + directory);
+        }
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        load();
+    }
+
+    /**
+     * @methodName: key
+     * @param: dataVersion 数据版本(如表的更新时间、批次号)，数据变化后键随之变化
+     *          params      查询参数，数组按元素计算
+     * @describe: 计算缓存键：每个值带长度前缀后求SHA-256，避免("ab","c")和("a","bc")得到相同的键
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 5:25
+     */
+    public static String key(String dataVersion, Object... params) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        update(digest, dataVersion);
+        for (Object param : params) {
+            update(digest, param);
+        }
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static void update(MessageDigest digest, Object value) {
+        if (value == null) {
+            digest.update((byte) 0);
+            return;
+        }
+        if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            digest.update((byte) 2);
+            updateLength(digest, length);
+            for (int i = 0; i < length; i++) {
+                update(digest, Array.get(value, i));
+            }
+            return;
+        }
+        byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) 1);
+        updateLength(digest, bytes.length);
+        digest.update(bytes);
+    }
+
+    private static void updateLength(MessageDigest digest, int length) {
+        digest.update(new byte[]{(byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length});
+    }
+
+    /**
+     * @methodName: get
+     * @param: key    缓存键(key方法的返回值)
+     *          writer 缓存中没有时生成内容
+     * @describe: 返回缓存的文件，没有时生成；同一个键同时只生成一次，生成失败时等待的线程得到同样的异常。
+     *            返回之后文件可能被淘汰删除，下载请用send
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 5:30
+     */
+    public File get(String key, ResponseExportUtil.ContentWriter writer) throws IOException {
+        checkKey(key);
+        return obtain(key, writer, false);
+    }
+
+    /**
+     * @methodName: send
+     * @param: request     请求
+     *          response    响应
+     *          key         缓存键(key方法的返回值)
+     *          contentType 内容类型
+     *          fileName    下载时显示的文件名
+     *          writer      缓存中没有时生成内容
+     * @describe: 从缓存下载报表，没有时先生成；缓存文件不变，浏览器可以用ETag条件请求和Range续传。
+     *            发送期间文件不会被淘汰；容器的sendfile在本方法返回之后才读取文件，因此不使用
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 5:35
+     */
+    public void send(HttpServletRequest request, HttpServletResponse response, String key, String contentType,
+                     String fileName, ResponseExportUtil.ContentWriter writer) throws IOException {
+        checkKey(key);
+        File file = obtain(key, writer, true);
+        try {
+            DownloadUtil.sendFile(request, response, file, contentType, fileName, false);
+        } finally {
+            unpin(key);
+        }
+    }
+
+    /**
+     * 删除一个键的缓存
+     */
+    public void invalidate(String key) {
+        checkKey(key);
+        synchronized (index) {
+            Long size = index.remove(key);
+            if (size != null) {
+                totalBytes -= size;
+                fileOf(key).delete();
+            }
+        }
+    }
+
+    /**
+     * 缓存的文件数
+     */
+    public int size() {
+        synchronized (index) {
+            return index.size();
+        }
+    }
+
+    /**
+     * 缓存文件的总大小
+     */
+    public long getTotalBytes() {
+        synchronized (index) {
+            return totalBytes;
+        }
+    }
+
+    /**
+     * 查找或生成文件，pin为true时在index的锁内固定该键，调用方用完后调用unpin
+     */
+    private File obtain(String key, ResponseExportUtil.ContentWriter writer, boolean pin) throws IOException {
+        File cached = lookup(key, pin);
+        if (cached != null) {
+            ExcelMetrics.cacheLookup("hit");
+            return cached;
+        }
+        CompletableFuture<File> flight = new CompletableFuture<File>();
+        CompletableFuture<File> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            ExcelMetrics.cacheLookup("shared");
+            File shared = await(existing);
+            if (!pin) {
+                return shared;
+            }
+            //生成完成到固定之间可能已被淘汰，此时重新生成
+            cached = lookup(key, true);
+            return cached != null ? cached : obtain(key, writer, true);
+        }
+        try {
+            //查找之后、登记之前另一个线程可能刚生成完
+            cached = lookup(key, pin);
+            if (cached == null) {
+                ExcelMetrics.cacheLookup("miss");
+                cached = generate(key, writer, pin);
+            } else {
+                ExcelMetrics.cacheLookup("hit");
+            }
+            flight.complete(cached);
+            return cached;
+        } catch (IOException | RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private File lookup(String key, boolean pin) {
+        synchronized (index) {
+            //get同时把该键移到最近使用的位置
+            Long size = index.get(key);
+            if (size == null) {
+                return null;
+            }
+            File file = fileOf(key);
+            if (!file.isFile()) {
+                //文件被外部删除
+                index.remove(key);
+                totalBytes -= size;
+                return null;
+            }
+            if (pin) {
+                pins.merge(key, 1, Integer::sum);
+            }
+            return file;
+        }
+    }
+
+    private void unpin(String key) {
+        synchronized (index) {
+            pins.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
+    private File generate(String key, ResponseExportUtil.ContentWriter writer, boolean pin) throws IOException {
+        File temp = new File(directory, key + TEMP_SUFFIX);
+        File file = fileOf(key);
+        boolean success = false;
+        try {
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(temp), BUFFER_SIZE)) {
+                writer.write(out);
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            success = true;
+        } finally {
+            if (!success) {
+                temp.delete();
+            }
+        }
+        synchronized (index) {
+            Long previous = index.put(key, file.length());
+            totalBytes += file.length() - (previous == null ? 0 : previous);
+            if (pin) {
+                pins.merge(key, 1, Integer::sum);
+            }
+            evict(key);
+        }
+        return file;
+    }
+
+    /**
+     * 删除最久未使用的文件直到总大小不超过上限，刚生成的文件和正在下载的文件保留(即使总大小仍超过上限)，调用时必须持有index的锁
+     */
+    private void evict(String keep) {
+        Iterator<Map.Entry<String, Long>> it = index.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            if (eldest.getKey().equals(keep) || pins.containsKey(eldest.getKey())) {
+                continue;
+            }
+            it.remove();
+            totalBytes -= eldest.getValue();
+            if (!fileOf(eldest.getKey()).delete()) {
+                logger.warn("删除缓存文件失败：{}", eldest.getKey());
+            }
+        }
+    }
+
+    /**
+     * 加载目录中已有的缓存文件，按最后修改时间作为使用顺序，删除上次未写完的临时文件
+     */
+    private void load() {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        synchronized (index) {
+            for (File file : files) {
+                String name = file.getName();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    file.delete();
+                } else if (file.isFile() && name.endsWith(SUFFIX)) {
+                    String key = name.substring(0, name.length() - SUFFIX.length());
+                    //不是本类生成的文件不加载
+                    if (KEY.matcher(key).matches()) {
+                        index.put(key, file.length());
+                        totalBytes += file.length();
+                    }
+                }
+            }
+            evict(null);
+        }
+    }
+
+    private static void checkKey(String key) {
+        if (key == null || !KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("缓存键必须是key方法生成的64位十六进制字符串：" + key);
+        }
+    }
+
+    private File fileOf(String key) {
+        return new File(directory, key + SUFFIX);
+    }
+
+    private static File await(CompletableFuture<File> flight) throws IOException {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("等待报表生成时被中断");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("报表生成失败：" + cause.getMessage(), cause);
+        }
+    }
+}
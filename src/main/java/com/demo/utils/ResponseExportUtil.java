@@ -0,0 +1,196 @@
+package com.demo.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * @className: ResponseExportUtil
+ * @package: com.demo.utils
+ * @describe: 导出内容边生成边写入HttpServletResponse，不经过中间的临时文件。
+ *            不设置Content-Length，内容超过响应缓冲区后由容器以分块传输(chunked)发送；
+ *            只有调用方传入cacheFile时才同时写一份缓存文件，写完后改名为cacheFile，中途失败则删除
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 12:10
+ */
+public class ResponseExportUtil {
+
+    public static final Logger logger = LoggerFactory.getLogger(ResponseExportUtil.class);
+
+    public static final String XLSX_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    public static final String ZIP_CONTENT_TYPE = "application/zip";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 把内容写入输出流，不关闭输出流
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * @methodName: exportExcel
+     * @param: response  响应
+     *          fileName  下载时显示的文件名(.xlsx)
+     *          sheetName 工作表的名称
+     *          titleName 表头
+     *          headers   列表名
+     *          rows      内容，可以是MyBatis Cursor、Stream等惰性数据源的迭代器
+     *          pattern   时间类型的数据格式
+     *          cacheFile 缓存文件，为null时不落盘
+     * @describe: 以流式(SXSSF)方式导出.xlsx并直接写入响应
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 12:15
+     */
+    public static void exportExcel(HttpServletResponse response, String fileName, String sheetName, String titleName,
+                                   String[] headers, Iterator<?> rows, String pattern, File cacheFile) throws IOException {
+        export(response, XLSX_CONTENT_TYPE, fileName, cacheFile, out -> ExcelExportUtil.doExportExcelStreaming(
+                sheetName, titleName, headers, rows, out, pattern, ExcelExportUtil.DEFAULT_WINDOW_SIZE));
+    }
+
+    /**
+     * @methodName: exportCsv
+     * @param: response  响应
+     *          fileName  下载时显示的文件名(.csv)
+     *          titles    csv文件的列表头
+     *          fileds    导出对象的属性数组
+     *          rows      源数据迭代器
+     *          options   编码、分隔符、文本保持方式等参数
+     *          cacheFile 缓存文件，为null时不落盘
+     * @describe: 导出CSV并直接写入响应，返回写入的数据行数
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 12:20
+     */
+    public static <T> long exportCsv(HttpServletResponse response, String fileName, String[] titles, String[] fileds,
+                                     Iterator<? extends T> rows, CSVOptions options, File cacheFile) throws IOException {
+        long[] count = new long[1];
+        export(response, "text/csv;charset=" + options.getCharset().name(), fileName, cacheFile, out -> {
+            CSVWriter writer = CSVWriter.open(out, options);
+            count[0] = new CSVUtil<T>().writeCSV(writer, titles, fileds, rows);
+            //只刷出，响应流由容器关闭
+            writer.finish();
+        });
+        return count[0];
+    }
+
+    /**
+     * @methodName: exportZip
+     * @param: response  响应
+     *          fileName  下载时显示的文件名(.zip)
+     *          entries   条目名 -> 条目内容，按迭代顺序写入
+     *          cacheFile 缓存文件，为null时不落盘
+     *          executor  执行压缩任务的线程池，由调用方负责关闭
+     * @describe: 把多个导出内容(如多个Excel、CSV)打包成zip直接写入响应，
+     *            每个条目边生成边由ParallelZipBuilder并行压缩
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 12:25
+     */
+    public static void exportZip(HttpServletResponse response, String fileName, Map<String, ContentWriter> entries,
+                                 File cacheFile, ExecutorService executor) throws IOException {
+        export(response, ZIP_CONTENT_TYPE, fileName, cacheFile, out -> {
+            ParallelZipBuilder zip = new ParallelZipBuilder(out, executor);
+            for (Map.Entry<String, ContentWriter> entry : entries.entrySet()) {
+                try (OutputStream entryOut = zip.openEntry(entry.getKey())) {
+                    entry.getValue().write(entryOut);
+                }
+            }
+            zip.finish();
+        });
+    }
+
+    /**
+     * @methodName: export
+     * @param: response    响应
+     *          contentType 内容类型
+     *          fileName    下载时显示的文件名
+     *          cacheFile   缓存文件，为null时不落盘
+     *          writer      生成内容
+     * @describe: 设置下载的响应头后把生成的内容写入响应；响应已经开始发送后出错无法再修改状态码，异常直接抛给调用方
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 12:30
+     */
+    public static void export(HttpServletResponse response, String contentType, String fileName, File cacheFile,
+                              ContentWriter writer) throws IOException {
+        response.setContentType(contentType);
+        response.setHeader("Content-Disposition", "attachment;  filename="
+                + new String(fileName.getBytes("GBK"), "ISO8859-1"));
+        OutputStream out = new BufferedOutputStream(response.getOutputStream(), BUFFER_SIZE);
+        if (cacheFile == null) {
+            writer.write(out);
+            out.flush();
+            return;
+        }
+        //同一个缓存文件的并发导出各写各的临时文件，放在同一目录下以便原子替换
+        File temp = File.createTempFile("." + cacheFile.getName() + ".", ".tmp", cacheFile.getAbsoluteFile().getParentFile());
+        boolean success = false;
+        try (OutputStream cache = new BufferedOutputStream(new FileOutputStream(temp), BUFFER_SIZE)) {
+            TeeOutputStream tee = new TeeOutputStream(out, cache);
+            writer.write(tee);
+            tee.flush();
+            success = true;
+        } finally {
+            if (!success && !temp.delete()) {
+                logger.warn("删除未写完的缓存文件失败：{}", temp.getPath());
+            }
+        }
+        Files.move(temp.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * 同时写入响应和缓存文件；close只关闭缓存文件一侧，响应流由容器关闭
+     */
+    private static final class TeeOutputStream extends OutputStream {
+
+        private final OutputStream primary;
+
+        private final OutputStream copy;
+
+        private TeeOutputStream(OutputStream primary, OutputStream copy) {
+            this.primary = primary;
+            this.copy = copy;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            primary.write(b);
+            copy.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            primary.write(b, off, len);
+            copy.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            primary.flush();
+            copy.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+            copy.close();
+        }
+    }
+}
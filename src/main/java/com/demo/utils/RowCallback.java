@@ -0,0 +1,34 @@
+package com.demo.utils;
+
+/**
+ * @className: RowCallback
+ * @package: com.demo.utils
+ * @describe: 流式读取Excel时逐行回调
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 1:50
+ */
+@FunctionalInterface
+public interface RowCallback {
+
+    /**
+     * @methodName: onRow
+     * @param: [row 当前行，读取器会复用该对象，回调返回后内容即失效]
+     * @describe: 处理一行数据，返回false时停止读取后续的行
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 1:50
+     */
+    boolean onRow(SheetRow row);
+
+    /**
+     * @methodName: onHeader
+     * @param: [header 表头行，同样会被复用]
+     * @describe: 读到ImportOptions中指定的表头行时回调，表头行不再作为数据行回调
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 2:25
+     */
+    default void onHeader(SheetRow header) {
+    }
+}
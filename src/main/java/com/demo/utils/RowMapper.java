@@ -0,0 +1,122 @@
+package com.demo.utils;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * @className: RowMapper
+ * @package: com.demo.utils
+ * @describe: 将流式读取的一行转换为对象。创建时按{@link ColumnPlan}一次性确定每一列对应的属性和转换器槽位，
+ *            转换时按单元格的实际类型取转换器，直接把原始值写入属性
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 4:50
+ */
+public final class RowMapper {
+
+    private static final Logger logger = LoggerFactory.getLogger(RowMapper.class);
+
+    private final BeanSchema schema;
+
+    private final CellConverters converters;
+
+    //列号 -> 属性，不需要赋值的列为null
+    private final BeanProperty[] columns;
+
+    //列号 -> 属性类型对应的转换器槽位
+    private final CellConverters.Slot[] slots;
+
+    //列号 -> 标注中指定的转换器，没有指定时为null
+    private final CellConverter<?>[] fixed;
+
+    public RowMapper(Class<?> clazz) {
+        this(ColumnPlan.of(clazz), CellConverters.getDefault());
+    }
+
+    public RowMapper(Class<?> clazz, CellConverters converters) {
+        this(ColumnPlan.of(clazz), converters);
+    }
+
+    public RowMapper(ColumnPlan plan, CellConverters converters) {
+        this.schema = BeanSchema.of(plan.getType());
+        this.converters = converters;
+        this.columns = new BeanProperty[plan.getWidth()];
+        this.slots = new CellConverters.Slot[plan.getWidth()];
+        this.fixed = new CellConverter<?>[plan.getWidth()];
+        for (ColumnPlan.Column column : plan.getColumns()) {
+            BeanProperty property = column.getProperty();
+            if (property.isWritable()) {
+                int i = column.getIndex();
+                columns[i] = property;
+                slots[i] = converters.slot(property.getType());
+                fixed[i] = column.getConverter();
+            }
+        }
+    }
+
+    /**
+     * @methodName: bind
+     * @param: [header 表头行]
+     * @describe: 按表头的列名确定列号，返回新的转换器；表头只在这里解析一次，转换每一行时不再查找
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 2:20
+     */
+    public RowMapper bind(SheetRow header) {
+        return new RowMapper(ColumnPlan.of(schema.getType()).bind(header), converters);
+    }
+
+    /**
+     * @methodName: map
+     * @param: [row 当前行]
+     * @describe: 创建对象并为各属性赋值，空单元格不赋值，转换失败的单元格计数后跳过
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 4:55
+     */
+    public Object map(SheetRow row) {
+        return map(row, null);
+    }
+
+    /**
+     * @methodName: map
+     * @param: row    当前行
+     *          report 错误报告，为null时与map(row)相同
+     * @describe: 校验转换：转换失败的单元格(行、列、原始值、原因)记录到报告，继续转换其余的列以收集整行的错误；
+     *            该行有错误时返回null
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 6:20
+     */
+    public Object map(SheetRow row, ImportErrorReport report) {
+        Object bean = schema.newInstance();
+        boolean valid = true;
+        int width = Math.min(columns.length, row.size());
+        for (int i = 0; i < width; i++) {
+            BeanProperty property = columns[i];
+            int cellType = row.getCellType(i);
+            if (property == null || cellType == Cell.CELL_TYPE_BLANK
+                    || (cellType == Cell.CELL_TYPE_STRING && row.getString(i).isEmpty())) {
+                continue;
+            }
+            try {
+                property.setConverted(bean, fixed[i] != null ? fixed[i] : slots[i].get(cellType), row, i);
+            } catch (IllegalArgumentException e) {
+                ExcelMetrics.conversionError(property.getType());
+                if (report != null) {
+                    report.add(row.getRowNum(), i, row.getText(i), e.getMessage());
+                    valid = false;
+                } else if (logger.isTraceEnabled()) {
+                    //逐个单元格的日志只在trace级别输出，失败数看excel.conversion.errors指标
+                    logger.trace("第{}行第{}列赋值给属性 {} 失败：{}", row.getRowNum() + 1, i + 1, property.getName(), e.getMessage());
+                }
+            }
+        }
+        if (!valid) {
+            report.invalidRow();
+            return null;
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,91 @@
+package com.demo.utils;
+
+import java.util.function.Predicate;
+
+/**
+ * @className: RowRangeFilter
+ * @package: com.demo.utils
+ * @describe: 按起始行/结束行过滤流式读取的行。结束行为负数时按行号去掉末尾的|endRow|行，
+ *            与原来按getLastRowNum() + endRow截取的结果相同：读取器把每一行(包括空行)都交给本过滤器，
+ *            读到行号为n的行时，行号不超过n + endRow的缓冲行一定保留，依次输出；读到文件末尾时缓冲区中剩下的行即为要去掉的行。
+ *            去掉哪些行只取决于行号，与列投影无关。空行在计入行号之后才丢弃；
+ *            表头行交给onHeader，不作为数据行，并用它确定按列名指定的列投影；
+ *            范围内的行再按ImportOptions的行过滤条件筛选，不满足的行不交给下游
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 2:00
+ */
+final class RowRangeFilter implements RowCallback {
+
+    private final RowCallback delegate;
+
+    private final int startRow;
+
+    private final int endRow;
+
+    private final int headerRow;
+
+    private final ColumnProjection projection;
+
+    private final Predicate<SheetRow> rowFilter;
+
+    //是否丢弃空行：Excel的空行(或投影中的列都为空的行)不输出，CSV的空字段行照常输出
+    private final boolean skipEmpty;
+
+    private final SheetRow[] ring;
+
+    private int head;
+
+    private int count;
+
+    RowRangeFilter(RowCallback delegate, ImportOptions options, ColumnProjection projection, boolean skipEmpty) {
+        this.delegate = delegate;
+        this.startRow = options.getStartRow();
+        this.endRow = options.getEndRow();
+        this.headerRow = options.getHeaderRow();
+        this.projection = projection;
+        this.rowFilter = options.getRowFilter();
+        this.skipEmpty = skipEmpty;
+        this.ring = endRow < 0 ? new SheetRow[-endRow] : null;
+    }
+
+    @Override
+    public boolean onRow(SheetRow row) {
+        int rowNum = row.getRowNum();
+        //读到第rowNum行，说明行号不超过rowNum + endRow的缓冲行不在末尾要去掉的范围内
+        while (count > 0 && ring[head].getRowNum() <= rowNum + endRow) {
+            boolean proceed = emit(ring[head]);
+            head = (head + 1) % ring.length;
+            count--;
+            if (!proceed) {
+                return false;
+            }
+        }
+        if (rowNum == headerRow) {
+            projection.bind(row);
+            delegate.onHeader(row);
+            return true;
+        }
+        if (rowNum < startRow || (skipEmpty && row.isEmpty())) {
+            return true;
+        }
+        if (endRow > 0 && rowNum > endRow) {
+            return false;
+        }
+        if (ring == null) {
+            return emit(row);
+        }
+        //缓冲区中的行号都在(rowNum + endRow, rowNum)之间且互不相同，不会超过|endRow|行
+        int slot = (head + count) % ring.length;
+        if (ring[slot] == null) {
+            ring[slot] = new SheetRow();
+        }
+        ring[slot].copyFrom(row);
+        count++;
+        return true;
+    }
+
+    private boolean emit(SheetRow row) {
+        return rowFilter == null || rowFilter.test(row) ? delegate.onRow(row) : true;
+    }
+}
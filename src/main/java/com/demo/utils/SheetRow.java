@@ -0,0 +1,209 @@
+package com.demo.utils;
+
+import org.apache.poi.ss.usermodel.Cell;
+
+import java.util.Arrays;
+
+/**
+ * @className: SheetRow
+ * @package: com.demo.utils
+ * @describe: 流式读取时的一行数据。读取器在整个读取过程中复用同一个对象，
+ *            回调返回后内容即被下一行覆盖，需要保留时请调用{@link #copy()}
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 1:30
+ */
+public final class SheetRow {
+
+    private int rowNum;
+
+    //最后一个有值单元格的列号 + 1
+    private int size;
+
+    //单元格类型，取值为Cell.CELL_TYPE_*，公式单元格记录的是缓存结果的类型
+    private int[] types;
+
+    //数值单元格的值，布尔单元格以1/0存放，错误单元格存放错误码
+    private double[] numbers;
+
+    private String[] strings;
+
+    //数值单元格是否使用了日期格式
+    private boolean[] dates;
+
+    public SheetRow() {
+        this(16);
+    }
+
+    public SheetRow(int capacity) {
+        types = new int[capacity];
+        numbers = new double[capacity];
+        strings = new String[capacity];
+        dates = new boolean[capacity];
+        Arrays.fill(types, Cell.CELL_TYPE_BLANK);
+    }
+
+    /**
+     * @methodName: reset
+     * @param: [rowNum 行号(从0开始)]
+     * @describe: 清空内容，开始填充新的一行
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 1:35
+     */
+    public void reset(int rowNum) {
+        for (int i = 0; i < size; i++) {
+            types[i] = Cell.CELL_TYPE_BLANK;
+            strings[i] = null;
+            dates[i] = false;
+        }
+        this.rowNum = rowNum;
+        this.size = 0;
+    }
+
+    public void setNumeric(int column, double value, boolean date) {
+        ensureColumn(column);
+        types[column] = Cell.CELL_TYPE_NUMERIC;
+        numbers[column] = value;
+        dates[column] = date;
+    }
+
+    public void setString(int column, String value) {
+        ensureColumn(column);
+        types[column] = Cell.CELL_TYPE_STRING;
+        strings[column] = value;
+    }
+
+    public void setBoolean(int column, boolean value) {
+        ensureColumn(column);
+        types[column] = Cell.CELL_TYPE_BOOLEAN;
+        numbers[column] = value ? 1 : 0;
+    }
+
+    public void setError(int column, int errorCode) {
+        ensureColumn(column);
+        types[column] = Cell.CELL_TYPE_ERROR;
+        numbers[column] = errorCode;
+    }
+
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    /**
+     * 行的宽度，即最后一个有值单元格的列号 + 1
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getCellType(int column) {
+        return column < size ? types[column] : Cell.CELL_TYPE_BLANK;
+    }
+
+    public boolean isBlank(int column) {
+        return getCellType(column) == Cell.CELL_TYPE_BLANK;
+    }
+
+    public double getNumber(int column) {
+        return numbers[column];
+    }
+
+    public boolean getBoolean(int column) {
+        return numbers[column] != 0;
+    }
+
+    public String getString(int column) {
+        return column < size ? strings[column] : null;
+    }
+
+    /**
+     * 数值单元格是否为日期格式
+     */
+    public boolean isDate(int column) {
+        return column < size && dates[column];
+    }
+
+    /**
+     * @methodName: getText
+     * @param: [column 列号]
+     * @describe: 以字符串形式获取单元格的值，与ExcelImportUtil.getCellValue的结果保持一致，空单元格返回""
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 1:40
+     */
+    public String getText(int column) {
+        switch (getCellType(column)) {
+            case Cell.CELL_TYPE_STRING:
+                return strings[column];
+            case Cell.CELL_TYPE_NUMERIC:
+                return String.valueOf(numbers[column]);
+            case Cell.CELL_TYPE_BOOLEAN:
+                return String.valueOf(numbers[column] != 0);
+            case Cell.CELL_TYPE_ERROR:
+                return String.valueOf((byte) numbers[column]);
+            default:
+                return "";
+        }
+    }
+
+    /**
+     * @methodName: copyFrom
+     * @param: [other 另一行]
+     * @describe: 复制另一行的内容，复用本对象已分配的数组
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 1:45
+     */
+    public void copyFrom(SheetRow other) {
+        reset(other.rowNum);
+        if (other.size > 0) {
+            ensureColumn(other.size - 1);
+        }
+        System.arraycopy(other.types, 0, types, 0, other.size);
+        System.arraycopy(other.numbers, 0, numbers, 0, other.size);
+        System.arraycopy(other.strings, 0, strings, 0, other.size);
+        System.arraycopy(other.dates, 0, dates, 0, other.size);
+        size = other.size;
+    }
+
+    /**
+     * 复制出一个独立的行，用于在回调之外保留数据
+     */
+    public SheetRow copy() {
+        SheetRow row = new SheetRow(Math.max(size, 1));
+        row.copyFrom(this);
+        return row;
+    }
+
+    private void ensureColumn(int column) {
+        if (column >= types.length) {
+            int capacity = Math.max(column + 1, types.length * 2);
+            int oldLength = types.length;
+            types = Arrays.copyOf(types, capacity);
+            Arrays.fill(types, oldLength, capacity, Cell.CELL_TYPE_BLANK);
+            numbers = Arrays.copyOf(numbers, capacity);
+            strings = Arrays.copyOf(strings, capacity);
+            dates = Arrays.copyOf(dates, capacity);
+        }
+        if (column >= size) {
+            size = column + 1;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder().append(rowNum).append(": [");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(getText(i));
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -0,0 +1,74 @@
+package com.demo.utils;
+
+/**
+ * @className: SheetTiming
+ * @package: com.demo.utils
+ * @describe: 并行导入时单个工作表的统计信息
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 5:30
+ */
+public class SheetTiming {
+
+    private final String fileName;
+
+    private final int sheetIndex;
+
+    private final String sheetName;
+
+    private int rowCount;
+
+    //解析工作表(读取文件、拆分成行)的耗时
+    private long parseMillis;
+
+    //各分块转换为对象的耗时之和
+    private long mapMillis;
+
+    public SheetTiming(String fileName, int sheetIndex, String sheetName) {
+        this.fileName = fileName;
+        this.sheetIndex = sheetIndex;
+        this.sheetName = sheetName;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public int getSheetIndex() {
+        return sheetIndex;
+    }
+
+    public String getSheetName() {
+        return sheetName;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    void setRowCount(int rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    public long getParseMillis() {
+        return parseMillis;
+    }
+
+    void setParseMillis(long parseMillis) {
+        this.parseMillis = parseMillis;
+    }
+
+    public long getMapMillis() {
+        return mapMillis;
+    }
+
+    void setMapMillis(long mapMillis) {
+        this.mapMillis = mapMillis;
+    }
+
+    @Override
+    public String toString() {
+        return fileName + "[" + sheetIndex + ":" + sheetName + "] rows=" + rowCount
+                + ", parse=" + parseMillis + "ms, map=" + mapMillis + "ms";
+    }
+}
@@ -0,0 +1,18 @@
+package com.demo.utils;
+
+/**
+ * @className: StopReadingException
+ * @package: com.demo.utils
+ * @describe: 回调要求停止时用于中断POI的事件解析，不记录堆栈
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 2:05
+ */
+final class StopReadingException extends RuntimeException {
+
+    static final StopReadingException INSTANCE = new StopReadingException();
+
+    private StopReadingException() {
+        super("stop reading", null, false, false);
+    }
+}
@@ -0,0 +1,149 @@
+package com.demo.utils;
+
+/**
+ * @className: StringDictionary
+ * @package: com.demo.utils
+ * @describe: 导入时的字符串字典，让重复出现的单元格值(状态码、机构名称、币种等)共用同一个String对象。
+ *            共享字符串表(.xlsx的sharedStrings、.xls的SST)中的值读取器本来就按序号返回同一个对象，不经过字典；
+ *            其余的值(内联字符串、公式结果、CSV字段)按内容查找有界的驻留表，读取器用可复用的缓冲区查找，
+ *            命中时不创建新的String。驻留表满了以后新值不再加入，超过maxLength的长文本不参与驻留。
+ *            一次导入使用一个字典，导入结束后可以查看命中率和节省的内存；方法是同步的，并行导入的多个工作表可以共用
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 8:40
+ */
+public final class StringDictionary {
+
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    public static final int DEFAULT_MAX_LENGTH = 64;
+
+    private final int maxEntries;
+
+    private final int maxLength;
+
+    //开放寻址的驻留表，容量为2的幂，首次使用时分配
+    private String[] table;
+
+    private int size;
+
+    private long lookups;
+
+    private long hits;
+
+    private long bytesSaved;
+
+    public StringDictionary() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * @param maxEntries 驻留表最多保存的不同值的个数
+     * @param maxLength  参与驻留的最大长度(字符数)
+     */
+    public StringDictionary(int maxEntries, int maxLength) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries必须大于0");
+        }
+        if (maxLength <= 0) {
+            throw new IllegalArgumentException("maxLength必须大于0");
+        }
+        this.maxEntries = maxEntries;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * @methodName: intern
+     * @param: [chars 单元格的文本，可以是读取器复用的StringBuilder/CharBuffer]
+     * @describe: 返回与chars内容相同的字符串：已在驻留表中时返回表中的对象，否则创建新的字符串并在表未满时加入
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 8:45
+     */
+    public synchronized String intern(CharSequence chars) {
+        int length = chars.length();
+        if (length > maxLength) {
+            return chars.toString();
+        }
+        lookups++;
+        if (table == null) {
+            table = new String[tableSize(maxEntries)];
+        }
+        int mask = table.length - 1;
+        int slot = hash(chars) & mask;
+        String value;
+        while ((value = table[slot]) != null) {
+            if (value.length() == length && value.contentEquals(chars)) {
+                hit(value);
+                return value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        value = chars.toString();
+        if (size < maxEntries) {
+            table[slot] = value;
+            size++;
+        }
+        return value;
+    }
+
+    /**
+     * 查找驻留表的次数，超过maxLength的长文本不计
+     */
+    public synchronized long getLookups() {
+        return lookups;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized double getHitRate() {
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * 相对于每个单元格都创建新的String，命中节省的内存(字节，按String对象头和char[]估算)
+     */
+    public synchronized long getBytesSaved() {
+        return bytesSaved;
+    }
+
+    /**
+     * 驻留表中不同值的个数
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("StringDictionary{lookups=%d, hits=%d, hitRate=%.2f%%, bytesSaved=%d, size=%d}",
+                lookups, hits, getHitRate() * 100, bytesSaved, size);
+    }
+
+    private void hit(String value) {
+        hits++;
+        //String对象24字节 + char[]数组头16字节和字符，按8字节对齐
+        bytesSaved += 24 + ((16 + value.length() * 2L + 7) & ~7L);
+    }
+
+    /**
+     * 与String.hashCode相同的算法，再把高位混入低位
+     */
+    private static int hash(CharSequence chars) {
+        int h = 0;
+        for (int i = 0; i < chars.length(); i++) {
+            h = 31 * h + chars.charAt(i);
+        }
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * 装载因子不超过0.5的2的幂
+     */
+    private static int tableSize(int maxEntries) {
+        int size = Integer.highestOneBit(maxEntries) << 2;
+        return Math.max(size, 16);
+    }
+}
@@ -0,0 +1,297 @@
+package com.demo.utils;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * @className: XlsxRowReader
+ * @package: com.demo.utils
+ * @describe: 基于SAX的.xlsx流式读取器。参照XSSFSheetXMLHandler的做法解析sheet.xml，
+ *            但直接保留单元格的原始类型(数值/布尔/字符串)，不经过DataFormatter格式化成字符串，
+ *            内存中只保留共享字符串表、样式表和当前行
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 2:40
+ */
+final class XlsxRowReader extends DefaultHandler {
+
+    private final ReadOnlySharedStringsTable sharedStrings;
+
+    private final StylesTable styles;
+
+    private final ColumnProjection projection;
+
+    //字符串字典，null表示不使用
+    private final StringDictionary dictionary;
+
+    private final RowCallback callback;
+
+    private final SheetRow row = new SheetRow();
+
+    //按样式序号缓存是否为日期格式(0:未判断 1:是 2:否)
+    private byte[] dateStyles = new byte[64];
+
+    //<v>/<t>中的文本，复用同一个缓冲区
+    private final StringBuilder text = new StringBuilder(64);
+
+    private boolean collectingText;
+
+    private int nextRowNum;
+
+    private int column;
+
+    private int nextColumn;
+
+    private String cellType;
+
+    private int styleIndex;
+
+    private boolean hasValue;
+
+    //当前单元格不在列投影中
+    private boolean skipCell;
+
+    private XlsxRowReader(ReadOnlySharedStringsTable sharedStrings, StylesTable styles, ColumnProjection projection,
+                          StringDictionary dictionary, RowCallback callback) {
+        this.sharedStrings = sharedStrings;
+        this.styles = styles;
+        this.projection = projection;
+        this.dictionary = dictionary;
+        this.callback = callback;
+    }
+
+    /**
+     * @methodName: read
+     * @param: file       .xlsx文件
+     *          sheetIndex 工作表序号
+     *          projection 列投影，不在投影中的单元格不收集文本
+     *          dictionary 字符串字典，内联字符串和公式的字符串结果按内容驻留，可以为null
+     *          callback   逐行回调，空行也回调(由RowRangeFilter计入行号后丢弃)
+     * @describe: 流式读取指定工作表，返回是否读到了该工作表
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 2:45
+     */
+    static boolean read(File file, int sheetIndex, ColumnProjection projection, StringDictionary dictionary, RowCallback callback) throws IOException {
+        OPCPackage pkg = open(file);
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            for (int i = 0; sheets.hasNext(); i++) {
+                InputStream sheet = sheets.next();
+                try {
+                    if (i == sheetIndex) {
+                        XlsxRowReader handler = new XlsxRowReader(new ReadOnlySharedStringsTable(pkg), reader.getStylesTable(),
+                                projection, dictionary, callback);
+                        handler.parse(sheet);
+                        return true;
+                    }
+                } finally {
+                    sheet.close();
+                }
+            }
+            return false;
+        } catch (OpenXML4JException e) {
+            throw new IOException("文件 " + file.getName() + " 不是有效的.xlsx文件: " + e.getMessage(), e);
+        } catch (SAXException e) {
+            throw new IOException("文件 " + file.getName() + " 解析失败: " + e.getMessage(), e);
+        } finally {
+            //只读打开的包不能保存，用revert关闭
+            pkg.revert();
+        }
+    }
+
+    /**
+     * 读取所有工作表的名称
+     */
+    static List<String> readSheetNames(File file) throws IOException {
+        OPCPackage pkg = open(file);
+        try {
+            List<String> names = new ArrayList<String>();
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) new XSSFReader(pkg).getSheetsData();
+            while (sheets.hasNext()) {
+                sheets.next().close();
+                names.add(sheets.getSheetName());
+            }
+            return names;
+        } catch (OpenXML4JException e) {
+            throw new IOException("文件 " + file.getName() + " 不是有效的.xlsx文件: " + e.getMessage(), e);
+        } finally {
+            pkg.revert();
+        }
+    }
+
+    /**
+     * @methodName: parseFragment
+     * @param: xml        XlsxSheetSplitter拆分出的一段(拼上工作表开头和结尾后的完整XML)
+     *          fileName   文件名，用于错误信息
+     *          firstRow   段中第一行在工作表中的序号，行没有r属性时作为行号
+     *          其余参数同read
+     * @describe: 解析工作表的一段，共享字符串表和样式表由各段共用
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 9:20
+     */
+    static void parseFragment(InputStream xml, String fileName, ReadOnlySharedStringsTable sharedStrings, StylesTable styles, int firstRow,
+                              ColumnProjection projection, StringDictionary dictionary, RowCallback callback) throws IOException {
+        XlsxRowReader handler = new XlsxRowReader(sharedStrings, styles, projection, dictionary, callback);
+        handler.nextRowNum = firstRow;
+        try {
+            handler.parse(xml);
+        } catch (SAXException e) {
+            throw new IOException("文件 " + fileName + " 解析失败: " + e.getMessage(), e);
+        }
+    }
+
+    private static OPCPackage open(File file) throws IOException {
+        try {
+            return OPCPackage.open(file, PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            throw new IOException("文件 " + file.getName() + " 不是有效的.xlsx文件: " + e.getMessage(), e);
+        }
+    }
+
+    private void parse(InputStream sheet) throws IOException, SAXException {
+        XMLReader xmlReader;
+        try {
+            //SAXParserFactory不保证线程安全，每次读取单独创建
+            SAXParserFactory factory = SAXParserFactory.newInstance();
+            factory.setNamespaceAware(true);
+            //上传的文件不可信：工作表XML中不允许DOCTYPE，也不解析外部实体，防止XXE
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setXIncludeAware(false);
+            xmlReader = factory.newSAXParser().getXMLReader();
+        } catch (ParserConfigurationException e) {
+            throw new SAXException(e);
+        }
+        xmlReader.setContentHandler(this);
+        try {
+            xmlReader.parse(new InputSource(sheet));
+        } catch (StopReadingException e) {
+            //回调要求停止读取
+        } catch (SAXException e) {
+            if (!(e.getException() instanceof StopReadingException)) {
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+        if ("c".equals(localName)) {
+            String ref = attributes.getValue("r");
+            column = ref == null ? nextColumn : columnIndex(ref);
+            nextColumn = column + 1;
+            cellType = attributes.getValue("t");
+            String style = attributes.getValue("s");
+            styleIndex = style == null ? -1 : Integer.parseInt(style);
+            hasValue = false;
+            skipCell = projection.skips(row.getRowNum(), column);
+            text.setLength(0);
+        } else if ("v".equals(localName) || ("t".equals(localName) && "inlineStr".equals(cellType))) {
+            //不在投影中的单元格不收集文本
+            collectingText = !skipCell;
+        } else if ("row".equals(localName)) {
+            String r = attributes.getValue("r");
+            int rowNum = r == null ? nextRowNum : Integer.parseInt(r) - 1;
+            nextRowNum = rowNum + 1;
+            nextColumn = 0;
+            row.reset(rowNum);
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        if (collectingText) {
+            text.append(ch, start, length);
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) {
+        if ("v".equals(localName) || ("t".equals(localName) && collectingText)) {
+            collectingText = false;
+            hasValue = true;
+        } else if ("c".equals(localName)) {
+            if (hasValue && !skipCell) {
+                setCellValue();
+            }
+        } else if ("row".equals(localName)) {
+            //空行也交给回调，结束行为负数时按行号截取需要知道所有行的行号
+            if (!callback.onRow(row)) {
+                throw StopReadingException.INSTANCE;
+            }
+        }
+    }
+
+    private void setCellValue() {
+        if (cellType == null || "n".equals(cellType)) {
+            row.setNumeric(column, Double.parseDouble(text.toString()), isDateStyle(styleIndex));
+        } else if ("s".equals(cellType)) {
+            //共享字符串表中同一序号返回的本来就是同一个对象，不经过字典
+            row.setString(column, sharedStrings.getEntryAt(Integer.parseInt(text.toString())));
+        } else if ("b".equals(cellType)) {
+            row.setBoolean(column, text.length() == 1 && text.charAt(0) == '1');
+        } else if ("e".equals(cellType)) {
+            row.setError(column, 0);
+        } else {
+            //inlineStr、str(公式的字符串结果)，使用字典时直接用缓冲区查找，命中时不创建字符串
+            row.setString(column, dictionary == null ? text.toString() : dictionary.intern(text));
+        }
+    }
+
+    private boolean isDateStyle(int index) {
+        if (index < 0) {
+            return false;
+        }
+        if (index >= dateStyles.length) {
+            dateStyles = Arrays.copyOf(dateStyles, Math.max(index + 1, dateStyles.length * 2));
+        }
+        if (dateStyles[index] == 0) {
+            XSSFCellStyle style = styles.getStyleAt(index);
+            boolean date = style != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+            dateStyles[index] = date ? (byte) 1 : (byte) 2;
+        }
+        return dateStyles[index] == 1;
+    }
+
+    /**
+     * 将单元格引用(如"AB12")的列字母转换为列号(从0开始)
+     */
+    private static int columnIndex(String ref) {
+        int index = 0;
+        for (int i = 0; i < ref.length(); i++) {
+            char c = ref.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            index = index * 26 + (c - 'A' + 1);
+        }
+        return index - 1;
+    }
+}
@@ -0,0 +1,308 @@
+package com.demo.utils;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.xml.sax.SAXException;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * @className: XlsxSheetSplitter
+ * @package: com.demo.utils
+ * @describe: 把.xlsx工作表的XML按行拆成若干段，供并行导入按行范围并行解析。
+ *            拆分时只扫描字节查找&lt;row&gt;开始标签，不做XML解析；每段前面拼上工作表开头(到&lt;sheetData&gt;为止)、
+ *            后面拼上结束标签，就是一个完整的XML文档，可以在不同线程中用XlsxRowReader独立解析。
+ *            共享字符串表和样式表只加载一次，各段共用(加载后只读)
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 9:15
+ */
+final class XlsxSheetSplitter {
+
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    private final String fileName;
+
+    private final ReadOnlySharedStringsTable sharedStrings;
+
+    private final StylesTable styles;
+
+    private final InputStream in;
+
+    private byte[] buffer = new byte[BLOCK_SIZE];
+
+    private int length;
+
+    private boolean eof;
+
+    private XlsxSheetSplitter(String fileName, ReadOnlySharedStringsTable sharedStrings, StylesTable styles, InputStream in) {
+        this.fileName = fileName;
+        this.sharedStrings = sharedStrings;
+        this.styles = styles;
+        this.in = in;
+    }
+
+    /**
+     * @methodName: split
+     * @param: file            .xlsx文件
+     *          sheetIndex      工作表序号
+     *          rowsPerFragment 每段的行数(空行也计入)
+     *          maxRows         只需要前maxRows行时提前结束拆分，不限制时为Integer.MAX_VALUE
+     *          consumer        按顺序接收拆分出的各段
+     * @describe: 拆分指定的工作表，返回是否拆分了；工作表不存在或XML不是UTF-8等与ASCII兼容的编码时返回false，
+     *            调用方改为顺序读取(并由顺序读取报告工作表不存在)
+     * @auther: liuzhiyong
+     * @date: 2026/10/19
+     * @time: 上午 9:15
+     */
+    static boolean split(File file, int sheetIndex, int rowsPerFragment, int maxRows, Consumer<Fragment> consumer) throws IOException {
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(file, PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            throw new IOException("文件 " + file.getName() + " 不是有效的.xlsx文件: " + e.getMessage(), e);
+        }
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            for (int i = 0; sheets.hasNext(); i++) {
+                InputStream sheet = sheets.next();
+                try {
+                    if (i == sheetIndex) {
+                        return new XlsxSheetSplitter(file.getName(), new ReadOnlySharedStringsTable(pkg), reader.getStylesTable(), sheet)
+                                .split(rowsPerFragment, maxRows, consumer);
+                    }
+                } finally {
+                    sheet.close();
+                }
+            }
+            return false;
+        } catch (OpenXML4JException e) {
+            throw new IOException("文件 " + file.getName() + " 不是有效的.xlsx文件: " + e.getMessage(), e);
+        } catch (SAXException e) {
+            throw new IOException("文件 " + file.getName() + " 解析失败: " + e.getMessage(), e);
+        } finally {
+            pkg.revert();
+        }
+    }
+
+    private boolean split(int rowsPerFragment, int maxRows, Consumer<Fragment> consumer) throws IOException {
+        boolean more = true;
+        while (length < 2 && more) {
+            more = fill();
+        }
+        //UTF-16的文件头(BOM或第一个字符的高位字节为0)，不能按字节查找标签
+        if (length >= 2 && (buffer[0] == 0 || buffer[1] == 0 || (buffer[0] & 0xFF) == 0xFE || (buffer[0] & 0xFF) == 0xFF)) {
+            return false;
+        }
+        int headEnd;
+        while ((headEnd = findHeadEnd()) < 0) {
+            //没有sheetData(如图表工作表)：没有任何行
+            if (!fill()) {
+                return true;
+            }
+        }
+        String root = rootName();
+        String prefix = root.substring(0, root.indexOf(':') + 1);
+        //<sheetData/>：没有任何行
+        if (buffer[headEnd - 2] == '/') {
+            return true;
+        }
+        byte[] head = Arrays.copyOf(buffer, headEnd);
+        byte[] tail = ("</" + prefix + "sheetData></" + root + ">").getBytes(StandardCharsets.US_ASCII);
+        byte[] rowTag = ("<" + prefix + "row").getBytes(StandardCharsets.US_ASCII);
+        byte[] endTag = ("</" + prefix + "sheetData>").getBytes(StandardCharsets.US_ASCII);
+        //判断一个'<'是哪个标签最多需要看的字节数
+        int lookahead = endTag.length + 1;
+        //当前段的起始位置、行数和第一行的序号
+        int start = headEnd;
+        int rows = 0;
+        int firstRow = 0;
+        int scan = headEnd;
+        while (true) {
+            for (; scan < length && (eof || scan + lookahead <= length); scan++) {
+                if (buffer[scan] != '<') {
+                    continue;
+                }
+                if (startsWith(scan, endTag)) {
+                    if (rows > 0) {
+                        consumer.accept(fragment(head, Arrays.copyOfRange(buffer, start, scan), tail, firstRow, rows));
+                    }
+                    return true;
+                }
+                if (isTag(scan, rowTag)) {
+                    if (rows == rowsPerFragment) {
+                        consumer.accept(fragment(head, Arrays.copyOfRange(buffer, start, scan), tail, firstRow, rows));
+                        firstRow += rows;
+                        rows = 0;
+                        start = scan;
+                        if (firstRow >= maxRows) {
+                            return true;
+                        }
+                    }
+                    rows++;
+                }
+            }
+            if (eof) {
+                throw new IOException("文件 " + fileName + " 的工作表XML不完整");
+            }
+            //已经交出去的字节不再需要
+            if (start > 0 && length == buffer.length) {
+                System.arraycopy(buffer, start, buffer, 0, length - start);
+                length -= start;
+                scan -= start;
+                start = 0;
+            }
+            fill();
+        }
+    }
+
+    private Fragment fragment(byte[] head, byte[] body, byte[] tail, int firstRow, int rowCount) {
+        return new Fragment(fileName, sharedStrings, styles, head, body, tail, firstRow, rowCount);
+    }
+
+    /**
+     * 读入更多字节，缓冲区满时扩容，返回是否读到了数据
+     */
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        if (length == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int n = in.read(buffer, length, buffer.length - length);
+        if (n < 0) {
+            eof = true;
+            return false;
+        }
+        length += n;
+        return true;
+    }
+
+    /**
+     * 工作表开头(到&lt;sheetData&gt;开始标签为止)的长度，缓冲区中还没有完整的开始标签时返回-1
+     */
+    private int findHeadEnd() {
+        String root = rootName();
+        if (root == null) {
+            return -1;
+        }
+        byte[] tag = ("<" + root.substring(0, root.indexOf(':') + 1) + "sheetData").getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < length; i++) {
+            if (buffer[i] == '<' && isTag(i, tag)) {
+                for (int j = i + tag.length; j < length; j++) {
+                    if (buffer[j] == '>') {
+                        return j + 1;
+                    }
+                }
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 根元素的名称(可能带命名空间前缀，如"x:worksheet")，缓冲区中还没有根元素时返回null
+     */
+    private String rootName() {
+        for (int i = 0; i + 1 < length; i++) {
+            //跳过XML声明、注释和处理指令
+            if (buffer[i] != '<' || buffer[i + 1] == '?' || buffer[i + 1] == '!') {
+                continue;
+            }
+            for (int j = i + 1; j < length; j++) {
+                if (isDelimiter(buffer[j])) {
+                    return new String(buffer, i + 1, j - i - 1, StandardCharsets.US_ASCII);
+                }
+            }
+            return null;
+        }
+        return null;
+    }
+
+    private boolean startsWith(int position, byte[] pattern) {
+        if (position + pattern.length > length) {
+            return false;
+        }
+        for (int i = 0; i < pattern.length; i++) {
+            if (buffer[position + i] != pattern[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * position处是名称为pattern的开始标签(名称之后是空白、'&gt;'或'/')
+     */
+    private boolean isTag(int position, byte[] pattern) {
+        int end = position + pattern.length;
+        return end < length && startsWith(position, pattern) && isDelimiter(buffer[end]);
+    }
+
+    private static boolean isDelimiter(byte b) {
+        return b == ' ' || b == '>' || b == '/' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    /**
+     * 拆分出的一段行
+     */
+    static final class Fragment {
+
+        private final String fileName;
+
+        private final ReadOnlySharedStringsTable sharedStrings;
+
+        private final StylesTable styles;
+
+        private final byte[] head;
+
+        private final byte[] body;
+
+        private final byte[] tail;
+
+        //段中第一行在工作表中的序号，行没有r属性时作为行号
+        private final int firstRow;
+
+        private final int rowCount;
+
+        private Fragment(String fileName, ReadOnlySharedStringsTable sharedStrings, StylesTable styles,
+                         byte[] head, byte[] body, byte[] tail, int firstRow, int rowCount) {
+            this.fileName = fileName;
+            this.sharedStrings = sharedStrings;
+            this.styles = styles;
+            this.head = head;
+            this.body = body;
+            this.tail = tail;
+            this.firstRow = firstRow;
+            this.rowCount = rowCount;
+        }
+
+        /**
+         * 解析这一段，返回其中的所有行(包括空行，供RowRangeFilter计入行号)
+         */
+        List<SheetRow> parse(ColumnProjection projection, StringDictionary dictionary) throws IOException {
+            final List<SheetRow> rows = new ArrayList<SheetRow>(rowCount);
+            InputStream xml = new SequenceInputStream(Collections.enumeration(Arrays.<InputStream>asList(
+                    new ByteArrayInputStream(head), new ByteArrayInputStream(body), new ByteArrayInputStream(tail))));
+            XlsxRowReader.parseFragment(xml, fileName, sharedStrings, styles, firstRow, projection, dictionary, row -> rows.add(row.copy()));
+            return rows;
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.demo.utils;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * @className: ZipUtil
@@ -17,35 +22,43 @@ import java.util.zip.ZipOutputStream;
  */
 public class ZipUtil {
 
+    public static final Logger logger = LoggerFactory.getLogger(ZipUtil.class);
+
     /**
      * @methodName: zipFiles
      * @param: [srcfiles 原文件集合, zipfile 压缩后的文件]
-     * @describe: 将多个文件压缩成一个文件
+     * @describe: 将多个文件压缩成一个文件；为本次压缩创建线程池，用完即关闭
      * @auther: liuzhiyong
      * @date: 2018/7/31
      * @time: 上午 10:15
      */
     public static boolean zipFiles(List<File> srcfiles, File zipfile) throws Exception{
-        boolean sign = false;
-        byte[] buf = new byte[1024];
-        try {
-            FileInputStream inputStream;
-            ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zipfile));
-            for (int i = 0; i < srcfiles.size(); i++) {
-                inputStream = new FileInputStream(srcfiles.get(i));
-                out.putNextEntry(new ZipEntry(srcfiles.get(i).getName()));
-                int len;
-                while ((len = inputStream.read(buf)) > 0) {
-                    out.write(buf, 0, len);
-                }
-                out.closeEntry();
-                inputStream.close();
-            }
-            out.close();
-            sign = true;
-        } catch (Exception e) {
-            System.out.println("文件压缩失败: " + e.getMessage());
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        //输出流在任何情况下都会关闭
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(zipfile), 64 * 1024)) {
+            zipFiles(srcfiles, out, executor);
+            return true;
+        } catch (IOException e) {
+            logger.error("文件压缩失败: {}", e.getMessage());
+            return false;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * @methodName: zipFiles
+     * @param: [srcfiles 原文件集合, out 输出流(如Servlet响应，由调用方负责关闭), executor 执行压缩任务的线程池(由调用方负责关闭)]
+     * @describe: 将多个文件并行压缩后直接写入输出流，不产生临时的压缩文件
+     * @auther: liuzhiyong
+     * @date: 2026/10/18
+     * @time: 下午 10:50
+     */
+    public static void zipFiles(List<File> srcfiles, OutputStream out, ExecutorService executor) throws IOException {
+        ParallelZipBuilder zip = new ParallelZipBuilder(out, executor);
+        for (File file : srcfiles) {
+            zip.addFile(file);
         }
-        return sign;
+        zip.finish();
     }
 }
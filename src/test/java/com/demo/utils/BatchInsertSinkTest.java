@@ -0,0 +1,213 @@
+package com.demo.utils;
+
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @className: BatchInsertSinkTest
+ * @package: com.demo.utils
+ * @describe: 用内嵌H2数据库代替MySQL测试批量入库
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 6:40
+ */
+public class BatchInsertSinkTest {
+
+    private static final String INSERT = PersonMapper.class.getName() + ".insert";
+
+    private UnpooledDataSource dataSource;
+
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Before
+    public void setUp() throws SQLException {
+        dataSource = new UnpooledDataSource("org.h2.Driver", "jdbc:h2:mem:batch;DB_CLOSE_DELAY=-1", "sa", "");
+        execute("create table person (name varchar(32) primary key, age int)");
+        Configuration configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.addMapper(PersonMapper.class);
+        sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        execute("drop table person");
+    }
+
+    @Test
+    public void insertsInBatchesAndCommitsAtInterval() {
+        BatchInsertSink<Person> sink = new BatchInsertSink<Person>(sqlSessionFactory, INSERT)
+                .setBatchSize(100)
+                .setCommitInterval(250)
+                .setQueueCapacity(16)
+                .start();
+        try {
+            for (int i = 0; i < 1234; i++) {
+                sink.accept(new Person("p" + i, i));
+            }
+        } finally {
+            sink.close();
+        }
+        assertEquals(1234, sink.getRowCount());
+        //第300、600、900、1200行各提交一次，最后34行再提交一次
+        assertEquals(5, sink.getCommitCount());
+        assertEquals(1234, count());
+    }
+
+    @Test
+    public void importsExcelIntoTable() throws Exception {
+        List<Person> persons = new ArrayList<Person>();
+        for (int i = 0; i < 3000; i++) {
+            persons.add(new Person("p" + i, i));
+        }
+        File file = File.createTempFile("persons", ".xls");
+        try {
+            ExcelExportUtil.doExportExcel("persons", "persons", new String[]{"姓名", "年龄"}, persons, file.getPath(), "yyyy-MM-dd");
+            long rows = ExcelImportUtil.importToDatabase(file.getPath(), 2, 0, Person.class, sqlSessionFactory, INSERT);
+            assertEquals(3000, rows);
+            assertEquals(3000, count());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void failureIsReportedToProducer() {
+        BatchInsertSink<Person> sink = new BatchInsertSink<Person>(sqlSessionFactory, INSERT).setBatchSize(10).start();
+        try {
+            for (int i = 0; i < 100; i++) {
+                //主键重复
+                sink.accept(new Person("p" + (i % 50), i));
+            }
+            sink.close();
+            fail("应抛出PersistenceException");
+        } catch (PersistenceException e) {
+            //预期
+        }
+    }
+
+    @Test
+    public void abortRollsBackUncommittedRows() {
+        BatchInsertSink<Person> sink = new BatchInsertSink<Person>(sqlSessionFactory, INSERT).setBatchSize(100).start();
+        for (int i = 0; i < 450; i++) {
+            sink.accept(new Person("p" + i, i));
+        }
+        sink.abort();
+        assertEquals(0, sink.getRowCount());
+        //abort之后close不再提交
+        sink.close();
+        assertEquals(0, count());
+    }
+
+    @Test
+    public void failedImportIsNotCommitted() throws Exception {
+        //工作表XML在第100行之后被截断，前面的行已经交给写入线程
+        StringBuilder sheetXml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>");
+        for (int i = 1; i <= 100; i++) {
+            sheetXml.append("<row r=\"").append(i).append("\"><c r=\"A").append(i).append("\" t=\"inlineStr\"><is><t>p")
+                    .append(i).append("</t></is></c><c r=\"B").append(i).append("\"><v>").append(i).append("</v></c></row>");
+        }
+        sheetXml.append("<row r=\"101\"><c r=\"A101\" t=\"inlineStr\"><is><t>p1");
+        XSSFWorkbook workbook = new XSSFWorkbook();
+        workbook.createSheet("persons").createRow(0).createCell(0).setCellValue("姓名");
+        File template = File.createTempFile("persons", ".xlsx");
+        File file = null;
+        try {
+            try (OutputStream out = new FileOutputStream(template)) {
+                workbook.write(out);
+            }
+            file = ExcelRowReaderTest.replaceEntry(template, "xl/worksheets/sheet1.xml", sheetXml.toString());
+            try {
+                ExcelImportUtil.importToDatabase(file.getPath(), 0, 0, Person.class, sqlSessionFactory, INSERT);
+                fail("应抛出解析异常");
+            } catch (IOException e) {
+                assertEquals(0, e.getSuppressed().length);
+            }
+            assertEquals(0, count());
+        } finally {
+            template.delete();
+            if (file != null) {
+                file.delete();
+            }
+        }
+    }
+
+    private int count() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select count(*) from person")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    public interface PersonMapper {
+
+        @Insert("insert into person (name, age) values (#{name}, #{age})")
+        int insert(Person person);
+    }
+
+    public static class Person {
+
+        private String name;
+
+        private int age;
+
+        public Person() {
+        }
+
+        public Person(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.demo.utils;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @className: CSVReaderTest
+ * @package: com.demo.utils
+ * @describe: CSV读取器的切分、编码和对象转换，关闭时释放映射
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 10:00
+ */
+public class CSVReaderTest {
+
+    @Test
+    public void readsWhatTheWriterWrites() throws IOException {
+        for (CSVOptions options : new CSVOptions[]{CSVOptions.gbk(), CSVOptions.utf8WithBom(),
+                CSVOptions.gbk().setKeepAsText(CSVOptions.KeepAsText.TAB),
+                CSVOptions.gbk().setKeepAsText(CSVOptions.KeepAsText.FORMULA).setDelimiter('|')}) {
+            String[] values = {"姓名,年龄", "说\"你好\"", "第一行\r\n第二行", "", "0123", "表|格"};
+            CSVReader reader = new CSVReader(write(options, (Object[]) values), options);
+            assertTrue(reader.next());
+            assertArrayEquals(values, reader.record().toArray());
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    public void parsesNumbersWithoutDecoding() throws IOException {
+        CSVReader reader = new CSVReader(write(CSVOptions.gbk(), "12345", "-7", "1.5"), CSVOptions.gbk());
+        assertTrue(reader.next());
+        assertEquals(12345L, reader.record().getLong(0));
+        assertEquals(-7, reader.record().getInt(1));
+        assertEquals(1.5d, reader.record().getDouble(2), 0d);
+    }
+
+    @Test
+    public void importsBeansLikeExcel() throws IOException {
+        File file = File.createTempFile("persons", ".csv");
+        try {
+            List<Person> persons = new ArrayList<Person>();
+            for (int i = 0; i < 100; i++) {
+                persons.add(new Person("张三" + i, i));
+            }
+            new CSVUtil<Person>().createCSVFile(new String[]{"姓名", "年龄"}, new String[]{"name", "age"},
+                    persons.iterator(), file.getParent(), file.getName().replace(".csv", ""), CSVOptions.gbk());
+            List<Object> rows = CSVUtil.doImportCSV(file.getPath(), 1, -1, Person.class, CSVOptions.gbk());
+            assertEquals(99, rows.size());
+            assertEquals("张三0", ((Person) rows.get(0)).getName());
+            assertEquals(98, ((Person) rows.get(98)).getAge());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void parallelStreamKeepsOrder() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CSVWriter writer = CSVWriter.open(out, CSVOptions.gbk())) {
+            for (int i = 0; i < 20000; i++) {
+                writer.writeRow("张三" + i, i);
+            }
+        }
+        RowMapper mapper = new RowMapper(Person.class);
+        CSVReader reader = new CSVReader(ByteBuffer.wrap(out.toByteArray()), CSVOptions.gbk());
+        List<Object> persons = reader.rows(new ImportOptions()).parallel().map(mapper::map).collect(Collectors.toList());
+        assertEquals(20000, persons.size());
+        for (int i = 0; i < persons.size(); i++) {
+            assertEquals(i, ((Person) persons.get(i)).getAge());
+        }
+    }
+
+    @Test
+    public void closeReleasesMappedFile() throws IOException {
+        File file = File.createTempFile("persons", ".csv");
+        try {
+            try (CSVWriter writer = CSVWriter.open(file, CSVOptions.gbk())) {
+                writer.writeRow("张三", 1);
+            }
+            CSVReader reader = CSVReader.open(file, CSVOptions.gbk());
+            assertTrue(reader.next());
+            assertEquals("张三", reader.record().getString(0));
+            reader.close();
+            reader.close();
+            //映射已释放，关闭后的记录不再读取缓冲区
+            assertFalse(reader.next());
+            assertEquals(0, reader.record().size());
+            assertNull(reader.record().getString(0));
+            assertEquals(0, reader.rows(new ImportOptions()).count());
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    private static ByteBuffer write(CSVOptions options, Object... values) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CSVWriter writer = CSVWriter.open(out, options)) {
+            writer.writeRow(values);
+        }
+        return ByteBuffer.wrap(out.toByteArray());
+    }
+
+    public static class Person {
+
+        private String name;
+
+        private int age;
+
+        public Person() {
+        }
+
+        public Person(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+    }
+}
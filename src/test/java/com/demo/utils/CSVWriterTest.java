@@ -0,0 +1,88 @@
+package com.demo.utils;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @className: CSVWriterTest
+ * @package: com.demo.utils
+ * @describe: CSV写入器的转义、编码和文本保持方式
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 8:30
+ */
+public class CSVWriterTest {
+
+    @Test
+    public void quotesFieldsPerRfc4180() throws IOException {
+        String csv = write(CSVOptions.gbk(), "a,b", "say \"hi\"", "line1\nline2", "plain", null);
+        assertEquals("\"a,b\",\"say \"\"hi\"\"\",\"line1\nline2\",plain,\r\n", csv);
+    }
+
+    @Test
+    public void formatsTypedValues() throws IOException {
+        String csv = write(CSVOptions.gbk(), 42, 1.5d, new BigDecimal("1E+3"), LocalDate.of(2026, 10, 18));
+        assertEquals("42,1.5,1000,2026-10-18\r\n", csv);
+    }
+
+    @Test
+    public void formatsFloatLikeStringValueOf() throws IOException {
+        String csv = write(CSVOptions.gbk(), 0.1f, 1.5f, 3.3f, 1e10f);
+        //与旧版String.valueOf的结果相同，不经过double放大误差
+        assertEquals("0.1,1.5,3.3,1.0E10\r\n", csv);
+    }
+
+    @Test
+    public void keepsNumericTextAsFormula() throws IOException {
+        CSVOptions options = CSVOptions.gbk().setKeepAsText(CSVOptions.KeepAsText.FORMULA);
+        String csv = write(options, "0123", "13800138000", "123456789012", 123456789012L, "12", "abc");
+        assertEquals("\"=\"\"0123\"\"\",13800138000,\"=\"\"123456789012\"\"\",\"=\"\"123456789012\"\"\",12,abc\r\n", csv);
+    }
+
+    @Test
+    public void keepsTextWithTab() throws IOException {
+        CSVOptions options = CSVOptions.gbk().setKeepAsText(CSVOptions.KeepAsText.TAB);
+        assertEquals("0123\t,\"a,b\t\",\r\n", write(options, "0123", "a,b", ""));
+    }
+
+    @Test
+    public void writesUtf8WithBom() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CSVWriter writer = CSVWriter.open(out, CSVOptions.utf8WithBom())) {
+            writer.writeRow("中文😀");
+        }
+        byte[] expected = ("\uFEFF中文😀\r\n").getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(expected, out.toByteArray());
+        assertEquals((byte) 0xEF, out.toByteArray()[0]);
+    }
+
+    @Test
+    public void encodesAcrossBufferBoundaries() throws IOException {
+        StringBuilder expected = new StringBuilder();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CSVWriter writer = CSVWriter.open(out, CSVOptions.gbk().setBufferSize(1024))) {
+            for (int i = 0; i < 5000; i++) {
+                writer.writeRow(i, "姓名" + i);
+                expected.append(i).append(",姓名").append(i).append("\r\n");
+            }
+        }
+        assertEquals(expected.toString(), new String(out.toByteArray(), Charset.forName("GBK")));
+    }
+
+    private static String write(CSVOptions options, Object... values) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CSVWriter writer = CSVWriter.open(out, options)) {
+            writer.writeRow(values);
+        }
+        return new String(out.toByteArray(), options.getCharset());
+    }
+}
@@ -0,0 +1,189 @@
+package com.demo.utils;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @className: ColumnPlanTest
+ * @package: com.demo.utils
+ * @describe: 列号、列名和转换器的解析，以及按表头匹配列
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 2:50
+ */
+public class ColumnPlanTest {
+
+    @Test
+    public void explicitIndexesComeFirst() {
+        ColumnPlan plan = ColumnPlan.of(Employee.class);
+        assertArrayEquals(new String[]{"工号", "姓名", "部门", "remark"}, plan.getHeaders());
+        assertEquals("name", plan.getColumns().get(1).getProperty().getName());
+        assertEquals(4, plan.getWidth());
+    }
+
+    @Test
+    public void csvRoundTripMatchesHeaders() throws IOException {
+        File file = File.createTempFile("employees", ".csv");
+        try {
+            try (CSVWriter writer = CSVWriter.open(file, CSVOptions.gbk())) {
+                new CSVUtil<Employee>().writeCSV(writer, Employee.class, employees(3).iterator());
+            }
+            //列顺序不同的类按表头读取
+            List<Object> rows = new ArrayList<Object>();
+            CSVUtil.doImportCSV(file.getPath(), new ImportOptions().setHeaderRow(0).setStartRow(1),
+                    Reordered.class, CSVOptions.gbk(), rows::add);
+            assertEquals(3, rows.size());
+            Reordered first = (Reordered) rows.get(0);
+            assertEquals("张三0", first.getName());
+            assertEquals(1000L, first.getCode());
+            //转换器把部门名转为大写
+            assertEquals("DEPT0", first.getDept());
+            assertNull(first.getMissing());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void excelImportMatchesHeaders() throws IOException {
+        File file = File.createTempFile("employees", ".xlsx");
+        try {
+            try (OutputStream out = new FileOutputStream(file)) {
+                ExcelExportUtil.doExportExcelStreaming("员工", "员工列表", Employee.class, employees(5).iterator(),
+                        out, "yyyy-MM-dd", ExcelExportUtil.DEFAULT_WINDOW_SIZE);
+            }
+            List<Object> rows = new ArrayList<Object>();
+            //第0行是标题，第1行是列首
+            ExcelImportUtil.doImportExcel(file.getPath(), new ImportOptions().setHeaderRow(1).setStartRow(2),
+                    Reordered.class, rows::add);
+            assertEquals(5, rows.size());
+            assertEquals(Arrays.asList("张三4", 1004L), Arrays.asList(((Reordered) rows.get(4)).getName(), ((Reordered) rows.get(4)).getCode()));
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<Employee>();
+        for (int i = 0; i < count; i++) {
+            Employee employee = new Employee();
+            employee.setName("张三" + i);
+            employee.setCode(1000L + i);
+            employee.setDept("dept" + i);
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    public static class Employee {
+
+        @ExcelColumn(header = "姓名")
+        private String name;
+
+        private String remark;
+
+        @ExcelColumn(index = 0, header = "工号")
+        private long code;
+
+        @ExcelColumn(index = 2, header = "部门")
+        private String dept;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getRemark() {
+            return remark;
+        }
+
+        public void setRemark(String remark) {
+            this.remark = remark;
+        }
+
+        public long getCode() {
+            return code;
+        }
+
+        public void setCode(long code) {
+            this.code = code;
+        }
+
+        public String getDept() {
+            return dept;
+        }
+
+        public void setDept(String dept) {
+            this.dept = dept;
+        }
+    }
+
+    public static class Reordered {
+
+        @ExcelColumn(header = "部门", converter = UpperCase.class)
+        private String dept;
+
+        @ExcelColumn(header = "不存在的列")
+        private String missing;
+
+        @ExcelColumn(header = "姓名")
+        private String name;
+
+        @ExcelColumn(header = "工号")
+        private long code;
+
+        public String getDept() {
+            return dept;
+        }
+
+        public void setDept(String dept) {
+            this.dept = dept;
+        }
+
+        public String getMissing() {
+            return missing;
+        }
+
+        public void setMissing(String missing) {
+            this.missing = missing;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public long getCode() {
+            return code;
+        }
+
+        public void setCode(long code) {
+            this.code = code;
+        }
+    }
+
+    public static class UpperCase implements CellConverter<String> {
+
+        @Override
+        public String convert(SheetRow row, int column) {
+            return row.getText(column).toUpperCase();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.demo.utils;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.BitSet;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @className: ColumnarTableTest
+ * @package: com.demo.utils
+ * @describe: 列式导入：数值列、字典编码的字符串列，堆内堆外结果一致，汇总、分组和过滤
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 8:30
+ */
+public class ColumnarTableTest {
+
+    private static final String[] BRANCHES = {"北京", "上海", "广州", "深圳"};
+
+    private static final int ROWS = 1000;
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        XSSFWorkbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet("对账");
+        Row header = sheet.createRow(0);
+        String[] headers = {"订单号", "机构", "备注", "金额"};
+        for (int c = 0; c < headers.length; c++) {
+            header.createCell(c).setCellValue(headers[c]);
+        }
+        for (int i = 0; i < ROWS; i++) {
+            Row row = sheet.createRow(i + 1);
+            row.createCell(0).setCellValue(i);
+            row.createCell(1).setCellValue(BRANCHES[i % 4]);
+            row.createCell(2).setCellValue("备注" + i);
+            //每100行有一个空金额
+            if (i % 100 != 0) {
+                row.createCell(3).setCellValue(i + 0.5);
+            }
+        }
+        file = File.createTempFile("columnar", ".xlsx");
+        try (OutputStream out = new FileOutputStream(file)) {
+            workbook.write(out);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void readsColumnsAndAggregates() throws IOException {
+        ColumnarTable table = ColumnarTable.read(file, new ImportOptions().setHeaderRow(0).setStartRow(1), schema(false));
+        assertEquals(ROWS, table.getRowCount());
+        assertEquals(ROWS * (ROWS - 1L) / 2, table.longColumn("订单号").sum());
+
+        ColumnarTable.DoubleColumn amount = table.doubleColumn("金额");
+        assertTrue(amount.isNull(100));
+        assertEquals(ROWS - 10, amount.notNull().cardinality());
+        assertEquals(expectedSum(null), amount.sum(), 1e-6);
+
+        ColumnarTable.StringColumn branch = table.stringColumn("机构");
+        assertEquals(4, branch.getDictionarySize());
+        assertEquals("广州", branch.get(6));
+
+        Map<String, Double> byBranch = table.sumBy("机构", "金额");
+        assertEquals(4, byBranch.size());
+        assertEquals(expectedSum("上海"), byBranch.get("上海"), 1e-6);
+
+        //金额大于900的行中北京和深圳的数量
+        BitSet large = amount.filter(v -> v > 900);
+        large.and(branch.filter(b -> b.equals("北京") || b.equals("深圳")));
+        Map<String, Long> counts = table.countBy("机构", large);
+        assertEquals(2, counts.size());
+        //第900行金额为空，不满足条件
+        assertEquals(24L, counts.get("北京").longValue());
+        assertEquals(25L, counts.get("深圳").longValue());
+        Map<String, Double> largeSums = table.sumBy("机构", "金额", large);
+        assertEquals(amount.sum(large), largeSums.get("北京") + largeSums.get("深圳"), 1e-6);
+    }
+
+    @Test
+    public void offHeapMatchesOnHeap() throws IOException {
+        ImportOptions options = new ImportOptions().setHeaderRow(0).setStartRow(1);
+        ColumnarTable heap = ColumnarTable.read(file, options, schema(false));
+        //初始容量很小，读取过程中多次扩容
+        ColumnarTable direct = ColumnarTable.read(file, options, schema(true).setInitialCapacity(16));
+        assertEquals(heap.getRowCount(), direct.getRowCount());
+        assertEquals(heap.doubleColumn("金额").sum(), direct.doubleColumn("金额").sum(), 1e-6);
+        assertEquals(heap.longColumn("订单号").sum(), direct.longColumn("订单号").sum());
+        assertEquals(heap.sumBy("机构", "订单号"), direct.sumBy("机构", "订单号"));
+        assertEquals(999L, direct.longColumn("订单号").get(999));
+        //调用方的参数没有被加上列投影
+        assertNull(options.getColumnNames());
+    }
+
+    @Test
+    public void readsCsvByColumnIndex() throws IOException {
+        File csv = File.createTempFile("columnar", ".csv");
+        try {
+            Files.write(csv.toPath(), "1,北京,12.5\n2,上海,\n3,北京,7\n".getBytes(Charset.forName("GBK")));
+            ColumnarSchema schema = new ColumnarSchema().addLong(0, "订单号").addString(1, "机构").addDouble(2, "金额");
+            ColumnarTable table;
+            try (CSVReader reader = CSVReader.open(csv, CSVOptions.gbk())) {
+                table = ColumnarTable.read(reader, new ImportOptions(), schema);
+            }
+            assertEquals(3, table.getRowCount());
+            assertTrue(table.doubleColumn("金额").isNull(1));
+            assertEquals(19.5d, table.sumBy("机构", "金额").get("北京"), 0d);
+            assertEquals(2, table.stringColumn("机构").equalTo("北京").cardinality());
+        } finally {
+            csv.delete();
+        }
+    }
+
+    @Test
+    public void invalidValuesAndMissingColumnsAreReported() throws IOException {
+        try {
+            ColumnarTable.read(file, new ImportOptions().setHeaderRow(0).setStartRow(1),
+                    new ColumnarSchema().addDouble("备注"));
+            fail();
+        } catch (CellConversionException e) {
+            assertTrue(e.getMessage().contains("第 2 行"));
+        }
+        try {
+            ColumnarTable.read(file, new ImportOptions().setHeaderRow(0).setStartRow(1),
+                    new ColumnarSchema().addDouble("不存在"));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertFalse(e instanceof CellConversionException);
+        }
+    }
+
+    private static ColumnarSchema schema(boolean offHeap) {
+        return new ColumnarSchema().addLong("订单号").addString("机构").addDouble("金额").setOffHeap(offHeap);
+    }
+
+    private static double expectedSum(String branch) {
+        double sum = 0;
+        for (int i = 0; i < ROWS; i++) {
+            if (i % 100 != 0 && (branch == null || branch.equals(BRANCHES[i % 4]))) {
+                sum += i + 0.5;
+            }
+        }
+        return sum;
+    }
+}
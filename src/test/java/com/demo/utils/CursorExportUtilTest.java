@@ -0,0 +1,157 @@
+package com.demo.utils;
+
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+/**
+ * @className: CursorExportUtilTest
+ * @package: com.demo.utils
+ * @describe: 用内嵌H2数据库测试游标导出
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 7:40
+ */
+public class CursorExportUtilTest {
+
+    private static final String SELECT = ItemMapper.class.getName() + ".selectAll";
+
+    private static final int ROWS = 2500;
+
+    private UnpooledDataSource dataSource;
+
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Before
+    public void setUp() throws SQLException {
+        dataSource = new UnpooledDataSource("org.h2.Driver", "jdbc:h2:mem:cursor;DB_CLOSE_DELAY=-1", "sa", "");
+        execute("create table item (id int primary key, name varchar(32))");
+        execute("insert into item select x, concat('item', x) from system_range(1, " + ROWS + ")");
+        Configuration configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.addMapper(ItemMapper.class);
+        sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        execute("drop table item");
+    }
+
+    @Test
+    public void exportsCursorToExcel() throws Exception {
+        File file = File.createTempFile("items", ".xlsx");
+        try {
+            int rows;
+            try (OutputStream out = new FileOutputStream(file)) {
+                rows = CursorExportUtil.exportExcel(sqlSessionFactory, SELECT, null,
+                        "items", "items", new String[]{"编号", "名称"}, out, "yyyy-MM-dd");
+            }
+            assertEquals(ROWS, rows);
+            List<Object> items = ExcelImportUtil.doImportExcel(file.getPath(), 2, 0, Item.class);
+            assertEquals(ROWS, items.size());
+            assertEquals("item" + ROWS, ((Item) items.get(ROWS - 1)).getName());
+            //fetchSize在语句上声明，导出时不向Configuration注册新的语句
+            assertEquals(100, sqlSessionFactory.getConfiguration().getMappedStatement(SELECT).getFetchSize().intValue());
+            assertFalse(sqlSessionFactory.getConfiguration().hasStatement(SELECT + "#100"));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void exportsCursorToCsv() throws Exception {
+        File dir = Files.createTempDirectory("items").toFile();
+        File csv = CursorExportUtil.exportCsv(sqlSessionFactory, SELECT, null,
+                new String[]{"编号", "名称"}, new String[]{"id", "name"}, dir.getPath(), "items");
+        try {
+            List<String> lines = Files.readAllLines(csv.toPath(), Charset.forName("GBK"));
+            assertEquals(ROWS + 1, lines.size());
+        } finally {
+            csv.delete();
+            dir.delete();
+        }
+    }
+
+    @Test
+    public void failedCsvExportThrowsAndLeavesNoFile() throws Exception {
+        File dir = Files.createTempDirectory("items").toFile();
+        Stream<Item> items = IntStream.range(0, 1000).mapToObj(i -> {
+            if (i == 500) {
+                throw new IllegalStateException("连接已断开");
+            }
+            Item item = new Item();
+            item.setId(i);
+            return item;
+        });
+        try {
+            CursorExportUtil.exportCsv(items, new String[]{"编号", "名称"}, new String[]{"id", "name"}, dir.getPath(), "items");
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("连接已断开", e.getMessage());
+        } finally {
+            assertFalse(new File(dir, "items.csv").exists());
+            dir.delete();
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    public interface ItemMapper {
+
+        @Select("select id, name from item order by id")
+        @Options(fetchSize = 100)
+        List<Item> selectAll();
+    }
+
+    public static class Item {
+
+        private int id;
+
+        private String name;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.demo.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @className: DownloadUtilTest
+ * @package: com.demo.utils
+ * @describe: 下载的Range和条件请求处理
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 11:50
+ */
+public class DownloadUtilTest {
+
+    private static final byte[] CONTENT = "0123456789abcdefghij".getBytes(StandardCharsets.US_ASCII);
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("report", ".csv");
+        Files.write(file.toPath(), CONTENT);
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void sendsWholeFileWithValidators() throws IOException {
+        FakeResponse response = send(new HashMap<String, String>());
+        assertEquals(200, response.status);
+        assertEquals("20", response.headers.get("Content-Length"));
+        assertArrayEquals(CONTENT, response.body.toByteArray());
+
+        Map<String, String> headers = new HashMap<String, String>();
+        headers.put("If-None-Match", response.headers.get("ETag"));
+        FakeResponse notModified = send(headers);
+        assertEquals(304, notModified.status);
+        assertEquals(0, notModified.body.size());
+    }
+
+    @Test
+    public void sendsRequestedRange() throws IOException {
+        Map<String, String> headers = new HashMap<String, String>();
+        headers.put("Range", "bytes=5-9");
+        FakeResponse response = send(headers);
+        assertEquals(206, response.status);
+        assertEquals("bytes 5-9/20", response.headers.get("Content-Range"));
+        assertEquals("56789", new String(response.body.toByteArray(), StandardCharsets.US_ASCII));
+
+        headers.put("Range", "bytes=-3");
+        assertEquals("hij", new String(send(headers).body.toByteArray(), StandardCharsets.US_ASCII));
+
+        headers.put("Range", "bytes=30-");
+        assertEquals(416, send(headers).status);
+
+        //If-Range与当前文件不一致时返回完整内容
+        headers.put("Range", "bytes=5-9");
+        headers.put("If-Range", "\"stale\"");
+        FakeResponse full = send(headers);
+        assertEquals(200, full.status);
+        assertEquals(20, full.body.size());
+    }
+
+    @Test
+    public void handsOffToSendfileWhenSupported() throws IOException {
+        Map<String, Object> attributes = new HashMap<String, Object>();
+        attributes.put("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        FakeResponse response = new FakeResponse();
+        DownloadUtil.sendFile(request(new HashMap<String, String>(), attributes), response.proxy(), file, "text/csv", "report.csv");
+        assertEquals(file.getCanonicalPath(), attributes.get("org.apache.tomcat.sendfile.filename"));
+        assertEquals(20L, attributes.get("org.apache.tomcat.sendfile.end"));
+        assertEquals(0, response.body.size());
+    }
+
+    private FakeResponse send(Map<String, String> headers) throws IOException {
+        FakeResponse response = new FakeResponse();
+        DownloadUtil.sendFile(request(headers, new HashMap<String, Object>()), response.proxy(), file, "text/csv", "report.csv");
+        return response;
+    }
+
+    private static HttpServletRequest request(Map<String, String> headers, Map<String, Object> attributes) {
+        return (HttpServletRequest) Proxy.newProxyInstance(DownloadUtilTest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getHeader":
+                            return headers.get(args[0]);
+                        case "getDateHeader":
+                            String value = headers.get(args[0]);
+                            if (value == null) {
+                                return -1L;
+                            }
+                            try {
+                                return httpDate().parse(value).getTime();
+                            } catch (java.text.ParseException e) {
+                                throw new IllegalArgumentException(value);
+                            }
+                        case "getMethod":
+                            return "GET";
+                        case "getAttribute":
+                            return attributes.get(args[0]);
+                        case "setAttribute":
+                            attributes.put((String) args[0], args[1]);
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static SimpleDateFormat httpDate() {
+        SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        return format;
+    }
+
+    /**
+     * 记录状态码、响应头和响应体
+     */
+    private static final class FakeResponse {
+
+        private int status = 200;
+
+        private final Map<String, String> headers = new HashMap<String, String>();
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        private HttpServletResponse proxy() {
+            ServletOutputStream out = new ServletOutputStream() {
+                @Override
+                public void write(int b) {
+                    body.write(b);
+                }
+            };
+            return (HttpServletResponse) Proxy.newProxyInstance(DownloadUtilTest.class.getClassLoader(),
+                    new Class<?>[]{HttpServletResponse.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "setStatus":
+                            case "sendError":
+                                status = (Integer) args[0];
+                                return null;
+                            case "setHeader":
+                                headers.put((String) args[0], (String) args[1]);
+                                return null;
+                            case "setDateHeader":
+                                headers.put((String) args[0], httpDate().format(new Date((Long) args[1])));
+                                return null;
+                            case "getOutputStream":
+                                return out;
+                            case "setContentType":
+                            case "flushBuffer":
+                                return null;
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.demo.utils;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @className: ExcelExportUtilTest
+ * @package: com.demo.utils
+ * @describe: 按类型写入单元格(超出double精度的数值写为文本)，按列声明的格式复用样式，行数达到上限时续建工作表，工作簿只写出一次
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 1:30
+ */
+public class ExcelExportUtilTest {
+
+    @Test
+    public void writesCellsByTypeWithPooledStyles() throws IOException {
+        List<Order> orders = new ArrayList<Order>();
+        Date created = CellConverters.dateFormat("yyyy-MM-dd").parse("2026-10-18", new ParsePosition(0));
+        for (int i = 0; i < 5000; i++) {
+            orders.add(new Order("0" + i, new BigDecimal(i + ".5"), LocalDate.of(2026, 10, 18), created));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExcelExportUtil.doExportExcel("订单", "订单列表", new String[]{"编号", "金额", "日期", "创建时间"}, orders, out, "yyyy-MM-dd");
+
+        HSSFWorkbook workbook = new HSSFWorkbook(new ByteArrayInputStream(out.toByteArray()));
+        //默认样式 + 标题、列首、数据样式 + 金额和日期两列的格式样式，与行数无关
+        assertTrue(workbook.getNumCellStyles() < 30);
+        Row row = workbook.getSheetAt(0).getRow(3);
+        //看起来像数字的字符串保持为文本
+        assertEquals(Cell.CELL_TYPE_STRING, row.getCell(0).getCellType());
+        assertEquals("01", row.getCell(0).getStringCellValue());
+        assertEquals(Cell.CELL_TYPE_NUMERIC, row.getCell(1).getCellType());
+        assertEquals(1.5d, row.getCell(1).getNumericCellValue(), 0d);
+        assertEquals("0.00", row.getCell(1).getCellStyle().getDataFormatString());
+        assertEquals(Cell.CELL_TYPE_NUMERIC, row.getCell(2).getCellType());
+        assertEquals(LocalDate.of(2026, 10, 18), CellConverters.toLocalDateTime(row.getCell(2).getNumericCellValue()).toLocalDate());
+        //没有声明格式的日期按pattern转为文本
+        assertEquals("2026-10-18", row.getCell(3).getStringCellValue());
+        assertEquals(row.getCell(1).getCellStyle().getIndex(), workbook.getSheetAt(0).getRow(4000).getCell(1).getCellStyle().getIndex());
+    }
+
+    @Test
+    public void serializesWorkbookOnce() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExcelExportUtil.doExportExcel("明细", "明细", new String[]{"序号"}, lines(1000), out, null);
+        byte[] bytes = out.toByteArray();
+        //OLE2文件头只出现一次，即工作簿只写出了一次
+        byte[] signature = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+        int occurrences = 0;
+        for (int i = 0; i + signature.length <= bytes.length; i++) {
+            int j = 0;
+            while (j < signature.length && bytes[i + j] == signature[j]) {
+                j++;
+            }
+            if (j == signature.length) {
+                occurrences++;
+            }
+        }
+        assertEquals(1, occurrences);
+        assertEquals(1001, new HSSFWorkbook(new ByteArrayInputStream(bytes)).getSheetAt(0).getLastRowNum());
+    }
+
+    @Test
+    public void poolReusesStyles() {
+        HSSFWorkbook workbook = new HSSFWorkbook();
+        CellStylePool pool = new CellStylePool(workbook);
+        CellStyle base = workbook.createCellStyle();
+        for (int i = 0; i < 10000; i++) {
+            pool.getStyle(base, i % 2 == 0 ? "0.00" : "yyyy-MM-dd");
+        }
+        assertEquals(2, pool.size());
+        assertEquals(pool.getFormat("0.00"), pool.getStyle(base, "0.00").getDataFormat());
+    }
+
+    @Test
+    public void rollsOverToNewSheetAtRowLimit() {
+        List<Line> lines = lines(25);
+        HSSFWorkbook workbook = new HSSFWorkbook();
+        //每个工作表12行：标题行、列首行和10个数据行
+        long rows = ExcelExportUtil.fillWorkbook(workbook, 12, "明细", "明细", new String[]{"序号"}, lines.iterator(), null);
+        assertEquals(25, rows);
+        assertEquals(3, workbook.getNumberOfSheets());
+        assertEquals("明细", workbook.getSheetName(0));
+        assertEquals("明细_2", workbook.getSheetName(1));
+        assertEquals("明细_3", workbook.getSheetName(2));
+        Sheet last = workbook.getSheetAt(2);
+        //续建的工作表同样有标题行和列首行，数据接着上一个工作表
+        assertEquals("序号", last.getRow(1).getCell(0).getStringCellValue());
+        assertEquals(20d, last.getRow(2).getCell(0).getNumericCellValue(), 0d);
+        assertEquals(6, last.getLastRowNum());
+    }
+
+    @Test
+    public void xlsRollsOverAfterMaxDataRows() throws IOException {
+        //.xls单个工作表最多65536行，去掉标题行和列首行后可写65534个数据行
+        List<Line> lines = lines(65535);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExcelExportUtil.doExportExcel("明细", "明细", new String[]{"序号"}, lines, out, null);
+        HSSFWorkbook workbook = new HSSFWorkbook(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(2, workbook.getNumberOfSheets());
+        assertEquals(65535, workbook.getSheetAt(0).getLastRowNum());
+        assertEquals("明细_2", workbook.getSheetName(1));
+        assertEquals(2, workbook.getSheetAt(1).getLastRowNum());
+        assertEquals(65534d, workbook.getSheetAt(1).getRow(2).getCell(0).getNumericCellValue(), 0d);
+    }
+
+    @Test
+    public void numbersBeyondDoublePrecisionAreWrittenAsText() throws IOException {
+        Number[] values = {123456789L, 9007199254740993L, Long.MAX_VALUE, new BigInteger("123456789012345678901234567890"),
+                new BigDecimal("0.1"), new BigDecimal("12345678901234567.89"), new BigDecimal("1E+3")};
+        List<Value> rows = new ArrayList<Value>();
+        for (Number value : values) {
+            rows.add(new Value(value));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExcelExportUtil.doExportExcel("数值", "数值", new String[]{"数值"}, rows, out, null);
+        Sheet sheet = new HSSFWorkbook(new ByteArrayInputStream(out.toByteArray())).getSheetAt(0);
+        //double能精确表示的仍写为数字
+        assertEquals(123456789d, sheet.getRow(2).getCell(0).getNumericCellValue(), 0d);
+        assertEquals("9007199254740993", sheet.getRow(3).getCell(0).getStringCellValue());
+        assertEquals(String.valueOf(Long.MAX_VALUE), sheet.getRow(4).getCell(0).getStringCellValue());
+        assertEquals("123456789012345678901234567890", sheet.getRow(5).getCell(0).getStringCellValue());
+        assertEquals(0.1d, sheet.getRow(6).getCell(0).getNumericCellValue(), 0d);
+        assertEquals("12345678901234567.89", sheet.getRow(7).getCell(0).getStringCellValue());
+        assertEquals(1000d, sheet.getRow(8).getCell(0).getNumericCellValue(), 0d);
+    }
+
+    private static List<Line> lines(int count) {
+        List<Line> lines = new ArrayList<Line>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add(new Line(i));
+        }
+        return Collections.unmodifiableList(lines);
+    }
+
+    public static class Line {
+
+        private int no;
+
+        public Line(int no) {
+            this.no = no;
+        }
+
+        public int getNo() {
+            return no;
+        }
+    }
+
+    public static class Value {
+
+        private Number value;
+
+        public Value(Number value) {
+            this.value = value;
+        }
+
+        public Number getValue() {
+            return value;
+        }
+    }
+
+    public static class Order {
+
+        private String code;
+
+        @ExcelColumn(format = "0.00")
+        private BigDecimal amount;
+
+        @ExcelColumn(format = "yyyy-MM-dd")
+        private LocalDate day;
+
+        private Date created;
+
+        public Order(String code, BigDecimal amount, LocalDate day, Date created) {
+            this.code = code;
+            this.amount = amount;
+            this.day = day;
+            this.created = created;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public LocalDate getDay() {
+            return day;
+        }
+
+        public Date getCreated() {
+            return created;
+        }
+    }
+}
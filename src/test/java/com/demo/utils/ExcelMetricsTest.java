@@ -0,0 +1,110 @@
+package com.demo.utils;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @className: ExcelMetricsTest
+ * @package: com.demo.utils
+ * @describe: 导入导出结束时记录行数、字节数、阶段耗时和转换失败数
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 4:00
+ */
+public class ExcelMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Before
+    public void setUp() {
+        Metrics.addRegistry(registry);
+    }
+
+    @After
+    public void tearDown() {
+        Metrics.removeRegistry(registry);
+    }
+
+    @Test
+    public void recordsCsvRoundTrip() throws IOException {
+        File file = File.createTempFile("metrics", ".csv");
+        try {
+            List<Item> items = new ArrayList<Item>();
+            for (int i = 0; i < 100; i++) {
+                items.add(new Item(String.valueOf(i)));
+            }
+            //最后一行的数量不是数字，转换失败
+            items.add(new Item("abc"));
+            try (CSVWriter writer = CSVWriter.open(file, CSVOptions.gbk())) {
+                new CSVUtil<Item>().writeCSV(writer, Item.class, items.iterator());
+            }
+            assertEquals(101d, counter(ExcelMetrics.ROWS, ExcelMetrics.EXPORT, ExcelMetrics.CSV), 0d);
+            assertEquals(file.length(), counter(ExcelMetrics.BYTES, ExcelMetrics.EXPORT, ExcelMetrics.CSV), 0d);
+
+            CSVUtil.doImportCSV(file.getPath(), new ImportOptions().setStartRow(1), Count.class, CSVOptions.gbk(), row -> { });
+            assertEquals(101d, counter(ExcelMetrics.ROWS, ExcelMetrics.IMPORT, ExcelMetrics.CSV), 0d);
+            assertEquals(file.length(), counter(ExcelMetrics.BYTES, ExcelMetrics.IMPORT, ExcelMetrics.CSV), 0d);
+            assertEquals(1L, registry.get(ExcelMetrics.PHASE).tag("phase", ExcelMetrics.MAP).timer().count());
+            assertEquals(1d, registry.get(ExcelMetrics.CONVERSION_ERRORS).tag("type", "int").counter().count(), 0d);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void recordsStreamingExport() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<Item> items = new ArrayList<Item>();
+        for (int i = 0; i < 10; i++) {
+            items.add(new Item(String.valueOf(i)));
+        }
+        ExcelExportUtil.doExportExcelStreaming("物品", "物品列表", Item.class, items.iterator(), out, "yyyy-MM-dd",
+                ExcelExportUtil.DEFAULT_WINDOW_SIZE);
+        assertEquals(10d, counter(ExcelMetrics.ROWS, ExcelMetrics.EXPORT, ExcelMetrics.XLSX), 0d);
+        assertEquals(out.size(), counter(ExcelMetrics.BYTES, ExcelMetrics.EXPORT, ExcelMetrics.XLSX), 0d);
+        assertTrue(registry.get(ExcelMetrics.PHASE).tag("phase", ExcelMetrics.WRITE).timer().totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    private double counter(String name, String operation, String format) {
+        return registry.get(name).tag("operation", operation).tag("format", format).counter().count();
+    }
+
+    public static class Item {
+
+        private String count;
+
+        public Item(String count) {
+            this.count = count;
+        }
+
+        public String getCount() {
+            return count;
+        }
+    }
+
+    public static class Count {
+
+        private int count;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.demo.utils;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @className: ExcelRowReaderTest
+ * @package: com.demo.utils
+ * @describe: 结束行为负数时按行号去掉末尾的行，与原来按getLastRowNum() + endRow截取的结果相同，末尾的空行也计入行号；
+ *            .xlsx工作表中的DOCTYPE和外部实体被拒绝
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 9:05
+ */
+public class ExcelRowReaderTest {
+
+    private File file;
+
+    @After
+    public void tearDown() {
+        if (file != null) {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void negativeEndRowDropsTrailingRowsByRowNumber() throws IOException {
+        for (Workbook workbook : new Workbook[]{new HSSFWorkbook(), new XSSFWorkbook()}) {
+            file = writeSheet(workbook, false);
+            //最后一行是合计行，endRow为-1时去掉
+            assertEquals(10, read(-1).size());
+            assertEquals("9", read(-1).get(9));
+            assertEquals(11, read(0).size());
+            file.delete();
+        }
+    }
+
+    @Test
+    public void trailingBlankRowsCountAsRows() throws IOException {
+        for (Workbook workbook : new Workbook[]{new HSSFWorkbook(), new XSSFWorkbook()}) {
+            file = writeSheet(workbook, true);
+            //合计行之后还有一个只有格式的空行，endRow为-1时去掉的是空行，合计行保留
+            List<String> rows = read(-1);
+            assertEquals(11, rows.size());
+            assertEquals("合计", rows.get(10));
+            //去掉末尾两行：空行和合计行
+            assertEquals(10, read(-2).size());
+            file.delete();
+        }
+    }
+
+    @Test
+    public void rejectsDoctypeInSheetXml() throws IOException {
+        File secret = File.createTempFile("secret", ".txt");
+        Files.write(secret.toPath(), "机密内容".getBytes(StandardCharsets.UTF_8));
+        File template = writeSheet(new XSSFWorkbook(), false);
+        try {
+            String sheetXml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                    + "<!DOCTYPE worksheet [<!ENTITY xxe SYSTEM \"" + secret.toURI() + "\">]>"
+                    + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>"
+                    + "<row r=\"1\"><c r=\"A1\" t=\"inlineStr\"><is><t>&xxe;</t></is></c></row>"
+                    + "</sheetData></worksheet>";
+            file = replaceEntry(template, "xl/worksheets/sheet1.xml", sheetXml);
+            List<String> rows = new ArrayList<String>();
+            try {
+                ExcelRowReader.read(file, new ImportOptions(), row -> rows.add(row.getText(0)));
+                fail();
+            } catch (IOException e) {
+                assertTrue(e.getMessage().contains("解析失败"));
+            }
+            for (String row : rows) {
+                assertFalse(row.contains("机密"));
+            }
+        } finally {
+            secret.delete();
+            template.delete();
+        }
+    }
+
+    /**
+     * 复制.xlsx文件，把其中一个条目替换为指定的内容
+     */
+    static File replaceEntry(File source, String name, String content) throws IOException {
+        File target = File.createTempFile("xxe", ".xlsx");
+        try (ZipFile zip = new ZipFile(source); ZipOutputStream out = new ZipOutputStream(new FileOutputStream(target))) {
+            for (ZipEntry entry : Collections.list(zip.entries())) {
+                out.putNextEntry(new ZipEntry(entry.getName()));
+                if (entry.getName().equals(name)) {
+                    out.write(content.getBytes(StandardCharsets.UTF_8));
+                } else {
+                    try (InputStream in = zip.getInputStream(entry)) {
+                        byte[] buffer = new byte[8192];
+                        int n;
+                        while ((n = in.read(buffer)) > 0) {
+                            out.write(buffer, 0, n);
+                        }
+                    }
+                }
+                out.closeEntry();
+            }
+        }
+        return target;
+    }
+
+    private List<String> read(int endRow) throws IOException {
+        List<String> rows = new ArrayList<String>();
+        ExcelRowReader.read(file, new ImportOptions().setStartRow(1).setEndRow(endRow), row -> rows.add(row.getText(0)));
+        return rows;
+    }
+
+    /**
+     * 第0行为列首，之后10个数据行和一个合计行，blankTail为true时最后再加一个只有格式的空行
+     */
+    private static File writeSheet(Workbook workbook, boolean blankTail) throws IOException {
+        Sheet sheet = workbook.createSheet("明细");
+        sheet.createRow(0).createCell(0).setCellValue("序号");
+        for (int i = 0; i < 10; i++) {
+            Row row = sheet.createRow(i + 1);
+            row.createCell(0).setCellValue(String.valueOf(i));
+            row.createCell(1).setCellValue(i);
+        }
+        sheet.createRow(11).createCell(0).setCellValue("合计");
+        if (blankTail) {
+            CellStyle style = workbook.createCellStyle();
+            style.setBorderBottom(CellStyle.BORDER_THIN);
+            sheet.createRow(12).createCell(0).setCellStyle(style);
+        }
+        File file = File.createTempFile("rows", workbook instanceof HSSFWorkbook ? ".xls" : ".xlsx");
+        try (OutputStream out = new FileOutputStream(file)) {
+            workbook.write(out);
+        }
+        return file;
+    }
+}
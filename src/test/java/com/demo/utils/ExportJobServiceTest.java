@@ -0,0 +1,185 @@
+package com.demo.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @className: ExportJobServiceTest
+ * @package: com.demo.utils
+ * @describe: 异步导出任务的进度、优先级、租户并发上限、拒绝、取消和过期清理
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 5:00
+ */
+public class ExportJobServiceTest {
+
+    private File directory;
+
+    private ExportJobService service;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("export-jobs").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        if (service != null) {
+            service.close();
+        }
+        FileUtil.deleteFiles(directory.getPath());
+        directory.delete();
+    }
+
+    @Test
+    public void runsJobAndTracksRows() throws Exception {
+        service = new ExportJobService(directory, 2, 10, 1, TimeUnit.HOURS.toMillis(1));
+        List<String> rows = new ArrayList<String>();
+        for (int i = 0; i < 1000; i++) {
+            rows.add("行" + i);
+        }
+        ExportJob job = service.submit(new ExportRequest().setTenant("a").setFileName("rows.txt").setExpectedRows(rows.size())
+                .setWriter((out, current) -> {
+                    for (Iterator<String> it = current.track(rows.iterator()); it.hasNext(); ) {
+                        out.write((it.next() + "\n").getBytes(StandardCharsets.UTF_8));
+                    }
+                }));
+        await(job);
+        assertEquals(ExportJob.Status.DONE, job.getStatus());
+        assertEquals(1000L, job.getRowCount());
+        assertEquals(1d, job.getProgress(), 0d);
+        assertEquals(1000, Files.readAllLines(job.getFile().toPath(), StandardCharsets.UTF_8).size());
+        assertTrue(job.getFile().getName().endsWith(".txt"));
+    }
+
+    @Test
+    public void respectsPriorityAndTenantLimit() throws Exception {
+        service = new ExportJobService(directory, 2, 10, 1, TimeUnit.HOURS.toMillis(1));
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = Collections.synchronizedList(new ArrayList<String>());
+        ExportJob first = service.submit(blocking("a", 0, release, order, "a1"));
+        ExportJob low = service.submit(blocking("a", 0, release, order, "a-low"));
+        ExportJob high = service.submit(blocking("a", 9, release, order, "a-high"));
+        ExportJob other = service.submit(blocking("b", 0, release, order, "b1"));
+        //租户a同时只能运行一个，空闲的线程留给租户b
+        long deadline = System.currentTimeMillis() + 5000;
+        while (order.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(ExportJob.Status.RUNNING, first.getStatus());
+        assertEquals(ExportJob.Status.RUNNING, other.getStatus());
+        assertEquals(2, service.getRunningCount());
+        assertEquals(2, service.getQueuedCount());
+        release.countDown();
+        await(low);
+        await(high);
+        //优先级高的先执行
+        assertTrue(order.indexOf("a-high") < order.indexOf("a-low"));
+    }
+
+    @Test
+    public void rejectsWhenQueueIsFullAndCancels() throws Exception {
+        service = new ExportJobService(directory, 1, 1, 1, TimeUnit.HOURS.toMillis(1));
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = Collections.synchronizedList(new ArrayList<String>());
+        ExportJob running = service.submit(blocking("a", 0, release, order, "running"));
+        ExportJob queued = service.submit(blocking("a", 0, release, order, "queued"));
+        try {
+            service.submit(blocking("a", 0, release, order, "rejected"));
+            fail();
+        } catch (RejectedExecutionException expected) {
+        }
+        assertTrue(service.cancel(queued.getId()));
+        assertEquals(ExportJob.Status.CANCELLED, queued.getStatus());
+        //运行中的任务在下一次取数时结束
+        assertTrue(service.cancel(running.getId()));
+        release.countDown();
+        await(running);
+        assertEquals(ExportJob.Status.CANCELLED, running.getStatus());
+        assertFalse(order.contains("queued"));
+        assertEquals(0, directory.listFiles().length);
+    }
+
+    @Test
+    public void deletesExpiredFiles() throws IOException {
+        File old = new File(directory, "old.xlsx");
+        File fresh = new File(directory, "fresh.xlsx");
+        Files.write(old.toPath(), new byte[1]);
+        Files.write(fresh.toPath(), new byte[1]);
+        old.setLastModified(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(2));
+        assertEquals(1, FileUtil.deleteFiles(directory.getPath(), TimeUnit.HOURS.toMillis(1)));
+        assertFalse(old.exists());
+        assertTrue(fresh.exists());
+    }
+
+    @Test
+    public void cleanupKeepsTempFileOfRunningJob() throws Exception {
+        service = new ExportJobService(directory, 1, 10, 1, TimeUnit.HOURS.toMillis(1));
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = Collections.synchronizedList(new ArrayList<String>());
+        ExportJob job = service.submit(blocking("a", 0, release, order, "slow"));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (order.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        //查询很慢，临时文件创建后一直没有写入
+        File temp = new File(directory, job.getId() + ".tmp");
+        assertTrue(temp.exists());
+        temp.setLastModified(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(2));
+        //没有对应任务的过期临时文件照常删除
+        File orphan = new File(directory, "orphan.tmp");
+        Files.write(orphan.toPath(), new byte[1]);
+        orphan.setLastModified(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(2));
+        service.cleanup();
+        assertTrue(temp.exists());
+        assertFalse(orphan.exists());
+        release.countDown();
+        await(job);
+        assertEquals(ExportJob.Status.DONE, job.getStatus());
+        assertTrue(job.getFile().exists());
+    }
+
+    /**
+     * 取数前等待放行，之后写出一行
+     */
+    private static ExportRequest blocking(String tenant, int priority, CountDownLatch release, List<String> order, String name) {
+        return new ExportRequest().setTenant(tenant).setPriority(priority).setFileName(name + ".txt").setWriter((out, job) -> {
+            order.add(name);
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            Iterator<String> rows = job.track(Collections.singletonList(name).iterator());
+            while (rows.hasNext()) {
+                out.write(rows.next().getBytes(StandardCharsets.UTF_8));
+            }
+        });
+    }
+
+    private static void await(ExportJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (job.getFinishedAt() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue("任务没有结束：" + job, job.getFinishedAt() != 0);
+    }
+}
@@ -0,0 +1,227 @@
+package com.demo.utils;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @className: ImportPushdownTest
+ * @package: com.demo.utils
+ * @describe: 导入时的列投影和行过滤：不在投影中的列不解析，不满足条件的行不转换为对象
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 7:55
+ */
+public class ImportPushdownTest {
+
+    //姓名、年龄之外还有18个不需要的列
+    private static final int WIDTH = 20;
+
+    private File file;
+
+    @After
+    public void tearDown() {
+        if (file != null) {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void xlsxSkipsUnprojectedColumnsAndFilteredRows() throws IOException {
+        file = writeWorkbook(new XSSFWorkbook(), ".xlsx");
+        ImportOptions options = new ImportOptions().setHeaderRow(0).setStartRow(1)
+                .setColumnNames("姓名", "年龄")
+                .setRowFilter(row -> row.getNumber(1) >= 35);
+        List<SheetRow> header = new ArrayList<SheetRow>();
+        List<SheetRow> rows = new ArrayList<SheetRow>();
+        ExcelRowReader.read(file, options, new RowCallback() {
+            @Override
+            public void onHeader(SheetRow row) {
+                header.add(row.copy());
+            }
+
+            @Override
+            public boolean onRow(SheetRow row) {
+                rows.add(row.copy());
+                return true;
+            }
+        });
+        //表头行完整读取
+        assertEquals(WIDTH, header.get(0).size());
+        assertEquals(5, rows.size());
+        SheetRow first = rows.get(0);
+        assertEquals("张三15", first.getString(0));
+        assertEquals(35d, first.getNumber(1), 0d);
+        assertTrue(first.isBlank(2));
+        assertTrue(first.isBlank(WIDTH - 1));
+
+        List<Object> people = new ArrayList<Object>();
+        ExcelImportUtil.doImportExcel(file.getPath(), options, Person.class, people::add);
+        assertEquals(5, people.size());
+        assertEquals("张三19", ((Person) people.get(4)).getName());
+        assertEquals(39, ((Person) people.get(4)).getAge());
+        //金额列不在投影中，不赋值
+        assertEquals(0d, ((Person) people.get(4)).getAmount(), 0d);
+    }
+
+    @Test
+    public void xlsProjectsColumnsByIndex() throws IOException {
+        file = writeWorkbook(new HSSFWorkbook(), ".xls");
+        ImportOptions options = new ImportOptions().setHeaderRow(0).setStartRow(1).setColumns(0, 2)
+                .setRowFilter(row -> row.getString(0).endsWith("7"));
+        List<Object> people = new ArrayList<Object>();
+        ExcelImportUtil.doImportExcel(file.getPath(), options, Person.class, people::add);
+        assertEquals(2, people.size());
+        Person person = (Person) people.get(1);
+        assertEquals("张三17", person.getName());
+        assertEquals(0, person.getAge());
+        assertEquals(17.5d, person.getAmount(), 0d);
+    }
+
+    @Test
+    public void csvProjectsColumnsAndFiltersRows() throws IOException {
+        file = File.createTempFile("pushdown", ".csv");
+        StringBuilder csv = new StringBuilder("姓名,年龄,金额,备注\n");
+        for (int i = 0; i < 20; i++) {
+            csv.append("张三").append(i).append(',').append(20 + i).append(',').append(i).append(".5,备注").append(i).append('\n');
+        }
+        Files.write(file.toPath(), csv.toString().getBytes(Charset.forName("GBK")));
+        ImportOptions options = new ImportOptions().setHeaderRow(0).setStartRow(1).setColumnNames("年龄", "备注")
+                .setRowFilter(row -> row.getString(3).equals("备注3"));
+        List<SheetRow> rows = new ArrayList<SheetRow>();
+        try (CSVReader reader = CSVReader.open(file, CSVOptions.gbk())) {
+            reader.read(options, row -> rows.add(row.copy()));
+        }
+        assertEquals(1, rows.size());
+        assertTrue(rows.get(0).isBlank(0));
+        assertEquals("23", rows.get(0).getString(1));
+    }
+
+    @Test
+    public void filterMatchingNothingIsNotAnError() throws IOException {
+        file = writeWorkbook(new XSSFWorkbook(), ".xlsx");
+        List<Object> people = new ArrayList<Object>();
+        ExcelImportUtil.doImportExcel(file.getPath(), new ImportOptions().setHeaderRow(0).setStartRow(1)
+                .setRowFilter(row -> false), Person.class, people::add);
+        assertTrue(people.isEmpty());
+    }
+
+    @Test
+    public void columnNamesRequireHeaderRow() throws IOException {
+        file = writeWorkbook(new XSSFWorkbook(), ".xlsx");
+        try {
+            ExcelRowReader.read(file, new ImportOptions().setColumnNames("姓名"), row -> true);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertFalse(e.getMessage().isEmpty());
+        }
+    }
+
+    @Test
+    public void projectionDoesNotChangeNegativeEndRow() throws IOException {
+        for (Workbook workbook : new Workbook[]{new HSSFWorkbook(), new XSSFWorkbook()}) {
+            //合计行只有第0列有值，投影的列全为空
+            file = writeWorkbook(workbook, workbook instanceof HSSFWorkbook ? ".xls" : ".xlsx", true);
+            ImportOptions options = new ImportOptions().setHeaderRow(0).setStartRow(1).setEndRow(-1);
+            List<SheetRow> all = new ArrayList<SheetRow>();
+            ExcelRowReader.read(file, options, row -> all.add(row.copy()));
+            List<SheetRow> projected = new ArrayList<SheetRow>();
+            ExcelRowReader.read(file, options.copy().setColumns(2, 3), row -> projected.add(row.copy()));
+            //去掉的是合计行，最后一个数据行保留
+            assertEquals(20, all.size());
+            assertEquals(20, projected.size());
+            assertEquals(20, projected.get(19).getRowNum());
+            assertEquals(19.5d, projected.get(19).getNumber(2), 0d);
+            file.delete();
+        }
+    }
+
+    private static File writeWorkbook(Workbook workbook, String suffix) throws IOException {
+        return writeWorkbook(workbook, suffix, false);
+    }
+
+    /**
+     * 表头行之后20个数据行：姓名、年龄、金额以及不需要的列，total为true时最后再加一个只有第0列的合计行
+     */
+    private static File writeWorkbook(Workbook workbook, String suffix, boolean total) throws IOException {
+        Sheet sheet = workbook.createSheet("人员");
+        Row header = sheet.createRow(0);
+        header.createCell(0).setCellValue("姓名");
+        header.createCell(1).setCellValue("年龄");
+        header.createCell(2).setCellValue("金额");
+        for (int c = 3; c < WIDTH; c++) {
+            header.createCell(c).setCellValue("其他" + c);
+        }
+        for (int i = 0; i < 20; i++) {
+            Row row = sheet.createRow(i + 1);
+            row.createCell(0).setCellValue("张三" + i);
+            row.createCell(1).setCellValue(20 + i);
+            row.createCell(2).setCellValue(i + 0.5);
+            for (int c = 3; c < WIDTH; c++) {
+                row.createCell(c).setCellValue("无关数据" + i + "-" + c);
+            }
+        }
+        if (total) {
+            sheet.createRow(21).createCell(0).setCellValue("合计");
+        }
+        File file = File.createTempFile("pushdown", suffix);
+        try (OutputStream out = new FileOutputStream(file)) {
+            workbook.write(out);
+        }
+        return file;
+    }
+
+    public static class Person {
+
+        @ExcelColumn(header = "姓名")
+        private String name;
+
+        @ExcelColumn(header = "年龄")
+        private int age;
+
+        @ExcelColumn(header = "金额")
+        private double amount;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public double getAmount() {
+            return amount;
+        }
+
+        public void setAmount(double amount) {
+            this.amount = amount;
+        }
+    }
+}
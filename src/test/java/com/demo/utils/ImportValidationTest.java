@@ -0,0 +1,161 @@
+package com.demo.utils;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @className: ImportValidationTest
+ * @package: com.demo.utils
+ * @describe: 校验导入：收集错误而不中断导入、提前停止、错误上限、标注错误的工作簿和不带堆栈的转换异常
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 6:35
+ */
+public class ImportValidationTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("partner", ".csv");
+        StringBuilder csv = new StringBuilder("姓名,年龄,金额\n");
+        for (int i = 0; i < 10; i++) {
+            //第3、6、9个数据行的年龄不是整数，第6个数据行的金额也不是数字
+            String age = i % 3 == 2 ? "二十" : String.valueOf(20 + i);
+            String amount = i == 5 ? "N/A" : i + ".5";
+            csv.append("张三").append(i).append(',').append(age).append(',').append(amount).append('\n');
+        }
+        Files.write(file.toPath(), csv.toString().getBytes(Charset.forName("GBK")));
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void collectsErrorsWithoutStopping() throws IOException {
+        List<Object> rows = new ArrayList<Object>();
+        ImportErrorReport report = CSVUtil.doImportCSVValidated(file.getPath(), new ImportOptions().setHeaderRow(0).setStartRow(1),
+                Person.class, CSVOptions.gbk(), rows::add);
+        assertEquals(7, rows.size());
+        assertEquals(3, report.getInvalidRowCount());
+        assertEquals(4, report.getErrorCount());
+        assertFalse(report.isAborted());
+        //第3个数据行在文件中的行号为3(从0开始，表头为0)
+        assertEquals(3, report.getRow(0));
+        assertEquals(1, report.getColumn(0));
+        assertEquals("二十", report.getValue(0));
+        assertEquals("二十 不是整数", report.getReason(0));
+        assertEquals("N/A", report.getErrors().get(2).getValue());
+        assertEquals(2, report.getErrors().get(2).getColumn());
+    }
+
+    @Test
+    public void abortsAtThresholdAndKeepsBoundedDetails() throws IOException {
+        List<Object> rows = new ArrayList<Object>();
+        ImportErrorReport report = CSVUtil.doImportCSVValidated(file.getPath(),
+                new ImportOptions().setHeaderRow(0).setStartRow(1).setErrorLimit(1).setAbortThreshold(2),
+                Person.class, CSVOptions.gbk(), rows::add);
+        assertTrue(report.isAborted());
+        //达到阈值的那一行的错误都会记录，第6个数据行有两个错误
+        assertEquals(3, report.getErrorCount());
+        assertEquals(1, report.size());
+        assertTrue(report.isTruncated());
+        //之前的4个有效行已经交给consumer
+        assertEquals(4, rows.size());
+    }
+
+    @Test
+    public void writesAnnotatedWorkbook() throws IOException {
+        ImportOptions options = new ImportOptions().setHeaderRow(0).setStartRow(1);
+        ImportErrorReport report = CSVUtil.doImportCSVValidated(file.getPath(), options, Person.class, CSVOptions.gbk(), row -> { });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        report.writeWorkbook(file, options, CSVOptions.gbk(), out);
+
+        XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()));
+        Sheet sheet = workbook.getSheetAt(0);
+        assertEquals("年龄", sheet.getRow(0).getCell(3).getStringCellValue());
+        assertEquals(3, sheet.getLastRowNum());
+        Row row = sheet.getRow(2);
+        assertEquals(7d, row.getCell(0).getNumericCellValue(), 0d);
+        assertEquals("第2列：二十 不是整数；第3列：N/A 不是数字", row.getCell(1).getStringCellValue());
+        assertEquals("张三5", row.getCell(2).getStringCellValue());
+        assertEquals(CellStyle.SOLID_FOREGROUND, row.getCell(3).getCellStyle().getFillPattern());
+        assertEquals(CellStyle.NO_FILL, row.getCell(2).getCellStyle().getFillPattern());
+    }
+
+    @Test
+    public void conversionErrorsHaveNoStackTrace() {
+        SheetRow row = new SheetRow(1);
+        row.setString(0, "12.0");
+        CellConverters converters = CellConverters.getDefault();
+        CellConverter.OfLong converter = (CellConverter.OfLong) converters.find(Cell.CELL_TYPE_STRING, long.class);
+        assertEquals(12L, converter.convertLong(row, 0));
+        for (String value : new String[]{"1.5", "abc", "1e", "99999999999999999999"}) {
+            row.setString(0, value);
+            try {
+                converter.convertLong(row, 0);
+                fail(value);
+            } catch (CellConversionException e) {
+                assertEquals(0, e.getStackTrace().length);
+            }
+        }
+    }
+
+    public static class Person {
+
+        @ExcelColumn(header = "姓名")
+        private String name;
+
+        @ExcelColumn(header = "年龄")
+        private int age;
+
+        @ExcelColumn(header = "金额")
+        private double amount;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public double getAmount() {
+            return amount;
+        }
+
+        public void setAmount(double amount) {
+            this.amount = amount;
+        }
+    }
+}
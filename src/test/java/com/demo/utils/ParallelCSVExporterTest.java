@@ -0,0 +1,155 @@
+package com.demo.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @className: ParallelCSVExporterTest
+ * @package: com.demo.utils
+ * @describe: 并行分块生成的CSV与逐行写出的结果逐字节相同，UTF-16改为顺序写出
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 7:35
+ */
+public class ParallelCSVExporterTest {
+
+    private static final String[] FILEDS = {"id", "name", "remark", "createTime"};
+
+    private ExecutorService executor;
+
+    private File directory;
+
+    private List<Order> orders;
+
+    @Before
+    public void setUp() throws IOException {
+        executor = Executors.newFixedThreadPool(4);
+        directory = Files.createTempDirectory("parallel-csv").toFile();
+        orders = new ArrayList<Order>();
+        Date time = new Date(1790000000000L);
+        for (int i = 0; i < 25000; i++) {
+            //包含需要转义的字段、以0开头的数字文本和空值
+            String remark = i % 5 == 0 ? "含,逗号和\"引号\"" : i % 5 == 1 ? "0" + i : i % 5 == 2 ? null : "备注" + i;
+            orders.add(new Order(i, "订单" + i, remark, time));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+        FileUtil.deleteFiles(directory.getPath());
+        directory.delete();
+    }
+
+    @Test
+    public void fileIsIdenticalToSequentialOutput() throws IOException {
+        CSVOptions options = CSVOptions.utf8WithBom().setKeepAsText(CSVOptions.KeepAsText.FORMULA);
+        File sequential = new CSVUtil<Order>().createCSVFile(FILEDS, FILEDS, orders.iterator(), directory.getPath(), "sequential", options);
+        File parallel = new ParallelCSVExporter(executor, 1000, 3).createCSVFile(FILEDS, FILEDS, orders, directory.getPath(), "parallel", options);
+        assertArrayEquals(Files.readAllBytes(sequential.toPath()), Files.readAllBytes(parallel.toPath()));
+    }
+
+    @Test
+    public void columnPlanOutputIsIdenticalToSequentialOutput() throws IOException {
+        CSVOptions options = CSVOptions.gbk().setKeepAsText(CSVOptions.KeepAsText.TAB);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        CSVWriter writer = CSVWriter.open(expected, options);
+        new CSVUtil<Order>().writeCSV(writer, Order.class, orders.iterator());
+        writer.finish();
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        long rows = new ParallelCSVExporter(executor, 777, 2).write(Order.class, orders, options, Channels.newChannel(actual));
+        assertEquals(orders.size(), rows);
+        assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+    }
+
+    @Test
+    public void emptyListWritesBomAndHeader() throws IOException {
+        CSVOptions options = CSVOptions.utf8WithBom();
+        File sequential = new CSVUtil<Order>().createCSVFile(FILEDS, FILEDS, Collections.<Order>emptyIterator(), directory.getPath(), "sequential", options);
+        File parallel = new ParallelCSVExporter(executor, ParallelCSVExporter.DEFAULT_CHUNK_SIZE, 2).createCSVFile(FILEDS, FILEDS, Collections.emptyList(), directory.getPath(), "parallel", options);
+        assertArrayEquals(Files.readAllBytes(sequential.toPath()), Files.readAllBytes(parallel.toPath()));
+    }
+
+    @Test
+    public void utf16IsWrittenSequentially() throws IOException {
+        //UTF-16每次编码都在开头写BOM，分块拼接会在文件中间出现BOM
+        CSVOptions options = CSVOptions.gbk().setCharset(StandardCharsets.UTF_16);
+        File sequential = new CSVUtil<Order>().createCSVFile(FILEDS, FILEDS, orders.iterator(), directory.getPath(), "sequential", options);
+        File parallel = new ParallelCSVExporter(executor, 1000, 3).createCSVFile(FILEDS, FILEDS, orders, directory.getPath(), "parallel", options);
+        assertArrayEquals(Files.readAllBytes(sequential.toPath()), Files.readAllBytes(parallel.toPath()));
+    }
+
+    public static class Order {
+
+        @ExcelColumn(index = 0, header = "编号")
+        private int id;
+
+        @ExcelColumn(index = 1, header = "名称")
+        private String name;
+
+        @ExcelColumn(index = 3, header = "备注")
+        private String remark;
+
+        private Date createTime;
+
+        public Order() {
+        }
+
+        public Order(int id, String name, String remark, Date createTime) {
+            this.id = id;
+            this.name = name;
+            this.remark = remark;
+            this.createTime = createTime;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getRemark() {
+            return remark;
+        }
+
+        public void setRemark(String remark) {
+            this.remark = remark;
+        }
+
+        public Date getCreateTime() {
+            return createTime;
+        }
+
+        public void setCreateTime(Date createTime) {
+            this.createTime = createTime;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.demo.utils;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @className: ParallelExcelImporterTest
+ * @package: com.demo.utils
+ * @describe: 并行导入：多文件多工作表的行顺序，.xlsx按行范围并行解析的结果与顺序读取一致，失败时取消未完成的任务
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 9:25
+ */
+public class ParallelExcelImporterTest {
+
+    private ExecutorService executor;
+
+    private final List<File> files = new ArrayList<File>();
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        for (File file : files) {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void keepsFileSheetAndRowOrder() throws IOException {
+        List<String> expected = new ArrayList<String>();
+        //第二个工作表只有表头
+        File xlsx = writeWorkbook(new XSSFWorkbook(), ".xlsx", expected, 25, 0, 13);
+        File xls = writeWorkbook(new HSSFWorkbook(), ".xls", expected, 10, 7);
+        ImportResult<Person> result = new ParallelExcelImporter(executor, 4)
+                .importFiles(Arrays.asList(xlsx, xls), Person.class, new ImportOptions().setHeaderRow(0).setStartRow(1));
+        assertEquals(expected, names(result.getRows()));
+        assertEquals(5, result.getTimings().size());
+        int[] counts = {25, 0, 13, 10, 7};
+        for (int i = 0; i < counts.length; i++) {
+            assertEquals(counts[i], result.getTimings().get(i).getRowCount());
+        }
+        assertEquals(xls.getName(), result.getTimings().get(4).getFileName());
+        assertEquals("表1", result.getTimings().get(4).getSheetName());
+    }
+
+    @Test
+    public void xlsxRangesMatchSequentialRead() throws IOException {
+        XSSFWorkbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet("人员");
+        header(sheet);
+        for (int i = 0; i < 100; i++) {
+            //第50~52行是空行
+            if (i < 50 || i > 52) {
+                row(sheet, i + 1, "张三" + i, i);
+            }
+        }
+        sheet.createRow(101).createCell(0).setCellValue("合计");
+        File file = write(workbook, ".xlsx");
+        //表头、97个数据行和合计行，每段7行
+        List<XlsxSheetSplitter.Fragment> fragments = new ArrayList<XlsxSheetSplitter.Fragment>();
+        assertTrue(XlsxSheetSplitter.split(file, 0, 7, Integer.MAX_VALUE, fragments::add));
+        assertEquals(15, fragments.size());
+        List<SheetRow> last = fragments.get(14).parse(ColumnProjection.ALL, null);
+        assertEquals(1, last.size());
+        assertEquals(101, last.get(0).getRowNum());
+        ImportOptions[] cases = {
+                new ImportOptions().setHeaderRow(0).setStartRow(1).setEndRow(-1),
+                new ImportOptions().setHeaderRow(0).setStartRow(5).setEndRow(40),
+                new ImportOptions().setHeaderRow(0).setStartRow(1).setEndRow(-3).setColumns(0, 2)
+                        .setRowFilter(row -> row.getNumber(2) % 3 == 0),
+                new ImportOptions().setHeaderRow(0).setStartRow(1).setColumnNames("姓名", "年龄")
+        };
+        for (ImportOptions options : cases) {
+            List<Object> sequential = new ArrayList<Object>();
+            ExcelImportUtil.doImportExcel(file.getPath(), options, Person.class, sequential::add);
+            ImportResult<Person> parallel = new ParallelExcelImporter(executor, 7).importFile(file, Person.class, options);
+            assertEquals(describe(sequential), describe(parallel.getRows()));
+        }
+    }
+
+    @Test
+    public void failureCancelsPendingTasks() throws IOException {
+        //单线程执行，失败时后面的解析和转换任务都还在队列中
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        StringBuilder sheetXml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>");
+        for (int i = 1; i <= 200; i++) {
+            sheetXml.append("<row r=\"").append(i).append("\"><c r=\"A").append(i).append("\" t=\"inlineStr\"><is><t>张三")
+                    .append(i).append("</t></is></c>");
+            //第50行的标签不匹配，解析到这一段时失败
+            sheetXml.append(i == 50 ? "</c></row>" : "</row>");
+        }
+        sheetXml.append("</sheetData></worksheet>");
+        XSSFWorkbook workbook = new XSSFWorkbook();
+        workbook.createSheet("人员");
+        File template = write(workbook, ".xlsx");
+        File file = ExcelRowReaderTest.replaceEntry(template, "xl/worksheets/sheet1.xml", sheetXml.toString());
+        files.add(file);
+        try {
+            new ParallelExcelImporter(single, 10).importFile(file, Person.class, new ImportOptions());
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("解析失败"));
+        } finally {
+            for (Runnable pending : single.shutdownNow()) {
+                assertTrue(((Future<?>) pending).isCancelled());
+            }
+        }
+    }
+
+    private static List<String> names(List<Person> persons) {
+        List<String> names = new ArrayList<String>();
+        for (Person person : persons) {
+            names.add(person.getName());
+        }
+        return names;
+    }
+
+    private static List<String> describe(List<?> persons) {
+        List<String> values = new ArrayList<String>();
+        for (Object object : persons) {
+            Person person = (Person) object;
+            values.add(person.getName() + "/" + person.getAge() + "/" + person.getAmount());
+        }
+        return values;
+    }
+
+    /**
+     * 每个工作表有表头行和rowCounts中指定行数的数据行，数据行的姓名按顺序加入expected
+     */
+    private File writeWorkbook(Workbook workbook, String suffix, List<String> expected, int... rowCounts) throws IOException {
+        for (int s = 0; s < rowCounts.length; s++) {
+            Sheet sheet = workbook.createSheet("表" + s);
+            header(sheet);
+            for (int i = 0; i < rowCounts[s]; i++) {
+                String name = suffix + "-" + s + "-" + i;
+                row(sheet, i + 1, name, i);
+                expected.add(name);
+            }
+        }
+        return write(workbook, suffix);
+    }
+
+    private static void header(Sheet sheet) {
+        Row header = sheet.createRow(0);
+        header.createCell(0).setCellValue("姓名");
+        header.createCell(1).setCellValue("年龄");
+        header.createCell(2).setCellValue("金额");
+    }
+
+    private static void row(Sheet sheet, int rowNum, String name, int i) {
+        Row row = sheet.createRow(rowNum);
+        row.createCell(0).setCellValue(name);
+        row.createCell(1).setCellValue(20 + i);
+        row.createCell(2).setCellValue(i);
+    }
+
+    private File write(Workbook workbook, String suffix) throws IOException {
+        File file = File.createTempFile("parallel", suffix);
+        files.add(file);
+        try (OutputStream out = new FileOutputStream(file)) {
+            workbook.write(out);
+        }
+        return file;
+    }
+
+    public static class Person {
+
+        @ExcelColumn(header = "姓名")
+        private String name;
+
+        @ExcelColumn(header = "年龄")
+        private int age;
+
+        @ExcelColumn(header = "金额")
+        private double amount;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public double getAmount() {
+            return amount;
+        }
+
+        public void setAmount(double amount) {
+            this.amount = amount;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.demo.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @className: ParallelZipBuilderTest
+ * @package: com.demo.utils
+ * @describe: 并行压缩的结果能被标准zip读取器读取，内容不变
+ * @auther: liuzhiyong
+ * @date: 2026/10/18
+ * @time: 下午 11:00
+ */
+public class ParallelZipBuilderTest {
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void producesReadableZip() throws IOException {
+        Map<String, byte[]> contents = new LinkedHashMap<String, byte[]>();
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 60000; i++) {
+            csv.append(i).append(",姓名").append(i % 97).append(",2026-10-18\r\n");
+        }
+        contents.put("报表/订单.csv", csv.toString().getBytes(StandardCharsets.UTF_8));
+        byte[] random = new byte[ParallelZipBuilder.BLOCK_SIZE * 2 + 17];
+        new Random(1).nextBytes(random);
+        contents.put("random.bin", random);
+        contents.put("empty.txt", new byte[0]);
+        contents.put("exact.bin", Arrays.copyOf(random, ParallelZipBuilder.BLOCK_SIZE));
+
+        File file = File.createTempFile("parallel", ".zip");
+        File source = File.createTempFile("source", ".csv");
+        try {
+            Files.write(source.toPath(), contents.get("报表/订单.csv"));
+            try (ParallelZipBuilder zip = new ParallelZipBuilder(Files.newOutputStream(file.toPath()), executor)) {
+                for (Map.Entry<String, byte[]> entry : contents.entrySet()) {
+                    zip.addEntry(entry.getKey(), () -> new ByteArrayInputStream(entry.getValue()));
+                }
+                zip.addFile("from-file.csv", source);
+            }
+            contents.put("from-file.csv", contents.get("报表/订单.csv"));
+
+            //按本地文件头和数据描述符顺序读取
+            try (ZipInputStream in = new ZipInputStream(Files.newInputStream(file.toPath()), StandardCharsets.UTF_8)) {
+                int count = 0;
+                for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                    assertArrayEquals(entry.getName(), contents.get(entry.getName()), readAll(in));
+                    count++;
+                }
+                assertEquals(contents.size(), count);
+            }
+            //按中央目录读取
+            try (ZipFile zipFile = new ZipFile(file, StandardCharsets.UTF_8)) {
+                assertEquals(contents.size(), zipFile.size());
+                for (Enumeration<? extends ZipEntry> e = zipFile.entries(); e.hasMoreElements(); ) {
+                    ZipEntry entry = e.nextElement();
+                    try (InputStream in = zipFile.getInputStream(entry)) {
+                        assertArrayEquals(entry.getName(), contents.get(entry.getName()), readAll(in));
+                    }
+                }
+                //预置字典使分块压缩的结果接近串行压缩
+                ZipEntry csvEntry = zipFile.getEntry("报表/订单.csv");
+                assertTrue(csvEntry.getCompressedSize() < csvEntry.getSize() / 3);
+            }
+        } finally {
+            file.delete();
+            source.delete();
+        }
+    }
+
+    @Test
+    public void zipUtilWritesToStream() throws IOException {
+        File source = File.createTempFile("source", ".txt");
+        try {
+            Files.write(source.toPath(), "hello".getBytes(StandardCharsets.UTF_8));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ZipUtil.zipFiles(Arrays.asList(source), out, executor);
+            try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+                assertEquals(source.getName(), in.getNextEntry().getName());
+                assertEquals("hello", new String(readAll(in), StandardCharsets.UTF_8));
+            }
+        } finally {
+            source.delete();
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,219 @@
+package com.demo.utils;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @className: PartitionedExportTest
+ * @package: com.demo.utils
+ * @describe: 分区并行导出：每个分区一个工作表或一个压缩包条目，保持分区和行的顺序，记录各分区的进度
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 7:10
+ */
+public class PartitionedExportTest {
+
+    private static final String[] BRANCHES = {"北京", "上海", "广州", "深圳"};
+
+    private ExecutorService executor;
+
+    private List<Sale> sales;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(3);
+        sales = new ArrayList<Sale>();
+        for (int i = 0; i < 5000; i++) {
+            sales.add(new Sale(BRANCHES[i % 7 % 4], i, i * 1.5));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void writesOneSheetPerPartition() throws IOException {
+        AtomicInteger finished = new AtomicInteger();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<PartitionTiming> timings = new PartitionedExporter(executor)
+                .setListener(new PartitionedExporter.Listener() {
+                    @Override
+                    public void onFinish(PartitionTiming timing) {
+                        finished.incrementAndGet();
+                    }
+                })
+                .exportSheets(sales, Sale::getBranch, "销售明细", Sale.class, out, "yyyy-MM-dd");
+
+        assertEquals(4, finished.get());
+        XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(4, workbook.getNumberOfSheets());
+        Map<String, Integer> expected = count();
+        int index = 0;
+        for (Map.Entry<String, Integer> branch : expected.entrySet()) {
+            Sheet sheet = workbook.getSheetAt(index);
+            PartitionTiming timing = timings.get(index++);
+            assertEquals(branch.getKey(), sheet.getSheetName());
+            assertEquals(branch.getKey(), timing.getKey());
+            assertEquals(branch.getValue().intValue(), timing.getRowCount());
+            assertEquals(1d, timing.getProgress(), 0d);
+            assertTrue(timing.isFinished());
+            //标题行和列首行之后是该分区的数据行
+            assertEquals(branch.getValue() + 1, sheet.getLastRowNum());
+            assertEquals("订单号", sheet.getRow(1).getCell(1).getStringCellValue());
+        }
+        //分区内保持原来的顺序：北京的数据为第0、4、7、11...行
+        Sheet beijing = workbook.getSheet("北京");
+        assertEquals(0d, beijing.getRow(2).getCell(1).getNumericCellValue(), 0d);
+        assertEquals(4d, beijing.getRow(3).getCell(1).getNumericCellValue(), 0d);
+        assertEquals(7d, beijing.getRow(4).getCell(1).getNumericCellValue(), 0d);
+    }
+
+    @Test
+    public void writesOneFilePerPartitionIntoZip() throws IOException {
+        sales.add(new Sale("华东/上海", 9001, 1));
+        sales.add(new Sale("华东_上海", 9002, 2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<PartitionTiming> timings = new PartitionedExporter(executor).exportZip(sales.iterator(), Sale::getBranch, ".csv",
+                PartitionedExporter.csv(Sale.class, new CSVOptions()), out);
+        assertEquals(6, timings.size());
+
+        Map<String, Integer> expected = new LinkedHashMap<String, Integer>();
+        for (PartitionTiming timing : timings) {
+            expected.put(timing.getName(), timing.getRowCount());
+        }
+        List<String> names = new ArrayList<String>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()), StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                names.add(entry.getName());
+                String[] lines = new String(readAll(zip), Charset.forName("GBK")).split("\r\n");
+                assertEquals("机构,订单号,金额", lines[0]);
+                assertEquals(expected.get(entry.getName()) + 1, lines.length);
+            }
+        }
+        assertEquals(Arrays.asList("北京.csv", "上海.csv", "广州.csv", "深圳.csv", "华东_上海.csv", "华东_上海~2.csv"), names);
+        for (PartitionTiming timing : timings) {
+            assertTrue(timing.getBytes() > 0);
+            assertEquals(timing.getRowCount(), timing.getWrittenRows());
+        }
+    }
+
+    @Test
+    public void failedPartitionFailsTheExport() {
+        PartitionedExporter.PartitionWriter<Sale> writer = (key, rows, out) -> {
+            if ("广州".equals(key)) {
+                throw new IOException("广州的数据有误");
+            }
+            out.write(key.getBytes(StandardCharsets.UTF_8));
+        };
+        List<PartitionTiming> failed = new ArrayList<PartitionTiming>();
+        try {
+            new PartitionedExporter(executor)
+                    .setListener(new PartitionedExporter.Listener() {
+                        @Override
+                        public void onFinish(PartitionTiming timing) {
+                            if (timing.getError() != null) {
+                                synchronized (failed) {
+                                    failed.add(timing);
+                                }
+                            }
+                        }
+                    })
+                    .exportZip(sales.iterator(), Sale::getBranch, ".txt", writer, new ByteArrayOutputStream());
+            fail();
+        } catch (IOException e) {
+            assertEquals("广州的数据有误", e.getMessage());
+        }
+        assertEquals(1, failed.size());
+        assertEquals("广州", failed.get(0).getKey());
+    }
+
+    private Map<String, Integer> count() {
+        Map<String, Integer> counts = new LinkedHashMap<String, Integer>();
+        for (Sale sale : sales) {
+            Integer n = counts.get(sale.getBranch());
+            counts.put(sale.getBranch(), n == null ? 1 : n + 1);
+        }
+        return counts;
+    }
+
+    private static byte[] readAll(ZipInputStream zip) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = zip.read(buffer)) > 0) {
+            bytes.write(buffer, 0, n);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static class Sale {
+
+        @ExcelColumn(index = 0, header = "机构")
+        private String branch;
+
+        @ExcelColumn(index = 1, header = "订单号")
+        private long orderNo;
+
+        @ExcelColumn(index = 2, header = "金额")
+        private double amount;
+
+        public Sale() {
+        }
+
+        public Sale(String branch, long orderNo, double amount) {
+            this.branch = branch;
+            this.orderNo = orderNo;
+            this.amount = amount;
+        }
+
+        public String getBranch() {
+            return branch;
+        }
+
+        public void setBranch(String branch) {
+            this.branch = branch;
+        }
+
+        public long getOrderNo() {
+            return orderNo;
+        }
+
+        public void setOrderNo(long orderNo) {
+            this.orderNo = orderNo;
+        }
+
+        public double getAmount() {
+            return amount;
+        }
+
+        public void setAmount(double amount) {
+            this.amount = amount;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.demo.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @className: ReportCacheTest
+ * @package: com.demo.utils
+ * @describe: 缓存键、并发请求只生成一次、按LRU和总大小淘汰、重启后加载、下载期间不淘汰
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 5:45
+ */
+public class ReportCacheTest {
+
+    private static final String A = ReportCache.key("v1", "a");
+
+    private static final String B = ReportCache.key("v1", "b");
+
+    private static final String C = ReportCache.key("v1", "c");
+
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("report-cache").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        FileUtil.deleteFiles(directory.getPath());
+        directory.delete();
+    }
+
+    @Test
+    public void keyDependsOnVersionAndParameterBoundaries() {
+        assertEquals(ReportCache.key("v1", "a", 1, new String[]{"x"}), ReportCache.key("v1", "a", 1, new String[]{"x"}));
+        assertNotEquals(ReportCache.key("v1", "a"), ReportCache.key("v2", "a"));
+        assertNotEquals(ReportCache.key("v1", "ab", "c"), ReportCache.key("v1", "a", "bc"));
+        assertNotEquals(ReportCache.key("v1", (Object) null), ReportCache.key("v1", "null"));
+    }
+
+    @Test
+    public void concurrentRequestsShareOneGeneration() throws Exception {
+        ReportCache cache = new ReportCache(directory, 1024 * 1024);
+        AtomicInteger generated = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<File>> futures = new ArrayList<Future<File>>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(ReportCache.key("v1", "report"), out -> {
+                        generated.incrementAndGet();
+                        //生成期间其余线程都到达
+                        try {
+                            Thread.sleep(100);
+                        } catch (InterruptedException e) {
+                            throw new IOException(e);
+                        }
+                        out.write(new byte[100]);
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<File> future : futures) {
+                assertEquals(100L, future.get().length());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, generated.get());
+        //之后的请求直接命中
+        cache.get(ReportCache.key("v1", "report"), out -> generated.incrementAndGet());
+        assertEquals(1, generated.get());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedBySize() throws IOException {
+        ReportCache cache = new ReportCache(directory, 250);
+        cache.get(A, out -> out.write(new byte[100]));
+        cache.get(B, out -> out.write(new byte[100]));
+        //访问a后，b成为最久未使用的
+        cache.get(A, out -> out.write(new byte[1]));
+        cache.get(C, out -> out.write(new byte[100]));
+        assertEquals(2, cache.size());
+        assertEquals(200L, cache.getTotalBytes());
+        assertFalse(new File(directory, B + ".report").exists());
+        assertEquals(100L, cache.get(A, out -> out.write(new byte[1])).length());
+
+        //重启后加载已有的文件
+        ReportCache reloaded = new ReportCache(directory, 250);
+        assertEquals(2, reloaded.size());
+        assertEquals(100L, reloaded.get(C, out -> out.write(new byte[1])).length());
+    }
+
+    @Test
+    public void failedGenerationIsNotCached() throws IOException {
+        ReportCache cache = new ReportCache(directory, 1024);
+        try {
+            cache.get(ReportCache.key("v1", "broken"), out -> {
+                throw new IOException("查询失败");
+            });
+        } catch (IOException expected) {
+            assertEquals("查询失败", expected.getMessage());
+        }
+        assertEquals(0, cache.size());
+        assertEquals(0, directory.listFiles().length);
+    }
+
+    @Test
+    public void rejectsKeysNotProducedByKey() throws IOException {
+        ReportCache cache = new ReportCache(new File(directory, "cache"), 1024);
+        for (String key : new String[]{"../x", "report", A.toUpperCase(), A + "0", null}) {
+            try {
+                cache.get(key, out -> out.write(1));
+                fail(key);
+            } catch (IllegalArgumentException expected) {
+                //缓存目录之外没有生成文件
+                assertEquals(1, directory.listFiles().length);
+            }
+        }
+    }
+
+    @Test
+    public void downloadingFileIsNotEvicted() throws IOException {
+        ReportCache cache = new ReportCache(directory, 150);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        ServletOutputStream out = new ServletOutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                //发送过程中另一个请求生成新文件，总大小超过上限
+                if (body.size() == 0) {
+                    cache.get(B, o -> o.write(new byte[100]));
+                }
+                body.write(b);
+            }
+        };
+        //支持sendfile时也由send自己写完响应
+        Map<String, Object> attributes = new HashMap<String, Object>();
+        attributes.put("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        cache.send(request(attributes), response(out), A, "text/csv", "report.csv", o -> o.write(new byte[100]));
+        assertEquals(100, body.size());
+        assertFalse(attributes.containsKey("org.apache.tomcat.sendfile.filename"));
+        assertEquals(200L, cache.getTotalBytes());
+        assertTrue(new File(directory, A + ".report").exists());
+
+        //下载完成后恢复按LRU淘汰
+        cache.get(C, o -> o.write(new byte[10]));
+        assertFalse(new File(directory, A + ".report").exists());
+        assertEquals(110L, cache.getTotalBytes());
+    }
+
+    private static HttpServletRequest request(Map<String, Object> attributes) {
+        return (HttpServletRequest) Proxy.newProxyInstance(ReportCacheTest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getHeader":
+                            return null;
+                        case "getDateHeader":
+                            return -1L;
+                        case "getMethod":
+                            return "GET";
+                        case "getAttribute":
+                            return attributes.get(args[0]);
+                        case "setAttribute":
+                            attributes.put((String) args[0], args[1]);
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static HttpServletResponse response(ServletOutputStream out) {
+        return (HttpServletResponse) Proxy.newProxyInstance(ReportCacheTest.class.getClassLoader(),
+                new Class<?>[]{HttpServletResponse.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getOutputStream":
+                            return out;
+                        case "setHeader":
+                        case "setDateHeader":
+                        case "setContentType":
+                        case "flushBuffer":
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
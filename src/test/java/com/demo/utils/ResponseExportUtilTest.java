@@ -0,0 +1,211 @@
+package com.demo.utils;
+
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @className: ResponseExportUtilTest
+ * @package: com.demo.utils
+ * @describe: 直接写入响应的导出与可选的缓存文件，并发导出同一个缓存文件互不影响
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 12:40
+ */
+public class ResponseExportUtilTest {
+
+    private static final String[] TITLES = {"姓名", "年龄"};
+
+    private static final String[] FILEDS = {"name", "age"};
+
+    @Test
+    public void csvMatchesFileExport() throws IOException {
+        List<CSVReaderTest.Person> persons = persons(500);
+        File file = File.createTempFile("persons", ".csv");
+        try {
+            new CSVUtil<CSVReaderTest.Person>().createCSVFile(TITLES, FILEDS, persons.iterator(),
+                    file.getParent(), file.getName().replace(".csv", ""), CSVOptions.gbk());
+            FakeResponse response = new FakeResponse();
+            long rows = ResponseExportUtil.exportCsv(response.proxy(), "人员.csv", TITLES, FILEDS,
+                    persons.iterator(), CSVOptions.gbk(), null);
+            assertEquals(500, rows);
+            assertEquals("text/csv;charset=GBK", response.contentType);
+            assertNull(response.headers.get("Content-Length"));
+            assertArrayEquals(Files.readAllBytes(file.toPath()), response.body.toByteArray());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void excelWithCacheFile() throws IOException {
+        File directory = Files.createTempDirectory("export-cache").toFile();
+        File cache = new File(directory, "persons.xlsx");
+        try {
+            FakeResponse response = new FakeResponse();
+            ResponseExportUtil.exportExcel(response.proxy(), "人员.xlsx", "人员", "人员列表",
+                    TITLES, persons(100).iterator(), "yyyy-MM-dd", cache);
+            assertArrayEquals(Files.readAllBytes(cache.toPath()), response.body.toByteArray());
+            assertArrayEquals(new String[]{"persons.xlsx"}, directory.list());
+            XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(response.body.toByteArray()));
+            //标题行、列首行和100行数据
+            assertEquals(101, workbook.getSheetAt(0).getLastRowNum());
+        } finally {
+            FileUtil.deleteFiles(directory.getPath());
+            directory.delete();
+        }
+    }
+
+    @Test
+    public void failedExportLeavesNoCacheFile() throws IOException {
+        File directory = Files.createTempDirectory("export-cache").toFile();
+        File cache = new File(directory, "failed-export.csv");
+        try {
+            ResponseExportUtil.export(new FakeResponse().proxy(), "text/csv", "a.csv", cache, out -> {
+                out.write(1);
+                throw new IOException("数据库连接断开");
+            });
+            fail();
+        } catch (IOException e) {
+            assertEquals("数据库连接断开", e.getMessage());
+        } finally {
+            //缓存文件和临时文件都没有留下
+            assertEquals(0, directory.list().length);
+            directory.delete();
+        }
+    }
+
+    @Test
+    public void concurrentExportsOfSameCacheFile() throws IOException {
+        File directory = Files.createTempDirectory("export-cache").toFile();
+        File cache = new File(directory, "a.csv");
+        try {
+            ResponseExportUtil.export(new FakeResponse().proxy(), "text/csv", "a.csv", cache, out -> {
+                out.write('1');
+                //写到一半时另一个请求导出同一个缓存文件
+                ResponseExportUtil.export(new FakeResponse().proxy(), "text/csv", "a.csv", cache, inner -> inner.write('2'));
+                assertEquals("2", new String(Files.readAllBytes(cache.toPath()), StandardCharsets.US_ASCII));
+                out.write('1');
+            });
+            assertEquals("11", new String(Files.readAllBytes(cache.toPath()), StandardCharsets.US_ASCII));
+            assertArrayEquals(new String[]{"a.csv"}, directory.list());
+        } finally {
+            FileUtil.deleteFiles(directory.getPath());
+            directory.delete();
+        }
+    }
+
+    @Test
+    public void zipsGeneratedEntries() throws IOException {
+        Map<String, ResponseExportUtil.ContentWriter> entries = new LinkedHashMap<String, ResponseExportUtil.ContentWriter>();
+        entries.put("人员.csv", out -> {
+            CSVWriter writer = CSVWriter.open(out, CSVOptions.utf8WithBom());
+            new CSVUtil<CSVReaderTest.Person>().writeCSV(writer, TITLES, FILEDS, persons(50000).iterator());
+            writer.finish();
+        });
+        entries.put("空.txt", out -> {
+        });
+        FakeResponse response = new FakeResponse();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ResponseExportUtil.exportZip(response.proxy(), "报表.zip", entries, null, executor);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(ResponseExportUtil.ZIP_CONTENT_TYPE, response.contentType);
+
+        List<String> names = new ArrayList<String>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(response.body.toByteArray()), StandardCharsets.UTF_8)) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                names.add(entry.getName());
+                ByteArrayOutputStream content = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                int n;
+                while ((n = in.read(buffer)) > 0) {
+                    content.write(buffer, 0, n);
+                }
+                if (entry.getName().endsWith(".csv")) {
+                    String csv = new String(content.toByteArray(), StandardCharsets.UTF_8);
+                    assertTrue(csv.contains("张三49999,49999\r\n"));
+                } else {
+                    assertEquals(0, content.size());
+                }
+            }
+        }
+        assertEquals(Arrays.asList("人员.csv", "空.txt"), names);
+    }
+
+    private static List<CSVReaderTest.Person> persons(int count) {
+        List<CSVReaderTest.Person> persons = new ArrayList<CSVReaderTest.Person>();
+        for (int i = 0; i < count; i++) {
+            persons.add(new CSVReaderTest.Person("张三" + i, i));
+        }
+        return persons;
+    }
+
+    /**
+     * 记录内容类型、响应头和响应体
+     */
+    private static final class FakeResponse {
+
+        private String contentType;
+
+        private final Map<String, String> headers = new HashMap<String, String>();
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        private HttpServletResponse proxy() {
+            ServletOutputStream out = new ServletOutputStream() {
+                @Override
+                public void write(int b) {
+                    body.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    body.write(b, off, len);
+                }
+            };
+            return (HttpServletResponse) Proxy.newProxyInstance(ResponseExportUtilTest.class.getClassLoader(),
+                    new Class<?>[]{HttpServletResponse.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "setContentType":
+                                contentType = (String) args[0];
+                                return null;
+                            case "setHeader":
+                                headers.put((String) args[0], (String) args[1]);
+                                return null;
+                            case "getOutputStream":
+                                return out;
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.demo.utils;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @className: StringDictionaryTest
+ * @package: com.demo.utils
+ * @describe: 字符串字典：重复的单元格值共用同一个对象，驻留表有上限，统计命中率和节省的内存
+ * @auther: liuzhiyong
+ * @date: 2026/10/19
+ * @time: 上午 8:55
+ */
+public class StringDictionaryTest {
+
+    private static final String[] STATUS = {"已支付", "待支付", "已退款"};
+
+    private File file;
+
+    @After
+    public void tearDown() {
+        if (file != null) {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void internIsBoundedAndCounted() {
+        StringDictionary dictionary = new StringDictionary(2, 8);
+        String first = dictionary.intern(new StringBuilder("CNY"));
+        assertSame(first, dictionary.intern(new StringBuilder("CNY")));
+        assertSame(first, dictionary.intern("CNY"));
+        dictionary.intern("USD");
+        //驻留表已满，新值不再加入
+        String euro = dictionary.intern("EUR");
+        assertNotSame(euro, dictionary.intern(new StringBuilder("EUR")));
+        //超过最大长度的不参与驻留
+        dictionary.intern("很长很长的备注内容超过八个字");
+        assertEquals(2, dictionary.size());
+        assertEquals(6, dictionary.getLookups());
+        assertEquals(2, dictionary.getHits());
+        assertEquals(1 / 3d, dictionary.getHitRate(), 1e-9);
+        //每次命中省下24字节的String和24字节的char[]
+        assertEquals(96, dictionary.getBytesSaved());
+    }
+
+    @Test
+    public void xlsxInlineStringsShareInstances() throws IOException {
+        //SXSSF写出的是内联字符串，不在共享字符串表中
+        file = writeWorkbook(new SXSSFWorkbook(), ".xlsx");
+        StringDictionary dictionary = new StringDictionary();
+        List<SheetRow> rows = read(new ImportOptions().setStringDictionary(dictionary));
+        assertSame(rows.get(0).getString(1), rows.get(3).getString(1));
+        assertEquals("待支付", rows.get(4).getString(1));
+        assertEquals(97, dictionary.getHits());
+        assertTrue(dictionary.getBytesSaved() > 0);
+
+        List<SheetRow> plain = read(new ImportOptions());
+        assertNotSame(plain.get(0).getString(1), plain.get(3).getString(1));
+    }
+
+    @Test
+    public void sharedStringsBypassDictionary() throws IOException {
+        for (Workbook workbook : new Workbook[]{new HSSFWorkbook(), new XSSFWorkbook()}) {
+            file = writeWorkbook(workbook, workbook instanceof HSSFWorkbook ? ".xls" : ".xlsx");
+            StringDictionary dictionary = new StringDictionary();
+            List<SheetRow> rows = read(new ImportOptions().setStringDictionary(dictionary));
+            //共享字符串表按序号返回同一个对象，不计入字典的统计，也不占用驻留表
+            assertSame(rows.get(2).getString(1), rows.get(98).getString(1));
+            assertEquals(0, dictionary.getLookups());
+            assertEquals(0, dictionary.getBytesSaved());
+            assertEquals(0, dictionary.size());
+            file.delete();
+        }
+    }
+
+    @Test
+    public void csvFieldsShareInstances() throws IOException {
+        file = File.createTempFile("dictionary", ".csv");
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            csv.append(i).append(',').append(STATUS[i % 3]).append(",\"含,逗号\"\n");
+        }
+        Files.write(file.toPath(), csv.toString().getBytes(Charset.forName("GBK")));
+        StringDictionary dictionary = new StringDictionary();
+        List<SheetRow> rows = new ArrayList<SheetRow>();
+        try (CSVReader reader = CSVReader.open(file, CSVOptions.gbk())) {
+            reader.read(new ImportOptions().setColumns(1, 2).setStringDictionary(dictionary), row -> rows.add(row.copy()));
+        }
+        assertEquals(100, rows.size());
+        assertSame(rows.get(1).getString(1), rows.get(4).getString(1));
+        assertEquals("待支付", rows.get(1).getString(1));
+        assertSame(rows.get(0).getString(2), rows.get(99).getString(2));
+        assertEquals("含,逗号", rows.get(99).getString(2));
+        assertEquals(200, dictionary.getLookups());
+        assertEquals(196, dictionary.getHits());
+    }
+
+    private List<SheetRow> read(ImportOptions options) throws IOException {
+        List<SheetRow> rows = new ArrayList<SheetRow>();
+        ExcelRowReader.read(file, options, row -> rows.add(row.copy()));
+        return rows;
+    }
+
+    /**
+     * 100行：序号和3种状态之一
+     */
+    private static File writeWorkbook(Workbook workbook, String suffix) throws IOException {
+        Sheet sheet = workbook.createSheet("订单");
+        for (int i = 0; i < 100; i++) {
+            Row row = sheet.createRow(i);
+            row.createCell(0).setCellValue(i);
+            row.createCell(1).setCellValue(STATUS[i % 3]);
+        }
+        File file = File.createTempFile("dictionary", suffix);
+        try (OutputStream out = new FileOutputStream(file)) {
+            workbook.write(out);
+        }
+        if (workbook instanceof SXSSFWorkbook) {
+            ((SXSSFWorkbook) workbook).dispose();
+        }
+        return file;
+    }
+}